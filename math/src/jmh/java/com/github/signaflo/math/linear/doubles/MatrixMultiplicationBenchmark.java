@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link MatrixOneD#times(Matrix)} with EJML's dense row-major multiplication on square
+ * matrices, from sizes that fit in cache to sizes large enough to take the parallel path.
+ *
+ * @author Jacob Rachiele
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixMultiplicationBenchmark {
+
+    @Param({"16", "64", "256", "512"})
+    private int n;
+
+    private Matrix left;
+    private Matrix right;
+    private DenseMatrix64F ejmlLeft;
+    private DenseMatrix64F ejmlRight;
+    private DenseMatrix64F ejmlProduct;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42L);
+        final double[] leftData = new double[n * n];
+        final double[] rightData = new double[n * n];
+        for (int i = 0; i < leftData.length; i++) {
+            leftData[i] = random.nextGaussian();
+            rightData[i] = random.nextGaussian();
+        }
+        left = Matrix.create(n, n, leftData);
+        right = Matrix.create(n, n, rightData);
+        ejmlLeft = DenseMatrix64F.wrap(n, n, leftData.clone());
+        ejmlRight = DenseMatrix64F.wrap(n, n, rightData.clone());
+        ejmlProduct = new DenseMatrix64F(n, n);
+    }
+
+    @Benchmark
+    public Matrix matrixOneD() {
+        return left.times(right);
+    }
+
+    @Benchmark
+    public DenseMatrix64F ejml() {
+        CommonOps.mult(ejmlLeft, ejmlRight, ejmlProduct);
+        return ejmlProduct;
+    }
+}
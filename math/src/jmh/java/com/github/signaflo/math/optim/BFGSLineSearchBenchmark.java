@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.optim;
+
+import com.github.signaflo.math.function.AbstractMultivariateFunction;
+import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.Vector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link LineSearch line searches} of {@link BFGS} on the extended Rosenbrock function. Besides the time
+ * per minimization, the function and gradient evaluations of each minimization are reported as secondary results.
+ *
+ * @author Jacob Rachiele
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BFGSLineSearchBenchmark {
+
+    @Param({"2", "10"})
+    private int n;
+
+    @Param({"BACKTRACKING", "STRONG_WOLFE"})
+    private LineSearch lineSearch;
+
+    private Vector startingPoint;
+    private Matrix initialHessian;
+
+    /**
+     * The evaluations used by the minimizations of one iteration of the benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Evaluations {
+
+        public long functionEvaluations;
+        public long gradientEvaluations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            functionEvaluations = 0;
+            gradientEvaluations = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        final double[] start = new double[n];
+        for (int i = 0; i < n; i++) {
+            start[i] = (i % 2 == 0) ? -1.2 : 1.0;
+        }
+        startingPoint = Vector.from(start);
+        initialHessian = Matrix.identity(n);
+    }
+
+    @Benchmark
+    public BFGS bfgs(final Evaluations evaluations) {
+        final AbstractMultivariateFunction f = new ExtendedRosenbrock(n);
+        final BFGS optimizer = new BFGS(f, startingPoint, 1E-8, 1E-12, initialHessian, lineSearch);
+        evaluations.functionEvaluations += f.functionEvaluations();
+        evaluations.gradientEvaluations += f.gradientEvaluations();
+        return optimizer;
+    }
+
+    // The sum of 100 (x[2i + 1] - x[2i]^2)^2 + (1 - x[2i])^2 over the pairs of elements, with an exact gradient.
+    private static final class ExtendedRosenbrock extends AbstractMultivariateFunction {
+
+        private final int n;
+
+        private ExtendedRosenbrock(final int n) {
+            this.n = n;
+        }
+
+        @Override
+        public double at(final Vector point) {
+            functionEvaluations++;
+            double sum = 0.0;
+            for (int i = 0; i + 1 < n; i += 2) {
+                final double x = point.at(i);
+                final double y = point.at(i + 1);
+                sum += 100 * (y - x * x) * (y - x * x) + (1 - x) * (1 - x);
+            }
+            return sum;
+        }
+
+        @Override
+        public Vector gradientAt(final Vector point, final double functionValue) {
+            gradientEvalutations++;
+            final double[] gradient = new double[n];
+            for (int i = 0; i + 1 < n; i += 2) {
+                final double x = point.at(i);
+                final double y = point.at(i + 1);
+                gradient[i] = -400 * x * (y - x * x) - 2 * (1 - x);
+                gradient[i + 1] = 200 * (y - x * x);
+            }
+            return Vector.from(gradient);
+        }
+
+        @Override
+        public Vector gradientAt(final Vector point) {
+            return gradientAt(point, at(point));
+        }
+    }
+}
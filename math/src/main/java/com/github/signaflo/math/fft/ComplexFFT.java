@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+import java.util.Arrays;
+
+/**
+ * A plan for the discrete Fourier transform of complex sequences of a fixed length, held as separate arrays of real
+ * and imaginary parts. Lengths whose prime factors are all small use a recursive mixed radix algorithm with
+ * specialized radix 2 and radix 4 butterflies. Lengths with a large prime factor use Bluestein's algorithm, which
+ * rewrites the transform as a convolution computed with a power of two transform.
+ *
+ * <p>The twiddle factors and scratch space are allocated once, when the plan is created, so a plan is not
+ * thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+final class ComplexFFT {
+
+    // Lengths with a prime factor larger than this use Bluestein's algorithm, since the generic butterfly is
+    // quadratic in the size of the factor.
+    private static final int MAX_DIRECT_FACTOR = 31;
+
+    private final int n;
+    private final int[] factors;
+    private final double[] twiddleRe; // cos(2 pi j / n)
+    private final double[] twiddleIm; // -sin(2 pi j / n)
+    private final double[] inputRe;
+    private final double[] inputIm;
+    private final double[] butterflyRe;
+    private final double[] butterflyIm;
+
+    // Used only by Bluestein's algorithm.
+    private final ComplexFFT inner;
+    private final double[] chirpRe;
+    private final double[] chirpIm;
+    private final double[] filterRe;
+    private final double[] filterIm;
+    private final double[] workRe;
+    private final double[] workIm;
+
+    ComplexFFT(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("The length of the transform must be positive, but was " + n);
+        }
+        this.n = n;
+        final int[] factorization = factor(n);
+        if (factorization[factorization.length - 1] > MAX_DIRECT_FACTOR) {
+            this.factors = null;
+            this.twiddleRe = null;
+            this.twiddleIm = null;
+            this.inputRe = null;
+            this.inputIm = null;
+            this.butterflyRe = null;
+            this.butterflyIm = null;
+            int m = 1;
+            while (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            this.inner = new ComplexFFT(m);
+            this.chirpRe = new double[n];
+            this.chirpIm = new double[n];
+            this.filterRe = new double[m];
+            this.filterIm = new double[m];
+            this.workRe = new double[m];
+            this.workIm = new double[m];
+            for (int k = 0; k < n; k++) {
+                // Reduce k^2 modulo 2n before scaling to keep the angle accurate for large k.
+                final double angle = Math.PI * (((long) k * k) % (2L * n)) / n;
+                chirpRe[k] = Math.cos(angle);
+                chirpIm[k] = -Math.sin(angle);
+            }
+            filterRe[0] = chirpRe[0];
+            filterIm[0] = -chirpIm[0];
+            for (int k = 1; k < n; k++) {
+                filterRe[k] = filterRe[m - k] = chirpRe[k];
+                filterIm[k] = filterIm[m - k] = -chirpIm[k];
+            }
+            inner.forward(filterRe, filterIm);
+        } else {
+            this.factors = sortFactors(factorization);
+            this.twiddleRe = new double[n];
+            this.twiddleIm = new double[n];
+            for (int j = 0; j < n; j++) {
+                final double angle = 2.0 * Math.PI * j / n;
+                twiddleRe[j] = Math.cos(angle);
+                twiddleIm[j] = -Math.sin(angle);
+            }
+            this.inputRe = new double[n];
+            this.inputIm = new double[n];
+            int maxFactor = 1;
+            for (int factor : factors) {
+                maxFactor = Math.max(maxFactor, factor);
+            }
+            this.butterflyRe = new double[maxFactor];
+            this.butterflyIm = new double[maxFactor];
+            this.inner = null;
+            this.chirpRe = null;
+            this.chirpIm = null;
+            this.filterRe = null;
+            this.filterIm = null;
+            this.workRe = null;
+            this.workIm = null;
+        }
+    }
+
+    int length() {
+        return this.n;
+    }
+
+    /**
+     * Replace the given sequence with its discrete Fourier transform, X<sub>k</sub> = &sum;<sub>j</sub>
+     * x<sub>j</sub>e<sup>-2&pi;ijk/n</sup>.
+     *
+     * @param re the real parts of the sequence, of length n.
+     * @param im the imaginary parts of the sequence, of length n.
+     */
+    void forward(final double[] re, final double[] im) {
+        if (n == 1) {
+            return;
+        }
+        if (factors == null) {
+            bluestein(re, im);
+            return;
+        }
+        System.arraycopy(re, 0, inputRe, 0, n);
+        System.arraycopy(im, 0, inputIm, 0, n);
+        transform(0, 1, re, im, 0, n, 0);
+    }
+
+    /**
+     * Replace the given sequence with its inverse discrete Fourier transform, x<sub>j</sub> = (1/n)&sum;<sub>k</sub>
+     * X<sub>k</sub>e<sup>2&pi;ijk/n</sup>.
+     *
+     * @param re the real parts of the sequence, of length n.
+     * @param im the imaginary parts of the sequence, of length n.
+     */
+    void inverse(final double[] re, final double[] im) {
+        // The inverse transform is the conjugate of the forward transform of the conjugate.
+        for (int j = 0; j < n; j++) {
+            im[j] = -im[j];
+        }
+        forward(re, im);
+        final double scale = 1.0 / n;
+        for (int j = 0; j < n; j++) {
+            re[j] *= scale;
+            im[j] *= -scale;
+        }
+    }
+
+    /*
+     * Transform the subsequence of the input starting at inOffset with the given stride, of the given size, into the
+     * output starting at outOffset. The subsequence is split into factors[f] interleaved subsequences, which are
+     * transformed recursively into consecutive blocks of the output and then combined in place.
+     */
+    private void transform(final int inOffset, final int stride, final double[] outRe, final double[] outIm,
+                           final int outOffset, final int size, final int f) {
+        if (size == 1) {
+            outRe[outOffset] = inputRe[inOffset];
+            outIm[outOffset] = inputIm[inOffset];
+            return;
+        }
+        final int p = factors[f];
+        final int m = size / p;
+        for (int r = 0; r < p; r++) {
+            transform(inOffset + r * stride, stride * p, outRe, outIm, outOffset + r * m, m, f + 1);
+        }
+        final int twiddleStride = n / size;
+        if (p == 2) {
+            butterfly2(outRe, outIm, outOffset, m, twiddleStride);
+        } else if (p == 4) {
+            butterfly4(outRe, outIm, outOffset, m, twiddleStride);
+        } else {
+            butterfly(outRe, outIm, outOffset, m, p, twiddleStride);
+        }
+    }
+
+    private void butterfly2(final double[] re, final double[] im, final int offset, final int m,
+                            final int twiddleStride) {
+        for (int k = 0, w = 0; k < m; k++, w += twiddleStride) {
+            final int i0 = offset + k;
+            final int i1 = i0 + m;
+            final double tr = re[i1] * twiddleRe[w] - im[i1] * twiddleIm[w];
+            final double ti = re[i1] * twiddleIm[w] + im[i1] * twiddleRe[w];
+            re[i1] = re[i0] - tr;
+            im[i1] = im[i0] - ti;
+            re[i0] += tr;
+            im[i0] += ti;
+        }
+    }
+
+    private void butterfly4(final double[] re, final double[] im, final int offset, final int m,
+                            final int twiddleStride) {
+        for (int k = 0, w = 0; k < m; k++, w += twiddleStride) {
+            final int i0 = offset + k;
+            final int i1 = i0 + m;
+            final int i2 = i1 + m;
+            final int i3 = i2 + m;
+            final int w2 = 2 * w;
+            final int w3 = 3 * w;
+            final double t1r = re[i1] * twiddleRe[w] - im[i1] * twiddleIm[w];
+            final double t1i = re[i1] * twiddleIm[w] + im[i1] * twiddleRe[w];
+            final double t2r = re[i2] * twiddleRe[w2] - im[i2] * twiddleIm[w2];
+            final double t2i = re[i2] * twiddleIm[w2] + im[i2] * twiddleRe[w2];
+            final double t3r = re[i3] * twiddleRe[w3] - im[i3] * twiddleIm[w3];
+            final double t3i = re[i3] * twiddleIm[w3] + im[i3] * twiddleRe[w3];
+            final double ar = re[i0] + t2r;
+            final double ai = im[i0] + t2i;
+            final double br = re[i0] - t2r;
+            final double bi = im[i0] - t2i;
+            final double cr = t1r + t3r;
+            final double ci = t1i + t3i;
+            final double dr = t1r - t3r;
+            final double di = t1i - t3i;
+            re[i0] = ar + cr;
+            im[i0] = ai + ci;
+            re[i2] = ar - cr;
+            im[i2] = ai - ci;
+            // Multiplying by the fourth root of unity, -i, swaps the parts of d and negates the new imaginary part.
+            re[i1] = br + di;
+            im[i1] = bi - dr;
+            re[i3] = br - di;
+            im[i3] = bi + dr;
+        }
+    }
+
+    private void butterfly(final double[] re, final double[] im, final int offset, final int m, final int p,
+                           final int twiddleStride) {
+        final int rootStride = n / p;
+        for (int k = 0; k < m; k++) {
+            for (int r = 0; r < p; r++) {
+                final int i = offset + r * m + k;
+                final int w = r * k * twiddleStride;
+                butterflyRe[r] = re[i] * twiddleRe[w] - im[i] * twiddleIm[w];
+                butterflyIm[r] = re[i] * twiddleIm[w] + im[i] * twiddleRe[w];
+            }
+            for (int q = 0; q < p; q++) {
+                double sumRe = butterflyRe[0];
+                double sumIm = butterflyIm[0];
+                final int step = q * rootStride;
+                int w = 0;
+                for (int r = 1; r < p; r++) {
+                    w += step;
+                    if (w >= n) {
+                        w -= n;
+                    }
+                    sumRe += butterflyRe[r] * twiddleRe[w] - butterflyIm[r] * twiddleIm[w];
+                    sumIm += butterflyRe[r] * twiddleIm[w] + butterflyIm[r] * twiddleRe[w];
+                }
+                re[offset + q * m + k] = sumRe;
+                im[offset + q * m + k] = sumIm;
+            }
+        }
+    }
+
+    // X_k = w_k * sum_j (x_j * w_j) * conj(w_{k-j}), where w_k = exp(-i pi k^2 / n), computed as a circular
+    // convolution of length m >= 2n - 1.
+    private void bluestein(final double[] re, final double[] im) {
+        final int m = inner.length();
+        Arrays.fill(workRe, n, m, 0.0);
+        Arrays.fill(workIm, n, m, 0.0);
+        for (int k = 0; k < n; k++) {
+            workRe[k] = re[k] * chirpRe[k] - im[k] * chirpIm[k];
+            workIm[k] = re[k] * chirpIm[k] + im[k] * chirpRe[k];
+        }
+        inner.forward(workRe, workIm);
+        for (int k = 0; k < m; k++) {
+            final double r = workRe[k] * filterRe[k] - workIm[k] * filterIm[k];
+            workIm[k] = workRe[k] * filterIm[k] + workIm[k] * filterRe[k];
+            workRe[k] = r;
+        }
+        inner.inverse(workRe, workIm);
+        for (int k = 0; k < n; k++) {
+            re[k] = workRe[k] * chirpRe[k] - workIm[k] * chirpIm[k];
+            im[k] = workRe[k] * chirpIm[k] + workIm[k] * chirpRe[k];
+        }
+    }
+
+    // The prime factors of n in ascending order, or {1} if n is 1.
+    private static int[] factor(int n) {
+        final int[] primes = new int[32];
+        int count = 0;
+        for (int p = 2; (long) p * p <= n; p++) {
+            while (n % p == 0) {
+                primes[count++] = p;
+                n /= p;
+            }
+        }
+        if (n > 1 || count == 0) {
+            primes[count++] = n;
+        }
+        final int[] factors = new int[count];
+        System.arraycopy(primes, 0, factors, 0, count);
+        return factors;
+    }
+
+    // Combine pairs of twos into fours, which have a cheaper butterfly, and apply the fours first.
+    private static int[] sortFactors(final int[] primes) {
+        int twos = 0;
+        for (int prime : primes) {
+            if (prime == 2) {
+                twos++;
+            }
+        }
+        final int count = primes.length - twos + (twos + 1) / 2;
+        final int[] factors = new int[count];
+        int i = 0;
+        for (int j = 0; j < twos / 2; j++) {
+            factors[i++] = 4;
+        }
+        if (twos % 2 == 1) {
+            factors[i++] = 2;
+        }
+        for (int prime : primes) {
+            if (prime != 2) {
+                factors[i++] = prime;
+            }
+        }
+        return factors;
+    }
+}
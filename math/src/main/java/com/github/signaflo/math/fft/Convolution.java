@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+/**
+ * Linear convolutions and correlations of real sequences. Each method chooses between the direct sum and a fast
+ * Fourier transform by comparing their operation counts. The direct sum skips zero elements, so a sparse sequence,
+ * such as the coefficients of a seasonal difference, is always convolved exactly by the direct method. The transform
+ * is O(n log n) but its result carries rounding error of the order of the machine epsilon times the size of the
+ * inputs.
+ *
+ * @author Jacob Rachiele
+ */
+public final class Convolution {
+
+    // Roughly the number of multiply-adds a transform of length n costs relative to n * log2(n), counting the
+    // forward transforms of both sequences and the inverse transform of their product.
+    private static final double FFT_COST_FACTOR = 6.0;
+
+    private Convolution() {
+    }
+
+    /**
+     * The full linear convolution of two sequences, z<sub>k</sub> = &sum;<sub>j</sub> x<sub>j</sub>y<sub>k-j</sub>
+     * for k = 0, 1, ..., x.length + y.length - 2. Multiplying two polynomials convolves their coefficients.
+     *
+     * @param x the first sequence.
+     * @param y the second sequence.
+     * @return the full linear convolution of the two sequences, or an empty array if either sequence is empty.
+     */
+    public static double[] convolve(final double[] x, final double[] y) {
+        if (x.length == 0 || y.length == 0) {
+            return new double[0];
+        }
+        final int length = x.length + y.length - 1;
+        final long xNonZero = countNonZero(x);
+        final long yNonZero = countNonZero(y);
+        final long directOperations = Math.min(xNonZero * y.length, yNonZero * x.length);
+        final int fftLength = RealFFT.nextFastLength(length);
+        if (preferDirect(directOperations, fftLength)) {
+            return (xNonZero * y.length <= yNonZero * x.length) ? convolveDirect(x, y, length)
+                    : convolveDirect(y, x, length);
+        }
+        final RealFFT fft = RealFFT.ofLength(fftLength);
+        final int m = fft.spectrumLength();
+        final double[] xRe = new double[m];
+        final double[] xIm = new double[m];
+        final double[] yRe = new double[m];
+        final double[] yIm = new double[m];
+        fft.forward(x, xRe, xIm);
+        fft.forward(y, yRe, yIm);
+        for (int k = 0; k < m; k++) {
+            final double re = xRe[k] * yRe[k] - xIm[k] * yIm[k];
+            xIm[k] = xRe[k] * yIm[k] + xIm[k] * yRe[k];
+            xRe[k] = re;
+        }
+        final double[] z = new double[length];
+        fft.inverse(xRe, xIm, z);
+        return z;
+    }
+
+    /**
+     * The cross-correlation of two sequences at the non-negative lags up to the given lag,
+     * r<sub>k</sub> = &sum;<sub>t</sub> x<sub>t+k</sub>y<sub>t</sub> for k = 0, 1, ..., maxLag, where the sum is
+     * over every t for which both elements exist.
+     *
+     * @param x      the leading sequence.
+     * @param y      the lagging sequence.
+     * @param maxLag the largest lag to compute the cross-correlation at.
+     * @return the cross-correlations at lags 0 through maxLag. Lags at which the sequences do not overlap are zero.
+     *
+     * @throws IllegalArgumentException if maxLag is negative.
+     */
+    public static double[] crossCorrelate(final double[] x, final double[] y, final int maxLag) {
+        validateLag(maxLag);
+        final double[] r = new double[maxLag + 1];
+        if (x.length == 0 || y.length == 0) {
+            return r;
+        }
+        final int lags = Math.min(maxLag, x.length - 1) + 1;
+        final long directOperations = (long) lags * Math.min(x.length, y.length);
+        // Lags up to maxLag do not wrap around as long as the transform is at least maxLag + y.length long.
+        final int fftLength = RealFFT.nextFastLength(Math.max(x.length, lags - 1 + y.length));
+        if (preferDirect(directOperations, fftLength)) {
+            for (int k = 0; k < lags; k++) {
+                final int end = Math.min(y.length, x.length - k);
+                double sum = 0.0;
+                for (int t = 0; t < end; t++) {
+                    sum += x[t + k] * y[t];
+                }
+                r[k] = sum;
+            }
+            return r;
+        }
+        final RealFFT fft = RealFFT.ofLength(fftLength);
+        final int m = fft.spectrumLength();
+        final double[] xRe = new double[m];
+        final double[] xIm = new double[m];
+        final double[] yRe = new double[m];
+        final double[] yIm = new double[m];
+        fft.forward(x, xRe, xIm);
+        fft.forward(y, yRe, yIm);
+        for (int k = 0; k < m; k++) {
+            final double re = xRe[k] * yRe[k] + xIm[k] * yIm[k];
+            xIm[k] = xIm[k] * yRe[k] - xRe[k] * yIm[k];
+            xRe[k] = re;
+        }
+        return inverseInto(fft, xRe, xIm, r, lags);
+    }
+
+    /**
+     * The correlation of a sequence with itself at the non-negative lags up to the given lag,
+     * r<sub>k</sub> = &sum;<sub>t</sub> x<sub>t+k</sub>x<sub>t</sub> for k = 0, 1, ..., maxLag. This is the same as
+     * {@code crossCorrelate(x, x, maxLag)}, but needs only one forward transform.
+     *
+     * @param x      the sequence.
+     * @param maxLag the largest lag to compute the autocorrelation at.
+     * @return the autocorrelations at lags 0 through maxLag. Lags of at least x.length are zero.
+     *
+     * @throws IllegalArgumentException if maxLag is negative.
+     */
+    public static double[] autoCorrelate(final double[] x, final int maxLag) {
+        validateLag(maxLag);
+        final double[] r = new double[maxLag + 1];
+        if (x.length == 0) {
+            return r;
+        }
+        final int lags = Math.min(maxLag, x.length - 1) + 1;
+        final long directOperations = (long) lags * x.length - (long) lags * (lags - 1) / 2;
+        final int fftLength = RealFFT.nextFastLength(lags - 1 + x.length);
+        if (preferDirect(2 * directOperations, fftLength)) {
+            for (int k = 0; k < lags; k++) {
+                double sum = 0.0;
+                for (int t = 0; t < x.length - k; t++) {
+                    sum += x[t + k] * x[t];
+                }
+                r[k] = sum;
+            }
+            return r;
+        }
+        final RealFFT fft = RealFFT.ofLength(fftLength);
+        final int m = fft.spectrumLength();
+        final double[] re = new double[m];
+        final double[] im = new double[m];
+        fft.forward(x, re, im);
+        for (int k = 0; k < m; k++) {
+            re[k] = re[k] * re[k] + im[k] * im[k];
+            im[k] = 0.0;
+        }
+        return inverseInto(fft, re, im, r, lags);
+    }
+
+    // Store the first lags elements of the inverse transform at the start of r.
+    private static double[] inverseInto(final RealFFT fft, final double[] re, final double[] im, final double[] r,
+                                        final int lags) {
+        if (lags == r.length) {
+            fft.inverse(re, im, r);
+        } else {
+            final double[] head = new double[lags];
+            fft.inverse(re, im, head);
+            System.arraycopy(head, 0, r, 0, lags);
+        }
+        return r;
+    }
+
+    private static double[] convolveDirect(final double[] sparse, final double[] dense, final int length) {
+        final double[] z = new double[length];
+        for (int i = 0; i < sparse.length; i++) {
+            final double a = sparse[i];
+            if (a != 0.0) {
+                for (int j = 0; j < dense.length; j++) {
+                    z[i + j] += a * dense[j];
+                }
+            }
+        }
+        return z;
+    }
+
+    private static boolean preferDirect(final long directOperations, final int fftLength) {
+        final double log2 = Math.log(fftLength) / Math.log(2.0);
+        return directOperations <= FFT_COST_FACTOR * fftLength * Math.max(log2, 1.0);
+    }
+
+    private static long countNonZero(final double[] x) {
+        long count = 0;
+        for (double value : x) {
+            if (value != 0.0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void validateLag(final int maxLag) {
+        if (maxLag < 0) {
+            throw new IllegalArgumentException("The maximum lag must be non-negative, but was " + maxLag);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A plan for the discrete Fourier transform of real sequences of a fixed length. Any positive length is supported:
+ * lengths whose prime factors are all small use a mixed radix algorithm, and other lengths use Bluestein's algorithm.
+ * An even length n is transformed as a complex sequence of length n/2, so it costs about half as much as a complex
+ * transform of the same length. The fastest lengths are those given by {@link #nextFastLength(int)}.
+ *
+ * <p>Since the input is real, its transform is conjugate symmetric, X<sub>n-k</sub> = conj(X<sub>k</sub>), and only
+ * the first n/2 + 1 coefficients are computed. The twiddle factors and scratch space are allocated once, when the
+ * plan is created. A plan is not thread-safe, so plans obtained from {@link #ofLength(int)} are cached per thread,
+ * up to a bounded total length.
+ *
+ * <pre>{@code
+ * RealFFT fft = RealFFT.ofLength(x.length);
+ * double[] re = new double[fft.spectrumLength()];
+ * double[] im = new double[fft.spectrumLength()];
+ * fft.forward(x, re, im);
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public final class RealFFT {
+
+    // The maximum total length of the plans cached by each thread. Longer plans are never cached.
+    private static final int MAX_CACHED_LENGTH = 1 << 18;
+    private static final ThreadLocal<PlanCache> PLANS = ThreadLocal.withInitial(PlanCache::new);
+
+    private final int n;
+    private final ComplexFFT complex;
+    private final double[] twiddleRe; // cos(2 pi k / n) for k = 0, ..., n/2, only when n is even.
+    private final double[] twiddleIm; // -sin(2 pi k / n) for k = 0, ..., n/2, only when n is even.
+    private final double[] re;
+    private final double[] im;
+
+    /**
+     * Create a new plan for transforms of the given length. Prefer {@link #ofLength(int)}, which reuses plans.
+     *
+     * @param n the length of the sequences to transform.
+     *
+     * @throws IllegalArgumentException if n is less than 1.
+     */
+    public RealFFT(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("The length of the transform must be positive, but was " + n);
+        }
+        this.n = n;
+        if (n % 2 == 0) {
+            final int h = n / 2;
+            this.complex = new ComplexFFT(h);
+            this.twiddleRe = new double[h + 1];
+            this.twiddleIm = new double[h + 1];
+            for (int k = 0; k <= h; k++) {
+                final double angle = 2.0 * Math.PI * k / n;
+                twiddleRe[k] = Math.cos(angle);
+                twiddleIm[k] = -Math.sin(angle);
+            }
+        } else {
+            this.complex = new ComplexFFT(n);
+            this.twiddleRe = null;
+            this.twiddleIm = null;
+        }
+        this.re = new double[complex.length()];
+        this.im = new double[complex.length()];
+    }
+
+    /**
+     * The plan for transforms of the given length cached by the current thread, created if necessary. Plans longer
+     * than 2<sup>18</sup> are not cached, and the least recently used plans are evicted once the total length of the
+     * plans cached by the thread would exceed that.
+     *
+     * @param n the length of the sequences to transform.
+     * @return the plan for transforms of the given length.
+     *
+     * @throws IllegalArgumentException if n is less than 1.
+     */
+    public static RealFFT ofLength(final int n) {
+        if (n > MAX_CACHED_LENGTH) {
+            return new RealFFT(n);
+        }
+        return PLANS.get().planOfLength(n);
+    }
+
+    /**
+     * The smallest length greater than or equal to n whose only prime factors are 2, 3 and 5. Transforms of these
+     * lengths are the fastest, so sequences that are zero-padded anyway, such as for a convolution, should be padded to
+     * this length.
+     *
+     * @param n the minimum length.
+     * @return the smallest length greater than or equal to n whose only prime factors are 2, 3 and 5.
+     *
+     * @throws IllegalArgumentException if n is less than 1.
+     */
+    public static int nextFastLength(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("The length must be positive, but was " + n);
+        }
+        for (int length = n; ; length++) {
+            int m = length;
+            while (m % 2 == 0) {
+                m /= 2;
+            }
+            while (m % 3 == 0) {
+                m /= 3;
+            }
+            while (m % 5 == 0) {
+                m /= 5;
+            }
+            if (m == 1) {
+                return length;
+            }
+        }
+    }
+
+    /**
+     * The length of the sequences transformed by this plan.
+     *
+     * @return the length of the sequences transformed by this plan.
+     */
+    public int length() {
+        return this.n;
+    }
+
+    /**
+     * The number of coefficients in the transform of a sequence, n/2 + 1.
+     *
+     * @return the number of coefficients in the transform of a sequence.
+     */
+    public int spectrumLength() {
+        return n / 2 + 1;
+    }
+
+    /**
+     * Compute the discrete Fourier transform X<sub>k</sub> = &sum;<sub>j</sub> x<sub>j</sub>e<sup>-2&pi;ijk/n</sup>
+     * for k = 0, 1, ..., n/2. The input may be shorter than n, in which case it is padded with zeros.
+     *
+     * @param input     the sequence to transform, of length at most n. It is not modified.
+     * @param real      the array to hold the real parts of the transform, of length at least n/2 + 1.
+     * @param imaginary the array to hold the imaginary parts of the transform, of length at least n/2 + 1.
+     *
+     * @throws IllegalArgumentException if the input is longer than n.
+     */
+    public void forward(final double[] input, final double[] real, final double[] imaginary) {
+        if (input.length > n) {
+            throw new IllegalArgumentException("The input has length " + input.length + " but the transform has "
+                                               + "length " + n);
+        }
+        if (twiddleRe == null) {
+            System.arraycopy(input, 0, re, 0, input.length);
+            for (int j = input.length; j < n; j++) {
+                re[j] = 0.0;
+            }
+            for (int j = 0; j < n; j++) {
+                im[j] = 0.0;
+            }
+            complex.forward(re, im);
+            System.arraycopy(re, 0, real, 0, spectrumLength());
+            System.arraycopy(im, 0, imaginary, 0, spectrumLength());
+            return;
+        }
+        // Pack the even and odd elements into the real and imaginary parts of a sequence of half the length.
+        final int h = n / 2;
+        for (int j = 0; j < h; j++) {
+            final int even = 2 * j;
+            re[j] = (even < input.length) ? input[even] : 0.0;
+            im[j] = (even + 1 < input.length) ? input[even + 1] : 0.0;
+        }
+        complex.forward(re, im);
+        // Separate the transforms E and O of the even and odd elements, then X_k = E_k + W^k O_k.
+        for (int k = 0; k <= h; k++) {
+            final int i = (k == h) ? 0 : k;
+            final int j = (k == 0) ? 0 : h - k;
+            final double er = 0.5 * (re[i] + re[j]);
+            final double ei = 0.5 * (im[i] - im[j]);
+            final double or = 0.5 * (im[i] + im[j]);
+            final double oi = -0.5 * (re[i] - re[j]);
+            real[k] = er + or * twiddleRe[k] - oi * twiddleIm[k];
+            imaginary[k] = ei + or * twiddleIm[k] + oi * twiddleRe[k];
+        }
+    }
+
+    /**
+     * Compute the real sequence x<sub>j</sub> = (1/n)&sum;<sub>k</sub> X<sub>k</sub>e<sup>2&pi;ijk/n</sup> with the
+     * given transform coefficients for k = 0, 1, ..., n/2. The remaining coefficients are given by conjugate symmetry,
+     * and the imaginary parts of X<sub>0</sub> and, if n is even, X<sub>n/2</sub> are ignored. The output may be
+     * shorter than n, in which case only the first output.length elements are stored.
+     *
+     * @param real      the real parts of the transform, of length at least n/2 + 1. It is not modified.
+     * @param imaginary the imaginary parts of the transform, of length at least n/2 + 1. It is not modified.
+     * @param output    the array to hold the sequence, of length at most n.
+     *
+     * @throws IllegalArgumentException if the output is longer than n.
+     */
+    public void inverse(final double[] real, final double[] imaginary, final double[] output) {
+        if (output.length > n) {
+            throw new IllegalArgumentException("The output has length " + output.length + " but the transform has "
+                                               + "length " + n);
+        }
+        if (twiddleRe == null) {
+            re[0] = real[0];
+            im[0] = 0.0;
+            for (int k = 1; k <= n / 2; k++) {
+                re[k] = re[n - k] = real[k];
+                im[k] = imaginary[k];
+                im[n - k] = -imaginary[k];
+            }
+            complex.inverse(re, im);
+            System.arraycopy(re, 0, output, 0, output.length);
+            return;
+        }
+        // Recover E_k and O_k from X_k and X_{k + n/2} = conj(X_{n/2 - k}), then pack them into E_k + i O_k.
+        final int h = n / 2;
+        for (int k = 0; k < h; k++) {
+            final double xr = real[k];
+            final double xi = (k == 0) ? 0.0 : imaginary[k];
+            final double cr = real[h - k];
+            final double ci = (k == 0) ? 0.0 : -imaginary[h - k];
+            final double er = 0.5 * (xr + cr);
+            final double ei = 0.5 * (xi + ci);
+            final double dr = 0.5 * (xr - cr);
+            final double di = 0.5 * (xi - ci);
+            // O_k = d * conj(W^k).
+            final double or = dr * twiddleRe[k] + di * twiddleIm[k];
+            final double oi = di * twiddleRe[k] - dr * twiddleIm[k];
+            re[k] = er - oi;
+            im[k] = ei + or;
+        }
+        complex.inverse(re, im);
+        for (int j = 0; j < output.length; j++) {
+            output[j] = (j % 2 == 0) ? re[j / 2] : im[j / 2];
+        }
+    }
+
+    // The plans of one thread, least recently used first, evicted once their total length exceeds the bound.
+    private static final class PlanCache {
+
+        private final LinkedHashMap<Integer, RealFFT> plans = new LinkedHashMap<>(16, 0.75f, true);
+        private int cachedLength;
+
+        private RealFFT planOfLength(final int n) {
+            RealFFT plan = plans.get(n);
+            if (plan == null) {
+                plan = new RealFFT(n);
+                plans.put(n, plan);
+                cachedLength += n;
+                final Iterator<RealFFT> eldest = plans.values().iterator();
+                while (cachedLength > MAX_CACHED_LENGTH) {
+                    cachedLength -= eldest.next().n;
+                    eldest.remove();
+                }
+            }
+            return plan;
+        }
+    }
+}
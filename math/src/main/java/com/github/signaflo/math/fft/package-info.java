@@ -0,0 +1,5 @@
+/**
+ * Fast Fourier transforms of real sequences of any length, along with the convolutions and correlations computed
+ * with them.
+ */
+package com.github.signaflo.math.fft;
@@ -34,18 +34,45 @@ public abstract class AbstractMultivariateFunction implements MultivariateFuncti
 
     protected int functionEvaluations = 0;
     protected int gradientEvalutations = 0;
+    private boolean parallelGradient = false;
 
     public Vector gradientAt(Vector point) {
         gradientEvalutations++;
+        if (parallelGradient) {
+            final int evaluations = this.functionEvaluations;
+            final Vector gradient = NumericalDerivatives.parallelCentralDifferenceGradient(this, point,
+                                                                                           gradientTolerance);
+            this.functionEvaluations = evaluations + 2 * point.size();
+            return gradient;
+        }
         return NumericalDerivatives.centralDifferenceGradient(this, point, gradientTolerance);
     }
 
     public Vector gradientAt(final Vector point, final double functionValue) {
         gradientEvalutations++;
+        if (parallelGradient) {
+            final int evaluations = this.functionEvaluations;
+            final Vector gradient = NumericalDerivatives.parallelForwardDifferenceGradient(
+                    this, point, gradientTolerance * gradientTolerance, functionValue);
+            this.functionEvaluations = evaluations + point.size();
+            return gradient;
+        }
         return NumericalDerivatives.forwardDifferenceGradient(this, point, gradientTolerance * gradientTolerance,
                                                               functionValue);
     }
 
+    /**
+     * Set whether the numerical gradient evaluates the function at its perturbed points concurrently on the common
+     * fork-join pool. This only pays off when a single evaluation is expensive, and must only be enabled if
+     * {@link #at(Vector)} is safe to call from several threads at once. The evaluation count is corrected after each
+     * concurrent gradient, so the count increment in {@link #at(Vector)} need not be atomic.
+     *
+     * @param parallelGradient whether to compute the numerical gradient concurrently.
+     */
+    public void setParallelGradient(final boolean parallelGradient) {
+        this.parallelGradient = parallelGradient;
+    }
+
     /**
      * The number of times this function has been evaluated.
      *
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.function;
+
+import com.github.signaflo.math.linear.doubles.Vector;
+
+/**
+ * A scalar-valued function of several variables whose gradient is computed exactly by forward-mode automatic
+ * differentiation of a {@link DualFunction}, instead of by finite differences. Computing the gradient takes a single
+ * evaluation that carries all of the partial derivatives, and computing only the value carries none of them. Pass an
+ * instance to an optimizer such as {@link com.github.signaflo.math.optim.BFGS} to use the exact gradient.
+ *
+ * <p>For example, the Rosenbrock function may be written as
+ * <pre>{@code
+ * DifferentiableFunction f = new DifferentiableFunction((x) -> {
+ *     Dual a = x[0].negate().plus(1.0);
+ *     Dual b = x[1].minus(x[0].times(x[0]));
+ *     return a.times(a).plus(b.times(b).times(100.0));
+ * });
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public class DifferentiableFunction extends AbstractMultivariateFunction {
+
+    private final DualFunction f;
+
+    /**
+     * Create a new function from the given function of dual numbers.
+     *
+     * @param f the function of dual numbers.
+     */
+    public DifferentiableFunction(final DualFunction f) {
+        this.f = f;
+    }
+
+    @Override
+    public double at(final Vector point) {
+        functionEvaluations++;
+        return f.at(Dual.constants(point.elements())).value();
+    }
+
+    @Override
+    public Vector gradientAt(final Vector point) {
+        gradientEvalutations++;
+        return gradient(point);
+    }
+
+    @Override
+    public Vector gradientAt(final Vector point, final double functionValue) {
+        gradientEvalutations++;
+        return gradient(point);
+    }
+
+    private Vector gradient(final Vector point) {
+        final Dual value = f.at(Dual.variables(point.elements()));
+        final double[] gradient = new double[point.size()];
+        for (int i = 0; i < gradient.length; i++) {
+            gradient[i] = value.derivative(i);
+        }
+        return Vector.from(gradient);
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.function;
+
+import java.util.Arrays;
+
+/**
+ * A dual number carrying a value together with its partial derivatives with respect to a fixed set of variables. This
+ * is forward-mode automatic differentiation. A function computed from dual numbers with the arithmetic and elementary
+ * functions of this class yields its exact gradient along with its value, in a single pass over the computation.
+ * This class is immutable and thread-safe.
+ *
+ * <p>A constant carries no derivatives and may be combined with dual numbers in any number of variables.
+ *
+ * @author Jacob Rachiele
+ */
+public final class Dual {
+
+    private static final double[] NO_DERIVATIVES = new double[0];
+
+    private final double value;
+    private final double[] derivatives;
+
+    private Dual(final double value, final double[] derivatives) {
+        this.value = value;
+        this.derivatives = derivatives;
+    }
+
+    /**
+     * Create a new constant with the given value.
+     *
+     * @param value the value of the constant.
+     * @return a new constant with the given value.
+     */
+    public static Dual constant(final double value) {
+        return new Dual(value, NO_DERIVATIVES);
+    }
+
+    /**
+     * Create the variable with the given index out of the given number of variables.
+     *
+     * @param value     the value of the variable.
+     * @param index     the index of the variable.
+     * @param variables the total number of variables.
+     * @return the variable with the given index out of the given number of variables.
+     * @throws IllegalArgumentException if the index is not between 0 and variables - 1.
+     */
+    public static Dual variable(final double value, final int index, final int variables) {
+        if (index < 0 || index >= variables) {
+            throw new IllegalArgumentException("The index must be between 0 and " + (variables - 1) + ", but was "
+                                               + index);
+        }
+        final double[] derivatives = new double[variables];
+        derivatives[index] = 1.0;
+        return new Dual(value, derivatives);
+    }
+
+    /**
+     * Create one variable for each element of the given point.
+     *
+     * @param point the values of the variables.
+     * @return one variable for each element of the given point.
+     */
+    public static Dual[] variables(final double... point) {
+        final Dual[] variables = new Dual[point.length];
+        for (int i = 0; i < point.length; i++) {
+            variables[i] = variable(point[i], i, point.length);
+        }
+        return variables;
+    }
+
+    /**
+     * Create one constant for each element of the given point.
+     *
+     * @param point the values of the constants.
+     * @return one constant for each element of the given point.
+     */
+    public static Dual[] constants(final double... point) {
+        final Dual[] constants = new Dual[point.length];
+        for (int i = 0; i < point.length; i++) {
+            constants[i] = constant(point[i]);
+        }
+        return constants;
+    }
+
+    /**
+     * The value of this dual number.
+     *
+     * @return the value of this dual number.
+     */
+    public double value() {
+        return this.value;
+    }
+
+    /**
+     * The partial derivative with respect to the variable with the given index.
+     *
+     * @param index the index of the variable.
+     * @return the partial derivative with respect to the variable with the given index.
+     */
+    public double derivative(final int index) {
+        return (index < derivatives.length) ? derivatives[index] : 0.0;
+    }
+
+    /**
+     * The partial derivatives with respect to each variable. A constant has no partial derivatives.
+     *
+     * @return the partial derivatives with respect to each variable.
+     */
+    public double[] derivatives() {
+        return this.derivatives.clone();
+    }
+
+    /**
+     * Add the given dual number to this one.
+     *
+     * @param other the dual number to add.
+     * @return the sum of this dual number and the given one.
+     */
+    public Dual plus(final Dual other) {
+        return combine(this, 1.0, other, 1.0, this.value + other.value);
+    }
+
+    /**
+     * Add the given constant to this dual number.
+     *
+     * @param other the constant to add.
+     * @return the sum of this dual number and the given constant.
+     */
+    public Dual plus(final double other) {
+        return new Dual(this.value + other, this.derivatives);
+    }
+
+    /**
+     * Subtract the given dual number from this one.
+     *
+     * @param other the dual number to subtract.
+     * @return the difference of this dual number and the given one.
+     */
+    public Dual minus(final Dual other) {
+        return combine(this, 1.0, other, -1.0, this.value - other.value);
+    }
+
+    /**
+     * Subtract the given constant from this dual number.
+     *
+     * @param other the constant to subtract.
+     * @return the difference of this dual number and the given constant.
+     */
+    public Dual minus(final double other) {
+        return new Dual(this.value - other, this.derivatives);
+    }
+
+    /**
+     * Multiply this dual number by the given one.
+     *
+     * @param other the dual number to multiply by.
+     * @return the product of this dual number and the given one.
+     */
+    public Dual times(final Dual other) {
+        return combine(this, other.value, other, this.value, this.value * other.value);
+    }
+
+    /**
+     * Multiply this dual number by the given constant.
+     *
+     * @param other the constant to multiply by.
+     * @return the product of this dual number and the given constant.
+     */
+    public Dual times(final double other) {
+        return chain(this.value * other, other);
+    }
+
+    /**
+     * Divide this dual number by the given one.
+     *
+     * @param other the dual number to divide by.
+     * @return the quotient of this dual number and the given one.
+     */
+    public Dual dividedBy(final Dual other) {
+        final double quotient = this.value / other.value;
+        return combine(this, 1.0 / other.value, other, -quotient / other.value, quotient);
+    }
+
+    /**
+     * Divide this dual number by the given constant.
+     *
+     * @param other the constant to divide by.
+     * @return the quotient of this dual number and the given constant.
+     */
+    public Dual dividedBy(final double other) {
+        return chain(this.value / other, 1.0 / other);
+    }
+
+    /**
+     * The negative of this dual number.
+     *
+     * @return the negative of this dual number.
+     */
+    public Dual negate() {
+        return chain(-this.value, -1.0);
+    }
+
+    /**
+     * Raise this dual number to the given power.
+     *
+     * @param exponent the power to raise this dual number to.
+     * @return this dual number raised to the given power.
+     */
+    public Dual pow(final double exponent) {
+        return chain(Math.pow(value, exponent), exponent * Math.pow(value, exponent - 1));
+    }
+
+    /**
+     * The square root of this dual number.
+     *
+     * @return the square root of this dual number.
+     */
+    public Dual sqrt() {
+        final double root = Math.sqrt(value);
+        return chain(root, 0.5 / root);
+    }
+
+    /**
+     * The exponential of this dual number.
+     *
+     * @return the exponential of this dual number.
+     */
+    public Dual exp() {
+        final double exp = Math.exp(value);
+        return chain(exp, exp);
+    }
+
+    /**
+     * The natural logarithm of this dual number.
+     *
+     * @return the natural logarithm of this dual number.
+     */
+    public Dual log() {
+        return chain(Math.log(value), 1.0 / value);
+    }
+
+    /**
+     * The sine of this dual number.
+     *
+     * @return the sine of this dual number.
+     */
+    public Dual sin() {
+        return chain(Math.sin(value), Math.cos(value));
+    }
+
+    /**
+     * The cosine of this dual number.
+     *
+     * @return the cosine of this dual number.
+     */
+    public Dual cos() {
+        return chain(Math.cos(value), -Math.sin(value));
+    }
+
+    /**
+     * The hyperbolic tangent of this dual number.
+     *
+     * @return the hyperbolic tangent of this dual number.
+     */
+    public Dual tanh() {
+        final double tanh = Math.tanh(value);
+        return chain(tanh, 1 - tanh * tanh);
+    }
+
+    /**
+     * The absolute value of this dual number. The derivatives at zero are taken from the right.
+     *
+     * @return the absolute value of this dual number.
+     */
+    public Dual abs() {
+        return (value < 0) ? negate() : this;
+    }
+
+    // The result of applying a function of one variable with the given value and derivative to this dual number.
+    private Dual chain(final double newValue, final double derivative) {
+        final double[] newDerivatives = new double[derivatives.length];
+        for (int i = 0; i < derivatives.length; i++) {
+            newDerivatives[i] = derivative * derivatives[i];
+        }
+        return new Dual(newValue, newDerivatives);
+    }
+
+    // The result of applying a function of two variables with the given value and partial derivatives to a and b.
+    private static Dual combine(final Dual a, final double da, final Dual b, final double db, final double newValue) {
+        final int shorter = Math.min(a.derivatives.length, b.derivatives.length);
+        final double[] newDerivatives = new double[Math.max(a.derivatives.length, b.derivatives.length)];
+        for (int i = 0; i < shorter; i++) {
+            newDerivatives[i] = da * a.derivatives[i] + db * b.derivatives[i];
+        }
+        for (int i = shorter; i < a.derivatives.length; i++) {
+            newDerivatives[i] = da * a.derivatives[i];
+        }
+        for (int i = shorter; i < b.derivatives.length; i++) {
+            newDerivatives[i] = db * b.derivatives[i];
+        }
+        return new Dual(newValue, newDerivatives);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Dual dual = (Dual) o;
+        return Double.compare(dual.value, value) == 0 && Arrays.equals(derivatives, dual.derivatives);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(value) + Arrays.hashCode(derivatives);
+    }
+
+    @Override
+    public String toString() {
+        return "Dual(value: " + value + ", derivatives: " + Arrays.toString(derivatives) + ")";
+    }
+}
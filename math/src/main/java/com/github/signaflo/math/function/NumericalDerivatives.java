@@ -23,8 +23,11 @@
  */
 package com.github.signaflo.math.function;
 
+import com.github.signaflo.math.linear.doubles.Matrix;
 import com.github.signaflo.math.linear.doubles.Vector;
 
+import java.util.stream.IntStream;
+
 /**
  * Static methods for computing numerical derivatives.
  *
@@ -77,40 +80,139 @@ public final class NumericalDerivatives {
     }
 
     public static Vector forwardDifferenceGradient(final MultivariateFunction f, final Vector point, final double h) {
-        double[] newPoints = point.elements().clone();
-        final double[] partials = new double[point.size()];
-        final double functionValue = f.at(point);
-        for (int i = 0; i < partials.length; i++) {
-            newPoints[i] = point.at(i) + h;
-            partials[i] = (f.at(Vector.from(newPoints)) - functionValue) / h;
-            newPoints = point.elements().clone();
-        }
-        return Vector.from(partials);
+        return forwardDifferenceGradient(f, point, h, f.at(point));
     }
 
+    // The perturbed points are built in a single scratch array that is restored after each partial derivative.
     public static Vector forwardDifferenceGradient(final MultivariateFunction f, final Vector point, final double h,
                                                           final double functionValue) {
-        double[] newPoints = point.elements().clone();
-        final double[] partials = new double[point.size()];
+        final double[] newPoints = point.elements();
+        final double[] partials = new double[newPoints.length];
         for (int i = 0; i < partials.length; i++) {
-            newPoints[i] = point.at(i) + h;
+            final double xi = newPoints[i];
+            newPoints[i] = xi + h;
             partials[i] = (f.at(Vector.from(newPoints)) - functionValue) / h;
-            newPoints = point.elements().clone();
+            newPoints[i] = xi;
         }
         return Vector.from(partials);
     }
 
+    /**
+     * Approximate the gradient by forward differences, evaluating the function at the perturbed points concurrently on
+     * the common fork-join pool. The function must be safe to evaluate from several threads at once.
+     *
+     * @param f             the function to differentiate.
+     * @param point         the point at which to approximate the gradient.
+     * @param h             the size of the perturbation.
+     * @param functionValue the value of the function at the given point.
+     * @return the approximate gradient at the given point.
+     */
+    public static Vector parallelForwardDifferenceGradient(final MultivariateFunction f, final Vector point,
+                                                           final double h, final double functionValue) {
+        final double[] elements = point.elements();
+        final double[] partials = new double[elements.length];
+        IntStream.range(0, partials.length).parallel().forEach(i -> {
+            final double[] newPoints = elements.clone();
+            newPoints[i] += h;
+            partials[i] = (f.at(Vector.from(newPoints)) - functionValue) / h;
+        });
+        return Vector.from(partials);
+    }
+
+    /**
+     * Approximate the gradient by central differences, evaluating the function at the perturbed points concurrently on
+     * the common fork-join pool. The function must be safe to evaluate from several threads at once.
+     *
+     * @param f     the function to differentiate.
+     * @param point the point at which to approximate the gradient.
+     * @param h     the size of the perturbation.
+     * @return the approximate gradient at the given point.
+     */
+    public static Vector parallelCentralDifferenceGradient(final MultivariateFunction f, final Vector point,
+                                                           final double h) {
+        final double[] elements = point.elements();
+        final double[] partials = new double[elements.length];
+        IntStream.range(0, partials.length).parallel().forEach(i -> {
+            final double[] newPoints = elements.clone();
+            newPoints[i] = elements[i] + h;
+            final double forwardValue = f.at(Vector.from(newPoints));
+            newPoints[i] = elements[i] - h;
+            partials[i] = (forwardValue - f.at(Vector.from(newPoints))) / (2 * h);
+        });
+        return Vector.from(partials);
+    }
+
     public static Vector centralDifferenceGradient(final MultivariateFunction f, final Vector point, final double h) {
-        double[] forwardPoints = point.elements().clone();
-        double[] backwardPoints = point.elements().clone();
-        final double[] partials = new double[point.size()];
+        final double[] newPoints = point.elements();
+        final double[] partials = new double[newPoints.length];
         for (int i = 0; i < partials.length; i++) {
-            forwardPoints[i] = point.at(i) + h;
-            backwardPoints[i] = point.at(i) - h;
-            partials[i] = (f.at(Vector.from(forwardPoints)) - f.at(Vector.from(backwardPoints))) / (2 * h);
-            forwardPoints = point.elements().clone();
-            backwardPoints = point.elements().clone();
+            final double xi = newPoints[i];
+            newPoints[i] = xi + h;
+            final double forwardValue = f.at(Vector.from(newPoints));
+            newPoints[i] = xi - h;
+            partials[i] = (forwardValue - f.at(Vector.from(newPoints))) / (2 * h);
+            newPoints[i] = xi;
         }
         return Vector.from(partials);
     }
+
+    /**
+     * Approximate the Hessian by central differences of function values. This takes 2n<sup>2</sup> + 1 evaluations of
+     * the function for a point with n elements.
+     *
+     * @param f     the function to differentiate.
+     * @param point the point at which to approximate the Hessian.
+     * @param h     the size of the perturbation.
+     * @return the approximate Hessian at the given point.
+     */
+    public static Matrix centralDifferenceHessian(final MultivariateFunction f, final Vector point, final double h) {
+        return centralDifferenceHessian(f, point, h, IntStream.range(0, point.size()));
+    }
+
+    /**
+     * Approximate the Hessian by central differences of function values, computing the rows concurrently on the common
+     * fork-join pool. The function must be safe to evaluate from several threads at once.
+     *
+     * @param f     the function to differentiate.
+     * @param point the point at which to approximate the Hessian.
+     * @param h     the size of the perturbation.
+     * @return the approximate Hessian at the given point.
+     */
+    public static Matrix parallelCentralDifferenceHessian(final MultivariateFunction f, final Vector point,
+                                                          final double h) {
+        return centralDifferenceHessian(f, point, h, IntStream.range(0, point.size()).parallel());
+    }
+
+    // Each row i fills the elements (i, j) and (j, i) for j <= i, so the rows can be computed in any order.
+    private static Matrix centralDifferenceHessian(final MultivariateFunction f, final Vector point, final double h,
+                                                   final IntStream rows) {
+        final double[] elements = point.elements();
+        final int n = elements.length;
+        final double functionValue = f.at(point);
+        final double[] hessian = new double[n * n];
+        rows.forEach(i -> {
+            final double[] newPoints = elements.clone();
+            newPoints[i] = elements[i] + h;
+            final double forwardValue = f.at(Vector.from(newPoints));
+            newPoints[i] = elements[i] - h;
+            final double backwardValue = f.at(Vector.from(newPoints));
+            hessian[i * n + i] = (forwardValue - 2 * functionValue + backwardValue) / (h * h);
+            for (int j = 0; j < i; j++) {
+                newPoints[i] = elements[i] + h;
+                newPoints[j] = elements[j] + h;
+                final double plusPlus = f.at(Vector.from(newPoints));
+                newPoints[j] = elements[j] - h;
+                final double plusMinus = f.at(Vector.from(newPoints));
+                newPoints[i] = elements[i] - h;
+                final double minusMinus = f.at(Vector.from(newPoints));
+                newPoints[j] = elements[j] + h;
+                final double minusPlus = f.at(Vector.from(newPoints));
+                newPoints[j] = elements[j];
+                final double value = (plusPlus - plusMinus - minusPlus + minusMinus) / (4 * h * h);
+                hessian[i * n + j] = value;
+                hessian[j * n + i] = value;
+            }
+        });
+        return Matrix.create(n, n, hessian);
+    }
 }
@@ -24,6 +24,8 @@
 package com.github.signaflo.math.linear.doubles;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * An immutable and thread-safe implementation of a real-valued matrix.
@@ -32,6 +34,13 @@ import java.util.Arrays;
  */
 final class MatrixOneD implements Matrix {
 
+    // The number of elements of the inner dimension and of the product's columns handled per block.
+    private static final int BLOCK = 64;
+    // The number of rows of the product computed by a single parallel task.
+    private static final int ROW_BLOCK = 32;
+    // The number of multiplications above which the rows of the product are computed in parallel.
+    private static final long PARALLEL_THRESHOLD = 1L << 21;
+
     private final int nrow;
     private final int ncol;
     private final double[] data;
@@ -145,19 +154,82 @@ final class MatrixOneD implements Matrix {
     public MatrixOneD times(final Matrix other) {
         if (this.ncol != other.nrow()) {
             throw new IllegalArgumentException(
-                    "The columns of this matrix must equal the columns of the other matrix. " + "This matrix has " +
-                    this.ncol + " columns and the other matrix has " + other.nrow() + " columns.");
+                    "The columns of this matrix must equal the rows of the other matrix. " + "This matrix has " +
+                    this.ncol + " columns and the other matrix has " + other.nrow() + " rows.");
         }
-        final double[] product = new double[this.nrow * other.ncol()];
+        final int otherNcol = other.ncol();
+        // Pack the transpose of the other matrix so that both operands are read along contiguous rows.
         final double[] otherData = other.data();
-        for (int i = 0; i < this.nrow; i++) {
-            for (int j = 0; j < other.ncol(); j++) {
-                for (int k = 0; k < this.ncol; k++) {
-                    product[i * this.nrow + j] += this.data[i * this.ncol + k] * otherData[j + k * other.ncol()];
+        final double[] packed = new double[otherData.length];
+        for (int k = 0; k < this.ncol; k++) {
+            for (int j = 0; j < otherNcol; j++) {
+                packed[j * this.ncol + k] = otherData[k * otherNcol + j];
+            }
+        }
+        final double[] product = new double[this.nrow * otherNcol];
+        final long work = (long) this.nrow * this.ncol * otherNcol;
+        if (work >= PARALLEL_THRESHOLD && this.nrow > ROW_BLOCK) {
+            ForkJoinPool.commonPool().invoke(new MultiplyTask(packed, otherNcol, product, 0, this.nrow));
+        } else {
+            multiplyRows(packed, otherNcol, product, 0, this.nrow);
+        }
+        return new MatrixOneD(this.nrow, otherNcol, product);
+    }
+
+    /*
+     * Compute rows from (inclusive) to to (exclusive) of the product of this matrix with the matrix whose
+     * transpose is packed. The inner dimension is split into blocks so that the block of packed columns in use
+     * stays in cache while it is reused for every row. Each element is always accumulated in the same order,
+     * so the result does not depend on how the rows are divided between threads.
+     */
+    private void multiplyRows(final double[] packed, final int otherNcol, final double[] product, final int from,
+                              final int to) {
+        final int inner = this.ncol;
+        for (int kb = 0; kb < inner; kb += BLOCK) {
+            final int kEnd = Math.min(kb + BLOCK, inner);
+            for (int jb = 0; jb < otherNcol; jb += BLOCK) {
+                final int jEnd = Math.min(jb + BLOCK, otherNcol);
+                for (int i = from; i < to; i++) {
+                    final int rowOffset = i * inner;
+                    for (int j = jb; j < jEnd; j++) {
+                        final int columnOffset = j * inner;
+                        double sum = 0.0;
+                        for (int k = kb; k < kEnd; k++) {
+                            sum += this.data[rowOffset + k] * packed[columnOffset + k];
+                        }
+                        product[i * otherNcol + j] += sum;
+                    }
                 }
             }
         }
-        return new MatrixOneD(this.nrow, other.ncol(), product);
+    }
+
+    private final class MultiplyTask extends RecursiveAction {
+
+        private final double[] packed;
+        private final int otherNcol;
+        private final double[] product;
+        private final int from;
+        private final int to;
+
+        private MultiplyTask(double[] packed, int otherNcol, double[] product, int from, int to) {
+            this.packed = packed;
+            this.otherNcol = otherNcol;
+            this.product = product;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROW_BLOCK) {
+                multiplyRows(packed, otherNcol, product, from, to);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new MultiplyTask(packed, otherNcol, product, from, middle),
+                          new MultiplyTask(packed, otherNcol, product, middle, to));
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import com.github.signaflo.math.operations.DoubleKernels;
+
+import java.util.Arrays;
+
+/**
+ * A mutable real-valued matrix stored in row-major order. This is the companion of the immutable {@link Matrix} for
+ * inner loops that cannot afford an allocation per operation. Operations either modify this matrix in place and
+ * return it, or write their result into a target supplied by the caller. This class is not thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class MutableMatrix {
+
+    private final int nrow;
+    private final int ncol;
+    private final double[] data;
+
+    private MutableMatrix(final int nrow, final int ncol, final double[] data) {
+        this.nrow = nrow;
+        this.ncol = ncol;
+        this.data = data;
+    }
+
+    /**
+     * Create a new mutable matrix of zeros with the given dimensions.
+     *
+     * @param nrow the number of rows of the matrix.
+     * @param ncol the number of columns of the matrix.
+     * @return a new mutable matrix of zeros with the given dimensions.
+     *
+     * @throws IllegalArgumentException if either dimension is negative.
+     */
+    public static MutableMatrix zeros(final int nrow, final int ncol) {
+        if (nrow < 0 || ncol < 0) {
+            throw new IllegalArgumentException("The dimensions must be non-negative, but were " + nrow + " and " +
+                                               ncol);
+        }
+        return new MutableMatrix(nrow, ncol, new double[nrow * ncol]);
+    }
+
+    /**
+     * Create a new n by n mutable identity matrix.
+     *
+     * @param n the number of rows and columns of the matrix.
+     * @return a new n by n mutable identity matrix.
+     */
+    public static MutableMatrix identity(final int n) {
+        return zeros(n, n).setToIdentity();
+    }
+
+    /**
+     * Create a new mutable matrix with the same dimensions and elements as the given matrix.
+     *
+     * @param matrix the matrix to copy.
+     * @return a new mutable matrix with the same dimensions and elements as the given matrix.
+     */
+    public static MutableMatrix copyOf(final Matrix matrix) {
+        return new MutableMatrix(matrix.nrow(), matrix.ncol(), matrix.data());
+    }
+
+    /**
+     * The number of rows of this matrix.
+     *
+     * @return the number of rows of this matrix.
+     */
+    public int nrow() {
+        return this.nrow;
+    }
+
+    /**
+     * The number of columns of this matrix.
+     *
+     * @return the number of columns of this matrix.
+     */
+    public int ncol() {
+        return this.ncol;
+    }
+
+    /**
+     * Return the element in row i and column j, where indexing begins at 0.
+     *
+     * @param i the row index of the element.
+     * @param j the column index of the element.
+     * @return the element in row i and column j.
+     */
+    public double get(final int i, final int j) {
+        return this.data[i * ncol + j];
+    }
+
+    /**
+     * Set the element in row i and column j, where indexing begins at 0, to the given value.
+     *
+     * @param i     the row index of the element.
+     * @param j     the column index of the element.
+     * @param value the new value of the element.
+     */
+    public void set(final int i, final int j, final double value) {
+        this.data[i * ncol + j] = value;
+    }
+
+    /**
+     * Set every element of this matrix to the given value.
+     *
+     * @param value the new value of every element.
+     * @return this matrix.
+     */
+    public MutableMatrix fill(final double value) {
+        Arrays.fill(this.data, value);
+        return this;
+    }
+
+    /**
+     * Set this square matrix to the identity matrix.
+     *
+     * @return this matrix.
+     *
+     * @throws IllegalStateException if this matrix is not square.
+     */
+    public MutableMatrix setToIdentity() {
+        if (nrow != ncol) {
+            throw new IllegalStateException("Only a square matrix can be set to the identity, but this matrix is " +
+                                            nrow + " by " + ncol);
+        }
+        Arrays.fill(this.data, 0.0);
+        for (int i = 0; i < nrow; i++) {
+            this.data[i * ncol + i] = 1.0;
+        }
+        return this;
+    }
+
+    /**
+     * Copy the elements of the given matrix into this matrix.
+     *
+     * @param other the matrix to copy.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the dimensions of the other matrix differ from those of this matrix.
+     */
+    public MutableMatrix setTo(final Matrix other) {
+        checkDimensions(other.nrow(), other.ncol());
+        for (int i = 0; i < nrow; i++) {
+            for (int j = 0; j < ncol; j++) {
+                this.data[i * ncol + j] = other.get(i, j);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copy the elements of the given matrix into this matrix.
+     *
+     * @param other the matrix to copy.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the dimensions of the other matrix differ from those of this matrix.
+     */
+    public MutableMatrix setTo(final MutableMatrix other) {
+        checkDimensions(other);
+        System.arraycopy(other.data, 0, this.data, 0, data.length);
+        return this;
+    }
+
+    /**
+     * Add the given matrix to this matrix in place.
+     *
+     * @param other the matrix to add to this matrix.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the dimensions of the other matrix differ from those of this matrix.
+     */
+    public MutableMatrix add(final MutableMatrix other) {
+        plusInto(other, this);
+        return this;
+    }
+
+    /**
+     * Subtract the given matrix from this matrix in place.
+     *
+     * @param other the matrix to subtract from this matrix.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the dimensions of the other matrix differ from those of this matrix.
+     */
+    public MutableMatrix subtract(final MutableMatrix other) {
+        minusInto(other, this);
+        return this;
+    }
+
+    /**
+     * Scale this matrix by the given scalar in place.
+     *
+     * @param alpha the scalar to scale this matrix by.
+     * @return this matrix.
+     */
+    public MutableMatrix scale(final double alpha) {
+        scaledByInto(alpha, this);
+        return this;
+    }
+
+    /**
+     * Add this matrix to the given matrix and write the result into the target. The target may be either operand.
+     *
+     * @param other  the matrix to add to this matrix.
+     * @param target the matrix to write the sum into.
+     *
+     * @throws IllegalArgumentException if the dimensions of either matrix differ from those of this matrix.
+     */
+    public void plusInto(final MutableMatrix other, final MutableMatrix target) {
+        checkDimensions(other);
+        checkDimensions(target);
+        DoubleKernels.add(this.data, other.data, target.data);
+    }
+
+    /**
+     * Subtract the given matrix from this matrix and write the result into the target. The target may be either
+     * operand.
+     *
+     * @param other  the matrix to subtract from this matrix.
+     * @param target the matrix to write the difference into.
+     *
+     * @throws IllegalArgumentException if the dimensions of either matrix differ from those of this matrix.
+     */
+    public void minusInto(final MutableMatrix other, final MutableMatrix target) {
+        checkDimensions(other);
+        checkDimensions(target);
+        DoubleKernels.subtract(this.data, other.data, target.data);
+    }
+
+    /**
+     * Scale this matrix by the given scalar and write the result into the target. The target may be this matrix.
+     *
+     * @param alpha  the scalar to scale this matrix by.
+     * @param target the matrix to write the scaled matrix into.
+     *
+     * @throws IllegalArgumentException if the dimensions of the target differ from those of this matrix.
+     */
+    public void scaledByInto(final double alpha, final MutableMatrix target) {
+        checkDimensions(target);
+        for (int i = 0; i < data.length; i++) {
+            target.data[i] = alpha * this.data[i];
+        }
+    }
+
+    /**
+     * Multiply this matrix by the given vector and write the result into the target. The target must not be the
+     * given vector.
+     *
+     * @param vector the vector to multiply this matrix by.
+     * @param target the vector to write the product into.
+     *
+     * @throws IllegalArgumentException if the size of the vector differs from the number of columns of this matrix,
+     *                                  if the size of the target differs from the number of rows of this matrix, or
+     *                                  if the target is the given vector.
+     */
+    public void timesInto(final MutableVector vector, final MutableVector target) {
+        if (vector.size() != ncol) {
+            throw new IllegalArgumentException("The vector must have " + ncol + " elements, but had " +
+                                               vector.size());
+        }
+        if (target.size() != nrow) {
+            throw new IllegalArgumentException("The target must have " + nrow + " elements, but had " +
+                                               target.size());
+        }
+        if (target == vector) {
+            throw new IllegalArgumentException("The target must not be the vector being multiplied.");
+        }
+        final double[] x = vector.data();
+        final double[] result = target.data();
+        for (int i = 0; i < nrow; i++) {
+            final int row = i * ncol;
+            double sum = 0.0;
+            for (int j = 0; j < ncol; j++) {
+                sum += data[row + j] * x[j];
+            }
+            result[i] = sum;
+        }
+    }
+
+    /**
+     * Multiply this matrix by the given matrix and write the result into the target. The target must not be either
+     * operand.
+     *
+     * @param other  the matrix to multiply this matrix by.
+     * @param target the matrix to write the product into.
+     *
+     * @throws IllegalArgumentException if the number of rows of the other matrix differs from the number of columns of
+     *                                  this matrix, if the dimensions of the target are not those of the product, or
+     *                                  if the target is one of the operands.
+     */
+    public void timesInto(final MutableMatrix other, final MutableMatrix target) {
+        if (other.nrow != ncol) {
+            throw new IllegalArgumentException("The number of rows of the argument must equal the number of columns " +
+                                               "of this matrix, but were " + other.nrow + " and " + ncol);
+        }
+        target.checkDimensions(nrow, other.ncol);
+        if (target == this || target == other) {
+            throw new IllegalArgumentException("The target must not be one of the matrices being multiplied.");
+        }
+        final int m = other.ncol;
+        Arrays.fill(target.data, 0.0);
+        for (int i = 0; i < nrow; i++) {
+            final int row = i * ncol;
+            final int targetRow = i * m;
+            for (int k = 0; k < ncol; k++) {
+                final double a = data[row + k];
+                if (a != 0.0) {
+                    final int otherRow = k * m;
+                    for (int j = 0; j < m; j++) {
+                        target.data[targetRow + j] += a * other.data[otherRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the outer product of x and y, scaled by alpha, to this matrix in place.
+     *
+     * @param alpha the scalar to scale the outer product by.
+     * @param x     the vector whose elements index the rows of the outer product.
+     * @param y     the vector whose elements index the columns of the outer product.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the size of x differs from the number of rows of this matrix or the size
+     *                                  of y differs from the number of columns.
+     */
+    public MutableMatrix addOuterProduct(final double alpha, final MutableVector x, final MutableVector y) {
+        if (x.size() != nrow || y.size() != ncol) {
+            throw new IllegalArgumentException("The outer product must be " + nrow + " by " + ncol + ", but was " +
+                                               x.size() + " by " + y.size());
+        }
+        final double[] xs = x.data();
+        final double[] ys = y.data();
+        for (int i = 0; i < nrow; i++) {
+            final int row = i * ncol;
+            final double axi = alpha * xs[i];
+            for (int j = 0; j < ncol; j++) {
+                data[row + j] += axi * ys[j];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add alpha * x * x<sup>T</sup> to this square matrix in place. The update is symmetric, so a symmetric matrix
+     * stays exactly symmetric.
+     *
+     * @param alpha the scalar to scale the update by.
+     * @param x     the vector of the update.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if this matrix is not square or the size of x differs from the number of rows
+     *                                  of this matrix.
+     */
+    public MutableMatrix addSymmetricRankOne(final double alpha, final MutableVector x) {
+        if (nrow != ncol || x.size() != nrow) {
+            throw new IllegalArgumentException("A symmetric rank-one update requires a square matrix and a vector " +
+                                               "of the same size, but the matrix was " + nrow + " by " + ncol +
+                                               " and the vector had size " + x.size());
+        }
+        final double[] xs = x.data();
+        for (int i = 0; i < nrow; i++) {
+            final double axi = alpha * xs[i];
+            for (int j = i; j < nrow; j++) {
+                final double value = data[i * ncol + j] + axi * xs[j];
+                data[i * ncol + j] = value;
+                data[j * ncol + i] = value;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add alpha * (x * y<sup>T</sup> + y * x<sup>T</sup>) to this square matrix in place. The update is symmetric,
+     * so a symmetric matrix stays exactly symmetric.
+     *
+     * @param alpha the scalar to scale the update by.
+     * @param x     the first vector of the update.
+     * @param y     the second vector of the update.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if this matrix is not square or the size of either vector differs from the
+     *                                  number of rows of this matrix.
+     */
+    public MutableMatrix addSymmetricRankTwo(final double alpha, final MutableVector x, final MutableVector y) {
+        if (nrow != ncol || x.size() != nrow || y.size() != nrow) {
+            throw new IllegalArgumentException("A symmetric rank-two update requires a square matrix and vectors " +
+                                               "of the same size, but the matrix was " + nrow + " by " + ncol +
+                                               " and the vectors had sizes " + x.size() + " and " + y.size());
+        }
+        final double[] xs = x.data();
+        final double[] ys = y.data();
+        for (int i = 0; i < nrow; i++) {
+            final double axi = alpha * xs[i];
+            final double ayi = alpha * ys[i];
+            for (int j = i; j < nrow; j++) {
+                final double value = data[i * ncol + j] + axi * ys[j] + ayi * xs[j];
+                data[i * ncol + j] = value;
+                data[j * ncol + i] = value;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Compute <em>x</em><sup>T</sup><em>A</em><em>x</em>, where <em>A</em> is this square matrix.
+     *
+     * @param x the vector component of the quadratic form.
+     * @return the result of <em>x</em><sup>T</sup><em>A</em><em>x</em>.
+     *
+     * @throws IllegalArgumentException if this matrix is not square or the size of x differs from the number of rows
+     *                                  of this matrix.
+     */
+    public double quadraticForm(final MutableVector x) {
+        if (nrow != ncol || x.size() != nrow) {
+            throw new IllegalArgumentException("A quadratic form requires a square matrix and a vector of the same " +
+                                               "size, but the matrix was " + nrow + " by " + ncol +
+                                               " and the vector had size " + x.size());
+        }
+        final double[] xs = x.data();
+        double result = 0.0;
+        for (int i = 0; i < nrow; i++) {
+            final int row = i * ncol;
+            double sum = 0.0;
+            for (int j = 0; j < ncol; j++) {
+                sum += data[row + j] * xs[j];
+            }
+            result += xs[i] * sum;
+        }
+        return result;
+    }
+
+    /**
+     * Copy the diagonal of this matrix into the given array.
+     *
+     * @param target the array to copy the diagonal into.
+     *
+     * @throws IllegalArgumentException if the length of the array differs from the length of the diagonal.
+     */
+    public void diagonalInto(final double[] target) {
+        final int n = Math.min(nrow, ncol);
+        if (target.length != n) {
+            throw new IllegalArgumentException("The target must have " + n + " elements, but had " + target.length);
+        }
+        for (int i = 0; i < n; i++) {
+            target[i] = data[i * ncol + i];
+        }
+    }
+
+    /**
+     * Create a new immutable matrix with the current elements of this matrix.
+     *
+     * @return a new immutable matrix with the current elements of this matrix.
+     */
+    public Matrix toMatrix() {
+        return new MatrixOneD(nrow, ncol, data);
+    }
+
+    private void checkDimensions(final MutableMatrix other) {
+        checkDimensions(other.nrow, other.ncol);
+    }
+
+    private void checkDimensions(final int otherNrow, final int otherNcol) {
+        if (otherNrow != nrow || otherNcol != ncol) {
+            throw new IllegalArgumentException("The matrix dimensions must be equal, but were " + nrow + " by " +
+                                               ncol + " and " + otherNrow + " by " + otherNcol);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "nrow: " + nrow + ", ncol: " + ncol + ", data: " + Arrays.toString(data);
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import com.github.signaflo.math.operations.DoubleKernels;
+
+import java.util.Arrays;
+
+/**
+ * A mutable real-valued vector backed by an array of primitive doubles. This is the companion of the immutable
+ * {@link Vector} for inner loops that cannot afford an allocation per operation. Operations either modify this vector
+ * in place and return it, or write their result into a target vector supplied by the caller. This class is not
+ * thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class MutableVector {
+
+    private final double[] elements;
+
+    private MutableVector(final double[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Create a new mutable vector of zeros with the given size.
+     *
+     * @param n the size of the new vector.
+     * @return a new mutable vector of zeros with the given size.
+     */
+    public static MutableVector zeros(final int n) {
+        return new MutableVector(new double[n]);
+    }
+
+    /**
+     * Create a new mutable vector from the given elements. The elements are copied.
+     *
+     * @param elements the elements of the new vector.
+     * @return a new mutable vector with the given elements.
+     */
+    public static MutableVector from(final double... elements) {
+        return new MutableVector(elements.clone());
+    }
+
+    /**
+     * Create a new mutable vector with the same elements as the given vector.
+     *
+     * @param vector the vector to copy.
+     * @return a new mutable vector with the same elements as the given vector.
+     */
+    public static MutableVector copyOf(final Vector vector) {
+        return new MutableVector(vector.elements());
+    }
+
+    /**
+     * The number of elements in this vector.
+     *
+     * @return the number of elements in this vector.
+     */
+    public int size() {
+        return this.elements.length;
+    }
+
+    /**
+     * Return the element at index i, where indexing begins at 0.
+     *
+     * @param i the index of the element.
+     * @return the element at index i, where indexing begins at 0.
+     */
+    public double at(final int i) {
+        return this.elements[i];
+    }
+
+    /**
+     * Set the element at index i, where indexing begins at 0, to the given value.
+     *
+     * @param i     the index of the element.
+     * @param value the new value of the element.
+     */
+    public void set(final int i, final double value) {
+        this.elements[i] = value;
+    }
+
+    /**
+     * Set every element of this vector to the given value.
+     *
+     * @param value the new value of every element.
+     * @return this vector.
+     */
+    public MutableVector fill(final double value) {
+        Arrays.fill(this.elements, value);
+        return this;
+    }
+
+    /**
+     * Copy the given elements into this vector.
+     *
+     * @param values the new elements of this vector.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the number of values differs from the size of this vector.
+     */
+    public MutableVector setTo(final double... values) {
+        checkSize(values.length);
+        System.arraycopy(values, 0, this.elements, 0, values.length);
+        return this;
+    }
+
+    /**
+     * Copy the elements of the given vector into this vector.
+     *
+     * @param other the vector to copy.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public MutableVector setTo(final Vector other) {
+        checkSize(other.size());
+        for (int i = 0; i < elements.length; i++) {
+            this.elements[i] = other.at(i);
+        }
+        return this;
+    }
+
+    /**
+     * Copy the elements of the given vector into this vector.
+     *
+     * @param other the vector to copy.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public MutableVector setTo(final MutableVector other) {
+        return setTo(other.elements);
+    }
+
+    /**
+     * Add the given vector to this vector in place.
+     *
+     * @param other the vector to add to this vector.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public MutableVector add(final MutableVector other) {
+        plusInto(other, this);
+        return this;
+    }
+
+    /**
+     * Subtract the given vector from this vector in place.
+     *
+     * @param other the vector to subtract from this vector.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public MutableVector subtract(final MutableVector other) {
+        minusInto(other, this);
+        return this;
+    }
+
+    /**
+     * Scale this vector by the given scalar in place.
+     *
+     * @param alpha the scalar to scale this vector by.
+     * @return this vector.
+     */
+    public MutableVector scale(final double alpha) {
+        scaledByInto(alpha, this);
+        return this;
+    }
+
+    /**
+     * Add the given vector scaled by alpha to this vector in place.
+     *
+     * @param alpha the scalar to scale the other vector by.
+     * @param x     the vector to scale and add to this vector.
+     * @return this vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public MutableVector axpy(final double alpha, final MutableVector x) {
+        checkSize(x.size());
+        for (int i = 0; i < elements.length; i++) {
+            this.elements[i] += alpha * x.elements[i];
+        }
+        return this;
+    }
+
+    /**
+     * Add this vector to the given vector and write the result into the target. The target may be this vector or the
+     * other vector.
+     *
+     * @param other  the vector to add to this vector.
+     * @param target the vector to write the sum into.
+     *
+     * @throws IllegalArgumentException if either vector differs in size from this vector.
+     */
+    public void plusInto(final MutableVector other, final MutableVector target) {
+        checkSize(other.size());
+        checkSize(target.size());
+        DoubleKernels.add(this.elements, other.elements, target.elements);
+    }
+
+    /**
+     * Subtract the given vector from this vector and write the result into the target. The target may be this vector
+     * or the other vector.
+     *
+     * @param other  the vector to subtract from this vector.
+     * @param target the vector to write the difference into.
+     *
+     * @throws IllegalArgumentException if either vector differs in size from this vector.
+     */
+    public void minusInto(final MutableVector other, final MutableVector target) {
+        checkSize(other.size());
+        checkSize(target.size());
+        DoubleKernels.subtract(this.elements, other.elements, target.elements);
+    }
+
+    /**
+     * Scale this vector by the given scalar and write the result into the target. The target may be this vector.
+     *
+     * @param alpha  the scalar to scale this vector by.
+     * @param target the vector to write the scaled vector into.
+     *
+     * @throws IllegalArgumentException if the target differs in size from this vector.
+     */
+    public void scaledByInto(final double alpha, final MutableVector target) {
+        checkSize(target.size());
+        for (int i = 0; i < elements.length; i++) {
+            target.elements[i] = alpha * this.elements[i];
+        }
+    }
+
+    /**
+     * Push the provided value to the front of this vector and write the result into the target, which must have one
+     * more element than this vector.
+     *
+     * @param value  the value to push to the front of the vector.
+     * @param target the vector to write the result into.
+     *
+     * @throws IllegalArgumentException if the size of the target is not one more than the size of this vector.
+     */
+    public void pushInto(final double value, final MutableVector target) {
+        if (target.size() != elements.length + 1) {
+            throw new IllegalArgumentException("The target must have " + (elements.length + 1) +
+                                               " elements, but had " + target.size());
+        }
+        System.arraycopy(this.elements, 0, target.elements, 1, elements.length);
+        target.elements[0] = value;
+    }
+
+    /**
+     * Compute and return the dot product of this vector and the given vector.
+     *
+     * @param other the vector to take the dot product with.
+     * @return the dot product of this vector and the given vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public double dotProduct(final MutableVector other) {
+        checkSize(other.size());
+        double product = 0.0;
+        for (int i = 0; i < elements.length; i++) {
+            product += this.elements[i] * other.elements[i];
+        }
+        return product;
+    }
+
+    /**
+     * Compute and return the dot product of this vector and the given vector.
+     *
+     * @param other the vector to take the dot product with.
+     * @return the dot product of this vector and the given vector.
+     *
+     * @throws IllegalArgumentException if the other vector differs in size from this vector.
+     */
+    public double dotProduct(final Vector other) {
+        checkSize(other.size());
+        double product = 0.0;
+        for (int i = 0; i < elements.length; i++) {
+            product += this.elements[i] * other.at(i);
+        }
+        return product;
+    }
+
+    /**
+     * Compute and return the L2 length of this vector.
+     *
+     * @return the L2 length of this vector.
+     */
+    public double norm() {
+        return Math.sqrt(dotProduct(this));
+    }
+
+    /**
+     * Compute and return the sum of the elements of this vector.
+     *
+     * @return the sum of the elements of this vector.
+     */
+    public double sum() {
+        return DoubleKernels.sum(elements);
+    }
+
+    /**
+     * Compute and return the sum of squared elements of this vector.
+     *
+     * @return the sum of squared elements of this vector.
+     */
+    public double sumOfSquares() {
+        return DoubleKernels.sumOfSquares(elements);
+    }
+
+    /**
+     * The elements of this vector as a new array of primitive doubles.
+     *
+     * @return the elements of this vector as a new array of primitive doubles.
+     */
+    public double[] elements() {
+        return this.elements.clone();
+    }
+
+    /**
+     * Copy the elements of this vector into the given array.
+     *
+     * @param target the array to copy the elements into.
+     *
+     * @throws IllegalArgumentException if the length of the array differs from the size of this vector.
+     */
+    public void copyInto(final double[] target) {
+        checkSize(target.length);
+        System.arraycopy(this.elements, 0, target, 0, elements.length);
+    }
+
+    /**
+     * Create a new immutable vector with the current elements of this vector.
+     *
+     * @return a new immutable vector with the current elements of this vector.
+     */
+    public Vector toVector() {
+        return new GenericVector(this.elements);
+    }
+
+    // Direct access to the backing array for the other types in this package.
+    double[] data() {
+        return this.elements;
+    }
+
+    private void checkSize(final int size) {
+        if (size != elements.length) {
+            throw new IllegalArgumentException("The vector sizes must be equal, but were " + elements.length +
+                                               " and " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "elements: " + Arrays.toString(elements);
+    }
+}
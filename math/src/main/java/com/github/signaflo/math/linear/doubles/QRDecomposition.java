@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+/**
+ * A reusable Householder QR decomposition, A = Q * R, of small dense m by n matrices with m &ge; n, stored in
+ * column-major order. The Householder vectors are kept in place of the decomposed matrix, so Q is never formed. The
+ * storage is allocated once, when the decomposition is created, and reused by every call to
+ * {@link #decompose(double[])}. This class is not thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class QRDecomposition {
+
+    private final int m;
+    private final int n;
+    private final double[] qr; // The Householder vectors below the diagonal and R above it, in column-major order.
+    private final double[] rDiagonal;
+    private final double[] work;
+    private boolean decomposed;
+
+    /**
+     * Create a new decomposition for m by n matrices.
+     *
+     * @param m the number of rows of the matrices to decompose.
+     * @param n the number of columns of the matrices to decompose.
+     *
+     * @throws IllegalArgumentException if n is negative or m is less than n.
+     */
+    public QRDecomposition(final int m, final int n) {
+        if (n < 0 || m < n) {
+            throw new IllegalArgumentException("The number of rows must be at least the number of columns, which " +
+                                               "must be non-negative, but they were " + m + " and " + n);
+        }
+        this.m = m;
+        this.n = n;
+        this.qr = new double[m * n];
+        this.rDiagonal = new double[n];
+        this.work = new double[m];
+    }
+
+    /**
+     * Decompose the given matrix. The matrix is not modified.
+     *
+     * @param a the m by n matrix in column-major order.
+     *
+     * @throws IllegalArgumentException if the length of the array is not m * n.
+     */
+    public void decompose(final double[] a) {
+        checkLength(a.length, m * n);
+        System.arraycopy(a, 0, qr, 0, qr.length);
+        for (int k = 0; k < n; k++) {
+            final int colK = k * m;
+            double norm = 0.0;
+            for (int i = k; i < m; i++) {
+                norm = Math.hypot(norm, qr[colK + i]);
+            }
+            if (norm != 0.0) {
+                if (qr[colK + k] < 0) {
+                    norm = -norm;
+                }
+                for (int i = k; i < m; i++) {
+                    qr[colK + i] /= norm;
+                }
+                qr[colK + k] += 1.0;
+                for (int j = k + 1; j < n; j++) {
+                    final int colJ = j * m;
+                    double s = 0.0;
+                    for (int i = k; i < m; i++) {
+                        s += qr[colK + i] * qr[colJ + i];
+                    }
+                    s = -s / qr[colK + k];
+                    for (int i = k; i < m; i++) {
+                        qr[colJ + i] += s * qr[colK + i];
+                    }
+                }
+            }
+            rDiagonal[k] = -norm;
+        }
+        this.decomposed = true;
+    }
+
+    /**
+     * Whether R, and so the decomposed matrix, has full column rank.
+     *
+     * @return true if R has full column rank, and false otherwise.
+     *
+     * @throws IllegalStateException if no matrix has been decomposed.
+     */
+    public boolean isFullRank() {
+        checkDecomposed();
+        for (int k = 0; k < n; k++) {
+            if (rDiagonal[k] == 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy the n by n upper triangular factor R, in row-major order, into the target.
+     *
+     * @param target the array to copy the factor into.
+     *
+     * @throws IllegalArgumentException if the length of the target is not n * n.
+     * @throws IllegalStateException    if no matrix has been decomposed.
+     */
+    public void upperInto(final double[] target) {
+        checkDecomposed();
+        checkLength(target.length, n * n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                target[i * n + j] = (j > i) ? qr[j * m + i] : (j == i) ? rDiagonal[i] : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Find the least squares solution x of A * x = b and write it into the target. The right-hand side is not
+     * modified.
+     *
+     * @param b      the right-hand side, with m elements.
+     * @param target the array to write the solution, with n elements, into.
+     *
+     * @throws IllegalArgumentException if the length of b is not m or the length of the target is not n.
+     * @throws IllegalStateException    if no matrix has been decomposed or the decomposed matrix is rank deficient.
+     */
+    public void solve(final double[] b, final double[] target) {
+        checkFullRank();
+        checkLength(b.length, m);
+        checkLength(target.length, n);
+        System.arraycopy(b, 0, work, 0, m);
+        // Compute the transpose of Q times b, one Householder reflection at a time.
+        for (int k = 0; k < n; k++) {
+            final int colK = k * m;
+            double s = 0.0;
+            for (int i = k; i < m; i++) {
+                s += qr[colK + i] * work[i];
+            }
+            s = -s / qr[colK + k];
+            for (int i = k; i < m; i++) {
+                work[i] += s * qr[colK + i];
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            double sum = work[k];
+            for (int j = k + 1; j < n; j++) {
+                sum -= qr[j * m + k] * target[j];
+            }
+            target[k] = sum / rDiagonal[k];
+        }
+    }
+
+    /**
+     * Compute the inverse of A<sup>T</sup> * A, which is the inverse of R<sup>T</sup> * R, and write it, in row-major
+     * order, into the target. For a design matrix this is the unscaled covariance matrix of the least squares
+     * estimates.
+     *
+     * @param target the array to write the inverse into.
+     *
+     * @throws IllegalArgumentException if the length of the target is not n * n.
+     * @throws IllegalStateException    if no matrix has been decomposed or the decomposed matrix is rank deficient.
+     */
+    public void inverseOfGramInto(final double[] target) {
+        checkFullRank();
+        checkLength(target.length, n * n);
+        // First write the inverse of R into the upper triangle of the target, column by column.
+        for (int j = 0; j < n; j++) {
+            target[j * n + j] = 1.0 / rDiagonal[j];
+            for (int i = j - 1; i >= 0; i--) {
+                double sum = 0.0;
+                for (int k = i + 1; k <= j; k++) {
+                    sum -= qr[k * m + i] * target[k * n + j];
+                }
+                target[i * n + j] = sum / rDiagonal[i];
+            }
+        }
+        // The inverse of R' * R is the inverse of R times its transpose. Element (i, j) with i <= j only reads
+        // columns k >= j of rows i and j, so the upper triangle can be overwritten row by row, from the left.
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double sum = 0.0;
+                for (int k = j; k < n; k++) {
+                    sum += target[i * n + k] * target[j * n + k];
+                }
+                target[i * n + j] = sum;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                target[i * n + j] = target[j * n + i];
+            }
+        }
+    }
+
+    private void checkDecomposed() {
+        if (!decomposed) {
+            throw new IllegalStateException("No matrix has been decomposed.");
+        }
+    }
+
+    private void checkFullRank() {
+        if (!isFullRank()) {
+            throw new IllegalStateException("The decomposed matrix is rank deficient.");
+        }
+    }
+
+    private static void checkLength(final int length, final int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException("The array must have " + expected + " elements, but had " + length);
+        }
+    }
+}
@@ -71,6 +71,24 @@ public final class QuadraticForm {
         return result;
     }
 
+    /**
+     * Compute <em>x</em><sup>T</sup><em>A</em><em>x</em> for a symmetric matrix in packed storage and return the
+     * resulting value.
+     *
+     * @param x the vector component of the quadratic form.
+     * @param A the symmetric matrix component of the quadratic form.
+     * @return the result of <em>x</em><sup>T</sup><em>A</em><em>x</em>.
+     */
+    public static double multiply(Vector x, SymmetricMatrix A) {
+        checkNotNull(x, "null Vector argument.");
+        checkNotNull(A, "null Matrix argument.");
+        if (x.size() != A.size()) {
+            throw new IllegalArgumentException("The number of matrix columns must be the same" +
+                                               " as the size of the vector.");
+        }
+        return A.quadraticForm(x);
+    }
+
     private static void validateArguments(Vector x, Matrix A) {
         checkNotNull(x, "null Vector argument.");
         checkNotNull(A, "null Matrix argument.");
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+/**
+ * A reusable eigen decomposition, A = V * D * V<sup>T</sup>, of small dense symmetric matrices stored in row-major
+ * order, computed with the cyclic Jacobi method. For the matrix sizes met in time series models, up to a few dozen
+ * rows, the Jacobi method converges in a handful of sweeps and gives eigenvectors that are orthogonal to working
+ * precision. The storage is allocated once, when the decomposition is created, and reused by every call to
+ * {@link #decompose(double[])}. This class is not thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class SymmetricEigenDecomposition {
+
+    private static final int MAX_SWEEPS = 50;
+
+    private final int n;
+    private final double[] a; // The working copy of the matrix, reduced towards diagonal form.
+    private final double[] v; // The eigenvectors, stored as the columns of a row-major matrix.
+    private final double[] eigenvalues;
+    private boolean decomposed;
+
+    /**
+     * Create a new decomposition for n by n matrices.
+     *
+     * @param n the number of rows and columns of the matrices to decompose.
+     *
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public SymmetricEigenDecomposition(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The dimension must be non-negative, but was " + n);
+        }
+        this.n = n;
+        this.a = new double[n * n];
+        this.v = new double[n * n];
+        this.eigenvalues = new double[n];
+    }
+
+    /**
+     * Decompose the given symmetric matrix. Only the lower triangle of the matrix is read, and the matrix is not
+     * modified. The eigenvalues are sorted in ascending order.
+     *
+     * @param matrix the n by n symmetric matrix in row-major order.
+     *
+     * @throws IllegalArgumentException if the length of the array is not n * n.
+     * @throws IllegalStateException    if the method fails to converge.
+     */
+    public void decompose(final double[] matrix) {
+        checkLength(matrix.length, n * n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                a[i * n + j] = matrix[i * n + j];
+                a[j * n + i] = matrix[i * n + j];
+                v[i * n + j] = (i == j) ? 1.0 : 0.0;
+                v[j * n + i] = v[i * n + j];
+            }
+        }
+        if (n == 2) {
+            rotate(0, 1);
+        } else {
+            int sweep = 0;
+            while (offDiagonalNorm() > 0.0) {
+                if (++sweep > MAX_SWEEPS) {
+                    this.decomposed = false;
+                    throw new IllegalStateException("The eigen decomposition failed to converge.");
+                }
+                for (int p = 0; p < n - 1; p++) {
+                    for (int q = p + 1; q < n; q++) {
+                        rotate(p, q);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            eigenvalues[i] = a[i * n + i];
+        }
+        sort();
+        this.decomposed = true;
+    }
+
+    // Apply the Jacobi rotation in the (p, q) plane that zeroes the element in row p and column q.
+    private void rotate(final int p, final int q) {
+        final double apq = a[p * n + q];
+        if (apq == 0.0) {
+            return;
+        }
+        final double theta = (a[q * n + q] - a[p * n + p]) / (2.0 * apq);
+        final double t = Math.signum(theta == 0.0 ? 1.0 : theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0));
+        final double c = 1.0 / Math.sqrt(t * t + 1.0);
+        final double s = t * c;
+        for (int k = 0; k < n; k++) {
+            final double akp = a[k * n + p];
+            final double akq = a[k * n + q];
+            a[k * n + p] = c * akp - s * akq;
+            a[k * n + q] = s * akp + c * akq;
+        }
+        for (int k = 0; k < n; k++) {
+            final double apk = a[p * n + k];
+            final double aqk = a[q * n + k];
+            a[p * n + k] = c * apk - s * aqk;
+            a[q * n + k] = s * apk + c * aqk;
+        }
+        a[p * n + q] = 0.0;
+        a[q * n + p] = 0.0;
+        for (int k = 0; k < n; k++) {
+            final double vkp = v[k * n + p];
+            final double vkq = v[k * n + q];
+            v[k * n + p] = c * vkp - s * vkq;
+            v[k * n + q] = s * vkp + c * vkq;
+        }
+    }
+
+    // The sum of squares of the off-diagonal elements that are not negligible relative to their diagonal elements.
+    private double offDiagonalNorm() {
+        double sum = 0.0;
+        for (int p = 0; p < n - 1; p++) {
+            for (int q = p + 1; q < n; q++) {
+                final double apq = a[p * n + q];
+                final double scale = Math.abs(a[p * n + p]) + Math.abs(a[q * n + q]);
+                if (Math.abs(apq) < Double.MIN_NORMAL || scale + 100.0 * Math.abs(apq) == scale) {
+                    a[p * n + q] = 0.0;
+                    a[q * n + p] = 0.0;
+                } else {
+                    sum += apq * apq;
+                }
+            }
+        }
+        return sum;
+    }
+
+    // Sort the eigenvalues in ascending order, moving the eigenvectors along with them.
+    private void sort() {
+        for (int i = 1; i < n; i++) {
+            final double value = eigenvalues[i];
+            int j = i - 1;
+            while (j >= 0 && eigenvalues[j] > value) {
+                j--;
+            }
+            if (++j < i) {
+                System.arraycopy(eigenvalues, j, eigenvalues, j + 1, i - j);
+                eigenvalues[j] = value;
+                for (int k = 0; k < n; k++) {
+                    final int row = k * n;
+                    final double vki = v[row + i];
+                    System.arraycopy(v, row + j, v, row + j + 1, i - j);
+                    v[row + j] = vki;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the i<sup>th</sup> smallest eigenvalue, where indexing begins at 0.
+     *
+     * @param i the index of the eigenvalue.
+     * @return the i<sup>th</sup> smallest eigenvalue.
+     *
+     * @throws IllegalStateException if no matrix has been decomposed.
+     */
+    public double eigenvalue(final int i) {
+        checkDecomposed();
+        return eigenvalues[i];
+    }
+
+    /**
+     * Copy the eigenvalues, in ascending order, into the target.
+     *
+     * @param target the array to copy the eigenvalues into.
+     *
+     * @throws IllegalArgumentException if the length of the target is not n.
+     * @throws IllegalStateException    if no matrix has been decomposed.
+     */
+    public void eigenvaluesInto(final double[] target) {
+        checkDecomposed();
+        checkLength(target.length, n);
+        System.arraycopy(eigenvalues, 0, target, 0, n);
+    }
+
+    /**
+     * Copy the unit eigenvectors into the target as the columns of an n by n row-major matrix. Column i is the
+     * eigenvector of the i<sup>th</sup> smallest eigenvalue.
+     *
+     * @param target the array to copy the eigenvectors into.
+     *
+     * @throws IllegalArgumentException if the length of the target is not n * n.
+     * @throws IllegalStateException    if no matrix has been decomposed.
+     */
+    public void eigenvectorsInto(final double[] target) {
+        checkDecomposed();
+        checkLength(target.length, n * n);
+        System.arraycopy(v, 0, target, 0, v.length);
+    }
+
+    private void checkDecomposed() {
+        if (!decomposed) {
+            throw new IllegalStateException("No matrix has been decomposed.");
+        }
+    }
+
+    private static void checkLength(final int length, final int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException("The array must have " + expected + " elements, but had " + length);
+        }
+    }
+}
@@ -0,0 +1,645 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import java.util.Arrays;
+
+/**
+ * A mutable real-valued symmetric matrix in packed storage. Only the lower triangle is stored, row by row, so the
+ * element in row i and column j, with j &le; i, is at index i(i + 1)/2 + j of an array of n(n + 1)/2 elements. This
+ * halves the memory, and the memory traffic, of covariance matrices and Hessian approximations compared to dense
+ * storage. Every operation preserves symmetry exactly. This class is not thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class SymmetricMatrix {
+
+    private final int n;
+    private final double[] packed;
+    private double[] scratch; // Allocated on first use by the operations that need a row of working space.
+
+    private SymmetricMatrix(final int n, final double[] packed) {
+        this.n = n;
+        this.packed = packed;
+    }
+
+    /**
+     * Create a new n by n symmetric matrix of zeros.
+     *
+     * @param n the number of rows and columns of the matrix.
+     * @return a new n by n symmetric matrix of zeros.
+     *
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public static SymmetricMatrix zeros(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The dimension must be non-negative, but was " + n);
+        }
+        return new SymmetricMatrix(n, new double[packedLength(n)]);
+    }
+
+    /**
+     * Create a new n by n symmetric identity matrix.
+     *
+     * @param n the number of rows and columns of the matrix.
+     * @return a new n by n symmetric identity matrix.
+     */
+    public static SymmetricMatrix identity(final int n) {
+        return zeros(n).setToIdentity();
+    }
+
+    /**
+     * Create a new symmetric matrix from the lower triangle of the given packed array, stored row by row. The array
+     * is copied.
+     *
+     * @param n      the number of rows and columns of the matrix.
+     * @param packed the lower triangle of the matrix stored row by row.
+     * @return a new symmetric matrix with the given lower triangle.
+     *
+     * @throws IllegalArgumentException if the length of the array is not n(n + 1)/2.
+     */
+    public static SymmetricMatrix fromPacked(final int n, final double... packed) {
+        if (packed.length != packedLength(n)) {
+            throw new IllegalArgumentException("A packed " + n + " by " + n + " matrix has " + packedLength(n) +
+                                               " elements, but " + packed.length + " were provided.");
+        }
+        return new SymmetricMatrix(n, packed.clone());
+    }
+
+    /**
+     * Create a new symmetric matrix from the lower triangle of the given square matrix. The upper triangle is not
+     * read.
+     *
+     * @param matrix the matrix to copy the lower triangle of.
+     * @return a new symmetric matrix with the lower triangle of the given matrix.
+     *
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static SymmetricMatrix copyOf(final Matrix matrix) {
+        return zeros(matrix.nrow()).setTo(matrix);
+    }
+
+    private static int packedLength(final int n) {
+        return n * (n + 1) / 2;
+    }
+
+    private static int index(final int i, final int j) {
+        return (i >= j) ? i * (i + 1) / 2 + j : j * (j + 1) / 2 + i;
+    }
+
+    /**
+     * The number of rows, and of columns, of this matrix.
+     *
+     * @return the number of rows, and of columns, of this matrix.
+     */
+    public int size() {
+        return this.n;
+    }
+
+    /**
+     * Return the element in row i and column j, where indexing begins at 0.
+     *
+     * @param i the row index of the element.
+     * @param j the column index of the element.
+     * @return the element in row i and column j.
+     */
+    public double get(final int i, final int j) {
+        return this.packed[index(i, j)];
+    }
+
+    /**
+     * Set the element in row i and column j, and so also the element in row j and column i, to the given value.
+     *
+     * @param i     the row index of the element.
+     * @param j     the column index of the element.
+     * @param value the new value of the element.
+     */
+    public void set(final int i, final int j, final double value) {
+        this.packed[index(i, j)] = value;
+    }
+
+    /**
+     * Set every element of this matrix to the given value.
+     *
+     * @param value the new value of every element.
+     * @return this matrix.
+     */
+    public SymmetricMatrix fill(final double value) {
+        Arrays.fill(this.packed, value);
+        return this;
+    }
+
+    /**
+     * Set this matrix to the identity matrix.
+     *
+     * @return this matrix.
+     */
+    public SymmetricMatrix setToIdentity() {
+        Arrays.fill(this.packed, 0.0);
+        for (int i = 0; i < n; i++) {
+            this.packed[i * (i + 1) / 2 + i] = 1.0;
+        }
+        return this;
+    }
+
+    /**
+     * Copy the given symmetric matrix into this matrix.
+     *
+     * @param other the matrix to copy.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the other matrix differs in size from this matrix.
+     */
+    public SymmetricMatrix setTo(final SymmetricMatrix other) {
+        checkSize(other.n);
+        System.arraycopy(other.packed, 0, this.packed, 0, packed.length);
+        return this;
+    }
+
+    /**
+     * Copy the lower triangle of the given square matrix into this matrix. The upper triangle is not read.
+     *
+     * @param other the matrix to copy the lower triangle of.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the other matrix is not square or differs in size from this matrix.
+     */
+    public SymmetricMatrix setTo(final Matrix other) {
+        if (other.nrow() != other.ncol()) {
+            throw new IllegalArgumentException("A symmetric matrix can only be copied from a square matrix, but the " +
+                                               "matrix was " + other.nrow() + " by " + other.ncol());
+        }
+        checkSize(other.nrow());
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                this.packed[k++] = other.get(i, j);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add the given matrix to this matrix in place.
+     *
+     * @param other the matrix to add to this matrix.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the other matrix differs in size from this matrix.
+     */
+    public SymmetricMatrix add(final SymmetricMatrix other) {
+        checkSize(other.n);
+        for (int k = 0; k < packed.length; k++) {
+            this.packed[k] += other.packed[k];
+        }
+        return this;
+    }
+
+    /**
+     * Subtract the given matrix from this matrix in place.
+     *
+     * @param other the matrix to subtract from this matrix.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the other matrix differs in size from this matrix.
+     */
+    public SymmetricMatrix subtract(final SymmetricMatrix other) {
+        checkSize(other.n);
+        for (int k = 0; k < packed.length; k++) {
+            this.packed[k] -= other.packed[k];
+        }
+        return this;
+    }
+
+    /**
+     * Scale this matrix by the given scalar in place.
+     *
+     * @param alpha the scalar to scale this matrix by.
+     * @return this matrix.
+     */
+    public SymmetricMatrix scale(final double alpha) {
+        for (int k = 0; k < packed.length; k++) {
+            this.packed[k] *= alpha;
+        }
+        return this;
+    }
+
+    /**
+     * Add alpha * x * x<sup>T</sup> to this matrix in place.
+     *
+     * @param alpha the scalar to scale the update by.
+     * @param x     the vector of the update.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the size of x differs from the size of this matrix.
+     */
+    public SymmetricMatrix rankOneUpdate(final double alpha, final MutableVector x) {
+        checkSize(x.size());
+        final double[] xs = x.data();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            final double axi = alpha * xs[i];
+            for (int j = 0; j <= i; j++) {
+                this.packed[k++] += axi * xs[j];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add alpha * (x * y<sup>T</sup> + y * x<sup>T</sup>) to this matrix in place.
+     *
+     * @param alpha the scalar to scale the update by.
+     * @param x     the first vector of the update.
+     * @param y     the second vector of the update.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the size of either vector differs from the size of this matrix.
+     */
+    public SymmetricMatrix rankTwoUpdate(final double alpha, final MutableVector x, final MutableVector y) {
+        checkSize(x.size());
+        checkSize(y.size());
+        final double[] xs = x.data();
+        final double[] ys = y.data();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            final double axi = alpha * xs[i];
+            final double ayi = alpha * ys[i];
+            for (int j = 0; j <= i; j++) {
+                this.packed[k++] += axi * ys[j] + ayi * xs[j];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add alpha * A * A<sup>T</sup> to this matrix in place, where A is an n by k matrix.
+     *
+     * @param alpha the scalar to scale the update by.
+     * @param a     the n by k matrix of the update.
+     * @return this matrix.
+     *
+     * @throws IllegalArgumentException if the number of rows of A differs from the size of this matrix.
+     */
+    public SymmetricMatrix rankKUpdate(final double alpha, final MutableMatrix a) {
+        checkSize(a.nrow());
+        final int k = a.ncol();
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = 0.0;
+                for (int l = 0; l < k; l++) {
+                    sum += a.get(i, l) * a.get(j, l);
+                }
+                this.packed[index++] += alpha * sum;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Multiply this matrix by the given vector and write the result into the target. The target must not be the
+     * given vector.
+     *
+     * @param vector the vector to multiply this matrix by.
+     * @param target the vector to write the product into.
+     *
+     * @throws IllegalArgumentException if the size of either vector differs from the size of this matrix, or if the
+     *                                  target is the given vector.
+     */
+    public void timesInto(final MutableVector vector, final MutableVector target) {
+        checkSize(vector.size());
+        checkSize(target.size());
+        if (target == vector) {
+            throw new IllegalArgumentException("The target must not be the vector being multiplied.");
+        }
+        multiply(vector.data(), 0, target.data(), 0);
+    }
+
+    /*
+     * Write A * x into the result, where x and the result start at the given offsets of their arrays. Each stored
+     * element is read once and used for both of the entries it represents.
+     */
+    private void multiply(final double[] x, final int xOffset, final double[] result, final int resultOffset) {
+        Arrays.fill(result, resultOffset, resultOffset + n, 0.0);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            final double xi = x[xOffset + i];
+            double sum = 0.0;
+            for (int j = 0; j < i; j++) {
+                final double aij = packed[k++];
+                sum += aij * x[xOffset + j];
+                result[resultOffset + j] += aij * xi;
+            }
+            result[resultOffset + i] += sum + packed[k++] * xi;
+        }
+    }
+
+    /**
+     * Compute T * A * T<sup>T</sup>, where A is this matrix, and write the result into the target. The target must
+     * not be this matrix.
+     *
+     * @param t      the square matrix to transform this matrix by.
+     * @param target the matrix to write the result into.
+     *
+     * @throws IllegalArgumentException if T is not square, if either T or the target differs in size from this
+     *                                  matrix, or if the target is this matrix.
+     */
+    public void congruenceInto(final MutableMatrix t, final SymmetricMatrix target) {
+        if (t.nrow() != n || t.ncol() != n) {
+            throw new IllegalArgumentException("The transformation must be " + n + " by " + n + ", but was " +
+                                               t.nrow() + " by " + t.ncol());
+        }
+        checkSize(target.n);
+        if (target == this) {
+            throw new IllegalArgumentException("The target must not be the matrix being transformed.");
+        }
+        final double[] row = scratch();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            // The first half of the scratch space holds row i of T, the second holds A times that row.
+            for (int l = 0; l < n; l++) {
+                row[l] = t.get(i, l);
+            }
+            multiply(row, 0, row, n);
+            for (int j = 0; j <= i; j++) {
+                double sum = 0.0;
+                for (int l = 0; l < n; l++) {
+                    sum += t.get(j, l) * row[n + l];
+                }
+                target.packed[k++] = sum;
+            }
+        }
+    }
+
+    /**
+     * Copy column j of this matrix into the target.
+     *
+     * @param j      the index of the column.
+     * @param target the vector to copy the column into.
+     *
+     * @throws IllegalArgumentException if the size of the target differs from the size of this matrix.
+     */
+    public void columnInto(final int j, final MutableVector target) {
+        checkSize(target.size());
+        final double[] result = target.data();
+        for (int i = 0; i < n; i++) {
+            result[i] = packed[index(i, j)];
+        }
+    }
+
+    /**
+     * Copy the diagonal of this matrix into the given array.
+     *
+     * @param target the array to copy the diagonal into.
+     *
+     * @throws IllegalArgumentException if the length of the array differs from the size of this matrix.
+     */
+    public void diagonalInto(final double[] target) {
+        checkSize(target.length);
+        for (int i = 0; i < n; i++) {
+            target[i] = packed[i * (i + 1) / 2 + i];
+        }
+    }
+
+    /**
+     * Compute <em>x</em><sup>T</sup><em>A</em><em>x</em>, where <em>A</em> is this matrix.
+     *
+     * @param x the vector component of the quadratic form.
+     * @return the result of <em>x</em><sup>T</sup><em>A</em><em>x</em>.
+     *
+     * @throws IllegalArgumentException if the size of x differs from the size of this matrix.
+     */
+    public double quadraticForm(final Vector x) {
+        checkSize(x.size());
+        double result = 0.0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            final double xi = x.at(i);
+            double offDiagonal = 0.0;
+            for (int j = 0; j < i; j++) {
+                offDiagonal += packed[k++] * x.at(j);
+            }
+            result += xi * (2.0 * offDiagonal + packed[k++] * xi);
+        }
+        return result;
+    }
+
+    /**
+     * Compute <em>x</em><sup>T</sup><em>A</em><em>x</em>, where <em>A</em> is this matrix.
+     *
+     * @param x the vector component of the quadratic form.
+     * @return the result of <em>x</em><sup>T</sup><em>A</em><em>x</em>.
+     *
+     * @throws IllegalArgumentException if the size of x differs from the size of this matrix.
+     */
+    public double quadraticForm(final MutableVector x) {
+        checkSize(x.size());
+        final double[] xs = x.data();
+        double result = 0.0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            double offDiagonal = 0.0;
+            for (int j = 0; j < i; j++) {
+                offDiagonal += packed[k++] * xs[j];
+            }
+            result += xs[i] * (2.0 * offDiagonal + packed[k++] * xs[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Compute the Cholesky decomposition of this matrix, A = L * L<sup>T</sup>, with the lower triangular factor L
+     * held in packed storage. This matrix is not modified.
+     *
+     * @return the Cholesky decomposition of this matrix.
+     *
+     * @throws IllegalStateException if this matrix is not positive definite.
+     */
+    public Cholesky cholesky() {
+        final double[] l = packed.clone();
+        int rowI = 0;
+        for (int i = 0; i < n; i++) {
+            int rowJ = 0;
+            for (int j = 0; j <= i; j++) {
+                double sum = l[rowI + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= l[rowI + k] * l[rowJ + k];
+                }
+                if (j < i) {
+                    l[rowI + j] = sum / l[rowJ + j];
+                } else if (sum > 0.0) {
+                    l[rowI + i] = Math.sqrt(sum);
+                } else {
+                    throw new IllegalStateException("The matrix is not positive definite.");
+                }
+                rowJ += j + 1;
+            }
+            rowI += i + 1;
+        }
+        return new Cholesky(n, l);
+    }
+
+    /**
+     * Create a new immutable matrix with the current elements of this matrix in dense storage.
+     *
+     * @return a new immutable matrix with the current elements of this matrix.
+     */
+    public Matrix toMatrix() {
+        final double[] data = new double[n * n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                data[i * n + j] = packed[k];
+                data[j * n + i] = packed[k];
+                k++;
+            }
+        }
+        return new MatrixOneD(n, n, data);
+    }
+
+    /**
+     * The lower triangle of this matrix stored row by row, as a new array.
+     *
+     * @return the lower triangle of this matrix stored row by row.
+     */
+    public double[] packed() {
+        return this.packed.clone();
+    }
+
+    private double[] scratch() {
+        if (scratch == null) {
+            scratch = new double[2 * n];
+        }
+        return scratch;
+    }
+
+    private void checkSize(final int size) {
+        if (size != n) {
+            throw new IllegalArgumentException("The sizes must be equal, but were " + n + " and " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "n: " + n + ", packed: " + Arrays.toString(packed);
+    }
+
+    /**
+     * The Cholesky decomposition, A = L * L<sup>T</sup>, of a symmetric positive definite matrix, with the lower
+     * triangular factor L held in packed storage. This class is immutable and thread-safe.
+     */
+    public static final class Cholesky {
+
+        private final int n;
+        private final double[] l;
+
+        private Cholesky(final int n, final double[] l) {
+            this.n = n;
+            this.l = l;
+        }
+
+        /**
+         * Return the element in row i and column j of the lower triangular factor L.
+         *
+         * @param i the row index of the element.
+         * @param j the column index of the element.
+         * @return the element in row i and column j of the lower triangular factor.
+         */
+        public double get(final int i, final int j) {
+            return (j > i) ? 0.0 : l[i * (i + 1) / 2 + j];
+        }
+
+        /**
+         * Solve A * x = b and write x into the target. The target may be b.
+         *
+         * @param b      the right-hand side of the system.
+         * @param target the vector to write the solution into.
+         *
+         * @throws IllegalArgumentException if the size of either vector differs from the size of the decomposed
+         *                                  matrix.
+         */
+        public void solveInto(final MutableVector b, final MutableVector target) {
+            if (b.size() != n || target.size() != n) {
+                throw new IllegalArgumentException("The vectors must have " + n + " elements, but had " + b.size() +
+                                                   " and " + target.size());
+            }
+            final double[] x = target.data();
+            if (target != b) {
+                System.arraycopy(b.data(), 0, x, 0, n);
+            }
+            // Forward substitution with L.
+            int row = 0;
+            for (int i = 0; i < n; i++) {
+                double sum = x[i];
+                for (int k = 0; k < i; k++) {
+                    sum -= l[row + k] * x[k];
+                }
+                x[i] = sum / l[row + i];
+                row += i + 1;
+            }
+            // Back substitution with the transpose of L, reading L by columns.
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int k = i + 1; k < n; k++) {
+                    sum -= l[k * (k + 1) / 2 + i] * x[k];
+                }
+                x[i] = sum / l[i * (i + 1) / 2 + i];
+            }
+        }
+
+        /**
+         * Compute the inverse of the decomposed matrix.
+         *
+         * @return the inverse of the decomposed matrix.
+         */
+        public SymmetricMatrix inverse() {
+            final SymmetricMatrix inverse = SymmetricMatrix.zeros(n);
+            final MutableVector column = MutableVector.zeros(n);
+            for (int j = 0; j < n; j++) {
+                column.fill(0.0);
+                column.set(j, 1.0);
+                solveInto(column, column);
+                for (int i = j; i < n; i++) {
+                    inverse.set(i, j, column.at(i));
+                }
+            }
+            return inverse;
+        }
+
+        /**
+         * Compute the natural logarithm of the determinant of the decomposed matrix.
+         *
+         * @return the natural logarithm of the determinant of the decomposed matrix.
+         */
+        public double logDeterminant() {
+            double sum = 0.0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.log(l[i * (i + 1) / 2 + i]);
+            }
+            return 2.0 * sum;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A small pool of {@link MutableVector}s, {@link MutableMatrix}s and {@link SymmetricMatrix}s keyed by their
+ * dimensions. Code that repeatedly
+ * needs scratch space of the same shape, such as an optimizer run many times on problems of the same size, can borrow
+ * it from a workspace and release it when finished instead of allocating it anew each time.
+ *
+ * <p>Borrowed vectors and matrices are always filled with zeros. A workspace is not thread-safe. Each thread may
+ * use its own workspace through {@link #local()}.
+ *
+ * <pre>{@code
+ * Workspace workspace = Workspace.local();
+ * MutableVector direction = workspace.vector(n);
+ * try {
+ *     // ...
+ * } finally {
+ *     workspace.release(direction);
+ * }
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public final class Workspace {
+
+    // The maximum number of released objects kept for each shape.
+    private static final int MAX_POOLED_PER_SHAPE = 8;
+    private static final ThreadLocal<Workspace> LOCAL = ThreadLocal.withInitial(Workspace::new);
+
+    private final Map<Integer, ArrayDeque<MutableVector>> vectors = new HashMap<>();
+    private final Map<Long, ArrayDeque<MutableMatrix>> matrices = new HashMap<>();
+    private final Map<Integer, ArrayDeque<SymmetricMatrix>> symmetricMatrices = new HashMap<>();
+
+    /**
+     * Create a new, empty workspace.
+     */
+    public Workspace() {
+    }
+
+    /**
+     * The workspace belonging to the current thread.
+     *
+     * @return the workspace belonging to the current thread.
+     */
+    public static Workspace local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Borrow a vector of zeros with the given size.
+     *
+     * @param n the size of the vector.
+     * @return a vector of zeros with the given size.
+     */
+    public MutableVector vector(final int n) {
+        final ArrayDeque<MutableVector> pool = vectors.get(n);
+        if (pool == null || pool.isEmpty()) {
+            return MutableVector.zeros(n);
+        }
+        return pool.pop().fill(0.0);
+    }
+
+    /**
+     * Borrow a matrix of zeros with the given dimensions.
+     *
+     * @param nrow the number of rows of the matrix.
+     * @param ncol the number of columns of the matrix.
+     * @return a matrix of zeros with the given dimensions.
+     */
+    public MutableMatrix matrix(final int nrow, final int ncol) {
+        final ArrayDeque<MutableMatrix> pool = matrices.get(key(nrow, ncol));
+        if (pool == null || pool.isEmpty()) {
+            return MutableMatrix.zeros(nrow, ncol);
+        }
+        return pool.pop().fill(0.0);
+    }
+
+    /**
+     * Borrow an n by n symmetric matrix of zeros.
+     *
+     * @param n the number of rows and columns of the matrix.
+     * @return an n by n symmetric matrix of zeros.
+     */
+    public SymmetricMatrix symmetricMatrix(final int n) {
+        final ArrayDeque<SymmetricMatrix> pool = symmetricMatrices.get(n);
+        if (pool == null || pool.isEmpty()) {
+            return SymmetricMatrix.zeros(n);
+        }
+        return pool.pop().fill(0.0);
+    }
+
+    /**
+     * Return the given vector to this workspace. The vector must not be used after it is released.
+     * Releasing a vector that is already held by this workspace has no effect.
+     *
+     * @param vector the vector to return.
+     */
+    public void release(final MutableVector vector) {
+        final ArrayDeque<MutableVector> pool = vectors.computeIfAbsent(vector.size(), (n) -> new ArrayDeque<>());
+        if (pool.size() < MAX_POOLED_PER_SHAPE && !holds(pool, vector)) {
+            pool.push(vector);
+        }
+    }
+
+    /**
+     * Return the given matrix to this workspace. The matrix must not be used after it is released.
+     * Releasing a matrix that is already held by this workspace has no effect.
+     *
+     * @param matrix the matrix to return.
+     */
+    public void release(final MutableMatrix matrix) {
+        final ArrayDeque<MutableMatrix> pool = matrices.computeIfAbsent(key(matrix.nrow(), matrix.ncol()),
+                                                                        (k) -> new ArrayDeque<>());
+        if (pool.size() < MAX_POOLED_PER_SHAPE && !holds(pool, matrix)) {
+            pool.push(matrix);
+        }
+    }
+
+    /**
+     * Return the given symmetric matrix to this workspace. The matrix must not be used after it is released.
+     * Releasing a matrix that is already held by this workspace has no effect.
+     *
+     * @param matrix the matrix to return.
+     */
+    public void release(final SymmetricMatrix matrix) {
+        final ArrayDeque<SymmetricMatrix> pool = symmetricMatrices.computeIfAbsent(matrix.size(),
+                                                                                   (n) -> new ArrayDeque<>());
+        if (pool.size() < MAX_POOLED_PER_SHAPE && !holds(pool, matrix)) {
+            pool.push(matrix);
+        }
+    }
+
+    // Whether the pool holds this very object. Pooled objects are mutable, so equal contents do not make them the same.
+    private static <T> boolean holds(final ArrayDeque<T> pool, final T object) {
+        for (T pooled : pool) {
+            if (pooled == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long key(final int nrow, final int ncol) {
+        return ((long) nrow << 32) | (ncol & 0xFFFFFFFFL);
+    }
+}
@@ -250,6 +250,34 @@ public final class DoubleFunctions {
         return boxCoxed;
     }
 
+    /**
+     * Transform the given value using a Box-Cox transformation with the given lambda value.
+     *
+     * @param value  the value to transform.
+     * @param lambda the Box-Cox parameter.
+     * @return the value transformed using a Box-Cox transformation with the given lambda value.
+     */
+    public static double boxCox(final double value, final double lambda) {
+        if (Math.abs(lambda) < EPSILON) {
+            return Math.log(value);
+        }
+        return (Math.pow(value, lambda) - 1) / lambda;
+    }
+
+    /**
+     * Invert the Box-Cox transformation of the given value, returning the original untransformed value.
+     *
+     * @param value  the transformed value to invert.
+     * @param lambda the Box-Cox parameter used in the transformation.
+     * @return the original, untransformed value.
+     */
+    public static double inverseBoxCox(final double value, final double lambda) {
+        if (Math.abs(lambda) < EPSILON) {
+            return Math.exp(value);
+        }
+        return Math.pow(value * lambda + 1, 1 / lambda);
+    }
+
     /**
      * Invert the Box-Cox transformation, returning the original untransformed data.
      *
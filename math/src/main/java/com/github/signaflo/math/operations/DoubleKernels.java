@@ -0,0 +1,545 @@
+/*
+ * Copyright (c) 2016 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.operations;
+
+/**
+ * Kernels for the reductions and element-wise operations on arrays of doubles that the
+ * statistics and arithmetic methods of this library are built on.
+ *
+ * <p>Reductions use compensated (Neumaier) summation, so the result of a reduction depends only
+ * on the input data and not on the magnitude of intermediate sums. Two implementations are
+ * available, and the one to use is chosen once when this class is loaded. The default
+ * implementation unrolls each loop over four independent accumulators, which removes the
+ * dependency between consecutive additions and lets the JIT compiler vectorize the element-wise
+ * loops. Setting the system property {@code signaflo.math.kernel} to {@code scalar} selects a
+ * straightforward single-accumulator implementation instead. Both implementations combine partial
+ * sums in a fixed order, so repeated calls with the same data always produce the same result.
+ *
+ * @author Jacob Rachiele
+ */
+public final class DoubleKernels {
+
+    static final Kernel SCALAR = new ScalarKernel();
+    static final Kernel UNROLLED = new UnrolledKernel();
+    private static final Kernel KERNEL = "scalar".equalsIgnoreCase(System.getProperty("signaflo.math.kernel"))
+            ? SCALAR : UNROLLED;
+
+    private DoubleKernels() {
+    }
+
+    /**
+     * Compute the compensated sum of the given data.
+     *
+     * @param data the data to sum.
+     * @return the sum of the data.
+     */
+    public static double sum(final double[] data) {
+        return KERNEL.sumOfDifferences(data, 0.0);
+    }
+
+    /**
+     * Compute the compensated sum of the squares of the given data.
+     *
+     * @param data the data to square and sum.
+     * @return the sum of the squares of the data.
+     */
+    public static double sumOfSquares(final double[] data) {
+        return KERNEL.sumOfSquaredDifferences(data, 0.0);
+    }
+
+    /**
+     * Compute the compensated sum of the squared differences between the data and the given point.
+     * No intermediate array is created.
+     *
+     * @param data  the data to take differences with.
+     * @param point the point to subtract from each element.
+     * @return the sum of the squared differences between the data and the point.
+     */
+    public static double sumOfSquaredDifferences(final double[] data, final double point) {
+        return KERNEL.sumOfSquaredDifferences(data, point);
+    }
+
+    /**
+     * Compute the compensated sum of the products of the differences of each array from the
+     * corresponding point, that is, the sum of (left[i] - leftPoint) * (right[i] - rightPoint).
+     * No intermediate array is created.
+     *
+     * @param left       the first array of data.
+     * @param leftPoint  the point to subtract from each element of the first array.
+     * @param right      the second array of data.
+     * @param rightPoint the point to subtract from each element of the second array.
+     * @return the sum of the products of the differences.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static double sumOfCrossProducts(final double[] left, final double leftPoint,
+                                            final double[] right, final double rightPoint) {
+        checkLengths(left, right);
+        return KERNEL.sumOfCrossProducts(left, leftPoint, right, rightPoint);
+    }
+
+    /**
+     * Compute the compensated sum of the given single precision data. Each element is widened to
+     * a double before it is added.
+     *
+     * @param data the data to sum.
+     * @return the sum of the data.
+     */
+    public static double sum(final float[] data) {
+        return KERNEL.sumOfDifferences(data, 0.0);
+    }
+
+    /**
+     * Compute the compensated sum of the squares of the given single precision data. Each element
+     * is widened to a double before it is squared.
+     *
+     * @param data the data to square and sum.
+     * @return the sum of the squares of the data.
+     */
+    public static double sumOfSquares(final float[] data) {
+        return KERNEL.sumOfSquaredDifferences(data, 0.0);
+    }
+
+    /**
+     * Compute the compensated sum of the squared differences between the single precision data and
+     * the given point. Each element is widened to a double before the difference is taken.
+     *
+     * @param data  the data to take differences with.
+     * @param point the point to subtract from each element.
+     * @return the sum of the squared differences between the data and the point.
+     */
+    public static double sumOfSquaredDifferences(final float[] data, final double point) {
+        return KERNEL.sumOfSquaredDifferences(data, point);
+    }
+
+    /**
+     * Compute the compensated sum of the products of the differences of each single precision array
+     * from the corresponding point. Each element is widened to a double before the difference is
+     * taken.
+     *
+     * @param left       the first array of data.
+     * @param leftPoint  the point to subtract from each element of the first array.
+     * @param right      the second array of data.
+     * @param rightPoint the point to subtract from each element of the second array.
+     * @return the sum of the products of the differences.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static double sumOfCrossProducts(final float[] left, final double leftPoint,
+                                            final float[] right, final double rightPoint) {
+        if (left.length != right.length) {
+            throw new IllegalArgumentException("The data arrays must have the same length.");
+        }
+        return KERNEL.sumOfCrossProducts(left, leftPoint, right, rightPoint);
+    }
+
+    /**
+     * Compute the element-by-element sum of the two arrays and store it in the given output array,
+     * which may be one of the inputs.
+     *
+     * @param left   the first array.
+     * @param right  the second array.
+     * @param output the array to store the result in.
+     * @throws IllegalArgumentException if the arrays do not all have the same length.
+     */
+    public static void add(final double[] left, final double[] right, final double[] output) {
+        checkLengths(left, right, output);
+        KERNEL.combine(left, right, output, Kernel.ADD);
+    }
+
+    /**
+     * Compute the element-by-element difference of the two arrays and store it in the given output
+     * array, which may be one of the inputs.
+     *
+     * @param left   the first array.
+     * @param right  the array to subtract from the first.
+     * @param output the array to store the result in.
+     * @throws IllegalArgumentException if the arrays do not all have the same length.
+     */
+    public static void subtract(final double[] left, final double[] right, final double[] output) {
+        checkLengths(left, right, output);
+        KERNEL.combine(left, right, output, Kernel.SUBTRACT);
+    }
+
+    /**
+     * Compute the element-by-element product of the two arrays and store it in the given output
+     * array, which may be one of the inputs.
+     *
+     * @param left   the first array.
+     * @param right  the second array.
+     * @param output the array to store the result in.
+     * @throws IllegalArgumentException if the arrays do not all have the same length.
+     */
+    public static void multiply(final double[] left, final double[] right, final double[] output) {
+        checkLengths(left, right, output);
+        KERNEL.combine(left, right, output, Kernel.MULTIPLY);
+    }
+
+    /**
+     * The name of the implementation chosen at startup.
+     *
+     * @return the name of the implementation chosen at startup.
+     */
+    public static String implementation() {
+        return KERNEL.toString();
+    }
+
+    private static void checkLengths(final double[] left, final double[] right) {
+        if (left.length != right.length) {
+            throw new IllegalArgumentException("The data arrays must have the same length.");
+        }
+    }
+
+    private static void checkLengths(final double[] left, final double[] right, final double[] output) {
+        if (left.length != right.length || left.length != output.length) {
+            throw new IllegalArgumentException("The data arrays must have the same length.");
+        }
+    }
+
+    // The rounding error made when computing total = sum + term.
+    private static double error(final double sum, final double term, final double total) {
+        return (Math.abs(sum) >= Math.abs(term)) ? (sum - total) + term : (term - total) + sum;
+    }
+
+    interface Kernel {
+
+        int ADD = 0;
+        int SUBTRACT = 1;
+        int MULTIPLY = 2;
+
+        double sumOfDifferences(double[] data, double point);
+
+        double sumOfSquaredDifferences(double[] data, double point);
+
+        double sumOfCrossProducts(double[] left, double leftPoint, double[] right, double rightPoint);
+
+        double sumOfDifferences(float[] data, double point);
+
+        double sumOfSquaredDifferences(float[] data, double point);
+
+        double sumOfCrossProducts(float[] left, double leftPoint, float[] right, double rightPoint);
+
+        void combine(double[] left, double[] right, double[] output, int operation);
+    }
+
+    private static final class ScalarKernel implements Kernel {
+
+        @Override
+        public double sumOfDifferences(final double[] data, final double point) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (double element : data) {
+                final double term = element - point;
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public double sumOfSquaredDifferences(final double[] data, final double point) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (double element : data) {
+                final double term = (element - point) * (element - point);
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public double sumOfCrossProducts(final double[] left, final double leftPoint, final double[] right,
+                                         final double rightPoint) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (int i = 0; i < left.length; i++) {
+                final double term = (left[i] - leftPoint) * (right[i] - rightPoint);
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public double sumOfDifferences(final float[] data, final double point) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (float element : data) {
+                final double term = element - point;
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public double sumOfSquaredDifferences(final float[] data, final double point) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (float element : data) {
+                final double term = (element - point) * (element - point);
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public double sumOfCrossProducts(final float[] left, final double leftPoint, final float[] right,
+                                         final double rightPoint) {
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (int i = 0; i < left.length; i++) {
+                final double term = (left[i] - leftPoint) * (right[i] - rightPoint);
+                final double total = sum + term;
+                compensation += error(sum, term, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+
+        @Override
+        public void combine(final double[] left, final double[] right, final double[] output, final int operation) {
+            for (int i = 0; i < output.length; i++) {
+                switch (operation) {
+                    case ADD:
+                        output[i] = left[i] + right[i];
+                        break;
+                    case SUBTRACT:
+                        output[i] = left[i] - right[i];
+                        break;
+                    default:
+                        output[i] = left[i] * right[i];
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    }
+
+    /*
+     * Splits each reduction over four lanes, each with its own compensated accumulator, so that
+     * consecutive additions do not depend on each other. Element i goes to lane i % 4, except for
+     * the elements past the last multiple of four, which go to the first lane. The lanes are
+     * combined in a fixed order at the end.
+     */
+    private static final class UnrolledKernel implements Kernel {
+
+        @Override
+        public double sumOfDifferences(final double[] data, final double point) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = data.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                terms[0] = data[i] - point;
+                terms[1] = data[i + 1] - point;
+                terms[2] = data[i + 2] - point;
+                terms[3] = data[i + 3] - point;
+                lanes.add(terms);
+            }
+            for (int i = bound; i < data.length; i++) {
+                lanes.add(data[i] - point);
+            }
+            return lanes.total();
+        }
+
+        @Override
+        public double sumOfSquaredDifferences(final double[] data, final double point) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = data.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                final double d0 = data[i] - point;
+                final double d1 = data[i + 1] - point;
+                final double d2 = data[i + 2] - point;
+                final double d3 = data[i + 3] - point;
+                terms[0] = d0 * d0;
+                terms[1] = d1 * d1;
+                terms[2] = d2 * d2;
+                terms[3] = d3 * d3;
+                lanes.add(terms);
+            }
+            for (int i = bound; i < data.length; i++) {
+                final double d = data[i] - point;
+                lanes.add(d * d);
+            }
+            return lanes.total();
+        }
+
+        @Override
+        public double sumOfCrossProducts(final double[] left, final double leftPoint, final double[] right,
+                                         final double rightPoint) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = left.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                terms[0] = (left[i] - leftPoint) * (right[i] - rightPoint);
+                terms[1] = (left[i + 1] - leftPoint) * (right[i + 1] - rightPoint);
+                terms[2] = (left[i + 2] - leftPoint) * (right[i + 2] - rightPoint);
+                terms[3] = (left[i + 3] - leftPoint) * (right[i + 3] - rightPoint);
+                lanes.add(terms);
+            }
+            for (int i = bound; i < left.length; i++) {
+                lanes.add((left[i] - leftPoint) * (right[i] - rightPoint));
+            }
+            return lanes.total();
+        }
+
+        @Override
+        public double sumOfDifferences(final float[] data, final double point) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = data.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                terms[0] = data[i] - point;
+                terms[1] = data[i + 1] - point;
+                terms[2] = data[i + 2] - point;
+                terms[3] = data[i + 3] - point;
+                lanes.add(terms);
+            }
+            for (int i = bound; i < data.length; i++) {
+                lanes.add(data[i] - point);
+            }
+            return lanes.total();
+        }
+
+        @Override
+        public double sumOfSquaredDifferences(final float[] data, final double point) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = data.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                final double d0 = data[i] - point;
+                final double d1 = data[i + 1] - point;
+                final double d2 = data[i + 2] - point;
+                final double d3 = data[i + 3] - point;
+                terms[0] = d0 * d0;
+                terms[1] = d1 * d1;
+                terms[2] = d2 * d2;
+                terms[3] = d3 * d3;
+                lanes.add(terms);
+            }
+            for (int i = bound; i < data.length; i++) {
+                final double d = data[i] - point;
+                lanes.add(d * d);
+            }
+            return lanes.total();
+        }
+
+        @Override
+        public double sumOfCrossProducts(final float[] left, final double leftPoint, final float[] right,
+                                         final double rightPoint) {
+            final double[] terms = new double[4];
+            final Lanes lanes = new Lanes();
+            final int bound = left.length & ~3;
+            for (int i = 0; i < bound; i += 4) {
+                terms[0] = (left[i] - leftPoint) * (right[i] - rightPoint);
+                terms[1] = (left[i + 1] - leftPoint) * (right[i + 1] - rightPoint);
+                terms[2] = (left[i + 2] - leftPoint) * (right[i + 2] - rightPoint);
+                terms[3] = (left[i + 3] - leftPoint) * (right[i + 3] - rightPoint);
+                lanes.add(terms);
+            }
+            for (int i = bound; i < left.length; i++) {
+                lanes.add((left[i] - leftPoint) * (right[i] - rightPoint));
+            }
+            return lanes.total();
+        }
+
+        // Each case is a separate simple loop so that the JIT compiler can vectorize it.
+        @Override
+        public void combine(final double[] left, final double[] right, final double[] output, final int operation) {
+            final int n = output.length;
+            switch (operation) {
+                case ADD:
+                    for (int i = 0; i < n; i++) {
+                        output[i] = left[i] + right[i];
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < n; i++) {
+                        output[i] = left[i] - right[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < n; i++) {
+                        output[i] = left[i] * right[i];
+                    }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "unrolled";
+        }
+    }
+
+    /*
+     * Four compensated accumulators. Instances never escape the method that creates them, so the
+     * JIT compiler keeps the fields in registers.
+     */
+    private static final class Lanes {
+
+        private double s0, s1, s2, s3;
+        private double c0, c1, c2, c3;
+
+        void add(final double[] terms) {
+            final double t0 = s0 + terms[0];
+            final double t1 = s1 + terms[1];
+            final double t2 = s2 + terms[2];
+            final double t3 = s3 + terms[3];
+            c0 += error(s0, terms[0], t0);
+            c1 += error(s1, terms[1], t1);
+            c2 += error(s2, terms[2], t2);
+            c3 += error(s3, terms[3], t3);
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+        }
+
+        void add(final double term) {
+            final double t0 = s0 + term;
+            c0 += error(s0, term, t0);
+            s0 = t0;
+        }
+
+        double total() {
+            double sum = 0.0;
+            double compensation = c0 + c1 + c2 + c3;
+            for (double partial : new double[] {s0, s1, s2, s3}) {
+                final double total = sum + partial;
+                compensation += error(sum, partial, total);
+                sum = total;
+            }
+            return sum + compensation;
+        }
+    }
+}
@@ -46,9 +46,7 @@ public final class Operators {
             throw new IllegalArgumentException("The data arrays must have the same length.");
         }
         final double[] product = new double[left.length];
-        for (int i = 0; i < left.length; i++) {
-            product[i] = left[i] * right[i];
-        }
+        DoubleKernels.multiply(left, right, product);
         return product;
     }
 
@@ -64,9 +62,7 @@ public final class Operators {
             throw new IllegalArgumentException("The data arrays must have the same length.");
         }
         final double[] sum = new double[left.length];
-        for (int i = 0; i < left.length; i++) {
-            sum[i] = left[i] + right[i];
-        }
+        DoubleKernels.add(left, right, sum);
         return sum;
     }
 
@@ -82,9 +78,7 @@ public final class Operators {
             throw new IllegalArgumentException("The data arrays must have the same length.");
         }
         final double[] difference = new double[left.length];
-        for (int i = 0; i < left.length; i++) {
-            difference[i] = left[i] - right[i];
-        }
+        DoubleKernels.subtract(left, right, difference);
         return difference;
     }
 
@@ -24,7 +24,10 @@
 package com.github.signaflo.math.optim;
 
 import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.MutableVector;
+import com.github.signaflo.math.linear.doubles.SymmetricMatrix;
 import com.github.signaflo.math.linear.doubles.Vector;
+import com.github.signaflo.math.linear.doubles.Workspace;
 import com.github.signaflo.math.function.AbstractMultivariateFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,16 +45,28 @@ public final class BFGS {
 
     private static final Logger logger = LoggerFactory.getLogger(BFGS.class);
     private static final double C1 = 1E-4;
+    private static final double C2 = 0.9;
     private static final double STEP_REDUCTION_FACTOR = 0.2;
-    //private static final double c2 = 0.9;
+    private static final int MAX_LINE_SEARCH_UPDATES = 10;
 
-    private final Matrix identity;
+    // The working storage below is borrowed from the workspace of the constructing thread for the duration of the run.
+    private final int n; // The number of input parameters.
+    private final LineSearch lineSearch;
+    private final OptimizationListener listener;
+    private final SymmetricMatrix H; // The inverse Hessian approximation.
+    private final MutableVector g; // The current gradient.
+    private final MutableVector searchDirection; // The product of -H and the gradient.
+    private final MutableVector Hy; // The product of H and y during the update.
+    private final MutableVector s; // The difference between successive iterates.
+    private final MutableVector y; // The difference between successive gradients.
+    private final Matrix inverseHessian; // The final inverse Hessian approximation.
     private Vector iterate; // The point at which to evaluate the target function.
     private double functionValue; // The latest value of the target function.
     private double rho; // Defined as 1 divided by the dot product of y and s.
-    private Vector s; // The difference between successive iterates.
-    private Vector y; // The difference between successive gradients.
-    private Matrix H; // The inverse Hessian approximation.
+    private Vector lineSearchGradient; // The gradient at the step chosen by the strong Wolfe line search.
+    private double acceptedStepSize; // The step size chosen by the strong Wolfe line search.
+    private int hessianResets;
+    private OptimizationSummary summary;
 
     /**
      * Create a new BFGS object and run the algorithm with the supplied information.
@@ -73,17 +88,93 @@ public final class BFGS {
      * @param startingPoint           the initial guess of the minimum.
      * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
      * @param relativeChangeTolerance the tolerance for the change in function value.
-     * @param initialHessian          The initial guess for the inverse Hessian approximation.
+     * @param initialHessian          The initial guess for the inverse Hessian approximation. Only its lower
+     *                                triangle is read, since the approximation is symmetric.
      */
     public BFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
                 final double relativeChangeTolerance, final Matrix initialHessian) {
-        this.identity = Matrix.identity(startingPoint.size());
-        this.H = initialHessian;
+        this(f, startingPoint, gradientNormTolerance, relativeChangeTolerance, initialHessian, LineSearch.BACKTRACKING);
+    }
+
+    /**
+     * Create a new BFGS object and run the algorithm with the supplied information.
+     *
+     * <p>With a {@link LineSearch#STRONG_WOLFE strong Wolfe} line search, a step found by the search satisfies the
+     * curvature condition, so the inverse Hessian approximation is updated with it and the periodic reset to the
+     * identity of the backtracking mode is skipped. This keeps the curvature information gathered over the whole run,
+     * which pays off on long curved valleys, but it does not reduce the number of evaluations in general. If the line
+     * search fails on an iteration, that iteration falls back to backtracking. A step found that way need not satisfy
+     * the curvature condition, and if it does not, the update is skipped and the approximation is kept unchanged.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     * @param initialHessian          The initial guess for the inverse Hessian approximation. Only its lower
+     *                                triangle is read, since the approximation is symmetric.
+     * @param lineSearch              the line search used to choose the step size.
+     */
+    public BFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                final double relativeChangeTolerance, final Matrix initialHessian, final LineSearch lineSearch) {
+        this(f, startingPoint, gradientNormTolerance, relativeChangeTolerance, initialHessian, lineSearch,
+             OptimizationListener.NONE);
+    }
+
+    /**
+     * Create a new BFGS object and run the algorithm with the supplied information, notifying the given listener after
+     * each iteration.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     * @param initialHessian          The initial guess for the inverse Hessian approximation. Only its lower
+     *                                triangle is read, since the approximation is symmetric.
+     * @param lineSearch              the line search used to choose the step size.
+     * @param listener                the listener to notify after each iteration.
+     */
+    public BFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                final double relativeChangeTolerance, final Matrix initialHessian, final LineSearch lineSearch,
+                final OptimizationListener listener) {
+        this.n = startingPoint.size();
+        this.lineSearch = lineSearch;
+        this.listener = listener;
+        final Workspace workspace = Workspace.local();
+        this.H = workspace.symmetricMatrix(n);
+        this.g = workspace.vector(n);
+        this.searchDirection = workspace.vector(n);
+        this.Hy = workspace.vector(n);
+        this.s = workspace.vector(n);
+        this.y = workspace.vector(n);
+        try {
+            H.setTo(initialHessian);
+            minimize(f, startingPoint, gradientNormTolerance, relativeChangeTolerance);
+            this.inverseHessian = H.toMatrix();
+        } finally {
+            workspace.release(H);
+            workspace.release(g);
+            workspace.release(searchDirection);
+            workspace.release(Hy);
+            workspace.release(s);
+            workspace.release(y);
+        }
+    }
+
+    private void minimize(final AbstractMultivariateFunction f, final Vector startingPoint,
+                          final double gradientNormTolerance, final double relativeChangeTolerance) {
+        final long startNanos = System.nanoTime();
+        final int startFunctionEvaluations = f.functionEvaluations();
+        final int startGradientEvaluations = f.gradientEvaluations();
         this.iterate = startingPoint;
         int k = 0;
+        int totalStepReductions = 0;
         double priorFunctionValue;
         functionValue = f.at(startingPoint);
         Vector gradient = f.gradientAt(startingPoint, functionValue);
+        double gradientNorm = (gradient.size() > 0) ? gradient.norm() : 0.0;
+        OptimizationSummary.Termination termination = Double.isFinite(gradientNorm)
+                                                      ? OptimizationSummary.Termination.GRADIENT_TOLERANCE
+                                                      : OptimizationSummary.Termination.NON_FINITE_GRADIENT;
         int maxIterations = 100;
         if (gradient.size() > 0) {
             double relativeChange;
@@ -93,114 +184,165 @@ public final class BFGS {
             double yDotS;
             Vector nextIterate;
             Vector nextGradient;
-            Vector searchDirection;
-            double gradientNorm = gradient.norm();
             boolean stop = gradientNorm < gradientNormTolerance || !Double.isFinite(gradientNorm);
             int iterationsSinceIdentityReset = 0;
             while (!stop) {
-                if (iterationsSinceIdentityReset > 2 * iterate.size()) {
-                    H = identity;
+                final int priorHessianResets = hessianResets;
+                int stepReductions = 0;
+                if (lineSearch == LineSearch.BACKTRACKING && iterationsSinceIdentityReset > 2 * n) {
+                    resetHessian();
                     iterationsSinceIdentityReset = 0;
                 }
                 iterationsSinceIdentityReset++;
-                searchDirection = (H.times(gradient).scaledBy(-1.0));
-                slopeAt0 = searchDirection.dotProduct(gradient);
+                slopeAt0 = updateSearchDirection(gradient);
                 if (slopeAt0 > 0) {
-                    H = this.identity;
-                    searchDirection = (H.times(gradient).scaledBy(-1.0));
-                    slopeAt0 = searchDirection.dotProduct(gradient);
+                    resetHessian();
+                    slopeAt0 = updateSearchDirection(gradient);
                 }
-//        try {
-//          stepSize = updateStepSize(functionValue);
-//        } catch (NaNStepLengthException | ViolatedTheoremAssumptionsException e) {
-//          stop = true;
-//          continue;
-//        }
-                stepSize = 1.0;
-                s = searchDirection.scaledBy(stepSize);
-                nextIterate = iterate.plus(s);
                 priorFunctionValue = functionValue;
-                functionValue = f.at(nextIterate);
-                final int maxStepReductions = 25;
-                int stepReductions = 0;
-                while (!(Double.isFinite(functionValue) &&
-                         functionValue < priorFunctionValue + C1 * stepSize * slopeAt0) && !stop) {
-                    relativeChangeDenominator = max(abs(priorFunctionValue), abs(nextIterate.norm()));
-                    relativeChange = Math.abs((priorFunctionValue - functionValue) / relativeChangeDenominator);
-                    if (relativeChange <= relativeChangeTolerance) {
-                        stop = true;
-                    } else if (stepReductions > maxStepReductions) {
-                        logger.warn("Maximum step reductions, " + maxStepReductions, " exceeded." +
-                                    "Stopping BFGS algorithm.");
-                        stop = true;
-                    } else {
-                        stepReductions++;
-                        stepSize *= STEP_REDUCTION_FACTOR;
-                        s = searchDirection.scaledBy(stepSize);
-                        nextIterate = iterate.plus(s);
-                        functionValue = f.at(nextIterate);
+                lineSearchGradient = null;
+                nextIterate = (lineSearch == LineSearch.STRONG_WOLFE) ? strongWolfeStep(f, slopeAt0) : null;
+                if (nextIterate == null) {
+                    stepSize = 1.0;
+                    nextIterate = step(stepSize);
+                    functionValue = f.at(nextIterate);
+                    final int maxStepReductions = 25;
+                    while (!(Double.isFinite(functionValue) &&
+                             functionValue < priorFunctionValue + C1 * stepSize * slopeAt0) && !stop) {
+                        relativeChangeDenominator = max(abs(priorFunctionValue), abs(nextIterate.norm()));
+                        relativeChange = Math.abs((priorFunctionValue - functionValue) / relativeChangeDenominator);
+                        if (relativeChange <= relativeChangeTolerance) {
+                            termination = OptimizationSummary.Termination.FUNCTION_CHANGE_TOLERANCE;
+                            stop = true;
+                        } else if (stepReductions > maxStepReductions) {
+                            logger.warn("Maximum step reductions, {}, exceeded. Stopping BFGS algorithm.",
+                                        maxStepReductions);
+                            termination = OptimizationSummary.Termination.NO_SUFFICIENT_DECREASE;
+                            stop = true;
+                        } else {
+                            stepReductions++;
+                            stepSize *= STEP_REDUCTION_FACTOR;
+                            nextIterate = step(stepSize);
+                            functionValue = f.at(nextIterate);
+                        }
                     }
+                } else {
+                    stepSize = acceptedStepSize;
                 }
-                nextGradient = f.gradientAt(nextIterate, functionValue);
+                nextGradient = (lineSearchGradient == null) ? f.gradientAt(nextIterate, functionValue)
+                                                            : lineSearchGradient;
+                gradientNorm = nextGradient.norm();
                 if (!stop) {
                     relativeChangeDenominator = max(abs(priorFunctionValue), abs(nextIterate.norm()));
                     //Hamming, Numerical Methods, 2nd edition, pg. 22
                     relativeChange = Math.abs((priorFunctionValue - functionValue) / relativeChangeDenominator);
-                    if (relativeChange <= relativeChangeTolerance || nextGradient.norm() < gradientNormTolerance) {
+                    if (relativeChange <= relativeChangeTolerance) {
+                        termination = OptimizationSummary.Termination.FUNCTION_CHANGE_TOLERANCE;
+                        stop = true;
+                    } else if (gradientNorm < gradientNormTolerance) {
+                        termination = OptimizationSummary.Termination.GRADIENT_TOLERANCE;
                         stop = true;
                     }
                 }
-                y = nextGradient.minus(gradient);
+                y.setTo(nextGradient).subtract(g.setTo(gradient));
                 yDotS = y.dotProduct(s);
                 if (yDotS > 0) {
                     rho = 1 / yDotS;
-                    H = updateHessian();
-                } else if (!stop) {
-                    H = identity;
+                    updateHessian();
+                } else if (!stop && lineSearch == LineSearch.BACKTRACKING) {
+                    resetHessian();
                     iterationsSinceIdentityReset = 0;
                 }
                 iterate = nextIterate;
                 gradient = nextGradient;
                 k += 1;
-                if (k > maxIterations) {
+                totalStepReductions += stepReductions;
+                if (k > maxIterations && !stop) {
+                    termination = OptimizationSummary.Termination.MAX_ITERATIONS;
                     stop = true;
                 }
+                listener.iterationCompleted(new Iteration(k, iterate, functionValue, gradientNorm, stepSize,
+                                                          stepReductions, hessianResets > priorHessianResets,
+                                                          f.functionEvaluations() - startFunctionEvaluations,
+                                                          f.gradientEvaluations() - startGradientEvaluations,
+                                                          System.nanoTime() - startNanos));
             }
         }
+        this.summary = new OptimizationSummary(k, f.functionEvaluations() - startFunctionEvaluations,
+                                               f.gradientEvaluations() - startGradientEvaluations,
+                                               totalStepReductions, hessianResets, System.nanoTime() - startNanos,
+                                               functionValue, gradientNorm, termination);
+    }
+
+    /*
+     * Write -H * gradient into the search direction and return the slope of the line function at a step size of 0,
+     * which is the dot product of the search direction and the gradient.
+     */
+    private double updateSearchDirection(final Vector gradient) {
+        g.setTo(gradient);
+        H.timesInto(g, searchDirection);
+        searchDirection.scale(-1.0);
+        return searchDirection.dotProduct(g);
+    }
+
+    // Set s to the search direction scaled by the step size and return the current iterate plus s.
+    private Vector step(final double stepSize) {
+        searchDirection.scaledByInto(stepSize, s);
+        final double[] next = new double[n];
+        for (int i = 0; i < n; i++) {
+            next[i] = iterate.at(i) + s.at(i);
+        }
+        return Vector.from(next);
+    }
+
+    private void resetHessian() {
+        H.setToIdentity();
+        hessianResets++;
+    }
+
+    /*
+     * Search for a step size satisfying the strong Wolfe conditions, set s to the step, update the function value and
+     * the line search gradient, and return the new iterate. Return null if the search fails or the step does not give
+     * a sufficient decrease.
+     */
+    private Vector strongWolfeStep(final AbstractMultivariateFunction f, final double slopeAt0) {
+        final QuasiNewtonLineFunction lineFunction = new QuasiNewtonLineFunction(f, iterate,
+                                                                                 searchDirection.toVector());
+        final double stepSize;
+        try {
+            stepSize = StrongWolfeLineSearch.newBuilder(lineFunction, functionValue, slopeAt0).c1(C1).c2(C2)
+                                            .alpha0(1.0).maxUpdateIterations(MAX_LINE_SEARCH_UPDATES)
+                                            .build().search();
+        } catch (RuntimeException e) {
+            logger.debug("Strong Wolfe line search failed, falling back to backtracking.", e);
+            return null;
+        }
+        if (!(stepSize > 0 && Double.isFinite(stepSize))) {
+            return null;
+        }
+        // The line function remembers the value and gradient at the chosen step size, so these are usually free.
+        final double value = lineFunction.at(stepSize);
+        if (!(Double.isFinite(value) && value <= functionValue + C1 * stepSize * slopeAt0)) {
+            return null;
+        }
+        functionValue = value;
+        lineSearchGradient = lineFunction.gradientAt(stepSize, value);
+        acceptedStepSize = stepSize;
+        return step(stepSize);
     }
 
-//  private double updateStepSize(double functionValue) {
-//    int maxAttempts = 10;
-//    final double slope0 = gradient.dotProduct(searchDirection);
-//    if (slope0 > 0) {
-//      System.out.println("The slope at step size 0 is positive");
-//    }
-//    double stepSize = 1.0;
-//    Vector nextIterate = iterate.plus(searchDirection.scaledBy(stepSize));
-//    s = nextIterate.minus(iterate);
-//    double priorFunctionValue = functionValue;
-//    functionValue = f.at(nextIterate);
-//    int k = 1;
-//    while (!(Double.isFinite(functionValue) && functionValue < priorFunctionValue + C1 * stepSize * slope0) && k <
-// maxAttempts) {
-//      stepSize *= 0.2;
-//      nextIterate = iterate.plus(searchDirection.scaledBy(stepSize));
-//      s = nextIterate.minus(iterate);
-//      functionValue = f.at(nextIterate);
-//      k++;
-//    }
-//    return stepSize;
-////    final QuasiNewtonLineFunction lineFunction = new QuasiNewtonLineFunction(this.f, iterate, searchDirection);
-////    StrongWolfeLineSearch lineSearch = StrongWolfeLineSearch.newBuilder(lineFunction, functionValue, slope0).C1(C1)
-////        .c2(c2).alphaMax(50).alpha0(1.0).build();
-////    return lineSearch.search();
-//  }
-
-    private Matrix updateHessian() {
-        Matrix a = identity.minus(s.outerProduct(y).scaledBy(rho));
-        Matrix b = identity.minus(y.outerProduct(s).scaledBy(rho));
-        Matrix c = s.outerProduct(s).scaledBy(rho);
-        return a.times(H).times(b).plus(c);
+    /*
+     * Apply the BFGS update (I - rho * s * y^T) * H * (I - rho * y * s^T) + rho * s * s^T in place. Expanding the
+     * products and using the symmetry of H gives
+     *
+     *     H - rho * (Hy * s^T + s * Hy^T) + (rho^2 * y^T * Hy + rho) * s * s^T,
+     *
+     * which takes one matrix-vector product and two low-rank updates, so only O(n^2) operations and no allocation.
+     */
+    private void updateHessian() {
+        H.timesInto(y, Hy);
+        final double c = rho * rho * y.dotProduct(Hy) + rho;
+        H.rankTwoUpdate(-rho, Hy, s).rankOneUpdate(c, s);
     }
 
     /**
@@ -227,7 +369,16 @@ public final class BFGS {
      * @return the final approximation to the inverse Hessian.
      */
     public Matrix inverseHessian() {
-        return this.H;
+        return this.inverseHessian;
+    }
+
+    /**
+     * Return a summary of the work done by the algorithm and of why it stopped.
+     *
+     * @return a summary of the work done by the algorithm and of why it stopped.
+     */
+    public OptimizationSummary summary() {
+        return this.summary;
     }
 
 }
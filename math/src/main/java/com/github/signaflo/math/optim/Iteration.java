@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.optim;
+
+import com.github.signaflo.math.linear.doubles.Vector;
+
+/**
+ * The state of an optimization after a completed iteration. This class is immutable and thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class Iteration {
+
+    private final int number;
+    private final Vector iterate;
+    private final double functionValue;
+    private final double gradientNorm;
+    private final double stepSize;
+    private final int stepReductions;
+    private final boolean hessianReset;
+    private final int functionEvaluations;
+    private final int gradientEvaluations;
+    private final long elapsedNanos;
+
+    Iteration(int number, Vector iterate, double functionValue, double gradientNorm, double stepSize,
+              int stepReductions, boolean hessianReset, int functionEvaluations, int gradientEvaluations,
+              long elapsedNanos) {
+        this.number = number;
+        this.iterate = iterate;
+        this.functionValue = functionValue;
+        this.gradientNorm = gradientNorm;
+        this.stepSize = stepSize;
+        this.stepReductions = stepReductions;
+        this.hessianReset = hessianReset;
+        this.functionEvaluations = functionEvaluations;
+        this.gradientEvaluations = gradientEvaluations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * The number of this iteration, starting from 1.
+     *
+     * @return the number of this iteration.
+     */
+    public int number() {
+        return this.number;
+    }
+
+    /**
+     * The iterate at the end of this iteration.
+     *
+     * @return the iterate at the end of this iteration.
+     */
+    public Vector iterate() {
+        return this.iterate;
+    }
+
+    /**
+     * The value of the target function at the iterate.
+     *
+     * @return the value of the target function at the iterate.
+     */
+    public double functionValue() {
+        return this.functionValue;
+    }
+
+    /**
+     * The norm of the gradient at the iterate.
+     *
+     * @return the norm of the gradient at the iterate.
+     */
+    public double gradientNorm() {
+        return this.gradientNorm;
+    }
+
+    /**
+     * The step size accepted by the line search, as a multiple of the search direction.
+     *
+     * @return the step size accepted by the line search.
+     */
+    public double stepSize() {
+        return this.stepSize;
+    }
+
+    /**
+     * The number of times the step size was reduced by backtracking in this iteration.
+     *
+     * @return the number of times the step size was reduced in this iteration.
+     */
+    public int stepReductions() {
+        return this.stepReductions;
+    }
+
+    /**
+     * Whether the inverse Hessian approximation was reset in this iteration.
+     *
+     * @return true if the inverse Hessian approximation was reset in this iteration, false otherwise.
+     */
+    public boolean hessianReset() {
+        return this.hessianReset;
+    }
+
+    /**
+     * The number of times the target function has been evaluated since the optimization started.
+     *
+     * @return the number of function evaluations so far.
+     */
+    public int functionEvaluations() {
+        return this.functionEvaluations;
+    }
+
+    /**
+     * The number of times the gradient has been computed since the optimization started.
+     *
+     * @return the number of gradient evaluations so far.
+     */
+    public int gradientEvaluations() {
+        return this.gradientEvaluations;
+    }
+
+    /**
+     * The time elapsed since the optimization started, in nanoseconds.
+     *
+     * @return the time elapsed since the optimization started, in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Iteration " + number + ": f = " + functionValue + ", gradient norm = " + gradientNorm +
+               ", step size = " + stepSize + ", step reductions = " + stepReductions + ", hessian reset = " +
+               hessianReset + ", function evaluations = " + functionEvaluations + ", gradient evaluations = " +
+               gradientEvaluations + ", elapsed nanos = " + elapsedNanos;
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.optim;
+
+import com.github.signaflo.math.function.AbstractMultivariateFunction;
+import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.MutableVector;
+import com.github.signaflo.math.linear.doubles.Vector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+
+/**
+ * An implementation of the limited-memory Broyden-Fletcher-Goldfarb-Shanno (L-BFGS) algorithm for unconstrained
+ * nonlinear optimization. This class is immutable and thread-safe.
+ *
+ * <p>Instead of the dense n by n inverse Hessian approximation kept by {@link BFGS}, only the last m pairs of
+ * iterate and gradient differences are kept, and the product of the approximation with the gradient is computed
+ * with the two-loop recursion. Each iteration therefore takes O(mn) operations and O(mn) memory, which makes this
+ * the better choice when the number of parameters is large.
+ *
+ * @author Jacob Rachiele
+ */
+public final class LBFGS {
+
+    /**
+     * The number of correction pairs kept when no history size is given.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(LBFGS.class);
+    private static final double C1 = 1E-4;
+    private static final double C2 = 0.9;
+    private static final double STEP_REDUCTION_FACTOR = 0.2;
+    private static final int MAX_LINE_SEARCH_UPDATES = 10;
+    private static final int MAX_STEP_REDUCTIONS = 25;
+    private static final int MAX_ITERATIONS = 200;
+
+    private final int n; // The number of input parameters.
+    private final int historySize; // The maximum number of correction pairs kept.
+    private final LineSearch lineSearch;
+    private final OptimizationListener listener;
+    private final MutableVector[] sHistory; // The differences between successive iterates, oldest first.
+    private final MutableVector[] yHistory; // The differences between successive gradients, oldest first.
+    private final double[] rhoHistory; // One divided by the dot product of each y and s pair.
+    private final double[] alpha; // The coefficients computed in the first loop of the two-loop recursion.
+    private final MutableVector searchDirection;
+    private final MutableVector s; // The difference between successive iterates.
+    private final MutableVector y; // The difference between successive gradients.
+    private final double[] initialDiagonal; // The diagonal of the initial inverse Hessian approximation.
+    private int oldest; // The ring buffer index of the oldest correction pair.
+    private int stored; // The number of correction pairs currently stored.
+    private double gamma = 1.0; // The scaling of the initial diagonal inverse Hessian approximation.
+    private Vector iterate; // The point at which to evaluate the target function.
+    private double functionValue; // The latest value of the target function.
+    private int iterations;
+    private Vector lineSearchGradient; // The gradient at the step chosen by the strong Wolfe line search.
+    private double stepSize; // The step size accepted in the latest iteration.
+    private int stepReductions; // The number of step reductions in the latest iteration.
+    private OptimizationSummary.Termination backtrackFailure; // Why the latest backtracking found no step, if so.
+    private int historyResets;
+    private OptimizationSummary summary;
+
+    /**
+     * Create a new L-BFGS object and run the algorithm with the supplied information, keeping the
+     * {@link #DEFAULT_HISTORY_SIZE default} number of correction pairs and using a backtracking line search.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     */
+    public LBFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                 final double relativeChangeTolerance) {
+        this(f, startingPoint, gradientNormTolerance, relativeChangeTolerance, DEFAULT_HISTORY_SIZE,
+             LineSearch.BACKTRACKING);
+    }
+
+    /**
+     * Create a new L-BFGS object and run the algorithm with the supplied information.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     * @param historySize             the number of correction pairs to keep.
+     * @param lineSearch              the line search used to choose the step size.
+     *
+     * @throws IllegalArgumentException if the history size is less than 1.
+     */
+    public LBFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                 final double relativeChangeTolerance, final int historySize, final LineSearch lineSearch) {
+        this(f, startingPoint, gradientNormTolerance, relativeChangeTolerance, historySize, lineSearch,
+             OptimizationListener.NONE);
+    }
+
+    /**
+     * Create a new L-BFGS object and run the algorithm with the supplied information, notifying the given listener
+     * after each iteration. A reset of the inverse Hessian approximation is reported when the stored correction
+     * pairs are discarded.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     * @param historySize             the number of correction pairs to keep.
+     * @param lineSearch              the line search used to choose the step size.
+     * @param listener                the listener to notify after each iteration.
+     *
+     * @throws IllegalArgumentException if the history size is less than 1.
+     */
+    public LBFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                 final double relativeChangeTolerance, final int historySize, final LineSearch lineSearch,
+                 final OptimizationListener listener) {
+        this(f, startingPoint, gradientNormTolerance, relativeChangeTolerance, historySize, lineSearch, listener,
+             Vector.ones(startingPoint.size()));
+    }
+
+    /**
+     * Create a new L-BFGS object and run the algorithm with the supplied information, notifying the given listener
+     * after each iteration and starting from the given diagonal inverse Hessian approximation. Once correction pairs
+     * are stored, the initial approximation of each iteration is this diagonal scaled to match the latest pair, so
+     * the relative scaling of the parameters is kept throughout.
+     *
+     * @param f                       the function to be minimized.
+     * @param startingPoint           the initial guess of the minimum.
+     * @param gradientNormTolerance   the tolerance for the norm of the gradient of the function.
+     * @param relativeChangeTolerance the tolerance for the change in function value.
+     * @param historySize             the number of correction pairs to keep.
+     * @param lineSearch              the line search used to choose the step size.
+     * @param listener                the listener to notify after each iteration.
+     * @param initialDiagonal         the diagonal of the initial inverse Hessian approximation.
+     *
+     * @throws IllegalArgumentException if the history size is less than 1, or if the diagonal does not have one
+     *                                  positive element per parameter.
+     */
+    public LBFGS(final AbstractMultivariateFunction f, final Vector startingPoint, final double gradientNormTolerance,
+                 final double relativeChangeTolerance, final int historySize, final LineSearch lineSearch,
+                 final OptimizationListener listener, final Vector initialDiagonal) {
+        if (historySize < 1) {
+            throw new IllegalArgumentException("The history size must be positive, but was " + historySize);
+        }
+        this.n = startingPoint.size();
+        if (initialDiagonal.size() != n) {
+            throw new IllegalArgumentException("The initial diagonal must have " + n + " elements, but had " +
+                                               initialDiagonal.size());
+        }
+        this.initialDiagonal = initialDiagonal.elements();
+        for (double d : this.initialDiagonal) {
+            if (!(d > 0 && Double.isFinite(d))) {
+                throw new IllegalArgumentException("The initial diagonal must be positive, but had the element " + d);
+            }
+        }
+        this.historySize = historySize;
+        this.lineSearch = lineSearch;
+        this.listener = listener;
+        this.sHistory = new MutableVector[historySize];
+        this.yHistory = new MutableVector[historySize];
+        this.rhoHistory = new double[historySize];
+        this.alpha = new double[historySize];
+        this.searchDirection = MutableVector.zeros(n);
+        this.s = MutableVector.zeros(n);
+        this.y = MutableVector.zeros(n);
+        minimize(f, startingPoint, gradientNormTolerance, relativeChangeTolerance);
+    }
+
+    private void minimize(final AbstractMultivariateFunction f, final Vector startingPoint,
+                          final double gradientNormTolerance, final double relativeChangeTolerance) {
+        final long startNanos = System.nanoTime();
+        final int startFunctionEvaluations = f.functionEvaluations();
+        final int startGradientEvaluations = f.gradientEvaluations();
+        int totalStepReductions = 0;
+        this.iterate = startingPoint;
+        functionValue = f.at(startingPoint);
+        double gradientNorm = 0.0;
+        OptimizationSummary.Termination termination = OptimizationSummary.Termination.GRADIENT_TOLERANCE;
+        if (n > 0) {
+            Vector gradient = f.gradientAt(startingPoint, functionValue);
+            gradientNorm = gradient.norm();
+            if (!Double.isFinite(gradientNorm)) {
+                termination = OptimizationSummary.Termination.NON_FINITE_GRADIENT;
+            }
+            boolean stop = gradientNorm < gradientNormTolerance || !Double.isFinite(gradientNorm);
+            while (!stop) {
+                final int priorHistoryResets = historyResets;
+                double slopeAt0 = updateSearchDirection(gradient);
+                if (!(slopeAt0 < 0)) {
+                    clearHistory();
+                    slopeAt0 = updateSearchDirection(gradient);
+                }
+                final double priorFunctionValue = functionValue;
+                lineSearchGradient = null;
+                stepReductions = 0;
+                Vector nextIterate = (lineSearch == LineSearch.STRONG_WOLFE) ? strongWolfeStep(f, slopeAt0) : null;
+                if (nextIterate == null) {
+                    nextIterate = backtrack(f, priorFunctionValue, slopeAt0, relativeChangeTolerance);
+                }
+                totalStepReductions += stepReductions;
+                if (nextIterate == null) {
+                    // No step decreased the function, so the current iterate is kept.
+                    functionValue = priorFunctionValue;
+                    termination = backtrackFailure;
+                    break;
+                }
+                final Vector nextGradient = (lineSearchGradient == null) ? f.gradientAt(nextIterate, functionValue)
+                                                                         : lineSearchGradient;
+                gradientNorm = nextGradient.norm();
+                final double relativeChangeDenominator = max(abs(priorFunctionValue), abs(nextIterate.norm()));
+                final double relativeChange = abs((priorFunctionValue - functionValue) / relativeChangeDenominator);
+                if (relativeChange <= relativeChangeTolerance) {
+                    termination = OptimizationSummary.Termination.FUNCTION_CHANGE_TOLERANCE;
+                    stop = true;
+                } else if (gradientNorm < gradientNormTolerance) {
+                    termination = OptimizationSummary.Termination.GRADIENT_TOLERANCE;
+                    stop = true;
+                }
+                y.setTo(nextGradient).subtract(searchDirection.setTo(gradient));
+                final double yDotS = y.dotProduct(s);
+                if (yDotS > 0) {
+                    addCorrectionPair(yDotS);
+                }
+                iterate = nextIterate;
+                gradient = nextGradient;
+                iterations++;
+                if (iterations >= MAX_ITERATIONS && !stop) {
+                    termination = OptimizationSummary.Termination.MAX_ITERATIONS;
+                    stop = true;
+                }
+                listener.iterationCompleted(new Iteration(iterations, iterate, functionValue, gradientNorm, stepSize,
+                                                          stepReductions, historyResets > priorHistoryResets,
+                                                          f.functionEvaluations() - startFunctionEvaluations,
+                                                          f.gradientEvaluations() - startGradientEvaluations,
+                                                          System.nanoTime() - startNanos));
+            }
+        }
+        this.summary = new OptimizationSummary(iterations, f.functionEvaluations() - startFunctionEvaluations,
+                                               f.gradientEvaluations() - startGradientEvaluations,
+                                               totalStepReductions, historyResets, System.nanoTime() - startNanos,
+                                               functionValue, gradientNorm, termination);
+    }
+
+    /*
+     * Shrink the step size from 1 until the sufficient decrease condition holds, and return the accepted iterate.
+     * Return null if the function value cannot be decreased by a relevant amount along the search direction, after
+     * setting the reason: the function change tolerance if the change fell below it, as with BFGS, and no sufficient
+     * decrease if the step reductions ran out first.
+     */
+    private Vector backtrack(final AbstractMultivariateFunction f, final double priorFunctionValue,
+                             final double slopeAt0, final double relativeChangeTolerance) {
+        stepSize = 1.0;
+        Vector nextIterate = step(stepSize);
+        functionValue = f.at(nextIterate);
+        while (!(Double.isFinite(functionValue) && functionValue < priorFunctionValue + C1 * stepSize * slopeAt0)) {
+            final double relativeChangeDenominator = max(abs(priorFunctionValue), abs(nextIterate.norm()));
+            final double relativeChange = abs((priorFunctionValue - functionValue) / relativeChangeDenominator);
+            if (relativeChange <= relativeChangeTolerance) {
+                if (functionValue < priorFunctionValue) {
+                    return nextIterate;
+                }
+                backtrackFailure = OptimizationSummary.Termination.FUNCTION_CHANGE_TOLERANCE;
+                return null;
+            }
+            if (stepReductions >= MAX_STEP_REDUCTIONS) {
+                logger.warn("Maximum step reductions, {}, exceeded. Stopping L-BFGS algorithm.", MAX_STEP_REDUCTIONS);
+                backtrackFailure = OptimizationSummary.Termination.NO_SUFFICIENT_DECREASE;
+                return null;
+            }
+            stepReductions++;
+            stepSize *= STEP_REDUCTION_FACTOR;
+            nextIterate = step(stepSize);
+            functionValue = f.at(nextIterate);
+        }
+        return nextIterate;
+    }
+
+    /*
+     * Search for a step size satisfying the strong Wolfe conditions, set s to the step, update the function value and
+     * the line search gradient, and return the new iterate. Return null if the search fails or the step does not give
+     * a sufficient decrease.
+     */
+    private Vector strongWolfeStep(final AbstractMultivariateFunction f, final double slopeAt0) {
+        final QuasiNewtonLineFunction lineFunction = new QuasiNewtonLineFunction(f, iterate,
+                                                                                 searchDirection.toVector());
+        final double stepSize;
+        try {
+            stepSize = StrongWolfeLineSearch.newBuilder(lineFunction, functionValue, slopeAt0).c1(C1).c2(C2)
+                                            .alpha0(1.0).maxUpdateIterations(MAX_LINE_SEARCH_UPDATES)
+                                            .build().search();
+        } catch (RuntimeException e) {
+            logger.debug("Strong Wolfe line search failed, falling back to backtracking.", e);
+            return null;
+        }
+        if (!(stepSize > 0 && Double.isFinite(stepSize))) {
+            return null;
+        }
+        // The line function remembers the value and gradient at the chosen step size, so these are usually free.
+        final double value = lineFunction.at(stepSize);
+        if (!(Double.isFinite(value) && value <= functionValue + C1 * stepSize * slopeAt0)) {
+            return null;
+        }
+        functionValue = value;
+        lineSearchGradient = lineFunction.gradientAt(stepSize, value);
+        this.stepSize = stepSize;
+        return step(stepSize);
+    }
+
+    /*
+     * Write -H * gradient into the search direction and return the slope of the line function at a step size of 0,
+     * which is the dot product of the search direction and the gradient.
+     */
+    private double updateSearchDirection(final Vector gradient) {
+        searchDirection.setTo(gradient);
+        applyInverseHessian(searchDirection, alpha);
+        searchDirection.scale(-1.0);
+        return searchDirection.dotProduct(gradient);
+    }
+
+    /*
+     * Overwrite q with H * q using the two-loop recursion (Nocedal and Wright, Numerical Optimization, 2nd edition,
+     * Algorithm 7.4), where H is the approximation implied by the stored correction pairs and the initial
+     * approximation gamma * D, with D the initial diagonal. The alpha array must have room for one value per stored
+     * pair.
+     */
+    private void applyInverseHessian(final MutableVector q, final double[] alpha) {
+        for (int k = stored - 1; k >= 0; k--) {
+            final int i = (oldest + k) % historySize;
+            alpha[k] = rhoHistory[i] * sHistory[i].dotProduct(q);
+            q.axpy(-alpha[k], yHistory[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            q.set(i, gamma * initialDiagonal[i] * q.at(i));
+        }
+        for (int k = 0; k < stored; k++) {
+            final int i = (oldest + k) % historySize;
+            final double beta = rhoHistory[i] * yHistory[i].dotProduct(q);
+            q.axpy(alpha[k] - beta, sHistory[i]);
+        }
+    }
+
+    // Store the current s and y, replacing the oldest pair if the history is full.
+    private void addCorrectionPair(final double yDotS) {
+        final int i = (oldest + stored) % historySize;
+        if (sHistory[i] == null) {
+            sHistory[i] = MutableVector.zeros(n);
+            yHistory[i] = MutableVector.zeros(n);
+        }
+        sHistory[i].setTo(s);
+        yHistory[i].setTo(y);
+        rhoHistory[i] = 1 / yDotS;
+        if (stored < historySize) {
+            stored++;
+        } else {
+            oldest = (oldest + 1) % historySize;
+        }
+        // Choose gamma so that gamma * D best satisfies the secant equation for the latest pair.
+        double yDy = 0.0;
+        for (int k = 0; k < n; k++) {
+            yDy += y.at(k) * initialDiagonal[k] * y.at(k);
+        }
+        gamma = yDotS / yDy;
+    }
+
+    private void clearHistory() {
+        historyResets++;
+        oldest = 0;
+        stored = 0;
+        gamma = 1.0;
+    }
+
+    // Set s to the search direction scaled by the step size and return the current iterate plus s.
+    private Vector step(final double stepSize) {
+        searchDirection.scaledByInto(stepSize, s);
+        final double[] next = new double[n];
+        for (int i = 0; i < n; i++) {
+            next[i] = iterate.at(i) + s.at(i);
+        }
+        return Vector.from(next);
+    }
+
+    /**
+     * Return the final value of the target function.
+     *
+     * @return the final value of the target function.
+     */
+    public double functionValue() {
+        return this.functionValue;
+    }
+
+    /**
+     * Return the final, optimized input parameters.
+     *
+     * @return the final, optimized input parameters.
+     */
+    public Vector parameters() {
+        return this.iterate;
+    }
+
+    /**
+     * Return the number of iterations the algorithm took.
+     *
+     * @return the number of iterations the algorithm took.
+     */
+    public int iterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Return the final approximation to the inverse Hessian as a dense matrix. The matrix is formed from the stored
+     * correction pairs on each call, which takes O(mn<sup>2</sup>) operations, so it should only be requested when the
+     * dense matrix itself is needed.
+     *
+     * @return the final approximation to the inverse Hessian.
+     */
+    public Matrix inverseHessian() {
+        final double[] data = new double[n * n];
+        final MutableVector column = MutableVector.zeros(n);
+        final double[] columnAlpha = new double[stored];
+        for (int j = 0; j < n; j++) {
+            column.fill(0.0).set(j, 1.0);
+            applyInverseHessian(column, columnAlpha);
+            for (int i = 0; i < n; i++) {
+                data[i * n + j] = column.at(i);
+            }
+        }
+        // The approximation is symmetric, so average out the rounding error in the two triangles.
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                final double average = 0.5 * (data[i * n + j] + data[j * n + i]);
+                data[i * n + j] = average;
+                data[j * n + i] = average;
+            }
+        }
+        return Matrix.create(n, n, data);
+    }
+
+    /**
+     * Return a summary of the work done by the algorithm and of why it stopped.
+     *
+     * @return a summary of the work done by the algorithm and of why it stopped.
+     */
+    public OptimizationSummary summary() {
+        return this.summary;
+    }
+}
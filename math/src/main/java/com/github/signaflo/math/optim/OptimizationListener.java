@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.optim;
+
+/**
+ * A listener notified by an optimizer after each iteration, for example to trace the progress of an optimization or to
+ * find problems that take an unusual amount of work. Listeners are called on the thread running the optimizer and
+ * should return quickly.
+ *
+ * @author Jacob Rachiele
+ */
+@FunctionalInterface
+public interface OptimizationListener {
+
+    /**
+     * A listener that ignores every iteration.
+     */
+    OptimizationListener NONE = (iteration) -> { };
+
+    /**
+     * Called once an iteration has been completed.
+     *
+     * @param iteration the state of the optimization after the iteration.
+     */
+    void iterationCompleted(Iteration iteration);
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.math.optim;
+
+/**
+ * A summary of the work done by a completed optimization and of why it stopped. This class is immutable and
+ * thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+public final class OptimizationSummary {
+
+    /**
+     * The summary of an optimization that was never run.
+     */
+    public static final OptimizationSummary NOT_RUN = new OptimizationSummary(0, 0, 0, 0, 0, 0L, Double.NaN,
+                                                                              Double.NaN, Termination.NOT_RUN);
+
+    private final int iterations;
+    private final int functionEvaluations;
+    private final int gradientEvaluations;
+    private final int stepReductions;
+    private final int hessianResets;
+    private final long elapsedNanos;
+    private final double functionValue;
+    private final double gradientNorm;
+    private final Termination termination;
+
+    OptimizationSummary(int iterations, int functionEvaluations, int gradientEvaluations, int stepReductions,
+                        int hessianResets, long elapsedNanos, double functionValue, double gradientNorm,
+                        Termination termination) {
+        this.iterations = iterations;
+        this.functionEvaluations = functionEvaluations;
+        this.gradientEvaluations = gradientEvaluations;
+        this.stepReductions = stepReductions;
+        this.hessianResets = hessianResets;
+        this.elapsedNanos = elapsedNanos;
+        this.functionValue = functionValue;
+        this.gradientNorm = gradientNorm;
+        this.termination = termination;
+    }
+
+    /**
+     * Combine this summary with the summary of an optimization that continued from where this one stopped. The counts
+     * and elapsed times are added, and the final function value, gradient norm and termination are those of the
+     * given summary.
+     *
+     * @param next the summary of the optimization that followed this one.
+     * @return the summary of this optimization followed by the given one.
+     */
+    public OptimizationSummary followedBy(final OptimizationSummary next) {
+        return new OptimizationSummary(iterations + next.iterations, functionEvaluations + next.functionEvaluations,
+                                       gradientEvaluations + next.gradientEvaluations,
+                                       stepReductions + next.stepReductions, hessianResets + next.hessianResets,
+                                       elapsedNanos + next.elapsedNanos, next.functionValue, next.gradientNorm,
+                                       next.termination);
+    }
+
+    /**
+     * The number of iterations completed.
+     *
+     * @return the number of iterations completed.
+     */
+    public int iterations() {
+        return this.iterations;
+    }
+
+    /**
+     * The number of times the target function was evaluated.
+     *
+     * @return the number of times the target function was evaluated.
+     */
+    public int functionEvaluations() {
+        return this.functionEvaluations;
+    }
+
+    /**
+     * The number of times the gradient was computed.
+     *
+     * @return the number of times the gradient was computed.
+     */
+    public int gradientEvaluations() {
+        return this.gradientEvaluations;
+    }
+
+    /**
+     * The total number of times the step size was reduced by backtracking.
+     *
+     * @return the total number of times the step size was reduced.
+     */
+    public int stepReductions() {
+        return this.stepReductions;
+    }
+
+    /**
+     * The number of times the inverse Hessian approximation was reset.
+     *
+     * @return the number of times the inverse Hessian approximation was reset.
+     */
+    public int hessianResets() {
+        return this.hessianResets;
+    }
+
+    /**
+     * The time the optimization took, in nanoseconds.
+     *
+     * @return the time the optimization took, in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * The final value of the target function.
+     *
+     * @return the final value of the target function.
+     */
+    public double functionValue() {
+        return this.functionValue;
+    }
+
+    /**
+     * The norm of the gradient at the final iterate.
+     *
+     * @return the norm of the gradient at the final iterate.
+     */
+    public double gradientNorm() {
+        return this.gradientNorm;
+    }
+
+    /**
+     * The reason the optimization stopped.
+     *
+     * @return the reason the optimization stopped.
+     */
+    public Termination termination() {
+        return this.termination;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationSummary(iterations: " + iterations + ", function evaluations: " + functionEvaluations +
+               ", gradient evaluations: " + gradientEvaluations + ", step reductions: " + stepReductions +
+               ", hessian resets: " + hessianResets + ", elapsed nanos: " + elapsedNanos + ", function value: " +
+               functionValue + ", gradient norm: " + gradientNorm + ", termination: " + termination + ")";
+    }
+
+    /**
+     * The reason an optimization stopped.
+     */
+    public enum Termination {
+
+        /**
+         * The norm of the gradient fell below its tolerance.
+         */
+        GRADIENT_TOLERANCE,
+
+        /**
+         * The relative change in the function value fell below its tolerance.
+         */
+        FUNCTION_CHANGE_TOLERANCE,
+
+        /**
+         * No step along the search direction decreased the function value sufficiently.
+         */
+        NO_SUFFICIENT_DECREASE,
+
+        /**
+         * The maximum number of iterations was reached.
+         */
+        MAX_ITERATIONS,
+
+        /**
+         * The gradient at the starting point was not finite.
+         */
+        NON_FINITE_GRADIENT,
+
+        /**
+         * The optimization was never run.
+         */
+        NOT_RUN
+    }
+}
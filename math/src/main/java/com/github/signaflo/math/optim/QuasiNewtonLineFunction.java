@@ -27,8 +27,14 @@ import com.github.signaflo.math.linear.doubles.Vector;
 import com.github.signaflo.math.function.AbstractFunction;
 import com.github.signaflo.math.function.AbstractMultivariateFunction;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * A function for the line search component of a quasi-Newton algorithm.
+ * A function for the line search component of a quasi-Newton algorithm. The slope at a step size is the directional
+ * derivative of the target function along the search direction, computed from its gradient. The value and gradient at
+ * each step size are remembered, so once the line search has chosen a step size the quasi-Newton algorithm can reuse
+ * them without evaluating the target function again.
  *
  * @author Jacob Rachiele
  */
@@ -37,6 +43,8 @@ final class QuasiNewtonLineFunction extends AbstractFunction {
     private final AbstractMultivariateFunction f;
     private final Vector x;
     private final Vector p;
+    private final Map<Double, Double> values = new HashMap<>();
+    private final Map<Double, Vector> gradients = new HashMap<>();
 
     /**
      * Construct a new line function for the quasi-Newton algorithm with the given function,
@@ -54,8 +62,45 @@ final class QuasiNewtonLineFunction extends AbstractFunction {
 
     @Override
     public final double at(final double alpha) {
-        functionEvaluations++;
-        return f.at(x.plus(p.scaledBy(alpha)));
+        Double value = values.get(alpha);
+        if (value == null) {
+            functionEvaluations++;
+            value = f.at(pointAt(alpha));
+            values.put(alpha, value);
+        }
+        return value;
+    }
+
+    @Override
+    public double slopeAt(final double alpha, final double functionValue) {
+        return gradientAt(alpha, functionValue).dotProduct(p);
+    }
+
+    /**
+     * Return the gradient of the target function at the given step size along the search direction.
+     *
+     * @param alpha         the step size.
+     * @param functionValue the value of this function at the given step size.
+     * @return the gradient of the target function at the given step size along the search direction.
+     */
+    Vector gradientAt(final double alpha, final double functionValue) {
+        Vector gradient = gradients.get(alpha);
+        if (gradient == null) {
+            slopeEvaluations++;
+            gradient = f.gradientAt(pointAt(alpha), functionValue);
+            gradients.put(alpha, gradient);
+        }
+        return gradient;
+    }
+
+    /**
+     * Return the point at the given step size along the search direction.
+     *
+     * @param alpha the step size.
+     * @return the point at the given step size along the search direction.
+     */
+    Vector pointAt(final double alpha) {
+        return x.plus(p.scaledBy(alpha));
     }
 
 }
@@ -46,6 +46,7 @@ final class StrongWolfeLineSearch {
     private final double f0; // The value of phi at alpha = 0.
     private final double slope0; // The slope of phi at alpha = 0.
     private final double alphaMax;
+    private final int maxUpdateIterations;
     private final Function psi;
     private final SlopeFunction dPsi;
     private double alphaLower;
@@ -71,6 +72,7 @@ final class StrongWolfeLineSearch {
         this.f0 = builder.f0;
         this.slope0 = builder.slope0;
         this.alphaMax = builder.alphaMax;
+        this.maxUpdateIterations = builder.maxUpdateIterations;
         this.alphaT = builder.alpha0;
         this.psi = (alpha) -> phi.at(alpha) - f0 - c1 * slope0 * alpha;
         this.dPsi = (alpha, f) -> phi.slopeAt(alpha, f) - c1 * slope0;
@@ -119,8 +121,8 @@ final class StrongWolfeLineSearch {
 //    }
         int trials = 0;
         int k = 1;
-        while (k < MAX_UPDATE_ITERATIONS) {
-            while (Double.isInfinite(psiAlphaUpper) && k < MAX_UPDATE_ITERATIONS) {
+        while (k < maxUpdateIterations) {
+            while (Double.isInfinite(psiAlphaUpper) && k < maxUpdateIterations) {
                 alphaUpper = 0.5 * alphaUpper;
                 psiAlphaUpper = psi.at(alphaUpper);
                 dPsiAlphaUpper = dPsi.at(alphaUpper, psiAlphaUpper + f0 + c1 * slope0 * alphaUpper);
@@ -274,6 +276,7 @@ final class StrongWolfeLineSearch {
         private double c2 = 0.5;
         private double alphaMax = 1000.0;
         private double alpha0 = 1.0;
+        private int maxUpdateIterations = MAX_UPDATE_ITERATIONS;
 
         Builder(AbstractFunction phi, double f0, double slope0) {
             this.phi = phi;
@@ -301,6 +304,18 @@ final class StrongWolfeLineSearch {
             return this;
         }
 
+        /**
+         * Set the maximum number of trial step sizes tried while narrowing the interval that brackets an acceptable
+         * step size. If no trial step size satisfies the strong Wolfe conditions by then, the last one is returned.
+         *
+         * @param maxUpdateIterations the maximum number of interval updates.
+         * @return this builder.
+         */
+        final Builder maxUpdateIterations(int maxUpdateIterations) {
+            this.maxUpdateIterations = maxUpdateIterations;
+            return this;
+        }
+
         public final StrongWolfeLineSearch build() {
             return new StrongWolfeLineSearch(this);
         }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.stats;
+
+/**
+ * The Durbin-Levinson recursion, which solves the Yule-Walker equations of every autoregressive order from 1 up to
+ * a given order k in O(k<sup>2</sup>) operations. Along the way it produces the partial autocorrelations, which are
+ * the last coefficients of each successive order. See Brockwell and Davis, <em>Introduction to Time Series and
+ * Forecasting</em> (2016, section 2.5.3).
+ *
+ * @author Jacob Rachiele
+ */
+public final class DurbinLevinson {
+
+    private DurbinLevinson() {
+    }
+
+    /**
+     * The partial autocorrelations at lags 1 through k of a process with the given autocovariances.
+     *
+     * @param autoCovariance the autocovariances at lags 0 through at least k. Only their ratios matter, so the
+     *                       autocorrelations may be given instead.
+     * @param k              the largest lag to compute the partial autocorrelation at.
+     * @return the partial autocorrelations, where the element at index i is the partial autocorrelation at lag i + 1.
+     *
+     * @throws IllegalArgumentException if k is negative or there are fewer than k + 1 autocovariances.
+     */
+    public static double[] partialAutoCorrelations(final double[] autoCovariance, final int k) {
+        final double[] partialAutoCorrelations = new double[k];
+        recurse(autoCovariance, k, partialAutoCorrelations);
+        return partialAutoCorrelations;
+    }
+
+    /**
+     * The Yule-Walker estimates of the coefficients of an autoregressive model of order p with the given
+     * autocovariances. If the autocovariances are those of a sample, the estimated model is stationary.
+     *
+     * @param autoCovariance the autocovariances at lags 0 through at least p. Only their ratios matter, so the
+     *                       autocorrelations may be given instead.
+     * @param p              the order of the autoregressive model.
+     * @return the coefficients of the autoregressive model, where the element at index i is the coefficient at lag
+     *         i + 1.
+     *
+     * @throws IllegalArgumentException if p is negative or there are fewer than p + 1 autocovariances.
+     */
+    public static double[] yuleWalker(final double[] autoCovariance, final int p) {
+        return recurse(autoCovariance, p, null);
+    }
+
+    /**
+     * The coefficients of the autoregressive model with the given partial autocorrelations. This is the inverse of
+     * the map from a model to its partial autocorrelations, and the model is stationary if and only if every partial
+     * autocorrelation lies strictly between -1 and 1, so it maps any such values to a stationary model.
+     *
+     * @param partialAutoCorrelations the partial autocorrelations, where the element at index i is the partial
+     *                                autocorrelation at lag i + 1.
+     * @return the coefficients of the autoregressive model, where the element at index i is the coefficient at lag
+     *         i + 1.
+     */
+    public static double[] coefficients(final double[] partialAutoCorrelations) {
+        final int k = partialAutoCorrelations.length;
+        final double[] phi = new double[k];
+        for (int m = 1; m <= k; m++) {
+            stepUp(phi, m, partialAutoCorrelations[m - 1]);
+        }
+        return phi;
+    }
+
+    /**
+     * The partial autocorrelations of the autoregressive model with the given coefficients, computed with the
+     * Durbin-Levinson recursion run backwards. This is the inverse of {@link #coefficients(double[])}. The model is
+     * stationary if and only if every partial autocorrelation lies strictly between -1 and 1. For a model that is not
+     * stationary, the first partial autocorrelation outside that range is exact, but those after it are not
+     * meaningful.
+     *
+     * @param coefficients the coefficients of the autoregressive model, where the element at index i is the
+     *                     coefficient at lag i + 1.
+     * @return the partial autocorrelations, where the element at index i is the partial autocorrelation at lag i + 1.
+     */
+    public static double[] partialAutoCorrelationsOf(final double[] coefficients) {
+        final int k = coefficients.length;
+        final double[] partialAutoCorrelations = new double[k];
+        double[] current = coefficients.clone();
+        double[] previous = new double[k];
+        for (int m = k; m > 0; m--) {
+            final double kappa = current[m - 1];
+            partialAutoCorrelations[m - 1] = kappa;
+            final double denominator = 1.0 - kappa * kappa;
+            for (int j = 0; j < m - 1; j++) {
+                previous[j] = (current[j] + kappa * current[m - 2 - j]) / denominator;
+            }
+            double[] temp = current;
+            current = previous;
+            previous = temp;
+        }
+        return partialAutoCorrelations;
+    }
+
+    // If the one-step prediction error variance reaches zero, the process is perfectly predictable from the lags
+    // seen so far, so the remaining partial autocorrelations are left at zero.
+    private static double[] recurse(final double[] autoCovariance, final int k,
+                                    final double[] partialAutoCorrelations) {
+        if (k < 0) {
+            throw new IllegalArgumentException("The order must be non-negative, but was " + k);
+        }
+        if (autoCovariance.length < k + 1) {
+            throw new IllegalArgumentException("At least " + (k + 1) + " autocovariances are required, but only "
+                                               + autoCovariance.length + " were given.");
+        }
+        final double[] phi = new double[k];
+        double variance = autoCovariance.length > 0 ? autoCovariance[0] : 0.0;
+        for (int m = 1; m <= k && variance > 0.0; m++) {
+            double numerator = autoCovariance[m];
+            for (int j = 1; j < m; j++) {
+                numerator -= phi[j - 1] * autoCovariance[m - j];
+            }
+            final double kappa = numerator / variance;
+            stepUp(phi, m, kappa);
+            if (partialAutoCorrelations != null) {
+                partialAutoCorrelations[m - 1] = kappa;
+            }
+            variance *= (1.0 - kappa * kappa);
+        }
+        return phi;
+    }
+
+    // Extend the coefficients of order m - 1 held in phi to those of order m with the given last coefficient.
+    private static void stepUp(final double[] phi, final int m, final double kappa) {
+        for (int i = 0, j = m - 2; i <= j; i++, j--) {
+            final double phiI = phi[i];
+            phi[i] -= kappa * phi[j];
+            if (i != j) {
+                phi[j] -= kappa * phiI;
+            }
+        }
+        phi[m - 1] = kappa;
+    }
+}
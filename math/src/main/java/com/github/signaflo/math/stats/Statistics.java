@@ -23,9 +23,9 @@
  */
 package com.github.signaflo.math.stats;
 
-import java.util.Arrays;
+import com.github.signaflo.math.operations.DoubleKernels;
 
-import static com.github.signaflo.math.operations.Operators.productOf;
+import java.util.Arrays;
 
 /**
  * Static methods for computing basic statistics.
@@ -37,11 +37,7 @@ public final class Statistics {
     private Statistics() {}
 
     public static double sumOf(final double... data) {
-        double sum = 0.0;
-        for (double element : data) {
-            sum += element;
-        }
-        return sum;
+        return DoubleKernels.sum(data);
     }
 
     public static double meanOf(final double... data) {
@@ -59,11 +55,11 @@ public final class Statistics {
     }
 
     public static double sumOfSquared(final double... data) {
-        return sumOf(squared(data));
+        return DoubleKernels.sumOfSquares(data);
     }
 
     static double sumOfSquaredDifferences(final double[] data, final double point) {
-        return sumOf(squared(differences(data, point)));
+        return DoubleKernels.sumOfSquaredDifferences(data, point);
     }
 
     static double[] squared(final double... data) {
@@ -83,7 +79,7 @@ public final class Statistics {
     }
 
     public static double covarianceOf(final double[] data, final double[] data2) {
-        return sumOf(productOf(differences(data, meanOf(data)), differences(data2, meanOf(data2)))) / (data.length - 1);
+        return DoubleKernels.sumOfCrossProducts(data, meanOf(data), data2, meanOf(data2)) / (data.length - 1);
     }
 
     public static double correlationOf(final double[] data, final double[] data2) {
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ComplexFFTSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenForwardThenMatchesDirectTransformForMixedRadixAndBluesteinLengths() {
+        Random random = new Random(42);
+        int[] lengths = {1, 2, 3, 4, 5, 6, 7, 8, 9, 12, 16, 25, 27, 30, 31, 37, 49, 64, 74, 97, 120, 210, 361};
+        for (int n : lengths) {
+            double[] re = new double[n];
+            double[] im = new double[n];
+            for (int j = 0; j < n; j++) {
+                re[j] = random.nextGaussian();
+                im[j] = random.nextGaussian();
+            }
+            double[][] expected = dft(re, im);
+            new ComplexFFT(n).forward(re, im);
+            assertArrayEquals("real parts for n = " + n, expected[0], re, 1E-10);
+            assertArrayEquals("imaginary parts for n = " + n, expected[1], im, 1E-10);
+        }
+    }
+
+    @Test
+    public void whenInverseOfForwardThenOriginalSequence() {
+        Random random = new Random(7);
+        for (int n : new int[]{10, 64, 101, 1000}) {
+            double[] re = new double[n];
+            double[] im = new double[n];
+            for (int j = 0; j < n; j++) {
+                re[j] = random.nextDouble();
+                im[j] = random.nextDouble();
+            }
+            double[] originalRe = re.clone();
+            double[] originalIm = im.clone();
+            ComplexFFT fft = new ComplexFFT(n);
+            fft.forward(re, im);
+            fft.inverse(re, im);
+            assertArrayEquals(originalRe, re, 1E-12);
+            assertArrayEquals(originalIm, im, 1E-12);
+        }
+    }
+
+    @Test
+    public void whenLengthNotPositiveThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        new ComplexFFT(0);
+    }
+
+    static double[][] dft(double[] re, double[] im) {
+        int n = re.length;
+        double[][] result = new double[2][n];
+        for (int k = 0; k < n; k++) {
+            for (int j = 0; j < n; j++) {
+                double angle = -2.0 * Math.PI * ((long) j * k % n) / n;
+                result[0][k] += re[j] * Math.cos(angle) - im[j] * Math.sin(angle);
+                result[1][k] += re[j] * Math.sin(angle) + im[j] * Math.cos(angle);
+            }
+        }
+        return result;
+    }
+}
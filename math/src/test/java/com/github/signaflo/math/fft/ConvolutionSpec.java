@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class ConvolutionSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenSmallSequencesConvolvedThenPolynomialProduct() {
+        // (1 + 2x)(3 - x + x^2) = 3 + 5x - x^2 + 2x^3
+        assertArrayEquals(new double[]{3.0, 5.0, -1.0, 2.0},
+                          Convolution.convolve(new double[]{1.0, 2.0}, new double[]{3.0, -1.0, 1.0}), 0.0);
+    }
+
+    @Test
+    public void whenLargeSequencesConvolvedThenMatchesDirectSum() {
+        double[] x = randomSequence(1500, 1);
+        double[] y = randomSequence(700, 2);
+        double[] expected = new double[x.length + y.length - 1];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < y.length; j++) {
+                expected[i + j] += x[i] * y[j];
+            }
+        }
+        assertArrayEquals(expected, Convolution.convolve(x, y), 1E-10);
+    }
+
+    @Test
+    public void whenSparseSequencesConvolvedThenExact() {
+        double[] seasonalDifference = new double[366];
+        seasonalDifference[0] = 1.0;
+        seasonalDifference[365] = -1.0;
+        double[] product = Convolution.convolve(seasonalDifference, seasonalDifference);
+        assertThat(product[0], is(1.0));
+        assertThat(product[365], is(-2.0));
+        assertThat(product[730], is(1.0));
+        assertThat(product[1], is(0.0));
+    }
+
+    @Test
+    public void whenCrossCorrelatedThenMatchesDirectSum() {
+        double[] x = randomSequence(2000, 3);
+        double[] y = randomSequence(1200, 4);
+        for (int maxLag : new int[]{5, 800, 2500}) {
+            double[] expected = new double[maxLag + 1];
+            for (int k = 0; k <= maxLag; k++) {
+                for (int t = 0; t < y.length && t + k < x.length; t++) {
+                    expected[k] += x[t + k] * y[t];
+                }
+            }
+            assertArrayEquals("maxLag = " + maxLag, expected, Convolution.crossCorrelate(x, y, maxLag), 1E-9);
+        }
+    }
+
+    @Test
+    public void whenAutoCorrelatedThenMatchesCrossCorrelation() {
+        double[] x = randomSequence(3000, 5);
+        for (int maxLag : new int[]{0, 10, 2999, 3100}) {
+            double[] expected = new double[maxLag + 1];
+            for (int k = 0; k <= maxLag; k++) {
+                for (int t = 0; t + k < x.length; t++) {
+                    expected[k] += x[t + k] * x[t];
+                }
+            }
+            assertArrayEquals("maxLag = " + maxLag, expected, Convolution.autoCorrelate(x, maxLag), 1E-9);
+        }
+    }
+
+    @Test
+    public void whenEmptySequenceConvolvedThenEmptyResult() {
+        assertThat(Convolution.convolve(new double[0], new double[]{1.0}).length, is(0));
+        assertArrayEquals(new double[3], Convolution.autoCorrelate(new double[0], 2), 0.0);
+    }
+
+    @Test
+    public void whenMaxLagNegativeThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        Convolution.crossCorrelate(new double[]{1.0}, new double[]{1.0}, -1);
+    }
+
+    private static double[] randomSequence(int n, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextGaussian();
+        }
+        return x;
+    }
+}
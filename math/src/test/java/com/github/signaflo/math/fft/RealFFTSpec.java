@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.fft;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
+
+public class RealFFTSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenForwardThenMatchesDirectTransformForEvenAndOddLengths() {
+        Random random = new Random(11);
+        for (int n : new int[]{1, 2, 3, 4, 5, 6, 9, 10, 15, 16, 74, 75, 97, 128, 194}) {
+            double[] x = new double[n];
+            for (int j = 0; j < n; j++) {
+                x[j] = random.nextGaussian();
+            }
+            double[][] expected = ComplexFFTSpec.dft(x, new double[n]);
+            RealFFT fft = new RealFFT(n);
+            double[] re = new double[fft.spectrumLength()];
+            double[] im = new double[fft.spectrumLength()];
+            fft.forward(x, re, im);
+            assertArrayEquals("real parts for n = " + n, Arrays.copyOf(expected[0], n / 2 + 1), re, 1E-10);
+            assertArrayEquals("imaginary parts for n = " + n, Arrays.copyOf(expected[1], n / 2 + 1), im, 1E-10);
+        }
+    }
+
+    @Test
+    public void whenInverseOfForwardThenOriginalSequence() {
+        Random random = new Random(3);
+        for (int n : new int[]{1, 2, 7, 12, 37, 100, 1024, 1001}) {
+            double[] x = new double[n];
+            for (int j = 0; j < n; j++) {
+                x[j] = random.nextDouble();
+            }
+            RealFFT fft = new RealFFT(n);
+            double[] re = new double[fft.spectrumLength()];
+            double[] im = new double[fft.spectrumLength()];
+            double[] result = new double[n];
+            fft.forward(x, re, im);
+            fft.inverse(re, im, result);
+            assertArrayEquals("n = " + n, x, result, 1E-12);
+        }
+    }
+
+    @Test
+    public void whenInputShorterThanLengthThenZeroPadded() {
+        double[] x = {1.0, -2.0, 0.5};
+        RealFFT fft = new RealFFT(8);
+        double[] re = new double[5];
+        double[] im = new double[5];
+        double[] paddedRe = new double[5];
+        double[] paddedIm = new double[5];
+        fft.forward(x, re, im);
+        fft.forward(Arrays.copyOf(x, 8), paddedRe, paddedIm);
+        assertArrayEquals(paddedRe, re, 0.0);
+        assertArrayEquals(paddedIm, im, 0.0);
+        double[] head = new double[3];
+        fft.inverse(re, im, head);
+        assertArrayEquals(x, head, 1E-15);
+    }
+
+    @Test
+    public void whenNextFastLengthThenSmallestFiveSmoothNumber() {
+        assertThat(RealFFT.nextFastLength(1), is(1));
+        assertThat(RealFFT.nextFastLength(7), is(8));
+        assertThat(RealFFT.nextFastLength(97), is(100));
+        assertThat(RealFFT.nextFastLength(1025), is(1080));
+    }
+
+    @Test
+    public void whenOfLengthCalledTwiceThenPlanReused() {
+        assertThat(RealFFT.ofLength(360), is(sameInstance(RealFFT.ofLength(360))));
+        assertThat(RealFFT.ofLength(360).length(), is(360));
+    }
+
+    @Test
+    public void whenCachedPlansTooLongThenEldestEvicted() {
+        RealFFT first = RealFFT.ofLength(1 << 17);
+        RealFFT.ofLength(3 << 16);
+        assertThat(RealFFT.ofLength(1 << 17), is(not(sameInstance(first))));
+        RealFFT large = RealFFT.ofLength((1 << 18) + 2);
+        assertThat(RealFFT.ofLength((1 << 18) + 2), is(not(sameInstance(large))));
+    }
+
+    @Test
+    public void whenInputLongerThanLengthThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        new RealFFT(4).forward(new double[5], new double[3], new double[3]);
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.signaflo.math.function;
+
+import com.github.signaflo.math.linear.doubles.Vector;
+import com.github.signaflo.math.optim.BFGS;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class DifferentiableFunctionSpec {
+
+    private static final DualFunction rosenbrock = (x) -> {
+        Dual a = x[0].negate().plus(1.0);
+        Dual b = x[1].minus(x[0].times(x[0]));
+        return a.times(a).plus(b.times(b).times(100.0));
+    };
+
+    @Test
+    public void whenGradientComputedThenExactWithSingleEvaluation() {
+        DifferentiableFunction f = new DifferentiableFunction(rosenbrock);
+        Vector gradient = f.gradientAt(Vector.from(-1.2, 1.0), f.at(Vector.from(-1.2, 1.0)));
+        assertArrayEquals(new double[]{-215.6, -88.0}, gradient.elements(), 1E-12);
+        assertThat(f.functionEvaluations(), is(1));
+        assertThat(f.gradientEvaluations(), is(1));
+    }
+
+    @Test
+    public void whenMinimizedWithBFGSThenMinimumFound() {
+        DifferentiableFunction f = new DifferentiableFunction(rosenbrock);
+        BFGS solver = new BFGS(f, Vector.from(-1.2, 1.0), 1E-8, 1E-12);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-10)));
+        assertArrayEquals(new double[]{1.0, 1.0}, solver.parameters().elements(), 1E-5);
+    }
+}
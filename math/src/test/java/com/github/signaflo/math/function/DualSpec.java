@@ -0,0 +1,52 @@
+package com.github.signaflo.math.function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class DualSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenArithmeticThenPartialDerivativesExact() {
+        Dual[] x = Dual.variables(3.0, 2.0);
+        // f(x, y) = (x * y - 1) / (x + y), so df/dx = (y^2 + 1) / (x + y)^2 and df/dy = (x^2 + 1) / (x + y)^2.
+        Dual f = x[0].times(x[1]).minus(1.0).dividedBy(x[0].plus(x[1]));
+        assertThat(f.value(), is(1.0));
+        assertArrayEquals(new double[]{5.0 / 25, 10.0 / 25}, f.derivatives(), 1E-15);
+    }
+
+    @Test
+    public void whenElementaryFunctionsThenChainRuleApplied() {
+        Dual x = Dual.variable(0.5, 0, 1);
+        assertThat(x.exp().log().derivative(0), is(closeTo(1.0, 1E-15)));
+        assertThat(x.sin().derivative(0), is(Math.cos(0.5)));
+        assertThat(x.cos().derivative(0), is(-Math.sin(0.5)));
+        assertThat(x.tanh().derivative(0), is(closeTo(1 - Math.pow(Math.tanh(0.5), 2), 1E-15)));
+        assertThat(x.sqrt().derivative(0), is(closeTo(0.5 / Math.sqrt(0.5), 1E-15)));
+        assertThat(x.pow(3.0).derivative(0), is(closeTo(0.75, 1E-15)));
+        assertThat(x.negate().abs().derivative(0), is(1.0));
+    }
+
+    @Test
+    public void whenCombinedWithConstantThenConstantHasNoDerivatives() {
+        Dual x = Dual.variable(2.0, 1, 2);
+        Dual f = Dual.constant(4.0).times(x).plus(Dual.constant(1.0));
+        assertThat(f.value(), is(9.0));
+        assertArrayEquals(new double[]{0.0, 4.0}, f.derivatives(), 0.0);
+        assertThat(Dual.constant(4.0).derivative(0), is(0.0));
+    }
+
+    @Test
+    public void whenVariableIndexOutOfRangeThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        Dual.variable(1.0, 2, 2);
+    }
+}
@@ -91,5 +91,50 @@ public class NumericDerivativesSpec {
     final Vector centralGradient= NumericalDerivatives.centralDifferenceGradient(f, point, h);
     final double[] expected = new double[] {6.0, 8.0};
     assertArrayEquals(expected, centralGradient.elements(), 1E-10);
-  } 
+  }
+
+  @Test
+  public void whenParallelGradientThenSameAsSequential() {
+    MultivariateFunction f = (point) -> {
+      double sum = 0.0;
+      for (int i = 0; i < point.size(); i++) {
+        sum += (i + 1) * Math.sin(point.at(i));
+      }
+      return sum;
+    };
+    final double h = 1E-4;
+    final Vector point = Vector.from(0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8);
+    final double value = f.at(point);
+    assertArrayEquals(NumericalDerivatives.forwardDifferenceGradient(f, point, h, value).elements(),
+                      NumericalDerivatives.parallelForwardDifferenceGradient(f, point, h, value).elements(), 0.0);
+    assertArrayEquals(NumericalDerivatives.centralDifferenceGradient(f, point, h).elements(),
+                      NumericalDerivatives.parallelCentralDifferenceGradient(f, point, h).elements(), 0.0);
+  }
+
+  @Test
+  public void whenParallelGradientThenEvaluationsCounted() {
+    AbstractMultivariateFunction f = new AbstractMultivariateFunction() {
+      @Override
+      public double at(Vector point) {
+        functionEvaluations++;
+        return point.dotProduct(point);
+      }
+    };
+    f.setParallelGradient(true);
+    final Vector point = Vector.from(1.0, 2.0, 3.0);
+    f.gradientAt(point, f.at(point));
+    f.gradientAt(point);
+    assertThat(f.functionEvaluations(), is(1 + 3 + 6));
+    assertThat(f.gradientEvaluations(), is(2));
+  }
+
+  @Test
+  public void whenCentralHessianCalculatedApproximationClose() {
+    MultivariateFunction f = (point) -> point.at(0) * point.at(0) * point.at(1) + 3 * point.at(1) * point.at(1);
+    final Vector point = Vector.from(1.0, 2.0);
+    final double[] expected = new double[] {4.0, 2.0, 2.0, 6.0};
+    assertArrayEquals(expected, NumericalDerivatives.centralDifferenceHessian(f, point, 1E-4).data(), 1E-6);
+    assertArrayEquals(NumericalDerivatives.centralDifferenceHessian(f, point, 1E-4).data(),
+                      NumericalDerivatives.parallelCentralDifferenceHessian(f, point, 1E-4).data(), 0.0);
+  }
 }
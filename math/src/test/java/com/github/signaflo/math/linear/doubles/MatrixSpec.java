@@ -29,9 +29,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Random;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
 
 public final class MatrixSpec {
 
@@ -110,6 +113,35 @@ public final class MatrixSpec {
         assertThat(product.data(), is(expectedResult));
     }
 
+    @Test
+    public void whenNonSquareMatrixProductComputedThenProductIsAccurate() {
+        final Matrix left = new MatrixOneD(2, 3, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+        final Matrix right = new MatrixOneD(3, 4, 1.0, 0.0, 2.0, 1.0, 0.0, 1.0, 1.0, 2.0, 3.0, 1.0, 0.0, 1.0);
+        final double[] expectedResult = new double[]{10.0, 5.0, 4.0, 8.0, 22.0, 11.0, 13.0, 20.0};
+        assertThat(left.times(right).data(), is(expectedResult));
+        assertThat(left.times(right).ncol(), is(4));
+    }
+
+    @Test
+    public void whenLargeMatrixProductComputedInParallelThenSameAsNaiveProduct() {
+        final int n = 150;
+        final int m = 130;
+        final int p = 170;
+        final Random random = new Random(5);
+        final double[] leftData = random.doubles(n * m).toArray();
+        final double[] rightData = random.doubles(m * p).toArray();
+        final Matrix product = new MatrixOneD(n, m, leftData).times(new MatrixOneD(m, p, rightData));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < p; j++) {
+                double expected = 0.0;
+                for (int k = 0; k < m; k++) {
+                    expected += leftData[i * m + k] * rightData[k * p + j];
+                }
+                assertEquals(expected, product.get(i, j), 1E-10);
+            }
+        }
+    }
+
     @Test
     public void whenMatrixVectorProductComputedThenProductIsAccurate() {
         final Matrix matrix = new MatrixOneD(3, 2, 4.0, 2.0, 1.5, 2.5, 1.0, 3.0);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class MutableMatrixSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final Matrix a = Matrix.create(2, 3, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+    private final Matrix b = Matrix.create(3, 2, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0);
+
+    @Test
+    public void whenTimesIntoThenMatchesImmutableProduct() {
+        MutableMatrix target = MutableMatrix.zeros(2, 2);
+        MutableMatrix.copyOf(a).timesInto(MutableMatrix.copyOf(b), target);
+        assertArrayEquals(a.times(b).data(), target.toMatrix().data(), 1E-12);
+
+        Vector x = Vector.from(1.0, -1.0, 2.0);
+        MutableVector product = MutableVector.zeros(2);
+        MutableMatrix.copyOf(a).timesInto(MutableVector.copyOf(x), product);
+        assertArrayEquals(a.times(x).elements(), product.elements(), 1E-12);
+    }
+
+    @Test
+    public void whenInPlaceArithmeticThenMatchesImmutableArithmetic() {
+        MutableMatrix mutable = MutableMatrix.copyOf(a);
+        mutable.add(MutableMatrix.copyOf(a)).scale(0.5).subtract(MutableMatrix.copyOf(a.scaledBy(2.0)));
+        assertArrayEquals(a.scaledBy(-1.0).data(), mutable.toMatrix().data(), 1E-12);
+    }
+
+    @Test
+    public void whenRankUpdatesThenMatchOuterProducts() {
+        Vector x = Vector.from(1.0, 2.0);
+        Vector y = Vector.from(-3.0, 0.5);
+        MutableMatrix mutable = MutableMatrix.identity(2);
+        mutable.addSymmetricRankTwo(2.0, MutableVector.copyOf(x), MutableVector.copyOf(y))
+               .addSymmetricRankOne(-1.0, MutableVector.copyOf(x))
+               .addOuterProduct(0.5, MutableVector.copyOf(y), MutableVector.copyOf(x));
+        Matrix expected = Matrix.identity(2)
+                                .plus(x.outerProduct(y).plus(y.outerProduct(x)).scaledBy(2.0))
+                                .minus(x.outerProduct(x))
+                                .plus(y.outerProduct(x).scaledBy(0.5));
+        assertArrayEquals(expected.data(), mutable.toMatrix().data(), 1E-12);
+    }
+
+    @Test
+    public void whenSymmetricUpdatesThenExactlySymmetric() {
+        MutableVector x = MutableVector.from(0.1, 0.7, 1.3);
+        MutableVector y = MutableVector.from(2.9, -0.3, 0.11);
+        MutableMatrix mutable = MutableMatrix.identity(3).addSymmetricRankTwo(0.37, x, y).addSymmetricRankOne(1.1, y);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < i; j++) {
+                assertThat(mutable.get(i, j), is(mutable.get(j, i)));
+            }
+        }
+    }
+
+    @Test
+    public void whenQuadraticFormThenMatchesQuadraticForm() {
+        Matrix square = Matrix.create(2, 2, 2.0, 1.0, 0.5, 3.0);
+        Vector x = Vector.from(1.5, -2.0);
+        assertThat(MutableMatrix.copyOf(square).quadraticForm(MutableVector.copyOf(x)),
+                   is(closeTo(QuadraticForm.multiply(x, square), 1E-12)));
+    }
+
+    @Test
+    public void whenTargetAliasesOperandThenIllegalArgument() {
+        MutableMatrix square = MutableMatrix.identity(2);
+        exception.expect(IllegalArgumentException.class);
+        square.timesInto(MutableMatrix.identity(2), square);
+    }
+
+    @Test
+    public void whenNotSquareThenSetToIdentityIllegalState() {
+        exception.expect(IllegalStateException.class);
+        MutableMatrix.zeros(2, 3).setToIdentity();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class MutableVectorSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenModifiedInPlaceThenSameInstanceReturned() {
+        MutableVector vector = MutableVector.from(1.0, 2.0, 3.0);
+        MutableVector other = MutableVector.from(0.5, 0.5, 0.5);
+        assertThat(vector.add(other).scale(2.0).subtract(other) == vector, is(true));
+        assertArrayEquals(new double[]{2.5, 4.5, 6.5}, vector.elements(), 0.0);
+        vector.axpy(-2.0, other);
+        assertArrayEquals(new double[]{1.5, 3.5, 5.5}, vector.elements(), 0.0);
+    }
+
+    @Test
+    public void whenIntoOperationsThenMatchImmutableVector() {
+        Vector left = Vector.from(1.0, -2.0, 4.0);
+        Vector right = Vector.from(3.0, 5.0, -1.0);
+        MutableVector mutableLeft = MutableVector.copyOf(left);
+        MutableVector mutableRight = MutableVector.copyOf(right);
+        MutableVector target = MutableVector.zeros(3);
+        mutableLeft.plusInto(mutableRight, target);
+        assertThat(target.toVector(), is(left.plus(right)));
+        mutableLeft.minusInto(mutableRight, target);
+        assertThat(target.toVector(), is(left.minus(right)));
+        mutableLeft.scaledByInto(3.0, target);
+        assertThat(target.toVector(), is(left.scaledBy(3.0)));
+        MutableVector pushed = MutableVector.zeros(4);
+        mutableLeft.pushInto(7.0, pushed);
+        assertThat(pushed.toVector(), is(left.push(7.0)));
+        assertThat(mutableLeft.dotProduct(mutableRight), is(left.dotProduct(right)));
+        assertThat(mutableLeft.dotProduct(right), is(left.dotProduct(right)));
+        assertThat(mutableLeft.norm(), is(left.norm()));
+    }
+
+    @Test
+    public void whenSetToThenElementsCopied() {
+        double[] values = {1.0, 2.0};
+        MutableVector vector = MutableVector.zeros(2).setTo(values);
+        values[0] = 5.0;
+        assertThat(vector.at(0), is(1.0));
+        double[] copy = new double[2];
+        vector.copyInto(copy);
+        assertArrayEquals(new double[]{1.0, 2.0}, copy, 0.0);
+    }
+
+    @Test
+    public void whenSizesDifferThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        MutableVector.zeros(2).add(MutableVector.zeros(3));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class QRDecompositionSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    // A 5 by 3 design matrix in column-major order, with an intercept column.
+    private final double[] x = {1.0, 1.0, 1.0, 1.0, 1.0,
+                                1.0, 2.0, 3.0, 4.0, 5.0,
+                                2.0, -1.0, 0.5, 3.0, 1.0};
+    private final Matrix design = Matrix.create(Matrix.Layout.BY_COLUMN,
+                                                new double[]{1.0, 1.0, 1.0, 1.0, 1.0},
+                                                new double[]{1.0, 2.0, 3.0, 4.0, 5.0},
+                                                new double[]{2.0, -1.0, 0.5, 3.0, 1.0});
+
+    @Test
+    public void whenSolvedThenNormalEquationsSatisfied() {
+        double[] y = {1.2, 1.9, 3.4, 3.8, 5.3};
+        QRDecomposition qr = new QRDecomposition(5, 3);
+        qr.decompose(x);
+        double[] beta = new double[3];
+        qr.solve(y, beta);
+        // At the least squares solution the residuals are orthogonal to every column of the design matrix.
+        double[] residuals = Vector.from(y).minus(design.times(Vector.from(beta))).elements();
+        assertArrayEquals(new double[3], design.transpose().times(Vector.from(residuals)).elements(), 1E-12);
+    }
+
+    @Test
+    public void whenInverseOfGramThenInvertsXtX() {
+        QRDecomposition qr = new QRDecomposition(5, 3);
+        qr.decompose(x);
+        double[] inverse = new double[9];
+        qr.inverseOfGramInto(inverse);
+        Matrix xtx = design.transpose().times(design);
+        assertArrayEquals(Matrix.identity(3).data(), xtx.times(Matrix.create(3, 3, inverse)).data(), 1E-12);
+        double[] r = new double[9];
+        qr.upperInto(r);
+        Matrix upper = Matrix.create(3, 3, r);
+        assertArrayEquals(xtx.data(), upper.transpose().times(upper).data(), 1E-12);
+    }
+
+    @Test
+    public void whenRankDeficientThenSolveIllegalState() {
+        QRDecomposition qr = new QRDecomposition(3, 2);
+        qr.decompose(new double[]{1.0, 2.0, 3.0, 2.0, 4.0, 6.0});
+        assertThat(qr.isFullRank(), is(false));
+        exception.expect(IllegalStateException.class);
+        qr.solve(new double[3], new double[2]);
+    }
+
+    @Test
+    public void whenFewerRowsThanColumnsThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        new QRDecomposition(2, 3);
+    }
+}
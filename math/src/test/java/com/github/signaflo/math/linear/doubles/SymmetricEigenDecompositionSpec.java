@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class SymmetricEigenDecompositionSpec {
+
+    @Test
+    public void whenDecomposedThenEigenvaluesSortedAndVectorsReconstructMatrix() {
+        double[] a = {4.0, 2.0, 0.6, 1.0,
+                      2.0, 5.0, 1.0, 0.0,
+                      0.6, 1.0, 3.0, -2.0,
+                      1.0, 0.0, -2.0, 1.0};
+        SymmetricEigenDecomposition eigen = new SymmetricEigenDecomposition(4);
+        eigen.decompose(a);
+        double[] values = new double[4];
+        double[] vectors = new double[16];
+        eigen.eigenvaluesInto(values);
+        eigen.eigenvectorsInto(vectors);
+        for (int i = 1; i < 4; i++) {
+            assertThat(values[i - 1] <= values[i], is(true));
+        }
+        Matrix v = Matrix.create(4, 4, vectors);
+        double[] d = new double[16];
+        for (int i = 0; i < 4; i++) {
+            d[i * 4 + i] = values[i];
+        }
+        assertArrayEquals(a, v.times(Matrix.create(4, 4, d)).times(v.transpose()).data(), 1E-12);
+        assertArrayEquals(Matrix.identity(4).data(), v.transpose().times(v).data(), 1E-12);
+        assertThat(values[0] + values[1] + values[2] + values[3], is(closeTo(13.0, 1E-12)));
+    }
+
+    @Test
+    public void whenTwoByTwoThenSingleRotationDiagonalizes() {
+        SymmetricEigenDecomposition eigen = new SymmetricEigenDecomposition(2);
+        eigen.decompose(new double[]{2.0, 1.0, 1.0, 2.0});
+        assertThat(eigen.eigenvalue(0), is(closeTo(1.0, 1E-15)));
+        assertThat(eigen.eigenvalue(1), is(closeTo(3.0, 1E-15)));
+        eigen.decompose(new double[]{5.0, 0.0, 0.0, -1.0});
+        assertThat(eigen.eigenvalue(0), is(-1.0));
+        assertThat(eigen.eigenvalue(1), is(5.0));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class SymmetricMatrixSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    // A symmetric positive definite matrix.
+    private final Matrix dense = Matrix.create(3, 3,
+                                               4.0, 2.0, 0.6,
+                                               2.0, 5.0, 1.0,
+                                               0.6, 1.0, 3.0);
+    private final SymmetricMatrix symmetric = SymmetricMatrix.copyOf(dense);
+
+    @Test
+    public void whenCopiedThenPackedLowerTriangleRowByRow() {
+        assertArrayEquals(new double[]{4.0, 2.0, 5.0, 0.6, 1.0, 3.0}, symmetric.packed(), 0.0);
+        assertArrayEquals(dense.data(), symmetric.toMatrix().data(), 0.0);
+        assertThat(symmetric.get(0, 2), is(symmetric.get(2, 0)));
+    }
+
+    @Test
+    public void whenTimesIntoThenMatchesDenseProduct() {
+        Vector x = Vector.from(1.0, -2.0, 0.5);
+        MutableVector product = MutableVector.zeros(3);
+        symmetric.timesInto(MutableVector.copyOf(x), product);
+        assertArrayEquals(dense.times(x).elements(), product.elements(), 1E-12);
+        assertThat(symmetric.quadraticForm(x), is(closeTo(QuadraticForm.multiply(x, dense), 1E-12)));
+    }
+
+    @Test
+    public void whenRankUpdatesThenMatchDenseUpdates() {
+        Vector x = Vector.from(1.0, 2.0, -1.0);
+        Vector y = Vector.from(0.5, 0.0, 3.0);
+        SymmetricMatrix updated = SymmetricMatrix.copyOf(dense)
+                                                 .rankOneUpdate(2.0, MutableVector.copyOf(x))
+                                                 .rankTwoUpdate(-0.5, MutableVector.copyOf(x),
+                                                                MutableVector.copyOf(y));
+        Matrix expected = dense.plus(x.outerProduct(x).scaledBy(2.0))
+                               .minus(x.outerProduct(y).plus(y.outerProduct(x)).scaledBy(0.5));
+        assertArrayEquals(expected.data(), updated.toMatrix().data(), 1E-12);
+
+        Matrix a = Matrix.create(3, 2, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+        SymmetricMatrix rankK = SymmetricMatrix.zeros(3).rankKUpdate(1.5, MutableMatrix.copyOf(a));
+        assertArrayEquals(a.times(a.transpose()).scaledBy(1.5).data(), rankK.toMatrix().data(), 1E-12);
+    }
+
+    @Test
+    public void whenCongruenceThenMatchesDenseProducts() {
+        Matrix t = Matrix.create(3, 3, 0.5, 1.0, 0.0, 0.2, 0.0, 1.0, -0.3, 0.0, 0.0);
+        SymmetricMatrix target = SymmetricMatrix.zeros(3);
+        symmetric.congruenceInto(MutableMatrix.copyOf(t), target);
+        assertArrayEquals(t.times(dense).times(t.transpose()).data(), target.toMatrix().data(), 1E-12);
+    }
+
+    @Test
+    public void whenCholeskyThenFactorReproducesMatrix() {
+        SymmetricMatrix.Cholesky cholesky = symmetric.cholesky();
+        double[] l = new double[9];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                l[i * 3 + j] = cholesky.get(i, j);
+            }
+        }
+        Matrix lower = Matrix.create(3, 3, l);
+        assertArrayEquals(dense.data(), lower.times(lower.transpose()).data(), 1E-12);
+        assertThat(cholesky.logDeterminant(), is(closeTo(Math.log(44.6), 1E-12)));
+    }
+
+    @Test
+    public void whenCholeskySolveAndInverseThenCorrect() {
+        SymmetricMatrix.Cholesky cholesky = symmetric.cholesky();
+        MutableVector b = MutableVector.from(1.0, 2.0, 3.0);
+        MutableVector x = MutableVector.zeros(3);
+        cholesky.solveInto(b, x);
+        MutableVector product = MutableVector.zeros(3);
+        symmetric.timesInto(x, product);
+        assertArrayEquals(b.elements(), product.elements(), 1E-12);
+        assertArrayEquals(Matrix.identity(3).data(), dense.times(cholesky.inverse().toMatrix()).data(), 1E-12);
+    }
+
+    @Test
+    public void whenNotPositiveDefiniteThenIllegalState() {
+        exception.expect(IllegalStateException.class);
+        SymmetricMatrix.fromPacked(2, 1.0, 2.0, 1.0).cholesky();
+    }
+
+    @Test
+    public void whenPackedLengthWrongThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        SymmetricMatrix.fromPacked(3, 1.0, 2.0);
+    }
+}
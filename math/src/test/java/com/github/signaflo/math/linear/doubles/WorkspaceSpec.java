@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.linear.doubles;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
+
+public class WorkspaceSpec {
+
+    @Test
+    public void whenReleasedThenReusedAndZeroed() {
+        Workspace workspace = new Workspace();
+        MutableVector vector = workspace.vector(3).fill(2.0);
+        workspace.release(vector);
+        MutableVector borrowed = workspace.vector(3);
+        assertThat(borrowed, is(sameInstance(vector)));
+        assertArrayEquals(new double[3], borrowed.elements(), 0.0);
+        assertThat(workspace.vector(3), is(not(sameInstance(vector))));
+
+        MutableMatrix matrix = workspace.matrix(2, 3).fill(1.0);
+        workspace.release(matrix);
+        assertThat(workspace.matrix(3, 2), is(not(sameInstance(matrix))));
+        assertThat(workspace.matrix(2, 3), is(sameInstance(matrix)));
+        assertArrayEquals(new double[6], matrix.toMatrix().data(), 0.0);
+    }
+
+    @Test
+    public void whenReleasedTwiceThenBorrowedOnce() {
+        Workspace workspace = new Workspace();
+        MutableVector vector = workspace.vector(2);
+        workspace.release(vector);
+        workspace.release(vector);
+        assertThat(workspace.vector(2), is(sameInstance(vector)));
+        assertThat(workspace.vector(2), is(not(sameInstance(vector))));
+    }
+
+    @Test
+    public void whenDistinctSymmetricMatricesWithEqualElementsReleasedThenBothPooled() {
+        Workspace workspace = new Workspace();
+        SymmetricMatrix first = workspace.symmetricMatrix(3);
+        SymmetricMatrix second = workspace.symmetricMatrix(3);
+        workspace.release(first);
+        workspace.release(second);
+        SymmetricMatrix borrowed = workspace.symmetricMatrix(3);
+        SymmetricMatrix borrowedAgain = workspace.symmetricMatrix(3);
+        assertThat(borrowed == first || borrowed == second, is(true));
+        assertThat(borrowedAgain == first || borrowedAgain == second, is(true));
+        assertThat(borrowedAgain, is(not(sameInstance(borrowed))));
+    }
+
+    @Test
+    public void whenLocalThenSameWorkspaceOnThread() {
+        assertThat(Workspace.local(), is(sameInstance(Workspace.local())));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.signaflo.math.operations;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertArrayEquals;
+
+public class DoubleKernelsSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final DoubleKernels.Kernel[] kernels = {DoubleKernels.SCALAR, DoubleKernels.UNROLLED};
+
+    @Test
+    public void whenSummedThenRoundingErrorCompensated() {
+        double[] data = {1E100, 1.0, 3.0, -1E100, 2.0};
+        for (DoubleKernels.Kernel kernel : kernels) {
+            assertThat(kernel.toString(), kernel.sumOfDifferences(data, 0.0), is(6.0));
+        }
+    }
+
+    @Test
+    public void whenManySmallValuesSummedThenResultExact() {
+        double[] data = new double[10_001];
+        Arrays.fill(data, 0.1);
+        double expected = 10_001 * 0.1;
+        for (DoubleKernels.Kernel kernel : kernels) {
+            assertThat(kernel.sumOfDifferences(data, 0.0), is(closeTo(expected, 1E-12)));
+        }
+    }
+
+    @Test
+    public void whenKernelsComparedThenResultsAgree() {
+        Random random = new Random(42);
+        for (int n = 0; n < 11; n++) {
+            double[] left = random.doubles(n).toArray();
+            double[] right = random.doubles(n).toArray();
+            double expectedSquares = 0.0;
+            double expectedCross = 0.0;
+            for (int i = 0; i < n; i++) {
+                expectedSquares += (left[i] - 0.5) * (left[i] - 0.5);
+                expectedCross += (left[i] - 0.5) * (right[i] - 0.25);
+            }
+            for (DoubleKernels.Kernel kernel : kernels) {
+                assertThat(kernel.sumOfSquaredDifferences(left, 0.5), is(closeTo(expectedSquares, 1E-14)));
+                assertThat(kernel.sumOfCrossProducts(left, 0.5, right, 0.25), is(closeTo(expectedCross, 1E-14)));
+            }
+        }
+    }
+
+    @Test
+    public void whenCombinedThenElementwiseResultCorrect() {
+        double[] left = {1.0, 2.0, 3.0, 4.0, 5.0};
+        double[] right = {5.0, 4.0, 3.0, 2.0, 1.0};
+        for (DoubleKernels.Kernel kernel : kernels) {
+            double[] output = new double[5];
+            kernel.combine(left, right, output, DoubleKernels.Kernel.ADD);
+            assertArrayEquals(new double[] {6.0, 6.0, 6.0, 6.0, 6.0}, output, 0.0);
+            kernel.combine(left, right, output, DoubleKernels.Kernel.SUBTRACT);
+            assertArrayEquals(new double[] {-4.0, -2.0, 0.0, 2.0, 4.0}, output, 0.0);
+            kernel.combine(left, right, output, DoubleKernels.Kernel.MULTIPLY);
+            assertArrayEquals(new double[] {5.0, 8.0, 9.0, 8.0, 5.0}, output, 0.0);
+        }
+    }
+
+    @Test
+    public void whenOutputIsInputThenUpdatedInPlace() {
+        double[] left = {1.0, 2.0};
+        DoubleKernels.add(left, new double[] {3.0, 4.0}, left);
+        assertArrayEquals(new double[] {4.0, 6.0}, left, 0.0);
+    }
+
+    @Test
+    public void whenOutputLengthDiffersThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        DoubleKernels.multiply(new double[2], new double[2], new double[3]);
+    }
+
+    @Test
+    public void whenImplementationQueriedThenDefaultIsUnrolled() {
+        assertThat(DoubleKernels.implementation(), is("unrolled"));
+    }
+}
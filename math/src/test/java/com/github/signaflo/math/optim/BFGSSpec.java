@@ -1,12 +1,21 @@
 package com.github.signaflo.math.optim;
 
 import com.github.signaflo.math.function.AbstractMultivariateFunction;
+import com.github.signaflo.math.linear.doubles.Matrix;
 import com.github.signaflo.math.linear.doubles.Vector;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertArrayEquals;
 
 public final class BFGSSpec {
@@ -23,4 +32,68 @@ public final class BFGSSpec {
         double[] expectedHessian = {0.2, 0.4, 0.4, 0.8};
         assertArrayEquals(expectedHessian, solver.inverseHessian().data(), 1E-2);
     }
+
+    @Test
+    public void whenManyParametersThenMinimumFoundAndInverseHessianSymmetric() {
+        final int n = 25;
+        AbstractMultivariateFunction f = new AbstractMultivariateFunction() {
+            @Override
+            public double at(Vector point) {
+                functionEvaluations++;
+                double sum = 0.0;
+                for (int i = 0; i < n; i++) {
+                    sum += (i + 1) * point.at(i) * point.at(i);
+                }
+                return sum;
+            }
+        };
+        BFGS solver = new BFGS(f, Vector.ones(n), 1E-8, 1E-12);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-6)));
+        assertArrayEquals(new double[n], solver.parameters().elements(), 1E-3);
+        Matrix inverseHessian = solver.inverseHessian();
+        assertThat(inverseHessian.nrow(), is(n));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                assertThat(inverseHessian.get(i, j), is(inverseHessian.get(j, i)));
+            }
+        }
+    }
+
+    @Test
+    public void whenStrongWolfeLineSearchThenMinimumFoundWithFewerEvaluations() {
+        AbstractMultivariateFunction backtracking = new RosenbrockFunction();
+        new BFGS(backtracking, Vector.from(-1.2, 1.0), 1E-8, 1E-12, Matrix.identity(2), LineSearch.BACKTRACKING);
+        AbstractMultivariateFunction f = new RosenbrockFunction();
+        BFGS solver = new BFGS(f, Vector.from(-1.2, 1.0), 1E-8, 1E-12, Matrix.identity(2), LineSearch.STRONG_WOLFE);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-7)));
+        assertArrayEquals(new double[] {1.0, 1.0}, solver.parameters().elements(), 1E-3);
+        assertThat(f.functionEvaluations(), is(lessThan(backtracking.functionEvaluations())));
+        Matrix inverseHessian = solver.inverseHessian();
+        assertThat(inverseHessian.get(0, 0), is(greaterThan(0.0)));
+        assertThat(inverseHessian.get(0, 0) * inverseHessian.get(1, 1),
+                   is(greaterThan(inverseHessian.get(0, 1) * inverseHessian.get(1, 0))));
+    }
+
+    @Test
+    public void whenListenerGivenThenEachIterationReportedAndSummaryConsistent() {
+        AbstractMultivariateFunction f = new RosenbrockFunction();
+        List<Iteration> iterations = new ArrayList<>();
+        BFGS solver = new BFGS(f, Vector.from(-1.2, 1.0), 1E-8, 1E-12, Matrix.identity(2), LineSearch.BACKTRACKING,
+                               iterations::add);
+        OptimizationSummary summary = solver.summary();
+        assertThat(iterations.size(), is(summary.iterations()));
+        assertThat(summary.functionEvaluations(), is(f.functionEvaluations()));
+        assertThat(summary.gradientEvaluations(), is(f.gradientEvaluations()));
+        assertThat(summary.functionValue(), is(solver.functionValue()));
+        assertThat(summary.termination(), is(not(OptimizationSummary.Termination.MAX_ITERATIONS)));
+        Iteration last = iterations.get(iterations.size() - 1);
+        assertThat(last.number(), is(summary.iterations()));
+        assertThat(last.iterate(), is(solver.parameters()));
+        assertThat(last.functionEvaluations(), is(lessThanOrEqualTo(summary.functionEvaluations())));
+        for (int i = 1; i < iterations.size(); i++) {
+            assertThat(iterations.get(i).functionEvaluations(),
+                       is(greaterThan(iterations.get(i - 1).functionEvaluations())));
+            assertThat(iterations.get(i).elapsedNanos(), is(greaterThanOrEqualTo(iterations.get(i - 1).elapsedNanos())));
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package com.github.signaflo.math.optim;
+
+import com.github.signaflo.math.function.AbstractMultivariateFunction;
+import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.Vector;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public final class LBFGSSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenRosenbrockThenMinimumFound() {
+        LBFGS solver = new LBFGS(new RosenbrockFunction(), Vector.from(0.5, 1.5), 1E-8, 1E-12);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-7)));
+        assertArrayEquals(new double[] {1.0, 1.0}, solver.parameters().elements(), 1E-3);
+    }
+
+    @Test
+    public void whenStrongWolfeLineSearchThenMinimumFound() {
+        LBFGS solver = new LBFGS(new RosenbrockFunction(), Vector.from(-1.2, 1.0), 1E-8, 1E-12, 5,
+                                 LineSearch.STRONG_WOLFE);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-7)));
+        assertArrayEquals(new double[] {1.0, 1.0}, solver.parameters().elements(), 1E-3);
+    }
+
+    @Test
+    public void whenManyParametersThenMinimumFoundAndInverseHessianSymmetric() {
+        final int n = 200;
+        AbstractMultivariateFunction f = new AbstractMultivariateFunction() {
+            @Override
+            public double at(Vector point) {
+                functionEvaluations++;
+                double sum = 0.0;
+                for (int i = 0; i < n; i++) {
+                    sum += (1 + i % 10) * point.at(i) * point.at(i);
+                }
+                return sum;
+            }
+
+            @Override
+            public Vector gradientAt(Vector point, double functionValue) {
+                gradientEvalutations++;
+                double[] gradient = new double[n];
+                for (int i = 0; i < n; i++) {
+                    gradient[i] = 2 * (1 + i % 10) * point.at(i);
+                }
+                return Vector.from(gradient);
+            }
+        };
+        LBFGS solver = new LBFGS(f, Vector.ones(n), 1E-8, 1E-14, 5, LineSearch.BACKTRACKING);
+        assertThat(solver.functionValue(), is(closeTo(0.0, 1E-8)));
+        assertArrayEquals(new double[n], solver.parameters().elements(), 1E-4);
+        Matrix inverseHessian = solver.inverseHessian();
+        assertThat(inverseHessian.nrow(), is(n));
+        for (int i = 0; i < n; i++) {
+            assertThat(inverseHessian.get(i, i), is(greaterThan(0.0)));
+            for (int j = 0; j < i; j++) {
+                assertThat(inverseHessian.get(i, j), is(inverseHessian.get(j, i)));
+            }
+        }
+    }
+
+    @Test
+    public void whenStartingPointIsMinimumThenNoIterations() {
+        LBFGS solver = new LBFGS(new RosenbrockFunction(), Vector.from(1.0, 1.0), 1E-8, 1E-12);
+        assertThat(solver.iterations(), is(0));
+        assertThat(solver.functionValue(), is(0.0));
+        assertThat(solver.summary().iterations(), is(0));
+    }
+
+    @Test
+    public void whenListenerGivenThenEachIterationReported() {
+        AbstractMultivariateFunction f = new RosenbrockFunction();
+        AtomicInteger reported = new AtomicInteger();
+        LBFGS solver = new LBFGS(f, Vector.from(-1.2, 1.0), 1E-8, 1E-12, LBFGS.DEFAULT_HISTORY_SIZE,
+                                 LineSearch.STRONG_WOLFE, (iteration) -> reported.incrementAndGet());
+        assertThat(reported.get(), is(solver.iterations()));
+        assertThat(solver.summary().iterations(), is(solver.iterations()));
+        assertThat(solver.summary().functionEvaluations(), is(f.functionEvaluations()));
+    }
+
+    @Test
+    public void whenHistorySizeNotPositiveThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        new LBFGS(new RosenbrockFunction(), Vector.from(0.5, 1.5), 1E-8, 1E-12, 0, LineSearch.BACKTRACKING);
+    }
+
+    @Test
+    public void whenInitialDiagonalIsInverseHessianThenOneIteration() {
+        final double[] curvatures = {1.0, 100.0, 10000.0};
+        AbstractMultivariateFunction f = new AbstractMultivariateFunction() {
+            @Override
+            public double at(Vector point) {
+                functionEvaluations++;
+                double sum = 0.0;
+                for (int i = 0; i < curvatures.length; i++) {
+                    sum += curvatures[i] * point.at(i) * point.at(i);
+                }
+                return sum;
+            }
+
+            @Override
+            public Vector gradientAt(Vector point, double functionValue) {
+                gradientEvalutations++;
+                double[] gradient = new double[curvatures.length];
+                for (int i = 0; i < curvatures.length; i++) {
+                    gradient[i] = 2 * curvatures[i] * point.at(i);
+                }
+                return Vector.from(gradient);
+            }
+        };
+        Vector diagonal = Vector.from(0.5, 0.005, 0.00005);
+        LBFGS solver = new LBFGS(f, Vector.ones(3), 1E-8, 1E-14, LBFGS.DEFAULT_HISTORY_SIZE,
+                                 LineSearch.BACKTRACKING, OptimizationListener.NONE, diagonal);
+        assertThat(solver.iterations(), is(1));
+        assertArrayEquals(new double[3], solver.parameters().elements(), 1E-12);
+        LBFGS unscaled = new LBFGS(f, Vector.ones(3), 1E-8, 1E-14);
+        assertThat(unscaled.iterations(), is(greaterThan(1)));
+    }
+
+    @Test
+    public void whenInitialDiagonalNotPositiveThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        new LBFGS(new RosenbrockFunction(), Vector.from(0.5, 1.5), 1E-8, 1E-12, LBFGS.DEFAULT_HISTORY_SIZE,
+                  LineSearch.BACKTRACKING, OptimizationListener.NONE, Vector.from(1.0, 0.0));
+    }
+
+    @Test
+    public void whenNoDecreaseWithinToleranceThenSameTerminationAsBFGS() {
+        // The function is flat, but its reported gradient is not, so no step can decrease it.
+        AbstractMultivariateFunction f = new AbstractMultivariateFunction() {
+            @Override
+            public double at(Vector point) {
+                functionEvaluations++;
+                return 1.0;
+            }
+
+            @Override
+            public Vector gradientAt(Vector point, double functionValue) {
+                gradientEvalutations++;
+                return Vector.from(1.0, -1.0);
+            }
+        };
+        LBFGS solver = new LBFGS(f, Vector.from(0.0, 0.0), 1E-8, 1E-8);
+        BFGS bfgs = new BFGS(f, Vector.from(0.0, 0.0), 1E-8, 1E-8);
+        assertThat(solver.summary().termination(), is(OptimizationSummary.Termination.FUNCTION_CHANGE_TOLERANCE));
+        assertThat(solver.summary().termination(), is(bfgs.summary().termination()));
+        assertArrayEquals(new double[] {0.0, 0.0}, solver.parameters().elements(), 0.0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.signaflo.math.optim;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class OptimizationSummarySpec {
+
+    @Test
+    public void whenFollowedByThenCountsAddedAndFinalStateTakenFromNext() {
+        OptimizationSummary first = new OptimizationSummary(3, 10, 4, 2, 1, 100L, 5.0, 0.5,
+                                                            OptimizationSummary.Termination.MAX_ITERATIONS);
+        OptimizationSummary next = new OptimizationSummary(2, 6, 3, 0, 0, 50L, 1.0, 1E-9,
+                                                           OptimizationSummary.Termination.GRADIENT_TOLERANCE);
+        OptimizationSummary combined = first.followedBy(next);
+        assertThat(combined.iterations(), is(5));
+        assertThat(combined.functionEvaluations(), is(16));
+        assertThat(combined.gradientEvaluations(), is(7));
+        assertThat(combined.stepReductions(), is(2));
+        assertThat(combined.hessianResets(), is(1));
+        assertThat(combined.elapsedNanos(), is(150L));
+        assertThat(combined.functionValue(), is(1.0));
+        assertThat(combined.gradientNorm(), is(1E-9));
+        assertThat(combined.termination(), is(OptimizationSummary.Termination.GRADIENT_TOLERANCE));
+    }
+}
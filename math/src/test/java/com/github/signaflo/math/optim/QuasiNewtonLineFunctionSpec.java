@@ -42,4 +42,25 @@ public class QuasiNewtonLineFunctionSpec {
         double result = lineFunction.at(0.5);
         assertThat(result, is(f.at(point.plus(searchDirection.scaledBy(0.5)))));
     }
+
+    @Test
+    public void whenEvaluatedAgainAtSameStepThenTargetFunctionNotEvaluated() {
+        AbstractMultivariateFunction f = new RosenbrockFunction();
+        QuasiNewtonLineFunction lineFunction = new QuasiNewtonLineFunction(f, Vector.from(2, 3), Vector.from(1, -1));
+        double first = lineFunction.at(0.5);
+        assertThat(lineFunction.at(0.5), is(first));
+        assertThat(f.functionEvaluations(), is(1));
+    }
+
+    @Test
+    public void whenSlopeThenDirectionalDerivativeOfGradient() {
+        AbstractMultivariateFunction f = new RosenbrockFunction();
+        Vector point = Vector.from(2, 3);
+        Vector searchDirection = Vector.from(1, -1);
+        QuasiNewtonLineFunction lineFunction = new QuasiNewtonLineFunction(f, point, searchDirection);
+        double value = lineFunction.at(0.5);
+        Vector gradient = f.gradientAt(lineFunction.pointAt(0.5), value);
+        assertThat(lineFunction.slopeAt(0.5, value), is(gradient.dotProduct(searchDirection)));
+        assertThat(lineFunction.gradientAt(0.5, value), is(gradient));
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.math.stats;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class DurbinLevinsonSpec {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    // The autocorrelations at lags 0 through 4 of the AR(2) process with coefficients 0.5 and 0.3.
+    private final double[] autoCorrelation = arTwoAutoCorrelations(0.5, 0.3, 4);
+
+    @Test
+    public void whenAutoRegressiveProcessThenYuleWalkerRecoversCoefficients() {
+        assertArrayEquals(new double[]{0.5, 0.3}, DurbinLevinson.yuleWalker(autoCorrelation, 2), 1E-14);
+        assertArrayEquals(new double[]{0.5, 0.3, 0.0, 0.0}, DurbinLevinson.yuleWalker(autoCorrelation, 4), 1E-14);
+        assertArrayEquals(new double[]{0.5 / 0.7}, DurbinLevinson.yuleWalker(autoCorrelation, 1), 1E-14);
+    }
+
+    @Test
+    public void whenAutoRegressiveProcessThenPartialAutoCorrelationsCutOffAfterOrder() {
+        assertArrayEquals(new double[]{0.5 / 0.7, 0.3, 0.0, 0.0},
+                          DurbinLevinson.partialAutoCorrelations(autoCorrelation, 4), 1E-14);
+    }
+
+    @Test
+    public void whenAutoCovariancesScaledThenSameResult() {
+        double[] autoCovariance = autoCorrelation.clone();
+        for (int i = 0; i < autoCovariance.length; i++) {
+            autoCovariance[i] *= 7.5;
+        }
+        assertArrayEquals(DurbinLevinson.yuleWalker(autoCorrelation, 3), DurbinLevinson.yuleWalker(autoCovariance, 3),
+                          1E-14);
+    }
+
+    @Test
+    public void whenGeneralAutoCovariancesThenYuleWalkerSolvesToeplitzSystem() {
+        double[] gamma = {4.0, 2.1, 1.3, -0.4, 0.2};
+        int p = 4;
+        double[] phi = DurbinLevinson.yuleWalker(gamma, p);
+        for (int i = 1; i <= p; i++) {
+            double sum = 0.0;
+            for (int j = 1; j <= p; j++) {
+                sum += gamma[Math.abs(i - j)] * phi[j - 1];
+            }
+            assertThat(Math.abs(sum - gamma[i]) < 1E-12, is(true));
+        }
+    }
+
+    @Test
+    public void whenCoefficientsFromPartialAutoCorrelationsThenModelRecovered() {
+        double[] pacf = DurbinLevinson.partialAutoCorrelations(arTwoAutoCorrelations(0.5, 0.3, 4), 4);
+        assertArrayEquals(new double[]{0.5, 0.3, 0.0, 0.0}, DurbinLevinson.coefficients(pacf), 1E-12);
+    }
+
+    @Test
+    public void whenPartialAutoCorrelationsOfCoefficientsThenRecursionInverted() {
+        double[] pacf = {0.7, -0.4, 0.2};
+        double[] coefficients = DurbinLevinson.coefficients(pacf);
+        assertArrayEquals(pacf, DurbinLevinson.partialAutoCorrelationsOf(coefficients), 1E-12);
+    }
+
+    @Test
+    public void whenZeroVarianceThenZeros() {
+        assertArrayEquals(new double[3], DurbinLevinson.partialAutoCorrelations(new double[4], 3), 0.0);
+    }
+
+    @Test
+    public void whenTooFewAutoCovariancesThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        DurbinLevinson.yuleWalker(new double[]{1.0, 0.5}, 2);
+    }
+
+    private static double[] arTwoAutoCorrelations(double phi1, double phi2, int maxLag) {
+        double[] rho = new double[maxLag + 1];
+        rho[0] = 1.0;
+        rho[1] = phi1 / (1 - phi2);
+        for (int k = 2; k <= maxLag; k++) {
+            rho[k] = phi1 * rho[k - 1] + phi2 * rho[k - 2];
+        }
+        return rho;
+    }
+}
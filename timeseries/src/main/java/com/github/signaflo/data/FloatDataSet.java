@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2016 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.data;
+
+import com.github.signaflo.math.operations.DoubleKernels;
+import lombok.NonNull;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+/**
+ * A collection of numerical observations stored as primitive floats. This class is immutable and thread-safe.
+ *
+ * <p>A float data set uses half the memory of a {@link DoubleDataSet} and is suitable for observations with no more
+ * than about seven significant digits. Each observation is widened to a double before it is used in a computation,
+ * and every statistic is accumulated in double precision, so only the storage of the observations is in single
+ * precision.
+ *
+ * @author Jacob Rachiele
+ */
+public final class FloatDataSet implements DataSet {
+
+    private final float[] data;
+
+    /**
+     * Construct a new data set from the given data.
+     *
+     * @param data the collection of observations.
+     */
+    public FloatDataSet(@NonNull final float... data) {
+        this.data = data.clone();
+    }
+
+    /**
+     * Construct a new data set from the given data, rounding each observation to the nearest float.
+     *
+     * @param data the collection of observations.
+     * @return a new data set with the given observations rounded to single precision.
+     */
+    public static FloatDataSet narrowing(@NonNull final double... data) {
+        final float[] narrowed = new float[data.length];
+        for (int i = 0; i < data.length; i++) {
+            narrowed[i] = (float) data[i];
+        }
+        return new FloatDataSet(narrowed, false);
+    }
+
+    private FloatDataSet(final float[] data, final boolean copy) {
+        this.data = copy ? data.clone() : data;
+    }
+
+    /**
+     * The observation at the given index, widened to a double.
+     *
+     * @param index the index of the observation.
+     * @return the observation at the given index.
+     */
+    public final double at(final int index) {
+        return this.data[index];
+    }
+
+    /**
+     * A new data set with the observations from the start index, inclusive, to the end index, exclusive. The
+     * observations are copied once.
+     *
+     * @param from the index of the first observation, inclusive.
+     * @param to   the index of the last observation, exclusive.
+     * @return a new data set with the observations in the given range.
+     */
+    public final FloatDataSet slice(final int from, final int to) {
+        return new FloatDataSet(Arrays.copyOfRange(this.data, from, to), false);
+    }
+
+    @Override
+    public final double sum() {
+        return DoubleKernels.sum(this.data);
+    }
+
+    @Override
+    public final double sumOfSquares() {
+        return DoubleKernels.sumOfSquares(this.data);
+    }
+
+    @Override
+    public final double mean() {
+        return sum() / this.data.length;
+    }
+
+    @Override
+    public final double median() {
+        final float[] sorted = this.data.clone();
+        Arrays.sort(sorted);
+        final int n = sorted.length;
+        if (n % 2 == 0) {
+            return ((double) sorted[(n / 2) - 1] + sorted[n / 2]) / 2.0;
+        }
+        return sorted[(n - 1) / 2];
+    }
+
+    @Override
+    public final int size() {
+        return this.data.length;
+    }
+
+    /**
+     * Multiply every element of this data set with the corresponding element of the given data set. The products
+     * are computed in double precision and rounded to single precision.
+     *
+     * @param otherData The data to multiply by.
+     * @return A new float data set containing every element of this data set multiplied by
+     * the corresponding element of the given data set.
+     */
+    @Override
+    public final FloatDataSet times(@NonNull final DataSet otherData) {
+        checkSize(otherData);
+        final float[] product = new float[this.data.length];
+        if (otherData instanceof FloatDataSet) {
+            final float[] other = ((FloatDataSet) otherData).data;
+            for (int i = 0; i < product.length; i++) {
+                product[i] = (float) ((double) this.data[i] * other[i]);
+            }
+        } else {
+            final double[] other = otherData.asArray();
+            for (int i = 0; i < product.length; i++) {
+                product[i] = (float) (this.data[i] * other[i]);
+            }
+        }
+        return new FloatDataSet(product, false);
+    }
+
+    /**
+     * Add every element of this data set to the corresponding element of the given data set. The sums are
+     * computed in double precision and rounded to single precision.
+     *
+     * @param otherData The data to add to.
+     * @return A new float data set containing every element of this data set added to
+     * the corresponding element of the given data set.
+     */
+    @Override
+    public final FloatDataSet plus(@NonNull final DataSet otherData) {
+        checkSize(otherData);
+        final float[] sum = new float[this.data.length];
+        if (otherData instanceof FloatDataSet) {
+            final float[] other = ((FloatDataSet) otherData).data;
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] = (float) ((double) this.data[i] + other[i]);
+            }
+        } else {
+            final double[] other = otherData.asArray();
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] = (float) (this.data[i] + other[i]);
+            }
+        }
+        return new FloatDataSet(sum, false);
+    }
+
+    private void checkSize(final DataSet otherData) {
+        if (otherData.size() != this.data.length) {
+            throw new IllegalArgumentException("The data arrays must have the same length.");
+        }
+    }
+
+    @Override
+    public final double variance() {
+        return DoubleKernels.sumOfSquaredDifferences(this.data, mean()) / (this.data.length - 1);
+    }
+
+    @Override
+    public final double stdDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    @Override
+    public final double covariance(@NonNull final DataSet otherData) {
+        checkSize(otherData);
+        final double sumOfCrossProducts;
+        if (otherData instanceof FloatDataSet) {
+            sumOfCrossProducts = DoubleKernels.sumOfCrossProducts(this.data, mean(), ((FloatDataSet) otherData).data,
+                                                                  otherData.mean());
+        } else {
+            sumOfCrossProducts = DoubleKernels.sumOfCrossProducts(asArray(), mean(), otherData.asArray(),
+                                                                  otherData.mean());
+        }
+        return sumOfCrossProducts / (this.data.length - 1);
+    }
+
+    @Override
+    public final double correlation(@NonNull final DataSet otherData) {
+        return covariance(otherData) / (stdDeviation() * otherData.stdDeviation());
+    }
+
+    /**
+     * The observations, widened to doubles.
+     *
+     * @return the observations.
+     */
+    @Override
+    public final double[] asArray() {
+        final double[] widened = new double[this.data.length];
+        for (int i = 0; i < widened.length; i++) {
+            widened[i] = this.data[i];
+        }
+        return widened;
+    }
+
+    /**
+     * The observations in single precision.
+     *
+     * @return the observations in single precision.
+     */
+    public final float[] asFloatArray() {
+        return this.data.clone();
+    }
+
+    @Override
+    public String toString() {
+        DecimalFormat df = new DecimalFormat("0.##");
+        return "\nValues: " + Arrays.toString(data) + "\nLength: " + data.length + "\nMean: " + mean() +
+               "\nStandard deviation: " + df.format(stdDeviation());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        FloatDataSet other = (FloatDataSet) obj;
+        return Arrays.equals(data, other.data);
+    }
+
+}
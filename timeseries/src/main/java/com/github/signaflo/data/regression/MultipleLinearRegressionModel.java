@@ -23,16 +23,12 @@
  */
 package com.github.signaflo.data.regression;
 
-import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import com.github.signaflo.math.linear.doubles.QRDecomposition;
+import com.github.signaflo.math.linear.doubles.SymmetricMatrix;
 import com.github.signaflo.math.stats.Statistics;
-import org.ejml.alg.dense.mult.MatrixVectorMult;
-import org.ejml.data.D1Matrix64F;
-import org.ejml.data.DenseMatrix64F;
-import org.ejml.factory.LinearSolverFactory;
-import org.ejml.interfaces.decomposition.QRDecomposition;
-import org.ejml.interfaces.linsol.LinearSolver;
-import org.ejml.ops.CommonOps;
+
+import java.util.Arrays;
 
 import static com.github.signaflo.math.operations.DoubleFunctions.*;
 
@@ -40,11 +36,11 @@ import static com.github.signaflo.math.operations.DoubleFunctions.*;
  * A linear regression model with support for multiple prediction variables.
  * This implementation is immutable and thread-safe.
  */
-@EqualsAndHashCode @ToString
+@ToString
 final class MultipleLinearRegressionModel implements MultipleLinearRegression {
 
     private final double[][] predictors;
-    private final double[][] XtXInv;
+    private final SymmetricMatrix XtXInv;
     private final double[] response;
     private final double[] beta;
     private final double[] standardErrors;
@@ -66,16 +62,15 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
         this.sigma2 = matrixFormulation.getSigma2();
     }
 
-    private double[][] getXtXInverse(MatrixFormulation matrixFormulation) {
-        DenseMatrix64F XtXInvMatrix = matrixFormulation.XtXInv.copy();
-        int dim = XtXInvMatrix.getNumCols();
-        double[][] XtXInvArray = new double[dim][dim];
+    private SymmetricMatrix getXtXInverse(MatrixFormulation matrixFormulation) {
+        int dim = matrixFormulation.numCols;
+        SymmetricMatrix XtXInverse = SymmetricMatrix.zeros(dim);
         for (int i = 0; i < dim; i++) {
-            for (int j = 0; j < dim; j++) {
-                XtXInvArray[i][j] = XtXInvMatrix.get(i, j);
+            for (int j = 0; j <= i; j++) {
+                XtXInverse.set(i, j, matrixFormulation.XtXInv[i * dim + j]);
             }
         }
-        return XtXInvArray;
+        return XtXInverse;
     }
 
     @Override
@@ -102,11 +97,7 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
 
     @Override
     public double[][] XtXInverse() {
-        double[][] copy = new double[this.XtXInv.length][];
-        for (int i = 0; i < copy.length; i++) {
-            copy[i] = this.XtXInv[i].clone();
-        }
-        return copy;
+        return this.XtXInv.toMatrix().data2D();
     }
 
     @Override
@@ -175,6 +166,33 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
         return new MultipleLinearRegressionBuilder().from(this).predictors(predictors).build();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MultipleLinearRegressionModel that = (MultipleLinearRegressionModel) o;
+        return hasIntercept == that.hasIntercept && Double.compare(that.sigma2, sigma2) == 0 &&
+               Arrays.deepEquals(predictors, that.predictors) && Arrays.equals(response, that.response) &&
+               Arrays.equals(XtXInv.packed(), that.XtXInv.packed()) && Arrays.equals(beta, that.beta) &&
+               Arrays.equals(standardErrors, that.standardErrors) && Arrays.equals(residuals, that.residuals) &&
+               Arrays.equals(fitted, that.fitted);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.deepHashCode(predictors);
+        result = 31 * result + Arrays.hashCode(XtXInv.packed());
+        result = 31 * result + Arrays.hashCode(response);
+        result = 31 * result + Arrays.hashCode(beta);
+        result = 31 * result + Arrays.hashCode(standardErrors);
+        result = 31 * result + Arrays.hashCode(residuals);
+        result = 31 * result + Arrays.hashCode(fitted);
+        result = 31 * result + (hasIntercept ? 1 : 0);
+        result = 31 * result + Double.hashCode(sigma2);
+        return result;
+    }
+
     /**
      * A builder for a multiple linear regression model.
      */
@@ -221,48 +239,35 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
 
     private class MatrixFormulation {
 
-        private final DenseMatrix64F X; // The design matrix.
-        private final DenseMatrix64F Xt; // The transpose of X.
-        private final DenseMatrix64F XtXInv; // The inverse of Xt times X.
-        private final DenseMatrix64F b; // The parameter estimate vector.
-        private final DenseMatrix64F y; // The response vector.
+        private final int numCols;
+        private final double[] X; // The design matrix in column-major order.
+        private final double[] XtXInv; // The inverse of Xt times X in row-major order.
+        private final double[] b; // The parameter estimate vector.
         private final double[] fitted;
         private final double[] residuals;
         private final double sigma2;
-        private final DenseMatrix64F covarianceMatrix;
 
         private MatrixFormulation() {
             int numRows = response.length;
-            int numCols = predictors.length + ((hasIntercept) ? 1 : 0);
-            this.X = createMatrixA(numRows, numCols);
-            this.Xt = new DenseMatrix64F(numCols, numRows);
-            CommonOps.transpose(X, Xt);
-            this.XtXInv = new DenseMatrix64F(numCols, numCols);
-            this.b = new DenseMatrix64F(numCols, 1);
-            this.y = new DenseMatrix64F(numRows, 1);
+            this.numCols = predictors.length + ((hasIntercept) ? 1 : 0);
+            this.X = createMatrixA(numRows);
+            this.XtXInv = new double[numCols * numCols];
+            this.b = new double[numCols];
             solveSystem(numRows, numCols);
             this.fitted = computeFittedValues();
             this.residuals = computeResiduals();
             this.sigma2 = estimateSigma2(numCols);
-            this.covarianceMatrix = new DenseMatrix64F(numCols, numCols);
-            CommonOps.scale(sigma2, XtXInv, covarianceMatrix);
         }
 
         private void solveSystem(int numRows, int numCols) {
-            LinearSolver<DenseMatrix64F> qrSolver = LinearSolverFactory.qr(numRows, numCols);
-            QRDecomposition<DenseMatrix64F> decomposition = qrSolver.getDecomposition();
-            qrSolver.setA(X);
-            y.setData(response);
-            qrSolver.solve(this.y, this.b);
-            DenseMatrix64F R = decomposition.getR(null, true);
-            LinearSolver<DenseMatrix64F> linearSolver = LinearSolverFactory.linear(numCols);
-            linearSolver.setA(R);
-            DenseMatrix64F Rinverse = new DenseMatrix64F(numCols, numCols);
-            linearSolver.invert(Rinverse); // stores solver's solution inside of Rinverse.
-            CommonOps.multOuter(Rinverse, this.XtXInv);
+            QRDecomposition decomposition = new QRDecomposition(numRows, numCols);
+            decomposition.decompose(X);
+            decomposition.solve(response, this.b);
+            // Since X = QR with Q orthogonal, XtX = RtR.
+            decomposition.inverseOfGramInto(this.XtXInv);
         }
 
-        private DenseMatrix64F createMatrixA(int numRows, int numCols) {
+        private double[] createMatrixA(int numRows) {
             double[] data;
             if (hasIntercept) {
                 data = fill(numRows, 1.0);
@@ -272,14 +277,20 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
             for (double[] predictor : predictors) {
                 data = combine(data, arrayFrom(predictor));
             }
-            boolean isRowMajor = false;
-            return new DenseMatrix64F(numRows, numCols, isRowMajor, data);
+            return data;
         }
 
         private double[] computeFittedValues() {
-            D1Matrix64F fitted = new DenseMatrix64F(response.length, 1);
-            MatrixVectorMult.mult(X, b, fitted);
-            return fitted.getData();
+            final int numRows = response.length;
+            double[] fitted = new double[numRows];
+            for (int j = 0; j < numCols; j++) {
+                final double bj = b[j];
+                final int column = j * numRows;
+                for (int i = 0; i < numRows; i++) {
+                    fitted[i] += X[column + i] * bj;
+                }
+            }
+            return fitted;
         }
 
         private double[] computeResiduals() {
@@ -300,13 +311,15 @@ final class MultipleLinearRegressionModel implements MultipleLinearRegression {
         }
 
         private double[] getBetaStandardErrors(int numCols) {
-            DenseMatrix64F diag = new DenseMatrix64F(numCols, 1);
-            CommonOps.extractDiag(this.covarianceMatrix, diag);
-            return sqrt(diag.getData());
+            double[] variances = new double[numCols];
+            for (int i = 0; i < numCols; i++) {
+                variances[i] = sigma2 * XtXInv[i * numCols + i];
+            }
+            return sqrt(variances);
         }
 
         private double[] getBetaEstimates() {
-            return b.getData().clone();
+            return b.clone();
         }
 
         private double getSigma2() {
@@ -28,6 +28,7 @@ import com.github.signaflo.data.DoublePair;
 import lombok.ToString;
 import com.github.signaflo.math.linear.doubles.Matrix;
 import com.github.signaflo.math.linear.doubles.QuadraticForm;
+import com.github.signaflo.math.linear.doubles.SymmetricMatrix;
 import com.github.signaflo.math.linear.doubles.Vector;
 import com.github.signaflo.math.stats.distributions.Distribution;
 import com.github.signaflo.math.stats.distributions.StudentsT;
@@ -42,12 +43,12 @@ import java.util.List;
 public class MultipleLinearRegressionPredictor implements LinearRegressionPredictor {
 
     private final LinearRegression model;
-    private final Matrix XtXInverse;
+    private final SymmetricMatrix XtXInverse;
     private final int degreesOfFreedom;
 
     private MultipleLinearRegressionPredictor(MultipleLinearRegression model) {
         this.model = model;
-        this.XtXInverse = Matrix.create(model.XtXInverse());
+        this.XtXInverse = SymmetricMatrix.copyOf(Matrix.create(model.XtXInverse()));
         this.degreesOfFreedom = model.response().length - model.designMatrix().length;
     }
 
@@ -69,21 +70,23 @@ public class MultipleLinearRegressionPredictor implements LinearRegressionPredic
 
     @Override
     public LinearRegressionPrediction predict(Vector observation, double alpha) {
-        double estimate = estimate(predictorWithIntercept(observation));
-        double seFit = standardErrorFit(predictorWithIntercept(observation));
-        DoublePair confidenceInterval = confidenceInterval(alpha, predictorWithIntercept(observation), estimate);
-        DoublePair predictionInterval = predictionInterval(alpha, predictorWithIntercept(observation), estimate);
-        return new MultipleLinearRegressionPrediction(estimate, seFit, confidenceInterval, predictionInterval);
+        return predictWithIntercept(predictorWithIntercept(observation), tValue(alpha));
     }
 
-    private LinearRegressionPrediction predictWithIntercept(Vector vector, double alpha) {
+    // The standard error and the t-value are computed once and shared by both intervals.
+    private LinearRegressionPrediction predictWithIntercept(Vector vector, double tValue) {
         double estimate = estimate(vector);
         double seFit = standardErrorFit(vector);
-        DoublePair confidenceInterval = confidenceInterval(alpha, vector, estimate);
-        DoublePair predictionInterval = predictionInterval(alpha, vector, estimate);
+        DoublePair confidenceInterval = getInterval(estimate, tValue, seFit);
+        DoublePair predictionInterval = getInterval(estimate, tValue, Math.sqrt(model.sigma2() + seFit * seFit));
         return new MultipleLinearRegressionPrediction(estimate, seFit, confidenceInterval, predictionInterval);
     }
 
+    private double tValue(double alpha) {
+        Distribution T = new StudentsT(this.degreesOfFreedom);
+        return T.quantile(1 - (alpha / 2.0));
+    }
+
     private double estimate(Vector data) {
         return data.dotProduct(Vector.from(model.beta()));
     }
@@ -101,27 +104,12 @@ public class MultipleLinearRegressionPredictor implements LinearRegressionPredic
         return Math.sqrt(model.sigma2() * product);
     }
 
-    private DoublePair confidenceInterval(double alpha, Vector predictor, double estimate) {
-        Distribution T = new StudentsT(this.degreesOfFreedom);
-        double tValue = T.quantile(1 - (alpha / 2.0));
-        // send in predictor instead of newData since predict method also updates for intercept.
-        double seFit = standardErrorFit(predictor);
-        return getInterval(estimate, tValue, seFit);
-    }
-
-    private DoublePair predictionInterval(double alpha, Vector predictor, double estimate) {
-        Distribution T = new StudentsT(this.degreesOfFreedom);
-        double tValue = T.quantile(1 - (alpha / 2.0));
-        double seFit = standardErrorFit(predictor);
-        double standardError = Math.sqrt(model.sigma2() + seFit * seFit);
-        return getInterval(estimate, tValue, standardError);
-    }
-
     @Override
     public List<LinearRegressionPrediction> predict(Matrix observations, double alpha) {
         List<LinearRegressionPrediction> predictions = new ArrayList<>(observations.nrow());
+        final double tValue = tValue(alpha);
         for (int i = 0; i < observations.nrow(); i++) {
-            predictions.add(predict(observations.getRow(i), alpha));
+            predictions.add(predictWithIntercept(predictorWithIntercept(observations.getRow(i)), tValue));
         }
         return predictions;
     }
@@ -135,8 +123,9 @@ public class MultipleLinearRegressionPredictor implements LinearRegressionPredic
      */
     public List<LinearRegressionPrediction> predictDesignMatrix(Matrix designMatrix, double alpha) {
         List<LinearRegressionPrediction> predictions = new ArrayList<>(designMatrix.nrow());
+        final double tValue = tValue(alpha);
         for (int i = 0; i < designMatrix.nrow(); i++) {
-            predictions.add(predictWithIntercept(designMatrix.getRow(i), alpha));
+            predictions.add(predictWithIntercept(designMatrix.getRow(i), tValue));
         }
         return predictions;
     }
@@ -117,7 +117,8 @@ public class Plots {
      */
     public static void plotAcf(TimeSeries timeSeries, final int k) {
         final double[] acf = timeSeries.autoCorrelationUpToLag(k);
-        final double[] lags = new double[k + 1];
+        // The series has no autocorrelations beyond lag n - 1, so there may be fewer than k + 1 of them.
+        final double[] lags = new double[acf.length];
         for (int i = 1; i < lags.length; i++) {
             lags[i] = i;
         }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries;
+
+import com.github.signaflo.math.fft.Convolution;
+import com.github.signaflo.math.stats.DurbinLevinson;
+
+/**
+ * Autocovariances, autocorrelations and partial autocorrelations of a series, computed from its
+ * deviations from the mean. Both the double and single precision time series delegate to these.
+ *
+ * @author Jacob Rachiele
+ */
+final class AutoCorrelations {
+
+  private AutoCorrelations() {
+  }
+
+  /**
+   * The correlation of the series with itself at lag k.
+   */
+  static double autoCorrelationAtLag(final double[] deviations, final int k) {
+    validateLag(k);
+    return autoCovarianceAtLag(deviations, k) / autoCovarianceAtLag(deviations, 0);
+  }
+
+  /**
+   * Every correlation coefficient of the series with itself up to lag k.
+   */
+  static double[] autoCorrelationUpToLag(final double[] deviations, final int k) {
+    final double[] autoCorrelation = autoCovarianceUpToLag(deviations, k);
+    final double variance = (autoCorrelation.length > 0) ? autoCorrelation[0] : 0.0;
+    for (int i = 0; i < autoCorrelation.length; i++) {
+      autoCorrelation[i] /= variance;
+    }
+    return autoCorrelation;
+  }
+
+  /**
+   * Every partial autocorrelation of the series up to lag k, computed from the autocovariances with
+   * the Durbin-Levinson recursion. The value at lag 0 is 1.
+   */
+  static double[] partialAutoCorrelationUpToLag(final double[] deviations, final int k) {
+    final double[] autoCovariance = autoCovarianceUpToLag(deviations, k);
+    final double[] partialAutoCorrelation = new double[autoCovariance.length];
+    if (autoCovariance.length > 0) {
+      partialAutoCorrelation[0] = 1.0;
+      final int lags = autoCovariance.length - 1;
+      final double[] partial = DurbinLevinson.partialAutoCorrelations(autoCovariance, lags);
+      System.arraycopy(partial, 0, partialAutoCorrelation, 1, lags);
+    }
+    return partialAutoCorrelation;
+  }
+
+  /**
+   * The covariance of the series with itself at lag k, computed directly in O(n) operations.
+   */
+  static double autoCovarianceAtLag(final double[] deviations, final int k) {
+    validateLag(k);
+    final int n = deviations.length;
+    double sumOfProductOfDeviations = 0.0;
+    for (int t = 0; t < n - k; t++) {
+      sumOfProductOfDeviations += deviations[t] * deviations[t + k];
+    }
+    return sumOfProductOfDeviations / n;
+  }
+
+  /**
+   * Every covariance measure of the series with itself up to lag k, or up to lag n - 1 if k is
+   * larger, computed with a fast Fourier transform when the number of lags is large enough.
+   */
+  static double[] autoCovarianceUpToLag(final double[] deviations, final int k) {
+    validateLag(k);
+    final int n = deviations.length;
+    if (n == 0) {
+      return new double[0];
+    }
+    final double[] acv = Convolution.autoCorrelate(deviations, Math.min(k, n - 1));
+    for (int i = 0; i < acv.length; i++) {
+      acv[i] /= n;
+    }
+    return acv;
+  }
+
+  private static void validateLag(final int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("The lag, k, must be non-negative, but was " + k);
+    }
+  }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries;
+
+import com.github.signaflo.data.DataSet;
+import com.github.signaflo.data.FloatDataSet;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * A sequence of observations taken at regular time intervals and stored as primitive floats. This
+ * class is immutable and thread-safe.
+ *
+ * <p>A float time series uses half the memory of a {@link TimeSeries} and is intended for large
+ * collections of series whose observations have no more than about seven significant digits. The
+ * observations are widened to doubles inside every computation, so statistics and
+ * autocorrelations are accumulated in double precision. Models are fit to the widened series
+ * returned by {@link #toTimeSeries()}.
+ *
+ * @author Jacob Rachiele
+ */
+public final class FloatTimeSeries implements DataSet {
+
+  private final TimePeriod timePeriod;
+  private final ObservationTimes observationTimes;
+  private final FloatDataSet dataSet;
+  private final int n;
+  private final double mean;
+
+  private FloatTimeSeries(final TimePeriod timePeriod, final List<Time> observationTimes,
+                          final FloatDataSet dataSet) {
+    if (observationTimes.size() != dataSet.size()) {
+      throw new IllegalArgumentException(
+          "The number of observation times, " + observationTimes.size()
+              + ", must equal the number of observations, " + dataSet.size());
+    }
+    this.timePeriod = timePeriod;
+    this.observationTimes = ObservationTimes.copyOf(observationTimes);
+    this.dataSet = dataSet;
+    this.n = dataSet.size();
+    this.mean = dataSet.mean();
+  }
+
+  /**
+   * Create a new float time series with the given time period, the time of first observation, and
+   * the observation data.
+   *
+   * @param timePeriod the period of time between observations.
+   * @param startTime  the time of the first observation.
+   * @param series     the observation data.
+   *
+   * @return a new float time series from the supplied data.
+   */
+  public static FloatTimeSeries from(@NonNull final TimePeriod timePeriod,
+                                     @NonNull final Time startTime,
+                                     @NonNull final float... series) {
+    return new FloatTimeSeries(timePeriod,
+                               ObservationTimes.regular(startTime, timePeriod, series.length),
+                               new FloatDataSet(series));
+  }
+
+  /**
+   * Create a new float time series with the given time period, observation times, and observation
+   * data.
+   *
+   * @param timePeriod       the period of time between observations.
+   * @param observationTimes the observation times.
+   * @param series           the observation data.
+   *
+   * @return a new float time series from the supplied data.
+   *
+   * @throws IllegalArgumentException if the number of observation times differs from the number of
+   *                                  observations.
+   */
+  public static FloatTimeSeries from(@NonNull final TimePeriod timePeriod,
+                                     @NonNull final List<Time> observationTimes,
+                                     @NonNull final float... series) {
+    return new FloatTimeSeries(timePeriod, observationTimes, new FloatDataSet(series));
+  }
+
+  /**
+   * Create a new float time series from the given time series, rounding each observation to the
+   * nearest float.
+   *
+   * @param series the time series to store in single precision.
+   *
+   * @return a new float time series with the observations of the given series.
+   */
+  public static FloatTimeSeries from(@NonNull final TimeSeries series) {
+    return new FloatTimeSeries(series.timePeriod(), series.observationTimes(),
+                               FloatDataSet.narrowing(series.asArray()));
+  }
+
+  /**
+   * Retrieve the value of the time series at the given index, widened to a double.
+   *
+   * @param index the index of the value to return.
+   *
+   * @return the value of the time series at the given index.
+   *
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size of this
+   *                                   series.
+   */
+  public final double at(final int index) {
+    if (index < 0 || index >= n) {
+      throw new IndexOutOfBoundsException("No observation available at index: " + index);
+    }
+    return this.dataSet.at(index);
+  }
+
+  /**
+   * Retrieve the value of the time series at the given date-time, widened to a double.
+   *
+   * @param time the date-time of the value to return.
+   *
+   * @return the value of the time series at the given date-time.
+   *
+   * @throws IllegalArgumentException if there is no observation at the given time.
+   */
+  public final double at(@NonNull final Time time) {
+    return this.dataSet.at(indexAt(time));
+  }
+
+  /**
+   * The index of the observation made at the given time.
+   *
+   * @param time the date-time of the observation.
+   *
+   * @return the index of the observation made at the given time.
+   *
+   * @throws IllegalArgumentException if there is no observation at the given time.
+   */
+  public final int indexAt(@NonNull final Time time) {
+    final int index = this.observationTimes.indexOf(time);
+    if (index < 0) {
+      throw new IllegalArgumentException("No observation available at time: " + time);
+    }
+    return index;
+  }
+
+  /**
+   * The correlation of this series with itself at lag k.
+   *
+   * @param k the lag to compute the autocorrelation at.
+   *
+   * @return the correlation of this series with itself at lag k.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see TimeSeries#autoCorrelationAtLag(int)
+   */
+  public final double autoCorrelationAtLag(final int k) {
+    return AutoCorrelations.autoCorrelationAtLag(deviations(), k);
+  }
+
+  /**
+   * Every correlation coefficient of this series with itself up to the given lag.
+   *
+   * @param k the maximum lag to compute the autocorrelation at.
+   *
+   * @return every correlation coefficient of this series with itself up to the given lag.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see TimeSeries#autoCorrelationUpToLag(int)
+   */
+  public final double[] autoCorrelationUpToLag(final int k) {
+    return AutoCorrelations.autoCorrelationUpToLag(deviations(), k);
+  }
+
+  /**
+   * Every partial autocorrelation of this series up to the given lag, computed from the
+   * autocovariances with the Durbin-Levinson recursion in O(k<sup>2</sup>) operations. The partial
+   * autocorrelation at lag i is the correlation between observations i periods apart after removing
+   * the linear effect of the observations in between. As with {@link #autoCorrelationUpToLag(int)},
+   * the element at index i is the value at lag i, and the value at lag 0 is 1.
+   *
+   * @param k the maximum lag to compute the partial autocorrelation at.
+   *
+   * @return every partial autocorrelation of this series up to the given lag.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see TimeSeries#partialAutoCorrelationUpToLag(int)
+   */
+  public final double[] partialAutoCorrelationUpToLag(final int k) {
+    return AutoCorrelations.partialAutoCorrelationUpToLag(deviations(), k);
+  }
+
+  /**
+   * The covariance of this series with itself at lag k.
+   *
+   * @param k the lag to compute the autocovariance at.
+   *
+   * @return the covariance of this series with itself at lag k.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see TimeSeries#autoCovarianceAtLag(int)
+   */
+  public final double autoCovarianceAtLag(final int k) {
+    return AutoCorrelations.autoCovarianceAtLag(deviations(), k);
+  }
+
+  /**
+   * Every covariance measure of this series with itself up to the given lag.
+   *
+   * @param k the maximum lag to compute the autocovariance at.
+   *
+   * @return every covariance measure of this series with itself up to the given lag.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see TimeSeries#autoCovarianceUpToLag(int)
+   */
+  public final double[] autoCovarianceUpToLag(final int k) {
+    return AutoCorrelations.autoCovarianceUpToLag(deviations(), k);
+  }
+
+  private double[] deviations() {
+    final double[] deviations = new double[n];
+    for (int t = 0; t < n; t++) {
+      deviations[t] = dataSet.at(t) - mean;
+    }
+    return deviations;
+  }
+
+  /**
+   * Return a slice of this time series from start (inclusive) to end (inclusive).
+   *
+   * @param start the beginning index of the slice.
+   * @param end   the ending index of the slice.
+   *
+   * @return a slice of this time series from start (inclusive) to end (inclusive).
+   */
+  public final FloatTimeSeries slice(final int start, final int end) {
+    return new FloatTimeSeries(this.timePeriod, this.observationTimes.subList(start, end + 1),
+                               this.dataSet.slice(start, end + 1));
+  }
+
+  /**
+   * Widen this series to a double precision time series, for example, to fit a model to it.
+   *
+   * @return a time series with the observations of this series widened to doubles.
+   */
+  public final TimeSeries toTimeSeries() {
+    return TimeSeries.from(this.timePeriod, this.observationTimes, this.dataSet.asArray());
+  }
+
+  /**
+   * Retrieve the time period at which observations are made for this series.
+   *
+   * @return the time period at which observations are made for this series.
+   */
+  public final TimePeriod timePeriod() {
+    return this.timePeriod;
+  }
+
+  /**
+   * The time at which the first observation was made.
+   *
+   * @return the time at which the first observation was made.
+   */
+  public final Time startTime() {
+    return this.observationTimes.get(0);
+  }
+
+  /**
+   * Retrieve the list of observation times for this series.
+   *
+   * @return the list of observation times for this series.
+   */
+  public final List<Time> observationTimes() {
+    return this.observationTimes;
+  }
+
+  /**
+   * Retrieve the observations in single precision.
+   *
+   * @return the observations in single precision.
+   */
+  public final float[] asFloatArray() {
+    return this.dataSet.asFloatArray();
+  }
+
+  /**
+   * Retrieve the observations widened to doubles.
+   *
+   * @return the observations widened to doubles.
+   */
+  @Override
+  public final double[] asArray() {
+    return this.dataSet.asArray();
+  }
+
+  @Override
+  public double sum() {
+    return this.dataSet.sum();
+  }
+
+  @Override
+  public double sumOfSquares() {
+    return this.dataSet.sumOfSquares();
+  }
+
+  @Override
+  public double mean() {
+    return this.mean;
+  }
+
+  @Override
+  public double median() {
+    return this.dataSet.median();
+  }
+
+  @Override
+  public int size() {
+    return this.n;
+  }
+
+  @Override
+  public FloatTimeSeries times(@NonNull DataSet otherData) {
+    return new FloatTimeSeries(this.timePeriod, this.observationTimes,
+                               this.dataSet.times(unwrap(otherData)));
+  }
+
+  @Override
+  public FloatTimeSeries plus(@NonNull DataSet otherData) {
+    return new FloatTimeSeries(this.timePeriod, this.observationTimes,
+                               this.dataSet.plus(unwrap(otherData)));
+  }
+
+  @Override
+  public double variance() {
+    return this.dataSet.variance();
+  }
+
+  @Override
+  public double stdDeviation() {
+    return this.dataSet.stdDeviation();
+  }
+
+  @Override
+  public double covariance(@NonNull DataSet otherData) {
+    return this.dataSet.covariance(unwrap(otherData));
+  }
+
+  @Override
+  public double correlation(@NonNull DataSet otherData) {
+    return this.dataSet.correlation(unwrap(otherData));
+  }
+
+  // Lets the float data set operate directly on the floats of another float series.
+  private static DataSet unwrap(DataSet otherData) {
+    return (otherData instanceof FloatTimeSeries) ? ((FloatTimeSeries) otherData).dataSet
+                                                  : otherData;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    FloatTimeSeries that = (FloatTimeSeries) o;
+    return timePeriod.equals(that.timePeriod) && dataSet.equals(that.dataSet)
+        && observationTimes.equals(that.observationTimes);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = timePeriod.hashCode();
+    result = 31 * result + dataSet.hashCode();
+    result = 31 * result + observationTimes.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    String newLine = System.lineSeparator();
+    NumberFormat numFormatter = new DecimalFormat("#0.00");
+    return newLine + "Float Time Series: " + newLine + "number of observations: " + n + newLine
+        + "mean: " + numFormatter.format(mean) + newLine + "std: "
+        + numFormatter.format(stdDeviation()) + newLine + "period: " + timePeriod;
+  }
+}
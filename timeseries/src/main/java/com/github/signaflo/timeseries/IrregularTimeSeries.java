@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import lombok.NonNull;
+
+/**
+ * An immutable sequence of observations taken at arbitrary, possibly irregular, points in time.
+ * The observation times are stored as a sorted array of nanoseconds from the epoch of
+ * 1970-01-01T00:00:00Z, so that lookups and range queries take logarithmic time. Because of this
+ * encoding, every observation time must lie between the years 1677 and 2262.
+ *
+ * <p>An irregular series may be resampled to a regular {@link TimeSeries} with
+ * {@link #resample(TimePeriod, Resampling)}.
+ *
+ * @author Jacob Rachiele
+ */
+public final class IrregularTimeSeries {
+
+  private final long[] epochNanos;
+  private final double[] values;
+  private final ZoneOffset offset;
+
+  private IrregularTimeSeries(long[] epochNanos, double[] values, ZoneOffset offset) {
+    this.epochNanos = epochNanos;
+    this.values = values;
+    this.offset = offset;
+  }
+
+  /**
+   * Create a new irregular time series from the given observation times and observations. The
+   * times are given as nanoseconds from the epoch of 1970-01-01T00:00:00Z and must be sorted in
+   * non-decreasing order. The times are reported with an offset of zero.
+   *
+   * @param epochNanos the observation times as nanoseconds from the epoch.
+   * @param values     the observations.
+   *
+   * @return a new irregular time series from the given times and observations.
+   *
+   * @throws IllegalArgumentException if the arrays differ in length or the times are not sorted.
+   */
+  public static IrregularTimeSeries from(@NonNull long[] epochNanos, @NonNull double... values) {
+    return from(ZoneOffset.UTC, epochNanos, values);
+  }
+
+  /**
+   * Create a new irregular time series from the given observation times and observations. The
+   * times are given as nanoseconds from the epoch of 1970-01-01T00:00:00Z and must be sorted in
+   * non-decreasing order.
+   *
+   * @param offset     the offset from UTC used when reporting observation times.
+   * @param epochNanos the observation times as nanoseconds from the epoch.
+   * @param values     the observations.
+   *
+   * @return a new irregular time series from the given times and observations.
+   *
+   * @throws IllegalArgumentException if the arrays differ in length or the times are not sorted.
+   */
+  public static IrregularTimeSeries from(@NonNull ZoneOffset offset, @NonNull long[] epochNanos,
+                                         @NonNull double... values) {
+    validate(epochNanos, values);
+    return new IrregularTimeSeries(epochNanos.clone(), values.clone(), offset);
+  }
+
+  /**
+   * Create a new irregular time series from the given observation times and observations. The
+   * times must be sorted in non-decreasing order. The offset of the first time is used when
+   * reporting observation times.
+   *
+   * @param observationTimes the observation times.
+   * @param values           the observations.
+   *
+   * @return a new irregular time series from the given times and observations.
+   *
+   * @throws IllegalArgumentException if the sizes differ or the times are not sorted.
+   * @throws ArithmeticException      if a time cannot be represented in nanoseconds from the epoch.
+   */
+  public static IrregularTimeSeries from(@NonNull List<Time> observationTimes,
+                                         @NonNull double... values) {
+    final long[] epochNanos = new long[observationTimes.size()];
+    int i = 0;
+    for (Time time : observationTimes) {
+      epochNanos[i++] = toEpochNanos(time);
+    }
+    validate(epochNanos, values);
+    ZoneOffset offset = observationTimes.isEmpty()
+                        ? ZoneOffset.UTC
+                        : observationTimes.get(0).offset();
+    return new IrregularTimeSeries(epochNanos, values.clone(), offset);
+  }
+
+  private static void validate(long[] epochNanos, double[] values) {
+    if (epochNanos.length != values.length) {
+      throw new IllegalArgumentException(
+          "There must be exactly one observation time per observation, but there were "
+              + epochNanos.length + " times and " + values.length + " observations.");
+    }
+    for (int i = 1; i < epochNanos.length; i++) {
+      if (epochNanos[i] < epochNanos[i - 1]) {
+        throw new IllegalArgumentException(
+            "The observation times must be sorted, but the time at index " + i
+                + " is earlier than the time at index " + (i - 1));
+      }
+    }
+  }
+
+  static long toEpochNanos(Time time) {
+    return Math.addExact(Math.multiplyExact(time.epochSecond(), Time.NANOS_PER_SECOND),
+                         time.nano());
+  }
+
+  private Time toTime(long epochNano) {
+    return Time.fromEpochSecond(0L, epochNano, this.offset);
+  }
+
+  /**
+   * The number of observations in this series.
+   *
+   * @return the number of observations in this series.
+   */
+  public int size() {
+    return this.values.length;
+  }
+
+  /**
+   * Retrieve the observation at the given index. Indexing begins at 0.
+   *
+   * @param index the index of the observation.
+   *
+   * @return the observation at the given index.
+   */
+  public double at(int index) {
+    return this.values[index];
+  }
+
+  /**
+   * Retrieve the time of the observation at the given index. Indexing begins at 0.
+   *
+   * @param index the index of the observation.
+   *
+   * @return the time of the observation at the given index.
+   */
+  public Time timeAt(int index) {
+    return toTime(this.epochNanos[index]);
+  }
+
+  /**
+   * Retrieve the time of the observation at the given index, in nanoseconds from the epoch.
+   *
+   * @param index the index of the observation.
+   *
+   * @return the time of the observation at the given index, in nanoseconds from the epoch.
+   */
+  public long epochNanoAt(int index) {
+    return this.epochNanos[index];
+  }
+
+  /**
+   * Retrieve the index of the first observation made at the given time, or a negative number if
+   * there is no observation at that time. This method takes O(log n) time.
+   *
+   * @param time the time of the observation.
+   *
+   * @return the index of the first observation made at the given time, or a negative number if
+   *     there is no observation at that time.
+   */
+  public int indexOf(@NonNull Time time) {
+    final long nanos = toEpochNanos(time);
+    final int index = lowerBound(nanos);
+    return (index < epochNanos.length && epochNanos[index] == nanos) ? index : -1;
+  }
+
+  // The index of the first observation made at or after the given time.
+  private int lowerBound(long nanos) {
+    int low = 0;
+    int high = epochNanos.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (epochNanos[mid] < nanos) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  // The index of the first observation made strictly after the given time.
+  private int upperBound(long nanos) {
+    int low = 0;
+    int high = epochNanos.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (epochNanos[mid] <= nanos) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Return the observations made between start (inclusive) and end (inclusive) as a new series.
+   * The observations are located in O(log n) time.
+   *
+   * @param start the beginning of the time range.
+   * @param end   the end of the time range.
+   *
+   * @return the observations made between start (inclusive) and end (inclusive).
+   */
+  public IrregularTimeSeries slice(@NonNull Time start, @NonNull Time end) {
+    final int from = lowerBound(toEpochNanos(start));
+    final int to = Math.max(from, upperBound(toEpochNanos(end)));
+    return new IrregularTimeSeries(Arrays.copyOfRange(epochNanos, from, to),
+                                   Arrays.copyOfRange(values, from, to), offset);
+  }
+
+  /**
+   * Join this series with the given series on their common observation times, combining each pair
+   * of observations with the given operator. Both series are traversed once, so the join takes
+   * time proportional to the sum of their sizes. If a time occurs more than once in either series,
+   * the observations are paired up in order.
+   *
+   * @param other    the series to join with this one.
+   * @param operator the operator to apply to each pair of observations, with the observation from
+   *                 this series as the left operand.
+   *
+   * @return a new series containing the combined observations at the common observation times.
+   */
+  public IrregularTimeSeries innerJoin(@NonNull IrregularTimeSeries other,
+                                       @NonNull DoubleBinaryOperator operator) {
+    final int capacity = Math.min(this.size(), other.size());
+    final long[] joinedTimes = new long[capacity];
+    final double[] joinedValues = new double[capacity];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < this.epochNanos.length && j < other.epochNanos.length) {
+      if (this.epochNanos[i] < other.epochNanos[j]) {
+        i++;
+      } else if (this.epochNanos[i] > other.epochNanos[j]) {
+        j++;
+      } else {
+        joinedTimes[k] = this.epochNanos[i];
+        joinedValues[k] = operator.applyAsDouble(this.values[i], other.values[j]);
+        i++;
+        j++;
+        k++;
+      }
+    }
+    return new IrregularTimeSeries(Arrays.copyOf(joinedTimes, k), Arrays.copyOf(joinedValues, k),
+                                   offset);
+  }
+
+  /**
+   * Resample this series to a regular time series with the given time period, starting at the time
+   * of the first observation.
+   *
+   * @param timePeriod the period of time between observations in the new series.
+   * @param resampling the method used to compute each value of the new series.
+   *
+   * @return a new regular time series resampled from this series.
+   *
+   * @see #resample(TimePeriod, Time, Resampling)
+   */
+  public TimeSeries resample(@NonNull TimePeriod timePeriod, @NonNull Resampling resampling) {
+    if (this.epochNanos.length == 0) {
+      throw new IllegalStateException("An empty series cannot be resampled.");
+    }
+    return resample(timePeriod, timeAt(0), resampling);
+  }
+
+  /**
+   * Resample this series to a regular time series with the given time period and start time. The
+   * ith observation of the new series summarizes the observations made in the interval
+   * [start + i &times; period, start + (i + 1) &times; period), and the new series continues up to
+   * and including the interval containing the last observation. Observations made before the start
+   * time only contribute to carried forward or interpolated values. Both series are traversed
+   * once, so resampling takes time proportional to the sum of their sizes.
+   *
+   * @param timePeriod the period of time between observations in the new series.
+   * @param startTime  the time of the first observation in the new series.
+   * @param resampling the method used to compute each value of the new series.
+   *
+   * @return a new regular time series resampled from this series.
+   *
+   * @throws IllegalArgumentException if the start time is later than the last observation.
+   */
+  public TimeSeries resample(@NonNull TimePeriod timePeriod, @NonNull Time startTime,
+                             @NonNull Resampling resampling) {
+    final int n = epochNanos.length;
+    if (n == 0 || toEpochNanos(startTime) > epochNanos[n - 1]) {
+      throw new IllegalArgumentException(
+          "The start time must not be later than the last observation.");
+    }
+    final long lastNanos = epochNanos[n - 1];
+    final ResampledValues resampled = new ResampledValues(n);
+    Time bucketStart = startTime;
+    long bucketStartNanos = toEpochNanos(bucketStart);
+    int i = lowerBound(bucketStartNanos);
+    while (bucketStartNanos <= lastNanos) {
+      final Time bucketEnd = bucketStart.plus(timePeriod);
+      final long bucketEndNanos = toEpochNanos(bucketEnd);
+      final int from = i;
+      while (i < n && epochNanos[i] < bucketEndNanos) {
+        i++;
+      }
+      resampled.add(resampling.apply(this, from, i, bucketStartNanos, resampled.last()));
+      bucketStart = bucketEnd;
+      bucketStartNanos = bucketEndNanos;
+    }
+    return TimeSeries.from(timePeriod, startTime, resampled.values());
+  }
+
+  /**
+   * Retrieve the observations as an array.
+   *
+   * @return the observations as an array.
+   */
+  public double[] asArray() {
+    return this.values.clone();
+  }
+
+  /**
+   * Retrieve the observation times, in nanoseconds from the epoch, as an array.
+   *
+   * @return the observation times, in nanoseconds from the epoch, as an array.
+   */
+  public long[] epochNanos() {
+    return this.epochNanos.clone();
+  }
+
+  /**
+   * The offset from UTC used when reporting observation times.
+   *
+   * @return the offset from UTC used when reporting observation times.
+   */
+  public ZoneOffset offset() {
+    return this.offset;
+  }
+
+  /*
+   * Linear interpolation of the observations at the given time, extrapolating flat at either end.
+   * The index is that of the first observation made at or after the given time.
+   */
+  private double interpolate(int after, long nanos) {
+    if (after == epochNanos.length) {
+      return values[after - 1];
+    }
+    if (epochNanos[after] == nanos || after == 0) {
+      return values[after];
+    }
+    final int before = after - 1;
+    final double fraction = (double) (nanos - epochNanos[before])
+                            / (double) (epochNanos[after] - epochNanos[before]);
+    return values[before] + fraction * (values[after] - values[before]);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    IrregularTimeSeries that = (IrregularTimeSeries) o;
+    return Arrays.equals(epochNanos, that.epochNanos) && Arrays.equals(values, that.values)
+        && offset.equals(that.offset);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Arrays.hashCode(epochNanos);
+    result = 31 * result + Arrays.hashCode(values);
+    result = 31 * result + offset.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    String newLine = System.lineSeparator();
+    return newLine + "Irregular Time Series: " + newLine + "number of observations: "
+        + values.length + newLine + "offset: " + offset;
+  }
+
+  /**
+   * The method used to compute each value of a resampled series.
+   */
+  public enum Resampling {
+
+    /**
+     * The last observation made in each interval. An interval without observations takes the
+     * most recent value before it, or NaN if there is no observation before it.
+     */
+    LAST {
+      @Override
+      double apply(IrregularTimeSeries series, int from, int to, long start, double previous) {
+        if (from == to) {
+          return (from == 0) ? Double.NaN : series.values[from - 1];
+        }
+        return series.values[to - 1];
+      }
+    },
+
+    /**
+     * The mean of the observations made in each interval. An interval without observations takes
+     * the value of the previous interval, or NaN if there is no observation before it.
+     */
+    MEAN {
+      @Override
+      double apply(IrregularTimeSeries series, int from, int to, long start, double previous) {
+        if (from == to) {
+          return Double.isNaN(previous) ? LAST.apply(series, from, to, start, previous) : previous;
+        }
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+          sum += series.values[i];
+        }
+        return sum / (to - from);
+      }
+    },
+
+    /**
+     * The sum of the observations made in each interval. An interval without observations sums to
+     * zero.
+     */
+    SUM {
+      @Override
+      double apply(IrregularTimeSeries series, int from, int to, long start, double previous) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+          sum += series.values[i];
+        }
+        return sum;
+      }
+    },
+
+    /**
+     * The value at the start of each interval, linearly interpolated between the observations made
+     * on either side of it. The first observation at or after the start of the interval is already
+     * known, so no search is needed.
+     */
+    LINEAR {
+      @Override
+      double apply(IrregularTimeSeries series, int from, int to, long start, double previous) {
+        return series.interpolate(from, start);
+      }
+    };
+
+    abstract double apply(IrregularTimeSeries series, int from, int to, long start,
+                          double previous);
+  }
+
+  // A growable array of resampled values.
+  private static final class ResampledValues {
+
+    private double[] values;
+    private int size;
+
+    private ResampledValues(int initialCapacity) {
+      this.values = new double[Math.max(initialCapacity, 16)];
+    }
+
+    private void add(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size + (size >> 1));
+      }
+      values[size++] = value;
+    }
+
+    private double last() {
+      return (size == 0) ? Double.NaN : values[size - 1];
+    }
+
+    private double[] values() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries;
+
+import com.github.signaflo.math.operations.DoubleFunctions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A chain of transformations of a {@link TimeSeries} that is only evaluated when the result is
+ * requested. This class is immutable and thread-safe.
+ *
+ * <p>Each method records an operation and returns a new lazy series, so no intermediate time
+ * series are created. When the result is requested, the operations are evaluated in place in a
+ * single buffer. Consecutive element-wise operations are composed into a single pass, a demeaning
+ * operation computes its mean in the same pass, and consecutive differencing operations are
+ * combined into one lag polynomial that is applied in a single pass.
+ *
+ * <p>For example,
+ * <pre>{@code
+ * TimeSeries prepared = series.lazy().transform(0.5).demean().difference(1).difference(12, 1)
+ *                             .toTimeSeries();
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public final class LazyTimeSeries {
+
+  private final TimeSeries source;
+  private final List<Operation> operations;
+  private final int size;
+
+  LazyTimeSeries(TimeSeries source) {
+    this(source, Collections.emptyList(), source.size());
+  }
+
+  private LazyTimeSeries(TimeSeries source, List<Operation> operations, int size) {
+    this.source = source;
+    this.operations = operations;
+    this.size = size;
+  }
+
+  private LazyTimeSeries with(Operation operation, int newSize) {
+    List<Operation> newOperations = new ArrayList<>(this.operations.size() + 1);
+    newOperations.addAll(this.operations);
+    newOperations.add(operation);
+    return new LazyTimeSeries(source, Collections.unmodifiableList(newOperations), newSize);
+  }
+
+  /**
+   * Transform the series using a Box-Cox transformation with the given parameter value.
+   *
+   * @param boxCoxLambda the parameter to use for the transformation.
+   *
+   * @return a new lazy series with the transformation recorded.
+   *
+   * @throws IllegalArgumentException if boxCoxLambda is not strictly between -1 and 2.
+   * @see TimeSeries#transform(double)
+   */
+  public LazyTimeSeries transform(final double boxCoxLambda) {
+    validateBoxCox(boxCoxLambda);
+    return with(new Operation((x) -> DoubleFunctions.boxCox(x, boxCoxLambda)), size);
+  }
+
+  /**
+   * Perform the inverse of the Box-Cox transformation on the series.
+   *
+   * @param boxCoxLambda the Box-Cox transformation parameter to use for the inversion.
+   *
+   * @return a new lazy series with the inverse transformation recorded.
+   *
+   * @throws IllegalArgumentException if boxCoxLambda is not strictly between -1 and 2.
+   * @see TimeSeries#backTransform(double)
+   */
+  public LazyTimeSeries backTransform(final double boxCoxLambda) {
+    validateBoxCox(boxCoxLambda);
+    return with(new Operation((x) -> DoubleFunctions.inverseBoxCox(x, boxCoxLambda)), size);
+  }
+
+  /**
+   * Remove the mean from the series.
+   *
+   * @return a new lazy series with the removal of the mean recorded.
+   *
+   * @see TimeSeries#demean()
+   */
+  public LazyTimeSeries demean() {
+    return with(Operation.DEMEAN, size);
+  }
+
+  /**
+   * Difference the series once at lag 1.
+   *
+   * @return a new lazy series with the differencing recorded.
+   *
+   * @see TimeSeries#difference()
+   */
+  public LazyTimeSeries difference() {
+    return difference(1, 1);
+  }
+
+  /**
+   * Difference the series once at the given lag.
+   *
+   * @param lag the lag at which to take differences.
+   *
+   * @return a new lazy series with the differencing recorded.
+   *
+   * @throws IllegalArgumentException if lag is less than 1.
+   * @throws IllegalArgumentException if lag is greater than the size of this series.
+   * @see TimeSeries#difference(int)
+   */
+  public LazyTimeSeries difference(final int lag) {
+    if (lag < 1) {
+      throw new IllegalArgumentException("The lag must be positive, but was " + lag);
+    }
+    if (lag > size) {
+      throw new IllegalArgumentException(
+          "The lag must be less than or equal to the length of the series, but " + lag
+              + " is greater than " + size);
+    }
+    return with(new Operation(lag), size - lag);
+  }
+
+  /**
+   * Difference the series the given number of times at the given lag.
+   *
+   * @param lag   the lag at which to take differences.
+   * @param times the number of times to difference the series at the given lag.
+   *
+   * @return a new lazy series with the differencing recorded.
+   *
+   * @throws IllegalArgumentException if lag is less than 1.
+   * @throws IllegalArgumentException if times is less than 0.
+   * @throws IllegalArgumentException if the product of lag and times is greater than the length of
+   *                                  the series.
+   * @see TimeSeries#difference(int, int)
+   */
+  public LazyTimeSeries difference(final int lag, final int times) {
+    if (times < 0) {
+      throw new IllegalArgumentException(
+          "The value of times must be non-negative but was " + times);
+    }
+    if (times * lag > size) {
+      throw new IllegalArgumentException(
+          "The product of lag and times must be less than or equal to the length of the series, "
+              + "but " + times + " * " + lag + " = " + times * lag + " is greater than " + size);
+    }
+    LazyTimeSeries differenced = this;
+    for (int i = 0; i < times; i++) {
+      differenced = differenced.difference(lag);
+    }
+    return differenced;
+  }
+
+  /**
+   * The number of observations the evaluated series will have.
+   *
+   * @return the number of observations the evaluated series will have.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Evaluate the recorded operations and return the resulting observations.
+   *
+   * @return the observations resulting from the recorded operations.
+   */
+  public double[] asArray() {
+    final double[] buffer = source.asArray();
+    final int length = evaluateInPlace(buffer);
+    return (length == buffer.length) ? buffer : Arrays.copyOf(buffer, length);
+  }
+
+  /**
+   * Evaluate the recorded operations and return the result as a new time series. The observation
+   * times are those of the source series, less any times dropped by differencing.
+   *
+   * @return a new time series resulting from the recorded operations.
+   */
+  public TimeSeries toTimeSeries() {
+    final int n = source.size();
+    return TimeSeries.from(source.timePeriod(), source.observationTimes().subList(n - size, n),
+                           asArray());
+  }
+
+  private int evaluateInPlace(final double[] buffer) {
+    int length = buffer.length;
+    // The pending element-wise operation is f(x) + shift, where f may be null.
+    DoubleUnaryOperator f = null;
+    double shift = 0.0;
+    int i = 0;
+    while (i < operations.size()) {
+      Operation operation = operations.get(i);
+      if (operation.function != null) {
+        f = compose(f, shift, operation.function);
+        shift = 0.0;
+        i++;
+      } else if (operation.lag == 0) {
+        final double sum = applyAndSum(buffer, length, f, shift);
+        f = null;
+        shift = -sum / length;
+        i++;
+      } else {
+        int[] coefficients = {1};
+        while (i < operations.size() && operations.get(i).lag > 0) {
+          coefficients = multiplyByDifference(coefficients, operations.get(i).lag);
+          i++;
+        }
+        // A constant shift is removed by differencing, so it only needs to be applied if there is
+        // a non-linear operation pending.
+        if (f != null) {
+          applyAndSum(buffer, length, f, shift);
+        }
+        f = null;
+        shift = 0.0;
+        length = filter(buffer, length, coefficients);
+      }
+    }
+    if (f != null || shift != 0.0) {
+      applyAndSum(buffer, length, f, shift);
+    }
+    return length;
+  }
+
+  private static DoubleUnaryOperator compose(DoubleUnaryOperator f, double shift,
+                                             DoubleUnaryOperator g) {
+    if (f == null) {
+      return (shift == 0.0) ? g : (x) -> g.applyAsDouble(x + shift);
+    }
+    return (x) -> g.applyAsDouble(f.applyAsDouble(x) + shift);
+  }
+
+  private static double applyAndSum(double[] buffer, int length, DoubleUnaryOperator f,
+                                    double shift) {
+    double sum = 0.0;
+    if (f == null) {
+      for (int t = 0; t < length; t++) {
+        buffer[t] += shift;
+        sum += buffer[t];
+      }
+    } else {
+      for (int t = 0; t < length; t++) {
+        buffer[t] = f.applyAsDouble(buffer[t]) + shift;
+        sum += buffer[t];
+      }
+    }
+    return sum;
+  }
+
+  // Multiply the lag polynomial with the given coefficients by (1 - B^lag).
+  private static int[] multiplyByDifference(int[] coefficients, int lag) {
+    final int[] product = new int[coefficients.length + lag];
+    for (int k = 0; k < coefficients.length; k++) {
+      product[k] += coefficients[k];
+      product[k + lag] -= coefficients[k];
+    }
+    return product;
+  }
+
+  /*
+   * Apply the lag polynomial to the first length elements of the buffer in place. The value at
+   * t only depends on the values at t through t + degree, so overwriting the buffer from the front
+   * never destroys a value that is still needed.
+   */
+  private static int filter(double[] buffer, int length, int[] coefficients) {
+    final int degree = coefficients.length - 1;
+    int nonZero = 0;
+    for (int coefficient : coefficients) {
+      if (coefficient != 0) {
+        nonZero++;
+      }
+    }
+    final int[] offsets = new int[nonZero];
+    final double[] weights = new double[nonZero];
+    for (int k = 0, j = 0; k < coefficients.length; k++) {
+      if (coefficients[k] != 0) {
+        offsets[j] = degree - k;
+        weights[j] = coefficients[k];
+        j++;
+      }
+    }
+    final int newLength = length - degree;
+    for (int t = 0; t < newLength; t++) {
+      double value = 0.0;
+      for (int j = 0; j < nonZero; j++) {
+        value += weights[j] * buffer[t + offsets[j]];
+      }
+      buffer[t] = value;
+    }
+    return newLength;
+  }
+
+  private static void validateBoxCox(double boxCoxLambda) {
+    if (boxCoxLambda > 2 || boxCoxLambda < -1) {
+      throw new IllegalArgumentException("The BoxCox parameter must lie between"
+                                             + " -1 and 2, but the provided parameter was equal to "
+                                             + boxCoxLambda);
+    }
+  }
+
+  @Override
+  public String toString() {
+    String newLine = System.lineSeparator();
+    return newLine + "Lazy Time Series: " + newLine + "number of operations: " + operations.size()
+        + newLine + "number of observations: " + size + newLine + "period: "
+        + source.timePeriod();
+  }
+
+  /*
+   * A recorded operation. An element-wise operation has a function, a differencing operation has a
+   * positive lag, and the demeaning operation has neither.
+   */
+  private static final class Operation {
+
+    private static final Operation DEMEAN = new Operation(null, 0);
+
+    private final DoubleUnaryOperator function;
+    private final int lag;
+
+    private Operation(DoubleUnaryOperator function, int lag) {
+      this.function = function;
+      this.lag = lag;
+    }
+
+    private Operation(DoubleUnaryOperator function) {
+      this(function, 0);
+    }
+
+    private Operation(int lag) {
+      this(null, lag);
+    }
+  }
+}
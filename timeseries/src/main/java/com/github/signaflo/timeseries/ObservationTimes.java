@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries;
+
+import java.time.OffsetDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of observation times. Each element is only materialized as a {@link Time}
+ * object when it is retrieved. The times of a regularly spaced series are computed from the start
+ * time and the time period, so they take constant memory. Any other list of times is backed by
+ * primitive arrays.
+ *
+ * @author Jacob Rachiele
+ */
+abstract class ObservationTimes extends AbstractList<Time> implements RandomAccess {
+
+  // No calendar arithmetic clamps a day of the month this small, so repeatedly adding a period and
+  // adding a multiple of it give the same time.
+  private static final int MAX_UNCLAMPED_DAY_OF_MONTH = 28;
+
+  /**
+   * Create the observation times of a series with the given start time, time period, and number of
+   * observations.
+   *
+   * @param startTime  the time of the first observation.
+   * @param timePeriod the period of time between observations.
+   * @param n          the number of observations.
+   *
+   * @return the observation times of a regularly spaced series.
+   */
+  static ObservationTimes regular(Time startTime, TimePeriod timePeriod, int n) {
+    if (n == 0) {
+      return new Stored(new long[0], new int[0], new int[0], 0, 0, true);
+    }
+    if (timePeriod.hasFixedLength()
+        || startTime.toOffsetDateTime().getDayOfMonth() <= MAX_UNCLAMPED_DAY_OF_MONTH) {
+      final Regular times = new Regular(startTime, timePeriod, 0, n);
+      // Guard against running off the end of the supported range of times.
+      times.get(n - 1);
+      return times;
+    }
+    // A day near the end of the month may be clamped along the way, after which every later time
+    // keeps the clamped day, so these times are computed by repeated addition and stored.
+    final long[] epochSeconds = new long[n];
+    final int[] nanos = new int[n];
+    final int[] offsets = new int[n];
+    Time time = startTime;
+    for (int i = 0; i < n; i++) {
+      if (i > 0) {
+        time = time.plus(timePeriod);
+      }
+      epochSeconds[i] = time.epochSecond();
+      nanos[i] = time.nano();
+      offsets[i] = time.offsetSeconds();
+    }
+    return new Stored(epochSeconds, nanos, offsets, 0, n, true);
+  }
+
+  /**
+   * Create a new list of observation times from the given list of times.
+   *
+   * @param times the list of observation times.
+   *
+   * @return a list of observation times backed by primitive arrays.
+   */
+  static ObservationTimes copyOf(List<Time> times) {
+    if (times instanceof ObservationTimes) {
+      return (ObservationTimes) times;
+    }
+    final int n = times.size();
+    final long[] epochSeconds = new long[n];
+    final int[] nanos = new int[n];
+    final int[] offsets = new int[n];
+    int i = 0;
+    for (Time time : times) {
+      epochSeconds[i] = time.epochSecond();
+      nanos[i] = time.nano();
+      offsets[i] = time.offsetSeconds();
+      i++;
+    }
+    return new Stored(epochSeconds, nanos, offsets, 0, n, isSorted(epochSeconds, nanos, offsets));
+  }
+
+  private static boolean isSorted(long[] epochSeconds, int[] nanos, int[] offsets) {
+    for (int i = 1; i < epochSeconds.length; i++) {
+      if (Time.compare(epochSeconds[i - 1], nanos[i - 1], offsets[i - 1],
+                       epochSeconds[i], nanos[i], offsets[i]) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public abstract ObservationTimes subList(int fromIndex, int toIndex);
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  void checkIndex(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+  }
+
+  void checkRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException(
+          "fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+    }
+  }
+
+  // The times of a regularly spaced series, computed from the start time and the time period.
+  private static final class Regular extends ObservationTimes {
+
+    private final Time startTime;
+    private final TimePeriod timePeriod;
+    private final OffsetDateTime startDateTime;
+    private final int from;
+    private final int size;
+
+    private Regular(Time startTime, TimePeriod timePeriod, int from, int size) {
+      this.startTime = startTime;
+      this.timePeriod = timePeriod;
+      this.startDateTime = timePeriod.hasFixedLength() ? null : startTime.toOffsetDateTime();
+      this.from = from;
+      this.size = size;
+    }
+
+    @Override
+    public Time get(int index) {
+      checkIndex(index);
+      final long k = from + index;
+      if (startDateTime != null) {
+        return new Time(startDateTime.plus(k * timePeriod.length(), timePeriod.timeUnit()));
+      }
+      final long nanos = startTime.nano() + k * timePeriod.fixedNanos();
+      final long seconds = startTime.epochSecond() + k * timePeriod.fixedSeconds()
+                           + nanos / Time.NANOS_PER_SECOND;
+      return new Time(seconds, (int) (nanos % Time.NANOS_PER_SECOND), startTime.offsetSeconds());
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public ObservationTimes subList(int fromIndex, int toIndex) {
+      checkRange(fromIndex, toIndex);
+      return new Regular(startTime, timePeriod, from + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+      if (!(o instanceof Time)) {
+        return -1;
+      }
+      final Time time = (Time) o;
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        final int mid = (low + high) >>> 1;
+        final int cmp = get(mid).compareTo(time);
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o instanceof Regular) {
+        Regular that = (Regular) o;
+        if (this.size != that.size) {
+          return false;
+        }
+        if (this.size == 0 || (this.from == that.from && this.timePeriod.equals(that.timePeriod)
+                               && this.startTime.equals(that.startTime))) {
+          return true;
+        }
+      }
+      return super.equals(o);
+    }
+  }
+
+  // Observation times backed by primitive arrays.
+  private static final class Stored extends ObservationTimes {
+
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final int[] offsetSeconds;
+    private final int from;
+    private final int size;
+    private final boolean sorted;
+
+    private Stored(long[] epochSeconds, int[] nanos, int[] offsetSeconds, int from, int size,
+                   boolean sorted) {
+      this.epochSeconds = epochSeconds;
+      this.nanos = nanos;
+      this.offsetSeconds = offsetSeconds;
+      this.from = from;
+      this.size = size;
+      this.sorted = sorted;
+    }
+
+    @Override
+    public Time get(int index) {
+      checkIndex(index);
+      final int i = from + index;
+      return new Time(epochSeconds[i], nanos[i], offsetSeconds[i]);
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public ObservationTimes subList(int fromIndex, int toIndex) {
+      checkRange(fromIndex, toIndex);
+      return new Stored(epochSeconds, nanos, offsetSeconds, from + fromIndex,
+                        toIndex - fromIndex, sorted);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+      if (!(o instanceof Time)) {
+        return -1;
+      }
+      final Time time = (Time) o;
+      if (sorted) {
+        int low = from;
+        int high = from + size - 1;
+        while (low <= high) {
+          final int mid = (low + high) >>> 1;
+          final int cmp = Time.compare(epochSeconds[mid], nanos[mid], offsetSeconds[mid],
+                                       time.epochSecond(), time.nano(), time.offsetSeconds());
+          if (cmp < 0) {
+            low = mid + 1;
+          } else if (cmp > 0) {
+            high = mid - 1;
+          } else {
+            return mid - from;
+          }
+        }
+        return -1;
+      }
+      for (int i = from; i < from + size; i++) {
+        if (epochSeconds[i] == time.epochSecond() && nanos[i] == time.nano()
+            && offsetSeconds[i] == time.offsetSeconds()) {
+          return i - from;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Stored)) {
+        return super.equals(o);
+      }
+      Stored that = (Stored) o;
+      if (this.size != that.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        final int j = this.from + i;
+        final int k = that.from + i;
+        if (epochSeconds[j] != that.epochSeconds[k] || nanos[j] != that.nanos[k]
+            || offsetSeconds[j] != that.offsetSeconds[k]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (int i = from; i < from + size; i++) {
+        hashCode = 31 * hashCode + Time.hash(epochSeconds[i], nanos[i], offsetSeconds[i]);
+      }
+      return hashCode;
+    }
+  }
+}
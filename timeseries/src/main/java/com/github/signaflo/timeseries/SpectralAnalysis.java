@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries;
+
+import com.github.signaflo.math.fft.RealFFT;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spectral estimates of a series of observations computed with the fast Fourier transform.
+ *
+ * @author Jacob Rachiele
+ */
+final class SpectralAnalysis {
+
+  // The periodogram used to detect periods is zero-padded to at least this many times the length of
+  // the series, which refines the frequency grid so that periods that do not divide the length of
+  // the series are still located accurately.
+  private static final int PADDING_FACTOR = 4;
+  // The probability that white noise of the same length produces at least one peak counted as a
+  // period. The periodogram ordinates of white noise are approximately independent exponential
+  // random variables, so with n / 2 of them the largest exceeds c times their mean with probability
+  // about (n / 2) * exp(-c), which gives the threshold used for the peaks.
+  private static final double SIGNIFICANCE = 0.01;
+  // A period that divides another period at most this many times is taken to be one of its
+  // harmonics, such as the 6, 4, 3 and 2 month harmonics of a 12 month cycle.
+  private static final int MAX_HARMONIC = 6;
+
+  private SpectralAnalysis() {
+  }
+
+  /**
+   * The periodogram of the given observations at the Fourier frequencies j / n for j = 0, 1, ...,
+   * n / 2, after removing the mean.
+   */
+  static double[] periodogram(final double[] series) {
+    final int n = series.length;
+    if (n == 0) {
+      return new double[0];
+    }
+    final double[] deviations = deviationsFromMean(series);
+    return powerSpectrum(deviations, n);
+  }
+
+  /**
+   * The periodogram smoothed with a modified Daniell kernel of the given span, which averages each
+   * ordinate with its span / 2 neighbours on either side, giving half weight to the two outermost
+   * neighbours. The periodogram is reflected at both ends, as it is symmetric about frequencies 0
+   * and 1/2.
+   */
+  static double[] smooth(final double[] periodogram, final int span) {
+    final int m = periodogram.length;
+    final int half = span / 2;
+    if (half == 0 || m < 2) {
+      return periodogram.clone();
+    }
+    final double[] smoothed = new double[m];
+    final double weight = 1.0 / (2 * half);
+    for (int j = 0; j < m; j++) {
+      double sum = 0.0;
+      for (int i = -half; i <= half; i++) {
+        final double value = periodogram[reflect(j + i, m)];
+        sum += (i == -half || i == half) ? 0.5 * value : value;
+      }
+      smoothed[j] = sum * weight;
+    }
+    return smoothed;
+  }
+
+  /**
+   * Find the periods, in numbers of observations, at which the given series has its strongest
+   * spectral peaks. The series is detrended and its periodogram is computed on a refined grid. Every
+   * local maximum that white noise would be unlikely to reach is a candidate. The candidate periods
+   * are rounded to the nearest whole number of observations, a candidate that divides another
+   * candidate is dropped as a harmonic, and the rest are returned in order of decreasing power.
+   */
+  static List<Integer> dominantPeriods(final double[] series, final int maxPeriods) {
+    final List<Integer> periods = new ArrayList<>();
+    final int n = series.length;
+    if (n < 4 || maxPeriods == 0) {
+      return periods;
+    }
+    final int length = RealFFT.nextFastLength(PADDING_FACTOR * n);
+    final double[] power = powerSpectrum(detrend(series), length);
+    // The ordinates of white noise are approximately exponential, so their mean is the median
+    // divided by log(2). Unlike the mean, the median is not inflated by the peaks themselves.
+    final double noise = median(power) / Math.log(2.0);
+    final double threshold = noise * Math.log((n / 2.0) / SIGNIFICANCE);
+
+    // A period must span at least two observations and fit at least three times into the series.
+    final int minIndex = Math.max((int) Math.ceil(3.0 * length / n), 1);
+    final List<Integer> peaks = new ArrayList<>();
+    for (int j = minIndex; j < power.length - 1; j++) {
+      if (power[j] > power[j - 1] && power[j] >= power[j + 1] && power[j] >= threshold) {
+        peaks.add(j);
+      }
+    }
+    peaks.sort((a, b) -> Double.compare(power[b], power[a]));
+    final List<Integer> candidates = new ArrayList<>();
+    for (int j : peaks) {
+      final int period = (int) Math.round((double) length / j);
+      if (period >= 2 && !candidates.contains(period)) {
+        candidates.add(period);
+      }
+    }
+    for (int period : candidates) {
+      if (!isHarmonic(period, candidates)) {
+        periods.add(period);
+        if (periods.size() == maxPeriods) {
+          break;
+        }
+      }
+    }
+    return periods;
+  }
+
+  // Whether the period divides one of the other periods between 2 and MAX_HARMONIC times.
+  private static boolean isHarmonic(final int period, final List<Integer> periods) {
+    for (int other : periods) {
+      final int multiple = other / period;
+      if (other % period == 0 && multiple >= 2 && multiple <= MAX_HARMONIC) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static double median(final double[] power) {
+    final double[] sorted = Arrays.copyOfRange(power, 1, power.length);
+    Arrays.sort(sorted);
+    final int m = sorted.length;
+    return (m % 2 == 1) ? sorted[m / 2] : 0.5 * (sorted[m / 2 - 1] + sorted[m / 2]);
+  }
+
+  // |X_j|^2 / n for j = 0, 1, ..., length / 2, where X is the transform of the series padded with
+  // zeros to the given length.
+  private static double[] powerSpectrum(final double[] series, final int length) {
+    final RealFFT fft = RealFFT.ofLength(length);
+    final int m = fft.spectrumLength();
+    final double[] re = new double[m];
+    final double[] im = new double[m];
+    fft.forward(series, re, im);
+    final double[] power = new double[m];
+    for (int j = 0; j < m; j++) {
+      power[j] = (re[j] * re[j] + im[j] * im[j]) / series.length;
+    }
+    return power;
+  }
+
+  private static double[] deviationsFromMean(final double[] series) {
+    double mean = 0.0;
+    for (double value : series) {
+      mean += value;
+    }
+    mean /= series.length;
+    final double[] deviations = new double[series.length];
+    for (int t = 0; t < series.length; t++) {
+      deviations[t] = series[t] - mean;
+    }
+    return deviations;
+  }
+
+  // Remove the least squares line through the observations.
+  private static double[] detrend(final double[] series) {
+    final int n = series.length;
+    final double[] deviations = deviationsFromMean(series);
+    final double center = (n - 1) / 2.0;
+    double numerator = 0.0;
+    double denominator = 0.0;
+    for (int t = 0; t < n; t++) {
+      numerator += (t - center) * deviations[t];
+      denominator += (t - center) * (t - center);
+    }
+    final double slope = numerator / denominator;
+    for (int t = 0; t < n; t++) {
+      deviations[t] -= slope * (t - center);
+    }
+    return deviations;
+  }
+
+  private static int reflect(int j, final int m) {
+    final int period = 2 * (m - 1);
+    j = Math.floorMod(j, period);
+    return (j < m) ? j : period - j;
+  }
+}
@@ -1,35 +1,85 @@
 package com.github.signaflo.timeseries;
 
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-import java.util.Objects;
-import java.util.TimeZone;
 import lombok.NonNull;
 
 /**
  * Represents a particular point in time.
+ *
+ * <p>A time is stored as the number of seconds from the epoch of 1970-01-01T00:00:00Z, a
+ * nanosecond-of-second adjustment, and the offset from UTC in seconds. An {@link OffsetDateTime}
+ * is only created when one is explicitly requested, when the time is formatted, or when a
+ * calendar-based time period such as a month or a year is added to it.
  */
 public final class Time implements Comparable<Time> {
 
-  private final OffsetDateTime dateTime;
+  static final int NANOS_PER_SECOND = 1_000_000_000;
+  private static final long MIN_LOCAL_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+  private static final long MAX_LOCAL_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+  private final long epochSecond;
+  private final int nano;
+  private final int offsetSeconds;
 
   Time(@NonNull OffsetDateTime dateTime) {
-    this.dateTime = dateTime;
+    this.epochSecond = dateTime.toEpochSecond();
+    this.nano = dateTime.getNano();
+    this.offsetSeconds = dateTime.getOffset().getTotalSeconds();
   }
 
   public Time(Builder builder) {
-    this.dateTime = OffsetDateTime.of(builder.year, builder.month, builder.day, builder.hour,
-                                      builder.minute, builder.second, builder.nanos,
-                                      builder.zoneOffset);
+    this(OffsetDateTime.of(builder.year, builder.month, builder.day, builder.hour,
+                           builder.minute, builder.second, builder.nanos, builder.zoneOffset));
+  }
+
+  Time(final long epochSecond, final int nano, final int offsetSeconds) {
+    validateRange(epochSecond, offsetSeconds);
+    this.epochSecond = epochSecond;
+    this.nano = nano;
+    this.offsetSeconds = offsetSeconds;
   }
 
   static Time now() {
     return new Time(OffsetDateTime.now());
   }
 
+  /**
+   * Create a new time from the given number of seconds and nanoseconds from the epoch of
+   * 1970-01-01T00:00:00Z, with an offset of zero.
+   *
+   * @param epochSecond    the number of seconds from the epoch of 1970-01-01T00:00:00Z.
+   * @param nanoAdjustment the nanosecond adjustment to the number of seconds. May be negative or
+   *                       greater than 999,999,999, in which case the seconds are adjusted.
+   *
+   * @return a new time from the given number of seconds and nanoseconds from the epoch.
+   */
+  public static Time fromEpochSecond(long epochSecond, long nanoAdjustment) {
+    return fromEpochSecond(epochSecond, nanoAdjustment, ZoneOffset.UTC);
+  }
+
+  /**
+   * Create a new time from the given number of seconds and nanoseconds from the epoch of
+   * 1970-01-01T00:00:00Z, with the given offset.
+   *
+   * @param epochSecond    the number of seconds from the epoch of 1970-01-01T00:00:00Z.
+   * @param nanoAdjustment the nanosecond adjustment to the number of seconds. May be negative or
+   *                       greater than 999,999,999, in which case the seconds are adjusted.
+   * @param offset         the offset from UTC.
+   *
+   * @return a new time from the given number of seconds and nanoseconds from the epoch.
+   */
+  public static Time fromEpochSecond(long epochSecond, long nanoAdjustment,
+                                     @NonNull ZoneOffset offset) {
+    long seconds = Math.addExact(epochSecond, Math.floorDiv(nanoAdjustment, NANOS_PER_SECOND));
+    int nanos = (int) Math.floorMod(nanoAdjustment, NANOS_PER_SECOND);
+    return new Time(seconds, nanos, offset.getTotalSeconds());
+  }
+
   public static Time fromYear(int year) {
     ZoneOffset utc = ZoneOffset.UTC;
     OffsetDateTime dateTime = OffsetDateTime.of(year, 1, 1, 0, 0, 0, 0, utc);
@@ -48,22 +98,120 @@ public final class Time implements Comparable<Time> {
     return new Time(dateTime);
   }
 
-  public Time plus(TimePeriod timePeriod) {
+  /**
+   * Add the given time period to this time and return the result as a new time. If the time
+   * period has a fixed length, such as a number of hours, days or weeks, the result is computed
+   * directly from the primitive representation of this time. Calendar-based time periods, such as
+   * months and years, are added with the usual {@link OffsetDateTime} semantics.
+   *
+   * @param timePeriod the time period to add to this time.
+   *
+   * @return the time resulting from adding the given time period to this time.
+   */
+  public Time plus(@NonNull TimePeriod timePeriod) {
+    if (timePeriod.hasFixedLength()) {
+      long seconds = this.epochSecond + timePeriod.fixedSeconds();
+      int nanos = this.nano + timePeriod.fixedNanos();
+      if (nanos >= NANOS_PER_SECOND) {
+        seconds++;
+        nanos -= NANOS_PER_SECOND;
+      }
+      return new Time(seconds, nanos, this.offsetSeconds);
+    }
     return plus(timePeriod.length(), timePeriod);
   }
 
   private Time plus(long amountToAdd, TimePeriod timePeriod) {
-    OffsetDateTime addedDateTime = this.dateTime.plus(amountToAdd, timePeriod.timeUnit());
+    OffsetDateTime addedDateTime = toOffsetDateTime().plus(amountToAdd, timePeriod.timeUnit());
     return new Time(addedDateTime);
   }
 
+  /**
+   * Convert this time to an instant on the time-line.
+   *
+   * @return this time converted to an instant on the time-line.
+   */
   public Instant toInstant() {
-    return this.dateTime.toInstant();
+    return Instant.ofEpochSecond(this.epochSecond, this.nano);
+  }
+
+  /**
+   * Convert this time to an offset date-time.
+   *
+   * @return this time converted to an offset date-time.
+   */
+  public OffsetDateTime toOffsetDateTime() {
+    return OffsetDateTime.ofInstant(toInstant(), ZoneOffset.ofTotalSeconds(this.offsetSeconds));
+  }
+
+  /**
+   * The number of seconds from the epoch of 1970-01-01T00:00:00Z.
+   *
+   * @return the number of seconds from the epoch of 1970-01-01T00:00:00Z.
+   */
+  public long epochSecond() {
+    return this.epochSecond;
+  }
+
+  /**
+   * The number of nanoseconds, later along the time-line, from the start of the second.
+   *
+   * @return the nanoseconds within the second, always between 0 and 999,999,999.
+   */
+  public int nano() {
+    return this.nano;
+  }
+
+  /**
+   * The offset from UTC of this time.
+   *
+   * @return the offset from UTC of this time.
+   */
+  public ZoneOffset offset() {
+    return ZoneOffset.ofTotalSeconds(this.offsetSeconds);
+  }
+
+  int offsetSeconds() {
+    return this.offsetSeconds;
   }
 
   @Override
   public int compareTo(@NonNull Time otherTime) {
-    return this.dateTime.compareTo(otherTime.dateTime);
+    return compare(this.epochSecond, this.nano, this.offsetSeconds,
+                   otherTime.epochSecond, otherTime.nano, otherTime.offsetSeconds);
+  }
+
+  /*
+   * Times are ordered by their position on the time-line first. Two times at the same instant are
+   * then ordered by local date-time, which is equivalent to ordering by offset. This is the same
+   * ordering used by OffsetDateTime.
+   */
+  static int compare(long epochSecond, int nano, int offsetSeconds,
+                     long otherEpochSecond, int otherNano, int otherOffsetSeconds) {
+    int cmp = Long.compare(epochSecond, otherEpochSecond);
+    if (cmp == 0) {
+      cmp = Integer.compare(nano, otherNano);
+      if (cmp == 0) {
+        cmp = Integer.compare(offsetSeconds, otherOffsetSeconds);
+      }
+    }
+    return cmp;
+  }
+
+  static int hash(long epochSecond, int nano, int offsetSeconds) {
+    int result = Long.hashCode(epochSecond);
+    result = 31 * result + nano;
+    result = 31 * result + offsetSeconds;
+    return result;
+  }
+
+  private static void validateRange(long epochSecond, int offsetSeconds) {
+    long localSecond = epochSecond + offsetSeconds;
+    if (localSecond < MIN_LOCAL_SECOND || localSecond > MAX_LOCAL_SECOND) {
+      throw new DateTimeException("The time is outside of the supported range: " + epochSecond
+                                      + " seconds from the epoch with an offset of "
+                                      + offsetSeconds + " seconds.");
+    }
   }
 
   public static Builder builder() {
@@ -79,20 +227,22 @@ public final class Time implements Comparable<Time> {
       return false;
     }
     Time time = (Time) o;
-    return dateTime.equals(time.dateTime);
+    return epochSecond == time.epochSecond && nano == time.nano
+        && offsetSeconds == time.offsetSeconds;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(dateTime);
+    return hash(epochSecond, nano, offsetSeconds);
   }
 
   @Override
   public String toString() {
-    return this.dateTime.toString();
+    return toOffsetDateTime().toString();
   }
 
   public String prettyPrint() {
+    OffsetDateTime dateTime = toOffsetDateTime();
     StringBuilder patternBuilder = new StringBuilder();
     patternBuilder.append("MMM dd uuuu");
     if (!timeEmpty(dateTime)) {
@@ -41,6 +41,9 @@ public final class TimePeriod {
 
   private final TemporalUnit timeUnit;
   private final long length;
+  private final boolean fixedLength;
+  private final long fixedSeconds;
+  private final int fixedNanos;
 
   /**
    * Create a new time period with the given unit of time and length.
@@ -58,6 +61,29 @@ public final class TimePeriod {
     validate(length);
     this.timeUnit = timeUnit;
     this.length = length;
+    Duration fixedDuration = fixedDuration(timeUnit, length);
+    this.fixedLength = fixedDuration != null;
+    this.fixedSeconds = (fixedLength) ? fixedDuration.getSeconds() : 0L;
+    this.fixedNanos = (fixedLength) ? fixedDuration.getNano() : 0;
+  }
+
+  /*
+   * Time-based units, days and weeks always span the same amount of time when added to a time
+   * with a fixed offset from UTC. Months, years and longer units do not, and neither do units we
+   * know nothing about.
+   */
+  private static Duration fixedDuration(TemporalUnit timeUnit, long length) {
+    if (!(timeUnit instanceof ChronoUnit)) {
+      return null;
+    }
+    if (timeUnit.isTimeBased() || timeUnit == ChronoUnit.DAYS || timeUnit == ChronoUnit.WEEKS) {
+      try {
+        return timeUnit.getDuration().multipliedBy(length);
+      } catch (ArithmeticException e) {
+        return null;
+      }
+    }
+    return null;
   }
 
   /**
@@ -237,7 +263,7 @@ public final class TimePeriod {
    *
    * @return the unit of time underlying this time period.
    */
-  TemporalUnit timeUnit() {
+  public TemporalUnit timeUnit() {
     return this.timeUnit;
   }
 
@@ -250,6 +276,34 @@ public final class TimePeriod {
     return this.length;
   }
 
+  /**
+   * Whether this time period always spans the same amount of time, regardless of the time it is
+   * added to.
+   *
+   * @return true if this time period always spans the same amount of time, false otherwise.
+   */
+  boolean hasFixedLength() {
+    return this.fixedLength;
+  }
+
+  /**
+   * The whole number of seconds in this time period, if it has a fixed length.
+   *
+   * @return the whole number of seconds in this time period, if it has a fixed length.
+   */
+  long fixedSeconds() {
+    return this.fixedSeconds;
+  }
+
+  /**
+   * The nanosecond part of this time period, if it has a fixed length.
+   *
+   * @return the nanosecond part of this time period, if it has a fixed length.
+   */
+  int fixedNanos() {
+    return this.fixedNanos;
+  }
+
   /**
    * Compute and return the number of times this time period occurs in the given time period.
    *
@@ -26,6 +26,8 @@ package com.github.signaflo.timeseries;
 
 import com.github.signaflo.data.DataSet;
 import com.github.signaflo.data.DoubleDataSet;
+import com.github.signaflo.math.fft.Convolution;
+import com.github.signaflo.math.stats.DurbinLevinson;
 import com.github.signaflo.math.operations.DoubleFunctions;
 import com.github.signaflo.math.operations.Operators;
 import java.text.DecimalFormat;
@@ -54,9 +56,9 @@ public final class TimeSeries implements DataSet {
   private final int n;
   private final double mean;
   private final double[] series;
-  private final List<Time> observationTimes;
-  private final Map<Time, Integer> timeToIntegerMap;
+  private final ObservationTimes observationTimes;
   private final DoubleDataSet dataSet;
+  private volatile Map<Time, Integer> timeToIntegerMap;
 
   private TimeSeries(final double... series) {
     this(Time.fromYear(1), series);
@@ -72,35 +74,7 @@ public final class TimeSeries implements DataSet {
 
   private TimeSeries(final TimePeriod timePeriod, final CharSequence startTime,
                      final double... series) {
-    this.dataSet = new DoubleDataSet(series);
-    this.series = series.clone();
-    this.n = series.length;
-    this.mean = this.dataSet.mean();
-    this.timePeriod = timePeriod;
-
-    Map<Time, Integer> timeToIntegerMap = new HashMap<>(series.length);
-    List<Time> times = new ArrayList<>(series.length);
-    OffsetDateTime dateTime;
-    Time time;
-    try {
-      dateTime = OffsetDateTime.parse(startTime);
-      time = new Time(dateTime);
-      times.add(new Time(dateTime));
-      timeToIntegerMap.put(time, 0);
-    } catch (DateTimeParseException e) {
-      dateTime = OffsetDateTime.of(LocalDateTime.parse(startTime), ZoneOffset.ofHours(0));
-      time = new Time(dateTime);
-      times.add(time);
-      timeToIntegerMap.put(time, 0);
-    }
-
-    for (int i = 1; i < series.length; i++) {
-      time = times.get(i - 1).plus(timePeriod);
-      times.add(time);
-      timeToIntegerMap.put(time, i);
-    }
-    this.observationTimes = Collections.unmodifiableList(times);
-    this.timeToIntegerMap = Collections.unmodifiableMap(timeToIntegerMap);
+    this(timePeriod, parseTime(startTime), series);
   }
 
   private TimeSeries(final TimePeriod timePeriod, final Time startTime, final double... series) {
@@ -109,20 +83,7 @@ public final class TimeSeries implements DataSet {
     this.n = series.length;
     this.mean = this.dataSet.mean();
     this.timePeriod = timePeriod;
-
-    List<Time> times = new ArrayList<>(series.length);
-    Map<Time, Integer> timeIntegerMap = new HashMap<>(series.length);
-    times.add(startTime);
-    timeIntegerMap.put(startTime, 0);
-
-    Time time;
-    for (int i = 1; i < series.length; i++) {
-      time = times.get(i - 1).plus(timePeriod);
-      times.add(time);
-      timeIntegerMap.put(time, i);
-    }
-    this.observationTimes = Collections.unmodifiableList(times);
-    this.timeToIntegerMap = Collections.unmodifiableMap(timeIntegerMap);
+    this.observationTimes = ObservationTimes.regular(startTime, timePeriod, series.length);
   }
 
   private TimeSeries(final TemporalUnit timeUnit, final CharSequence startTime,
@@ -137,15 +98,15 @@ public final class TimeSeries implements DataSet {
     this.n = series.length;
     this.mean = this.dataSet.mean();
     this.timePeriod = timePeriod;
-    this.observationTimes = Collections.unmodifiableList(observationTimes);
+    this.observationTimes = ObservationTimes.copyOf(observationTimes);
+  }
 
-    Map<Time, Integer> timeIntegerMap = new HashMap<>(series.length);
-    int i = 0;
-    for (Time time : observationTimes) {
-      timeIntegerMap.put(time, i);
-      i++;
+  private static Time parseTime(final CharSequence startTime) {
+    try {
+      return new Time(OffsetDateTime.parse(startTime));
+    } catch (DateTimeParseException e) {
+      return new Time(OffsetDateTime.of(LocalDateTime.parse(startTime), ZoneOffset.ofHours(0)));
     }
-    this.timeToIntegerMap = Collections.unmodifiableMap(timeIntegerMap);
   }
 
   /**
@@ -386,7 +347,7 @@ public final class TimeSeries implements DataSet {
               + "aggregate a series, the time period argument must be of a larger magnitude than "
               + "the " + "original.");
     }
-    final List<Time> obsTimes = new ArrayList<>();
+    final List<Time> obsTimes = new ArrayList<>(series.length / period);
     double[] aggregated = new double[series.length / period];
     double sum;
     for (int i = 0; i < aggregated.length; i++) {
@@ -424,10 +385,24 @@ public final class TimeSeries implements DataSet {
    * @throws IllegalArgumentException if there is no observation at the given time.
    */
   public final double at(@NonNull final Time time) {
-    if (!timeToIntegerMap.containsKey(time)) {
+    return this.series[indexAt(time)];
+  }
+
+  /**
+   * Retrieve the index of the observation made at the given time. Indexing begins at 0.
+   *
+   * @param time the time the observation was made.
+   *
+   * @return the index of the observation made at the given time.
+   *
+   * @throws IllegalArgumentException if there is no observation at the given time.
+   */
+  public final int indexAt(@NonNull final Time time) {
+    final int index = this.observationTimes.indexOf(time);
+    if (index < 0) {
       throw new IllegalArgumentException("No observation available at time: " + time);
     }
-    return this.series[timeToIntegerMap.get(time)];
+    return index;
   }
 
   /**
@@ -440,9 +415,7 @@ public final class TimeSeries implements DataSet {
    * @throws IllegalArgumentException if k is less than 0.
    */
   public final double autoCorrelationAtLag(final int k) {
-    validateLag(k);
-    final double variance = autoCovarianceAtLag(0);
-    return autoCovarianceAtLag(k) / variance;
+    return AutoCorrelations.autoCorrelationAtLag(deviations(), k);
   }
 
   /**
@@ -455,12 +428,25 @@ public final class TimeSeries implements DataSet {
    * @throws IllegalArgumentException if k is less than 0.
    */
   public final double[] autoCorrelationUpToLag(final int k) {
-    validateLag(k);
-    final double[] autoCorrelation = new double[Math.min(k + 1, n)];
-    for (int i = 0; i < Math.min(k + 1, n); i++) {
-      autoCorrelation[i] = autoCorrelationAtLag(i);
-    }
-    return autoCorrelation;
+    return AutoCorrelations.autoCorrelationUpToLag(deviations(), k);
+  }
+
+  /**
+   * Every partial autocorrelation of this series up to the given lag, computed from the
+   * autocovariances with the Durbin-Levinson recursion in O(k<sup>2</sup>) operations. The partial
+   * autocorrelation at lag i is the correlation between observations i periods apart after removing
+   * the linear effect of the observations in between. As with {@link #autoCorrelationUpToLag(int)},
+   * the element at index i is the value at lag i, and the value at lag 0 is 1.
+   *
+   * @param k the maximum lag to compute the partial autocorrelation at.
+   *
+   * @return every partial autocorrelation of this series up to the given lag.
+   *
+   * @throws IllegalArgumentException if k is less than 0.
+   * @see DurbinLevinson#partialAutoCorrelations(double[], int)
+   */
+  public final double[] partialAutoCorrelationUpToLag(final int k) {
+    return AutoCorrelations.partialAutoCorrelationUpToLag(deviations(), k);
   }
 
   /**
@@ -473,36 +459,92 @@ public final class TimeSeries implements DataSet {
    * @throws IllegalArgumentException if k is less than 0.
    */
   public final double autoCovarianceAtLag(final int k) {
-    validateLag(k);
-    double sumOfProductOfDeviations = 0.0;
-    for (int t = 0; t < n - k; t++) {
-      sumOfProductOfDeviations += (series[t] - mean) * (series[t + k] - mean);
-    }
-    return sumOfProductOfDeviations / n;
+    return AutoCorrelations.autoCovarianceAtLag(deviations(), k);
   }
 
   /**
-   * Every covariance measure of this series with itself up to the given lag.
+   * Every covariance measure of this series with itself up to the given lag. When the number of
+   * lags is large enough, the autocovariances are computed with a fast Fourier transform in
+   * O(n log n) operations rather than directly in O(n * k) operations, so the result may differ
+   * from {@link #autoCovarianceAtLag(int)} by rounding error.
    *
    * @param k the maximum lag to compute the autocovariance at.
    *
    * @return every covariance measure of this series with itself up to the given lag.
    *
    * @throws IllegalArgumentException if k is less than 0.
+   * @see Convolution#autoCorrelate(double[], int)
    */
   public final double[] autoCovarianceUpToLag(final int k) {
-    validateLag(k);
-    final double[] acv = new double[Math.min(k + 1, n)];
-    for (int i = 0; i < Math.min(k + 1, n); i++) {
-      acv[i] = autoCovarianceAtLag(i);
+    return AutoCorrelations.autoCovarianceUpToLag(deviations(), k);
+  }
+
+  /**
+   * The periodogram of this series, I(f<sub>j</sub>) = |&sum;<sub>t</sub> (x<sub>t</sub> - mean)
+   * e<sup>-2&pi;itf<sub>j</sub></sup>|<sup>2</sup> / n, at the Fourier frequencies f<sub>j</sub> =
+   * j / n cycles per observation for j = 0, 1, ..., n / 2. It is computed with a fast Fourier
+   * transform in O(n log n) operations.
+   *
+   * @return the periodogram of this series, where the element at index j is the value at frequency
+   *         j / n.
+   */
+  public final double[] periodogram() {
+    return SpectralAnalysis.periodogram(this.series);
+  }
+
+  /**
+   * An estimate of the spectral density of this series, given by the periodogram smoothed with a
+   * modified Daniell kernel. Each ordinate of the periodogram is averaged with its span / 2
+   * neighbours on either side, where the two outermost neighbours get half weight. Wider spans give
+   * smoother, less variable estimates at the cost of frequency resolution.
+   *
+   * @param span the width of the smoothing kernel. A span of 1 returns the periodogram.
+   *
+   * @return the smoothed periodogram, where the element at index j is the value at frequency j / n.
+   *
+   * @throws IllegalArgumentException if span is less than 1.
+   * @see #periodogram()
+   */
+  public final double[] spectralDensity(final int span) {
+    if (span < 1) {
+      throw new IllegalArgumentException("The span must be positive, but was " + span);
+    }
+    return SpectralAnalysis.smooth(periodogram(), span);
+  }
+
+  /**
+   * Find the time periods at which this series has its strongest cyclical behaviour, which are the
+   * natural candidates for the seasonal cycle of a model. The series is detrended, and the peaks of
+   * its periodogram that stand well above the average power are converted into periods, rounded to
+   * a whole number of observations. Only periods that fit at least three times into the series are
+   * considered, and periods that are harmonics of another detected period, such as the 6 month
+   * harmonic of a 12 month cycle, are left out. This takes O(n log n) operations.
+   *
+   * @param maxPeriods the maximum number of periods to return.
+   *
+   * @return the dominant periods of this series in order of decreasing strength. The list is empty
+   *         if the series has no pronounced cycles.
+   *
+   * @throws IllegalArgumentException if maxPeriods is negative.
+   */
+  public final List<TimePeriod> dominantPeriods(final int maxPeriods) {
+    if (maxPeriods < 0) {
+      throw new IllegalArgumentException(
+          "The maximum number of periods must be non-negative, but was " + maxPeriods);
+    }
+    final List<TimePeriod> periods = new ArrayList<>();
+    for (int observations : SpectralAnalysis.dominantPeriods(this.series, maxPeriods)) {
+      periods.add(new TimePeriod(timePeriod.timeUnit(), observations * timePeriod.length()));
     }
-    return acv;
+    return periods;
   }
 
-  private void validateLag(int k) {
-    if (k < 0) {
-      throw new IllegalArgumentException("The lag, k, must be non-negative, but was " + k);
+  private double[] deviations() {
+    final double[] deviations = new double[n];
+    for (int t = 0; t < n; t++) {
+      deviations[t] = series[t] - mean;
     }
+    return deviations;
   }
 
   /**
@@ -563,15 +605,16 @@ public final class TimeSeries implements DataSet {
   public final TimeSeries movingAverage(final int m) {
     final int c = m % 2;
     final int k = (m - c) / 2;
-    final double[] average;
-    average = new double[this.n - m + 1];
-    double sum;
+    final double[] average = new double[this.n - m + 1];
+    double sum = 0.0;
+    for (int t = 0; t < m - 1; t++) {
+      sum += this.series[t];
+    }
+    // A running sum of the m observations starting at t.
     for (int t = 0; t < average.length; t++) {
-      sum = 0;
-      for (int j = -k; j < k + c; j++) {
-        sum += series[t + k + j];
-      }
+      sum += this.series[t + m - 1];
       average[t] = sum / m;
+      sum -= this.series[t];
     }
     final List<Time> times = this.observationTimes.subList(k + c - 1, n - k);
     return new TimeSeries(this.timePeriod, times, average);
@@ -658,6 +701,18 @@ public final class TimeSeries implements DataSet {
     return difference(1);
   }
 
+  /**
+   * Begin a chain of transformations of this series that is only evaluated when the result is
+   * requested. Use this in place of chained calls such as {@link #transform(double)},
+   * {@link #demean()} and {@link #difference(int, int)} to avoid creating a new time series at every
+   * step.
+   *
+   * @return a lazy view of this series with no transformations recorded.
+   */
+  public final LazyTimeSeries lazy() {
+    return new LazyTimeSeries(this);
+  }
+
   /**
    * Subtract the given series from this time series and return the result as a new time series.
    * Note that if the other series is empty, then this series is returned. However, in all other
@@ -738,8 +793,8 @@ public final class TimeSeries implements DataSet {
    * @return a slice of this time series from start (inclusive) to end (inclusive).
    */
   public final TimeSeries slice(@NonNull final Time start, @NonNull final Time end) {
-    final int startIdx = this.timeToIntegerMap.get(start);
-    final int endIdx = this.timeToIntegerMap.get(end);
+    final int startIdx = indexAt(start);
+    final int endIdx = indexAt(end);
     final double[] sliced = new double[endIdx - startIdx + 1];
     System.arraycopy(series, startIdx, sliced, 0, endIdx - startIdx + 1);
     final List<Time> obsTimes = this.observationTimes.subList(startIdx, endIdx + 1);
@@ -808,12 +863,25 @@ public final class TimeSeries implements DataSet {
   }
 
   /**
-   * Retrieve the mapping of observation times to array indices for this series.
+   * Retrieve the mapping of observation times to array indices for this series. The mapping is
+   * created the first time this method is called. Prefer {@link #indexAt(Time)} for looking up
+   * individual times.
    *
    * @return the mapping of observation times to array indices for this series.
    */
   public final Map<Time, Integer> timeIndex() {
-    return this.timeToIntegerMap;
+    Map<Time, Integer> timeIndex = this.timeToIntegerMap;
+    if (timeIndex == null) {
+      Map<Time, Integer> timeIntegerMap = new HashMap<>(n);
+      int i = 0;
+      for (Time time : observationTimes) {
+        timeIntegerMap.put(time, i);
+        i++;
+      }
+      timeIndex = Collections.unmodifiableMap(timeIntegerMap);
+      this.timeToIntegerMap = timeIndex;
+    }
+    return timeIndex;
   }
 
   /**
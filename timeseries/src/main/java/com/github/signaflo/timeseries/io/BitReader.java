@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a sequence of bits written by a {@link BitWriter} from a region of a byte buffer, which
+ * may be a {@link java.nio.MappedByteBuffer}. The region must be a whole number of 8-byte words.
+ *
+ * @author Jacob Rachiele
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private final int base;
+  private long position = 0L;
+
+  /**
+   * Create a new reader of the bits starting at the given index of the buffer.
+   *
+   * @param buffer the buffer to read from.
+   * @param base   the index of the first byte to read.
+   */
+  BitReader(final ByteBuffer buffer, final int base) {
+    this.buffer = buffer;
+    this.base = base;
+  }
+
+  /**
+   * Read the given number of bits as the low-order bits of an unsigned value.
+   *
+   * @param bits the number of bits to read, from 0 to 64.
+   *
+   * @return the bits read.
+   */
+  long read(final int bits) {
+    if (bits == 0) {
+      return 0L;
+    }
+    final int word = (int) (position >>> 6);
+    final int available = 64 - (int) (position & 63);
+    final long current = buffer.getLong(base + 8 * word);
+    position += bits;
+    if (bits <= available) {
+      return (current >>> (available - bits)) & mask(bits);
+    }
+    final int remaining = bits - available;
+    final long next = buffer.getLong(base + 8 * (word + 1));
+    return ((current & mask(available)) << remaining) | (next >>> (64 - remaining));
+  }
+
+  /**
+   * Read a single bit.
+   *
+   * @return true if the bit is set and false otherwise.
+   */
+  boolean readBit() {
+    return read(1) != 0L;
+  }
+
+  /**
+   * Read the given number of bits as a two's complement signed value.
+   *
+   * @param bits the number of bits to read, from 1 to 64.
+   *
+   * @return the signed value read.
+   */
+  long readSigned(final int bits) {
+    final long value = read(bits);
+    return (value << (64 - bits)) >> (64 - bits);
+  }
+
+  private static long mask(final int bits) {
+    return (bits == 64) ? -1L : (1L << bits) - 1;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes a sequence of bits, most significant bit first, into a growable buffer.
+ *
+ * @author Jacob Rachiele
+ */
+final class BitWriter {
+
+  private long[] words = new long[64];
+  private long position = 0L;
+
+  /**
+   * Write the given number of low-order bits of the value.
+   *
+   * @param value the value whose low-order bits are written.
+   * @param bits  the number of bits to write, from 0 to 64.
+   */
+  void write(long value, final int bits) {
+    if (bits == 0) {
+      return;
+    }
+    if (bits < 64) {
+      value &= (1L << bits) - 1;
+    }
+    final int word = (int) (position >>> 6);
+    final int free = 64 - (int) (position & 63);
+    if (word + 1 >= words.length) {
+      words = Arrays.copyOf(words, 2 * words.length);
+    }
+    if (bits <= free) {
+      words[word] |= value << (free - bits);
+    } else {
+      words[word] |= value >>> (bits - free);
+      words[word + 1] |= value << (64 - (bits - free));
+    }
+    position += bits;
+  }
+
+  /**
+   * Write a single bit.
+   *
+   * @param bit the bit to write.
+   */
+  void write(final boolean bit) {
+    write(bit ? 1L : 0L, 1);
+  }
+
+  /**
+   * The bits written so far, padded with zeros to a whole number of 8-byte words.
+   *
+   * @return the bits written so far.
+   */
+  byte[] toByteArray() {
+    final int wordCount = (int) ((position + 63) >>> 6);
+    final ByteBuffer buffer = ByteBuffer.allocate(8 * wordCount);
+    for (int i = 0; i < wordCount; i++) {
+      buffer.putLong(words[i]);
+    }
+    return buffer.array();
+  }
+}
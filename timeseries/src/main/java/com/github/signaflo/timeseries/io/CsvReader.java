@@ -0,0 +1,760 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.TimePeriod;
+import com.github.signaflo.timeseries.TimeSeries;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import lombok.NonNull;
+
+/**
+ * A reader of delimited text files whose columns hold time series observations. This class is
+ * immutable and thread-safe.
+ *
+ * <p>The input is read from a channel in chunks of whole lines. Each chunk is parsed straight
+ * from its bytes into primitive arrays, without creating a string or a boxed number for each
+ * field, and chunks are parsed in parallel while the next chunk is read. An optional column of
+ * timestamps provides the observation times. Every other selected column becomes one series of a
+ * panel that shares those times.
+ *
+ * <p>Fields may be enclosed in double quotes, but a quoted field may not contain the delimiter or
+ * a line break. Empty fields, NA, and NaN are read as {@link Double#NaN}. The input must be
+ * encoded in ASCII or UTF-8.
+ *
+ * <pre>{@code
+ * CsvReader reader = CsvReader.builder().setTimeColumn("date")
+ *                                       .setTimePeriod(TimePeriod.oneMonth())
+ *                                       .build();
+ * Map<String, TimeSeries> panel = reader.readPanel(Paths.get("sales.csv"));
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public final class CsvReader {
+
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+  private static final int IGNORE = -1;
+  private static final int TIME = -2;
+
+  private final byte delimiter;
+  private final boolean header;
+  private final int timeColumn;
+  private final String timeColumnName;
+  private final int[] valueColumns;
+  private final String[] valueColumnNames;
+  private final TimePeriod timePeriod;
+  private final Time startTime;
+  private final DateTimeFormatter timeFormat;
+  private final ZoneOffset zoneOffset;
+  private final int chunkSize;
+  private final boolean parallel;
+
+  private CsvReader(final Builder builder) {
+    this.delimiter = (byte) builder.delimiter;
+    this.header = builder.header;
+    this.timeColumn = builder.timeColumn;
+    this.timeColumnName = builder.timeColumnName;
+    this.valueColumns = builder.valueColumns;
+    this.valueColumnNames = builder.valueColumnNames;
+    this.timePeriod = builder.timePeriod;
+    this.startTime = builder.startTime;
+    this.timeFormat = builder.timeFormat;
+    this.zoneOffset = builder.zoneOffset;
+    this.chunkSize = builder.chunkSize;
+    this.parallel = builder.parallel;
+  }
+
+  /**
+   * Create a new builder for a CSV reader.
+   *
+   * @return a new builder for a CSV reader.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Read the first selected column of the file at the given path into a time series.
+   *
+   * @param path the path of the file to read.
+   *
+   * @return a time series holding the observations in the first selected column.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the input cannot be parsed.
+   */
+  public TimeSeries read(@NonNull final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return read(channel);
+    }
+  }
+
+  /**
+   * Read the first selected column of the given channel into a time series. The channel is read
+   * to its end but not closed.
+   *
+   * @param channel the blocking channel to read from.
+   *
+   * @return a time series holding the observations in the first selected column.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the input cannot be parsed or has no value columns.
+   */
+  public TimeSeries read(@NonNull final ReadableByteChannel channel) throws IOException {
+    final Map<String, TimeSeries> panel = readPanel(channel);
+    if (panel.isEmpty()) {
+      throw new IllegalArgumentException("The input has no columns of observations.");
+    }
+    return panel.values().iterator().next();
+  }
+
+  /**
+   * Read every selected column of the file at the given path into a panel of time series.
+   *
+   * @param path the path of the file to read.
+   *
+   * @return a map from column name to time series, in column order.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the input cannot be parsed.
+   */
+  public Map<String, TimeSeries> readPanel(@NonNull final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return readPanel(channel);
+    }
+  }
+
+  /**
+   * Read every selected column of the given channel into a panel of time series. The series share
+   * the observation times. Without a header, the columns are named V1, V2, and so on, by their
+   * position in the line. The channel is read to its end but not closed.
+   *
+   * @param channel the blocking channel to read from.
+   *
+   * @return a map from column name to time series, in column order.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the input cannot be parsed.
+   */
+  public Map<String, TimeSeries> readPanel(@NonNull final ReadableByteChannel channel)
+      throws IOException {
+    final int maxInFlight = parallel ? 2 * ForkJoinPool.getCommonPoolParallelism() : 0;
+    final Deque<CompletableFuture<ParsedChunk>> inFlight = new ArrayDeque<>();
+    final List<ParsedChunk> chunks = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+    Layout layout = null;
+    boolean endOfInput = false;
+    while (!endOfInput) {
+      endOfInput = fill(channel, buffer);
+      final byte[] bytes = buffer.array();
+      final int limit = buffer.position();
+      final int end = endOfInput ? limit : lastLineEnd(bytes, limit);
+      if (end == 0) {
+        buffer = grow(buffer);
+        continue;
+      }
+      int start = 0;
+      if (layout == null) {
+        final int firstLineEnd = lineEnd(bytes, 0, end);
+        layout = resolveLayout(bytes, 0, trimLineBreak(bytes, 0, firstLineEnd));
+        if (header) {
+          start = Math.min(firstLineEnd + 1, end);
+        }
+      }
+      final byte[] chunk = Arrays.copyOfRange(bytes, start, end);
+      final Layout chunkLayout = layout;
+      if (parallel) {
+        if (inFlight.size() >= maxInFlight) {
+          chunks.add(join(inFlight.removeFirst()));
+        }
+        inFlight.addLast(CompletableFuture.supplyAsync(() -> parse(chunk, chunkLayout)));
+      } else {
+        chunks.add(parse(chunk, chunkLayout));
+      }
+      System.arraycopy(bytes, end, bytes, 0, limit - end);
+      buffer.position(limit - end);
+    }
+    while (!inFlight.isEmpty()) {
+      chunks.add(join(inFlight.removeFirst()));
+    }
+    return (layout == null) ? Collections.emptyMap() : assemble(layout, chunks);
+  }
+
+  // Read until the buffer is full or the channel is exhausted, returning true in the latter case.
+  private static boolean fill(final ReadableByteChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ByteBuffer grow(final ByteBuffer buffer) {
+    final ByteBuffer larger = ByteBuffer.allocate(2 * buffer.capacity());
+    buffer.flip();
+    larger.put(buffer);
+    return larger;
+  }
+
+  // The index one past the last line feed before limit, or 0 if there is none.
+  private static int lastLineEnd(final byte[] bytes, final int limit) {
+    for (int i = limit - 1; i >= 0; i--) {
+      if (bytes[i] == '\n') {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  // The index of the first line feed at or after from, or to if there is none.
+  private static int lineEnd(final byte[] bytes, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      if (bytes[i] == '\n') {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static int trimLineBreak(final byte[] bytes, final int from, final int lineEnd) {
+    return (lineEnd > from && bytes[lineEnd - 1] == '\r') ? lineEnd - 1 : lineEnd;
+  }
+
+  private static ParsedChunk join(final CompletableFuture<ParsedChunk> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Layout resolveLayout(final byte[] bytes, final int from, final int to) {
+    final List<String> fields = new ArrayList<>();
+    int fieldStart = from;
+    for (int i = from; i <= to; i++) {
+      if (i == to || bytes[i] == delimiter) {
+        final int[] bounds = unquote(bytes, fieldStart, i);
+        fields.add(new String(bytes, bounds[0], bounds[1] - bounds[0], StandardCharsets.UTF_8));
+        fieldStart = i + 1;
+      }
+    }
+    final String[] names = new String[fields.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = header ? fields.get(i) : "V" + (i + 1);
+    }
+    final int timeField = (timeColumnName != null) ? indexOf(names, timeColumnName) : timeColumn;
+    if (timeField >= names.length) {
+      throw new IllegalArgumentException(
+          "The time column, " + timeField + ", is not less than the number of columns, "
+              + names.length);
+    }
+    final int[] valueFields;
+    if (valueColumnNames != null) {
+      valueFields = new int[valueColumnNames.length];
+      for (int i = 0; i < valueFields.length; i++) {
+        valueFields[i] = indexOf(names, valueColumnNames[i]);
+      }
+    } else if (valueColumns != null) {
+      valueFields = valueColumns.clone();
+    } else {
+      valueFields = new int[(timeField >= 0) ? names.length - 1 : names.length];
+      for (int i = 0, j = 0; i < names.length; i++) {
+        if (i != timeField) {
+          valueFields[j++] = i;
+        }
+      }
+    }
+    int lastField = timeField;
+    for (int field : valueFields) {
+      if (field < 0 || field >= names.length) {
+        throw new IllegalArgumentException(
+            "The column " + field + " does not exist in input with " + names.length + " columns.");
+      }
+      if (field == timeField) {
+        throw new IllegalArgumentException("The time column cannot also be a value column.");
+      }
+      lastField = Math.max(lastField, field);
+    }
+    final int[] slots = new int[lastField + 1];
+    Arrays.fill(slots, IGNORE);
+    if (timeField >= 0) {
+      slots[timeField] = TIME;
+    }
+    final String[] valueNames = new String[valueFields.length];
+    for (int i = 0; i < valueFields.length; i++) {
+      slots[valueFields[i]] = i;
+      valueNames[i] = names[valueFields[i]];
+    }
+    return new Layout(slots, valueNames, timeField >= 0);
+  }
+
+  private static int indexOf(final String[] names, final String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("There is no column named \"" + name + "\" in the header.");
+  }
+
+  // Trim whitespace and a pair of enclosing quotes from the field, returning its new bounds.
+  private static int[] unquote(final byte[] bytes, int from, int to) {
+    while (from < to && bytes[from] == ' ') {
+      from++;
+    }
+    while (to > from && bytes[to - 1] == ' ') {
+      to--;
+    }
+    if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+      from++;
+      to--;
+    }
+    return new int[] {from, to};
+  }
+
+  private ParsedChunk parse(final byte[] bytes, final Layout layout) {
+    final int[] slots = layout.slots;
+    final ParsedChunk parsed = new ParsedChunk(layout.valueNames.length, layout.hasTime,
+                                               Math.max(16, bytes.length / 32));
+    final TimestampParser timestampParser = new TimestampParser(timeFormat, zoneOffset);
+    int lineStart = 0;
+    while (lineStart < bytes.length) {
+      final int lineEnd = lineEnd(bytes, lineStart, bytes.length);
+      final int to = trimLineBreak(bytes, lineStart, lineEnd);
+      if (to > lineStart) {
+        final int row = parsed.addRow();
+        int field = 0;
+        int fieldStart = lineStart;
+        for (int i = lineStart; i <= to && field < slots.length; i++) {
+          if (i == to || bytes[i] == delimiter) {
+            final int slot = slots[field];
+            if (slot != IGNORE) {
+              int from = fieldStart;
+              int until = i;
+              while (from < until && bytes[from] == ' ') {
+                from++;
+              }
+              while (until > from && bytes[until - 1] == ' ') {
+                until--;
+              }
+              if (until - from >= 2 && bytes[from] == '"' && bytes[until - 1] == '"') {
+                from++;
+                until--;
+              }
+              if (slot == TIME) {
+                timestampParser.parse(bytes, from, until);
+                parsed.setTime(row, timestampParser);
+              } else {
+                parsed.values[slot][row] = NumberParser.parse(bytes, from, until);
+              }
+            }
+            field++;
+            fieldStart = i + 1;
+          }
+        }
+        if (field < slots.length) {
+          throw new IllegalArgumentException(
+              "Expected at least " + slots.length + " columns but found " + field + " in the line \""
+                  + new String(bytes, lineStart, to - lineStart, StandardCharsets.UTF_8) + "\"");
+        }
+      }
+      lineStart = lineEnd + 1;
+    }
+    return parsed;
+  }
+
+  private Map<String, TimeSeries> assemble(final Layout layout, final List<ParsedChunk> chunks) {
+    int n = 0;
+    for (ParsedChunk chunk : chunks) {
+      n += chunk.size;
+    }
+    final int columns = layout.valueNames.length;
+    final double[][] values = new double[columns][n];
+    final long[] epochSeconds = layout.hasTime ? new long[n] : null;
+    final int[] nanos = layout.hasTime ? new int[n] : null;
+    final int[] offsets = layout.hasTime ? new int[n] : null;
+    int position = 0;
+    for (ParsedChunk chunk : chunks) {
+      for (int j = 0; j < columns; j++) {
+        System.arraycopy(chunk.values[j], 0, values[j], position, chunk.size);
+      }
+      if (layout.hasTime) {
+        System.arraycopy(chunk.epochSeconds, 0, epochSeconds, position, chunk.size);
+        System.arraycopy(chunk.nanos, 0, nanos, position, chunk.size);
+        System.arraycopy(chunk.offsets, 0, offsets, position, chunk.size);
+      }
+      position += chunk.size;
+    }
+    final Map<String, TimeSeries> panel = new LinkedHashMap<>(2 * columns);
+    List<Time> observationTimes = null;
+    TimePeriod period = this.timePeriod;
+    if (layout.hasTime) {
+      observationTimes = new TimesView(epochSeconds, nanos, offsets);
+      if (period == null) {
+        period = inferTimePeriod(epochSeconds, nanos, offsets);
+      }
+    } else if (period == null) {
+      period = TimePeriod.oneYear();
+    }
+    for (int j = 0; j < columns; j++) {
+      final TimeSeries series;
+      if (observationTimes != null) {
+        series = TimeSeries.from(period, observationTimes, values[j]);
+        // The series stores the times compactly, so the remaining series can share them.
+        observationTimes = series.observationTimes();
+      } else {
+        series = TimeSeries.from(period, startTime, values[j]);
+      }
+      panel.put(layout.valueNames[j], series);
+    }
+    return panel;
+  }
+
+  /*
+   * Infer the period between observations from the times. Fixed steps are expressed in the largest
+   * unit of time that divides them, and calendar steps in months or years.
+   */
+  static TimePeriod inferTimePeriod(final long[] epochSeconds, final int[] nanos,
+                                    final int[] offsets) {
+    final int n = epochSeconds.length;
+    if (n < 2) {
+      return TimePeriod.oneYear();
+    }
+    final long step = epochSeconds[1] - epochSeconds[0];
+    boolean fixedStep = step > 0;
+    for (int i = 1; i < n && fixedStep; i++) {
+      fixedStep = nanos[i] == 0 && epochSeconds[i] - epochSeconds[i - 1] == step;
+    }
+    if (fixedStep && nanos[0] == 0) {
+      final ChronoUnit[] units = {ChronoUnit.WEEKS, ChronoUnit.DAYS, ChronoUnit.HOURS,
+          ChronoUnit.MINUTES, ChronoUnit.SECONDS};
+      for (ChronoUnit unit : units) {
+        final long unitSeconds = unit.getDuration().getSeconds();
+        if (step % unitSeconds == 0) {
+          return new TimePeriod(unit, step / unitSeconds);
+        }
+      }
+    }
+    LocalDateTime previous = localDateTime(epochSeconds, nanos, offsets, 0);
+    final LocalDateTime second = localDateTime(epochSeconds, nanos, offsets, 1);
+    final long months = ChronoUnit.MONTHS.between(previous, second);
+    boolean calendarStep = months > 0;
+    for (int i = 1; i < n && calendarStep; i++) {
+      final LocalDateTime current = localDateTime(epochSeconds, nanos, offsets, i);
+      calendarStep = current.equals(previous.plusMonths(months));
+      previous = current;
+    }
+    if (calendarStep) {
+      return (months % 12 == 0) ? new TimePeriod(ChronoUnit.YEARS, months / 12)
+                                : new TimePeriod(ChronoUnit.MONTHS, months);
+    }
+    throw new IllegalArgumentException(
+        "The period between observations could not be inferred from the times. Set it with the "
+            + "builder's setTimePeriod method.");
+  }
+
+  private static LocalDateTime localDateTime(final long[] epochSeconds, final int[] nanos,
+                                             final int[] offsets, final int i) {
+    return LocalDateTime.ofEpochSecond(epochSeconds[i], nanos[i],
+                                       ZoneOffset.ofTotalSeconds(offsets[i]));
+  }
+
+  /*
+   * Where each field of a line goes: slots[field] is the index of the value column the field is
+   * read into, TIME for the time column, or IGNORE.
+   */
+  private static final class Layout {
+
+    private final int[] slots;
+    private final String[] valueNames;
+    private final boolean hasTime;
+
+    private Layout(int[] slots, String[] valueNames, boolean hasTime) {
+      this.slots = slots;
+      this.valueNames = valueNames;
+      this.hasTime = hasTime;
+    }
+  }
+
+  // The rows parsed from one chunk, stored column by column in growable primitive arrays.
+  private static final class ParsedChunk {
+
+    private final boolean hasTime;
+    private double[][] values;
+    private long[] epochSeconds;
+    private int[] nanos;
+    private int[] offsets;
+    private int size;
+
+    private ParsedChunk(int columns, boolean hasTime, int capacity) {
+      this.hasTime = hasTime;
+      this.values = new double[columns][capacity];
+      if (hasTime) {
+        this.epochSeconds = new long[capacity];
+        this.nanos = new int[capacity];
+        this.offsets = new int[capacity];
+      }
+    }
+
+    private int addRow() {
+      final int capacity = (values.length > 0) ? values[0].length
+                                               : (hasTime ? epochSeconds.length : Integer.MAX_VALUE);
+      if (size == capacity) {
+        final int newCapacity = 2 * capacity;
+        for (int j = 0; j < values.length; j++) {
+          values[j] = Arrays.copyOf(values[j], newCapacity);
+        }
+        if (hasTime) {
+          epochSeconds = Arrays.copyOf(epochSeconds, newCapacity);
+          nanos = Arrays.copyOf(nanos, newCapacity);
+          offsets = Arrays.copyOf(offsets, newCapacity);
+        }
+      }
+      return size++;
+    }
+
+    private void setTime(int row, TimestampParser parser) {
+      epochSeconds[row] = parser.epochSecond;
+      nanos[row] = parser.nano;
+      offsets[row] = parser.offsetSeconds;
+    }
+  }
+
+  /**
+   * A builder for a CSV reader.
+   *
+   * @author Jacob Rachiele
+   */
+  public static class Builder {
+
+    private char delimiter = ',';
+    private boolean header = true;
+    private int timeColumn = -1;
+    private String timeColumnName = null;
+    private int[] valueColumns = null;
+    private String[] valueColumnNames = null;
+    private TimePeriod timePeriod = null;
+    private Time startTime = Time.fromYear(1);
+    private DateTimeFormatter timeFormat = null;
+    private ZoneOffset zoneOffset = ZoneOffset.UTC;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean parallel = true;
+
+    private Builder() {
+    }
+
+    /**
+     * Set the character that separates fields. The default is a comma.
+     *
+     * @param delimiter the ASCII character that separates fields.
+     *
+     * @return this builder.
+     */
+    public Builder setDelimiter(char delimiter) {
+      if (delimiter > 127 || delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+        throw new IllegalArgumentException("The delimiter must be an ASCII character other than a "
+                                               + "line break or quote, but was " + delimiter);
+      }
+      this.delimiter = delimiter;
+      return this;
+    }
+
+    /**
+     * Set whether the first line holds the column names. The default is true.
+     *
+     * @param header whether the first line holds the column names.
+     *
+     * @return this builder.
+     */
+    public Builder setHeader(boolean header) {
+      this.header = header;
+      return this;
+    }
+
+    /**
+     * Set the zero-based index of the column holding the observation times. By default, there is
+     * no time column and observations start at the start time and are spaced by the time period.
+     *
+     * @param timeColumn the index of the column holding the observation times.
+     *
+     * @return this builder.
+     */
+    public Builder setTimeColumn(int timeColumn) {
+      if (timeColumn < 0) {
+        throw new IllegalArgumentException("The time column must be non-negative.");
+      }
+      this.timeColumn = timeColumn;
+      this.timeColumnName = null;
+      return this;
+    }
+
+    /**
+     * Set the name of the column holding the observation times.
+     *
+     * @param timeColumn the name of the column holding the observation times.
+     *
+     * @return this builder.
+     */
+    public Builder setTimeColumn(@NonNull String timeColumn) {
+      this.timeColumnName = timeColumn;
+      return this;
+    }
+
+    /**
+     * Set the zero-based indices of the columns to read observations from. By default, every
+     * column except the time column is read.
+     *
+     * @param valueColumns the indices of the columns to read observations from.
+     *
+     * @return this builder.
+     */
+    public Builder setValueColumns(@NonNull int... valueColumns) {
+      this.valueColumns = valueColumns.clone();
+      this.valueColumnNames = null;
+      return this;
+    }
+
+    /**
+     * Set the names of the columns to read observations from.
+     *
+     * @param valueColumns the names of the columns to read observations from.
+     *
+     * @return this builder.
+     */
+    public Builder setValueColumns(@NonNull String... valueColumns) {
+      this.valueColumnNames = valueColumns.clone();
+      this.valueColumns = null;
+      return this;
+    }
+
+    /**
+     * Set the period of time between observations. If there is a time column and no period is
+     * set, the period is inferred from the times. Otherwise, the default is one year.
+     *
+     * @param timePeriod the period of time between observations.
+     *
+     * @return this builder.
+     */
+    public Builder setTimePeriod(@NonNull TimePeriod timePeriod) {
+      this.timePeriod = timePeriod;
+      return this;
+    }
+
+    /**
+     * Set the time of the first observation, used when there is no time column. The default is
+     * the start of year 1.
+     *
+     * @param startTime the time of the first observation.
+     *
+     * @return this builder.
+     */
+    public Builder setStartTime(@NonNull Time startTime) {
+      this.startTime = startTime;
+      return this;
+    }
+
+    /**
+     * Set the format of the time column. By default, times are parsed as ISO-8601 dates or
+     * date-times.
+     *
+     * @param timeFormat the format of the time column.
+     *
+     * @return this builder.
+     */
+    public Builder setTimeFormat(@NonNull DateTimeFormatter timeFormat) {
+      this.timeFormat = timeFormat;
+      return this;
+    }
+
+    /**
+     * Set the offset of times that do not include one. The default is UTC.
+     *
+     * @param zoneOffset the offset of times that do not include one.
+     *
+     * @return this builder.
+     */
+    public Builder setZoneOffset(@NonNull ZoneOffset zoneOffset) {
+      this.zoneOffset = zoneOffset;
+      return this;
+    }
+
+    /**
+     * Set the number of bytes read and parsed at a time. The default is 4 MiB.
+     *
+     * @param chunkSize the number of bytes read and parsed at a time.
+     *
+     * @return this builder.
+     */
+    public Builder setChunkSize(int chunkSize) {
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("The chunk size must be positive.");
+      }
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Set whether chunks are parsed in parallel in the common fork-join pool. The default is true.
+     *
+     * @param parallel whether chunks are parsed in parallel.
+     *
+     * @return this builder.
+     */
+    public Builder setParallel(boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
+
+    public CsvReader build() {
+      return new CsvReader(this);
+    }
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.TimePeriod;
+import com.github.signaflo.timeseries.TimeSeries;
+import com.github.signaflo.timeseries.forecast.Forecast;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.NonNull;
+
+/**
+ * Writes forecasts for many series to a single file. This class is thread-safe.
+ *
+ * <p>Each forecast is encoded on the calling thread into a large batch buffer. Full batches are
+ * handed to a background thread that writes them to the channel, so encoding the next forecasts
+ * overlaps with writing the previous ones. A fixed number of batch buffers is used, which bounds
+ * memory use and makes callers wait when the channel cannot keep up. An error in the background
+ * thread is reported by the next call to {@link #write} or {@link #close}.
+ *
+ * <p>In {@link Format#CSV} format, the file has a header and then one line per forecast step
+ * holding the series id, the ISO-8601 time, the point forecast, and the lower and upper
+ * prediction interval bounds. In {@link Format#BINARY} format, the file starts with a magic number
+ * and a format version, followed by one record per forecast, all in big-endian byte order. A
+ * record holds the length of the UTF-8 series id and the id, the epoch second, nano-of-second,
+ * and UTC offset in seconds of the first forecast time, the length of the {@link ChronoUnit} name
+ * of the forecast time period, the name and the length of the period, the number of steps, and
+ * then the point forecasts, the lower bounds, and the upper bounds, each as a column of doubles.
+ *
+ * @author Jacob Rachiele
+ */
+public final class ForecastWriter implements Closeable {
+
+  static final int MAGIC = 0x53474643;
+  static final int VERSION = 1;
+
+  private static final int BATCH_BYTES = 1 << 20;
+  private static final int BATCH_COUNT = 4;
+  private static final ByteBuffer END_OF_BATCHES = ByteBuffer.allocate(0);
+
+  /**
+   * The format of the written file.
+   */
+  public enum Format {
+    CSV, BINARY
+  }
+
+  private final WritableByteChannel channel;
+  private final Format format;
+  private final BlockingQueue<ByteBuffer> freeBatches = new ArrayBlockingQueue<>(BATCH_COUNT);
+  private final BlockingQueue<ByteBuffer> fullBatches = new ArrayBlockingQueue<>(BATCH_COUNT + 1);
+  private final Thread writerThread;
+  private volatile Throwable failure;
+  private ByteBuffer batch;
+  private boolean closed;
+
+  private ForecastWriter(final WritableByteChannel channel, final Format format) {
+    this.channel = channel;
+    this.format = format;
+    for (int i = 0; i < BATCH_COUNT; i++) {
+      freeBatches.add(ByteBuffer.allocate(BATCH_BYTES));
+    }
+    this.batch = freeBatches.remove();
+    if (format == Format.CSV) {
+      batch.put("id,time,point,lower,upper\n".getBytes(StandardCharsets.US_ASCII));
+    } else {
+      batch.putInt(MAGIC).putInt(VERSION);
+    }
+    this.writerThread = new Thread(this::drain, "forecast-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * Open a writer to the file at the given path, replacing any existing file.
+   *
+   * @param path   the path of the file to write.
+   * @param format the format of the file.
+   *
+   * @return a new writer to the file at the given path.
+   *
+   * @throws IOException if the file cannot be opened.
+   */
+  public static ForecastWriter open(@NonNull final Path path, @NonNull final Format format)
+      throws IOException {
+    return new ForecastWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING,
+                                               StandardOpenOption.WRITE), format);
+  }
+
+  /**
+   * Open a writer to the given channel. The channel is closed when the writer is closed.
+   *
+   * @param channel the channel to write to.
+   * @param format  the format to write in.
+   *
+   * @return a new writer to the given channel.
+   */
+  public static ForecastWriter open(@NonNull final WritableByteChannel channel,
+                                    @NonNull final Format format) {
+    return new ForecastWriter(channel, format);
+  }
+
+  /**
+   * Write the given forecast of the series with the given id.
+   *
+   * @param id       the id of the forecast series.
+   * @param forecast the forecast to write.
+   *
+   * @throws IOException              if an earlier write failed.
+   * @throws IllegalStateException    if this writer is closed.
+   * @throws IllegalArgumentException if, in binary format, the forecast time period is not measured
+   *                                  in a {@link ChronoUnit}.
+   */
+  public void write(@NonNull final String id, @NonNull final Forecast forecast)
+      throws IOException {
+    final TimeSeries point = forecast.pointEstimates();
+    final byte[] record = (format == Format.CSV)
+        ? encodeCsv(id, point, forecast.lowerPredictionInterval().asArray(),
+                    forecast.upperPredictionInterval().asArray())
+        : encodeBinary(id, point, forecast.lowerPredictionInterval().asArray(),
+                       forecast.upperPredictionInterval().asArray());
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("The forecast writer is closed.");
+      }
+      checkFailure();
+      int written = 0;
+      while (written < record.length) {
+        if (!batch.hasRemaining()) {
+          batch = swapBatch(batch);
+        }
+        final int length = Math.min(batch.remaining(), record.length - written);
+        batch.put(record, written, length);
+        written += length;
+      }
+    }
+  }
+
+  private static byte[] encodeCsv(final String id, final TimeSeries point, final double[] lower,
+                                  final double[] upper) {
+    final double[] points = point.asArray();
+    final List<Time> times = point.observationTimes();
+    final StringBuilder builder = new StringBuilder(64 * points.length);
+    for (int i = 0; i < points.length; i++) {
+      builder.append(id).append(',').append(times.get(i)).append(',').append(points[i])
+             .append(',').append(lower[i]).append(',').append(upper[i]).append('\n');
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] encodeBinary(final String id, final TimeSeries point,
+                                     final double[] lower, final double[] upper) {
+    final TimePeriod timePeriod = point.timePeriod();
+    if (!(timePeriod.timeUnit() instanceof ChronoUnit)) {
+      throw new IllegalArgumentException(
+          "Only time periods measured in a ChronoUnit can be written, but the unit was "
+              + timePeriod.timeUnit());
+    }
+    final byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+    final byte[] unitName = ((ChronoUnit) timePeriod.timeUnit()).name()
+                                                               .getBytes(StandardCharsets.US_ASCII);
+    final double[] points = point.asArray();
+    final ByteBuffer buffer = ByteBuffer.allocate(34 + idBytes.length + unitName.length
+                                                      + 24 * points.length);
+    final Time start = (points.length > 0) ? point.startTime() : Time.fromEpochSecond(0L, 0L);
+    buffer.putInt(idBytes.length).put(idBytes);
+    buffer.putLong(start.epochSecond()).putInt(start.nano())
+          .putInt(start.offset().getTotalSeconds());
+    buffer.putShort((short) unitName.length).put(unitName).putLong(timePeriod.length());
+    buffer.putInt(points.length);
+    buffer.asDoubleBuffer().put(points).put(lower).put(upper);
+    return buffer.array();
+  }
+
+  // Hand the full batch to the writer thread and wait for a free one. The waits are not
+  // interruptible, since giving up half way would leave the batch field pointing at a buffer the
+  // writer thread owns. The writer thread always frees batches, so the waits are short.
+  private ByteBuffer swapBatch(final ByteBuffer full) {
+    full.flip();
+    runUninterruptibly(() -> fullBatches.put(full));
+    return uninterruptibly(freeBatches::take);
+  }
+
+  private interface Blocking<T> {
+    T await() throws InterruptedException;
+  }
+
+  private interface BlockingAction {
+    void await() throws InterruptedException;
+  }
+
+  // Wait for the blocking call to complete, retrying it if interrupted, and then restore the
+  // interrupt status of the current thread.
+  private static <T> T uninterruptibly(final Blocking<T> blocking) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return blocking.await();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void runUninterruptibly(final BlockingAction action) {
+    uninterruptibly(() -> {
+      action.await();
+      return null;
+    });
+  }
+
+  // Keep recycling batches until the end marker arrives, even after a failure, so that callers
+  // waiting in swapBatch or close are never left blocked.
+  private void drain() {
+    boolean interrupted = false;
+    while (true) {
+      final ByteBuffer full;
+      try {
+        full = fullBatches.take();
+      } catch (InterruptedException e) {
+        interrupted = true;
+        continue;
+      }
+      if (full == END_OF_BATCHES) {
+        break;
+      }
+      if (failure == null) {
+        try {
+          while (full.hasRemaining()) {
+            channel.write(full);
+          }
+        } catch (Throwable e) {
+          failure = e;
+        }
+      }
+      full.clear();
+      // There are never more than BATCH_COUNT batches, so this always succeeds.
+      freeBatches.offer(full);
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    final Throwable e = this.failure;
+    if (e != null) {
+      throw new IOException("Writing forecasts failed.", e);
+    }
+  }
+
+  /**
+   * Write any remaining forecasts, wait for the background thread to finish, and close the
+   * channel. The wait is not interruptible, so no queued forecasts are lost, and the interrupt
+   * status of the current thread is restored afterwards.
+   *
+   * @throws IOException if writing forecasts or closing the channel failed.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    final ByteBuffer last = batch;
+    last.flip();
+    runUninterruptibly(() -> fullBatches.put(last));
+    runUninterruptibly(() -> fullBatches.put(END_OF_BATCHES));
+    runUninterruptibly(writerThread::join);
+    channel.close();
+    checkFailure();
+  }
+}
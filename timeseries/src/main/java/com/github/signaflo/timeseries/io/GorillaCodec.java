@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+/**
+ * Encodes blocks of observations in the manner of Facebook's Gorilla time series database.
+ * Timestamps are stored as delta-of-deltas, which take a single bit when observations are evenly
+ * spaced, and each value is stored as its XOR with the previous value, which takes a single bit
+ * when the value is unchanged and few bits when it changes slowly.
+ *
+ * <p>A block starts with its first timestamp and value in full. Every block can be decoded on its
+ * own.
+ *
+ * @author Jacob Rachiele
+ */
+final class GorillaCodec {
+
+  private GorillaCodec() {
+  }
+
+  /**
+   * Encode a block of observations.
+   *
+   * @param epochSeconds  the epoch seconds of the observation times.
+   * @param nanos         the nano-of-second of the observation times.
+   * @param offsets       the UTC offsets, in seconds, of the observation times.
+   * @param values        the observations.
+   * @param from          the index of the first observation in the block.
+   * @param count         the number of observations in the block.
+   * @param uniformOffset whether every observation time has the same offset, in which case the
+   *                      offsets are not stored.
+   *
+   * @return the encoded block, padded to a whole number of 8-byte words.
+   */
+  static byte[] encode(final long[] epochSeconds, final int[] nanos, final int[] offsets,
+                       final double[] values, final int from, final int count,
+                       final boolean uniformOffset) {
+    final BitWriter writer = new BitWriter();
+    writer.write(epochSeconds[from], 64);
+    writer.write(nanos[from], 30);
+    if (!uniformOffset) {
+      writer.write(offsets[from], 32);
+    }
+    writer.write(Double.doubleToRawLongBits(values[from]), 64);
+    long secondsDelta = 0L;
+    long nanosDelta = 0L;
+    int leading = -1;
+    int trailing = 0;
+    for (int i = from + 1; i < from + count; i++) {
+      final long newSecondsDelta = epochSeconds[i] - epochSeconds[i - 1];
+      writeDeltaOfDelta(writer, newSecondsDelta - secondsDelta);
+      secondsDelta = newSecondsDelta;
+      final long newNanosDelta = (long) nanos[i] - nanos[i - 1];
+      writeDeltaOfDelta(writer, newNanosDelta - nanosDelta);
+      nanosDelta = newNanosDelta;
+      if (!uniformOffset) {
+        if (offsets[i] == offsets[i - 1]) {
+          writer.write(false);
+        } else {
+          writer.write(true);
+          writer.write(offsets[i], 32);
+        }
+      }
+      final long xor = Double.doubleToRawLongBits(values[i])
+          ^ Double.doubleToRawLongBits(values[i - 1]);
+      if (xor == 0L) {
+        writer.write(false);
+        continue;
+      }
+      writer.write(true);
+      final int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      final int newTrailing = Long.numberOfTrailingZeros(xor);
+      if (leading >= 0 && newLeading >= leading && newTrailing >= trailing) {
+        // The meaningful bits fit in the previous window.
+        writer.write(false);
+        writer.write(xor >>> trailing, 64 - leading - trailing);
+      } else {
+        final int meaningful = 64 - newLeading - newTrailing;
+        writer.write(true);
+        writer.write(newLeading, 5);
+        writer.write(meaningful - 1, 6);
+        writer.write(xor >>> newTrailing, meaningful);
+        leading = newLeading;
+        trailing = newTrailing;
+      }
+    }
+    return writer.toByteArray();
+  }
+
+  /**
+   * Decode a block of observations into the given arrays.
+   *
+   * @param reader        the reader positioned at the start of the block.
+   * @param count         the number of observations in the block.
+   * @param uniformOffset whether the offsets were left out of the block.
+   * @param offset        the offset to use when the offsets were left out of the block.
+   * @param epochSeconds  the array to store the epoch seconds of the observation times in.
+   * @param nanos         the array to store the nano-of-second of the observation times in.
+   * @param offsets       the array to store the UTC offsets of the observation times in.
+   * @param values        the array to store the observations in.
+   * @param at            the index at which to store the first observation.
+   */
+  static void decode(final BitReader reader, final int count, final boolean uniformOffset,
+                     final int offset, final long[] epochSeconds, final int[] nanos,
+                     final int[] offsets, final double[] values, final int at) {
+    epochSeconds[at] = reader.read(64);
+    nanos[at] = (int) reader.read(30);
+    offsets[at] = uniformOffset ? offset : (int) reader.read(32);
+    long bits = reader.read(64);
+    values[at] = Double.longBitsToDouble(bits);
+    long secondsDelta = 0L;
+    long nanosDelta = 0L;
+    int leading = 0;
+    int trailing = 0;
+    for (int i = at + 1; i < at + count; i++) {
+      secondsDelta += readDeltaOfDelta(reader);
+      epochSeconds[i] = epochSeconds[i - 1] + secondsDelta;
+      nanosDelta += readDeltaOfDelta(reader);
+      nanos[i] = (int) (nanos[i - 1] + nanosDelta);
+      if (uniformOffset) {
+        offsets[i] = offset;
+      } else {
+        offsets[i] = reader.readBit() ? (int) reader.read(32) : offsets[i - 1];
+      }
+      if (reader.readBit()) {
+        if (reader.readBit()) {
+          leading = (int) reader.read(5);
+          final int meaningful = (int) reader.read(6) + 1;
+          trailing = 64 - leading - meaningful;
+        }
+        bits ^= reader.read(64 - leading - trailing) << trailing;
+      }
+      values[i] = Double.longBitsToDouble(bits);
+    }
+  }
+
+  private static void writeDeltaOfDelta(final BitWriter writer, final long deltaOfDelta) {
+    if (deltaOfDelta == 0L) {
+      writer.write(0b0, 1);
+    } else if (deltaOfDelta >= -64 && deltaOfDelta < 64) {
+      writer.write(0b10, 2);
+      writer.write(deltaOfDelta, 7);
+    } else if (deltaOfDelta >= -256 && deltaOfDelta < 256) {
+      writer.write(0b110, 3);
+      writer.write(deltaOfDelta, 9);
+    } else if (deltaOfDelta >= -2048 && deltaOfDelta < 2048) {
+      writer.write(0b1110, 4);
+      writer.write(deltaOfDelta, 12);
+    } else if (deltaOfDelta >= Integer.MIN_VALUE && deltaOfDelta <= Integer.MAX_VALUE) {
+      writer.write(0b11110, 5);
+      writer.write(deltaOfDelta, 32);
+    } else {
+      writer.write(0b11111, 5);
+      writer.write(deltaOfDelta, 64);
+    }
+  }
+
+  private static long readDeltaOfDelta(final BitReader reader) {
+    if (!reader.readBit()) {
+      return 0L;
+    }
+    if (!reader.readBit()) {
+      return reader.readSigned(7);
+    }
+    if (!reader.readBit()) {
+      return reader.readSigned(9);
+    }
+    if (!reader.readBit()) {
+      return reader.readSigned(12);
+    }
+    if (!reader.readBit()) {
+      return reader.readSigned(32);
+    }
+    return reader.read(64);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal numbers directly from ASCII bytes. Numbers with at most 18 significant digits and
+ * a decimal exponent between -22 and 22, which covers almost all numbers written to text files,
+ * are parsed exactly without creating any objects. All other numbers fall back to
+ * {@link Double#parseDouble(String)}.
+ *
+ * @author Jacob Rachiele
+ */
+final class NumberParser {
+
+  private static final int MAX_DIGITS = 18;
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+      1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private NumberParser() {
+  }
+
+  /**
+   * Parse the number in the given range of bytes. An empty range, NA, and NaN are parsed as
+   * {@link Double#NaN}.
+   *
+   * @param bytes the bytes to parse.
+   * @param from  the index of the first byte of the number.
+   * @param to    the index one past the last byte of the number.
+   *
+   * @return the parsed number.
+   *
+   * @throws IllegalArgumentException if the bytes do not represent a number.
+   */
+  static double parse(final byte[] bytes, final int from, final int to) {
+    if (from == to || isMissing(bytes, from, to)) {
+      return Double.NaN;
+    }
+    int i = from;
+    boolean negative = false;
+    if (bytes[i] == '-' || bytes[i] == '+') {
+      negative = bytes[i] == '-';
+      i++;
+    }
+    long mantissa = 0L;
+    int digits = 0;
+    int exponent = 0;
+    boolean anyDigits = false;
+    boolean truncated = false;
+    while (i < to && isDigit(bytes[i])) {
+      if (digits < MAX_DIGITS) {
+        mantissa = 10 * mantissa + (bytes[i] - '0');
+        if (mantissa != 0) {
+          digits++;
+        }
+      } else {
+        exponent++;
+        truncated = true;
+      }
+      anyDigits = true;
+      i++;
+    }
+    if (i < to && bytes[i] == '.') {
+      i++;
+      while (i < to && isDigit(bytes[i])) {
+        if (digits < MAX_DIGITS) {
+          mantissa = 10 * mantissa + (bytes[i] - '0');
+          if (mantissa != 0) {
+            digits++;
+          }
+          exponent--;
+        } else {
+          truncated = true;
+        }
+        anyDigits = true;
+        i++;
+      }
+    }
+    if (anyDigits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+        negativeExponent = bytes[i] == '-';
+        i++;
+      }
+      int explicitExponent = 0;
+      final int exponentStart = i;
+      while (i < to && isDigit(bytes[i])) {
+        explicitExponent = Math.min(10 * explicitExponent + (bytes[i] - '0'), 100_000);
+        i++;
+      }
+      if (i == exponentStart) {
+        return parseSlowly(bytes, from, to);
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (!anyDigits || i != to) {
+      return parseSlowly(bytes, from, to);
+    }
+    if (mantissa == 0L && !truncated) {
+      return negative ? -0.0 : 0.0;
+    }
+    if (truncated || mantissa >= MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+      return parseSlowly(bytes, from, to);
+    }
+    final double value = (exponent >= 0) ? mantissa * POWERS_OF_TEN[exponent]
+                                         : mantissa / POWERS_OF_TEN[-exponent];
+    return negative ? -value : value;
+  }
+
+  private static boolean isDigit(final byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private static boolean isMissing(final byte[] bytes, final int from, final int to) {
+    return (to - from == 2 && bytes[from] == 'N' && bytes[from + 1] == 'A')
+        || (to - from == 3 && bytes[from] == 'N' && bytes[from + 1] == 'a'
+        && bytes[from + 2] == 'N');
+  }
+
+  private static double parseSlowly(final byte[] bytes, final int from, final int to) {
+    final String text = new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    try {
+      return Double.parseDouble(text);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Could not parse \"" + text + "\" as a number.", e);
+    }
+  }
+}
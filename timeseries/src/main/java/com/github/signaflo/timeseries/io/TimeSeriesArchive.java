@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.TimePeriod;
+import com.github.signaflo.timeseries.TimeSeries;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * A time series stored in a compressed binary file. This class is immutable and thread-safe.
+ *
+ * <p>The observations are split into blocks that are compressed independently, with
+ * delta-of-delta encoded timestamps and XOR encoded values. Regularly spaced observations of a
+ * slowly varying quantity typically take between one and two bytes each. An index of the first
+ * and last time in each block is kept at the start of the file, so reading a range of times only
+ * maps and decodes the blocks that overlap the range.
+ *
+ * <p>The file holds a header, the block index, and then the blocks, all in big-endian byte order.
+ * The header consists of a magic number, a format version, the time period of the series as the
+ * name of a {@link ChronoUnit} and a length, the number of observations per block, the number of
+ * observations, the number of blocks, and the UTC offset shared by every observation time, if
+ * there is one.
+ *
+ * <pre>{@code
+ * TimeSeriesArchive.write(series, path);
+ * try (TimeSeriesArchive archive = TimeSeriesArchive.open(path)) {
+ *   TimeSeries lastYear = archive.read(start, end);
+ * }
+ * }</pre>
+ *
+ * @author Jacob Rachiele
+ */
+public final class TimeSeriesArchive implements Closeable {
+
+  private static final int MAGIC = 0x53474F52;
+  private static final int VERSION = 1;
+  private static final int DEFAULT_BLOCK_SIZE = 1024;
+  private static final int INDEX_ENTRY_BYTES = 40;
+  private static final long MAX_MAPPING_BYTES = 1L << 30;
+
+  private final FileChannel channel;
+  private final TimePeriod timePeriod;
+  private final int size;
+  private final boolean uniformOffset;
+  private final int offset;
+  private final long[] firstSeconds;
+  private final int[] firstNanos;
+  private final long[] lastSeconds;
+  private final int[] lastNanos;
+  private final long[] blockPositions;
+  private final int[] blockLengths;
+  private final int[] blockCounts;
+
+  private TimeSeriesArchive(final FileChannel channel) throws IOException {
+    this.channel = channel;
+    final ByteBuffer header = ByteBuffer.allocate((int) Math.min(channel.size(), 512));
+    channel.read(header, 0L);
+    header.flip();
+    if (header.remaining() < 8 || header.getInt() != MAGIC) {
+      throw new IOException("The file is not a time series archive.");
+    }
+    final int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported time series archive version: " + version);
+    }
+    final byte[] unitName = new byte[header.getShort()];
+    header.get(unitName);
+    final TemporalUnit unit = ChronoUnit.valueOf(new String(unitName, StandardCharsets.US_ASCII));
+    this.timePeriod = new TimePeriod(unit, header.getLong());
+    header.getInt();
+    this.size = header.getInt();
+    final int blockCount = header.getInt();
+    this.uniformOffset = header.get() != 0;
+    this.offset = header.getInt();
+    final MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, header.position(),
+                                               (long) INDEX_ENTRY_BYTES * blockCount);
+    this.firstSeconds = new long[blockCount];
+    this.firstNanos = new int[blockCount];
+    this.lastSeconds = new long[blockCount];
+    this.lastNanos = new int[blockCount];
+    this.blockPositions = new long[blockCount];
+    this.blockLengths = new int[blockCount];
+    this.blockCounts = new int[blockCount];
+    for (int b = 0; b < blockCount; b++) {
+      firstSeconds[b] = index.getLong();
+      firstNanos[b] = index.getInt();
+      lastSeconds[b] = index.getLong();
+      lastNanos[b] = index.getInt();
+      blockPositions[b] = index.getLong();
+      blockLengths[b] = index.getInt();
+      blockCounts[b] = index.getInt();
+    }
+  }
+
+  /**
+   * Open the archive at the given path for reading.
+   *
+   * @param path the path of the archive.
+   *
+   * @return the opened archive.
+   *
+   * @throws IOException if an I/O error occurs or the file is not a time series archive.
+   */
+  public static TimeSeriesArchive open(@NonNull final Path path) throws IOException {
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new TimeSeriesArchive(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Write the given series to the given path, replacing any existing file.
+   *
+   * @param series the series to write.
+   * @param path   the path of the archive.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the observation times are not strictly increasing or the
+   *                                  time period is not measured in a {@link ChronoUnit}.
+   */
+  public static void write(@NonNull final TimeSeries series, @NonNull final Path path)
+      throws IOException {
+    write(series, path, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Write the given series to the given path, replacing any existing file. Smaller blocks make
+   * reading short ranges cheaper at the cost of a larger file.
+   *
+   * @param series    the series to write.
+   * @param path      the path of the archive.
+   * @param blockSize the number of observations per block.
+   *
+   * @throws IOException              if an I/O error occurs.
+   * @throws IllegalArgumentException if the observation times are not strictly increasing, the
+   *                                  time period is not measured in a {@link ChronoUnit}, or the
+   *                                  block size is not positive.
+   */
+  public static void write(@NonNull final TimeSeries series, @NonNull final Path path,
+                           final int blockSize) throws IOException {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("The block size must be positive, but was " + blockSize);
+    }
+    final TimePeriod timePeriod = series.timePeriod();
+    if (!(timePeriod.timeUnit() instanceof ChronoUnit)) {
+      throw new IllegalArgumentException(
+          "Only time periods measured in a ChronoUnit can be archived, but the unit was "
+              + timePeriod.timeUnit());
+    }
+    final int n = series.size();
+    final long[] epochSeconds = new long[n];
+    final int[] nanos = new int[n];
+    final int[] offsets = new int[n];
+    final List<Time> observationTimes = series.observationTimes();
+    boolean uniformOffset = true;
+    for (int i = 0; i < n; i++) {
+      final Time time = observationTimes.get(i);
+      epochSeconds[i] = time.epochSecond();
+      nanos[i] = time.nano();
+      offsets[i] = time.offset().getTotalSeconds();
+      if (i > 0) {
+        if (compare(epochSeconds[i], nanos[i], epochSeconds[i - 1], nanos[i - 1]) <= 0) {
+          throw new IllegalArgumentException(
+              "The observation times must be strictly increasing, but " + time
+                  + " does not come after " + observationTimes.get(i - 1));
+        }
+        uniformOffset &= offsets[i] == offsets[0];
+      }
+    }
+    final double[] values = series.asArray();
+    final int blockCount = (n + blockSize - 1) / blockSize;
+    final byte[][] blocks = new byte[blockCount][];
+    for (int b = 0; b < blockCount; b++) {
+      final int from = b * blockSize;
+      blocks[b] = GorillaCodec.encode(epochSeconds, nanos, offsets, values, from,
+                                      Math.min(blockSize, n - from), uniformOffset);
+    }
+
+    final byte[] unitName = ((ChronoUnit) timePeriod.timeUnit()).name()
+                                                               .getBytes(StandardCharsets.US_ASCII);
+    final ByteBuffer header = ByteBuffer.allocate(35 + unitName.length
+                                                      + INDEX_ENTRY_BYTES * blockCount);
+    header.putInt(MAGIC).putInt(VERSION).putShort((short) unitName.length).put(unitName);
+    header.putLong(timePeriod.length()).putInt(blockSize).putInt(n).putInt(blockCount);
+    header.put((byte) (uniformOffset ? 1 : 0)).putInt((n > 0) ? offsets[0] : 0);
+    long position = header.capacity();
+    for (int b = 0; b < blockCount; b++) {
+      final int first = b * blockSize;
+      final int last = Math.min(first + blockSize, n) - 1;
+      header.putLong(epochSeconds[first]).putInt(nanos[first]);
+      header.putLong(epochSeconds[last]).putInt(nanos[last]);
+      header.putLong(position).putInt(blocks[b].length).putInt(last - first + 1);
+      position += blocks[b].length;
+    }
+    header.flip();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                StandardOpenOption.TRUNCATE_EXISTING,
+                                                StandardOpenOption.WRITE)) {
+      writeFully(channel, header);
+      for (byte[] block : blocks) {
+        writeFully(channel, ByteBuffer.wrap(block));
+      }
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static int compare(long seconds, int nanos, long otherSeconds, int otherNanos) {
+    final int cmp = Long.compare(seconds, otherSeconds);
+    return (cmp != 0) ? cmp : Integer.compare(nanos, otherNanos);
+  }
+
+  /**
+   * Read the whole series.
+   *
+   * @return the archived series.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public TimeSeries read() throws IOException {
+    return decode(0, blockCounts.length - 1, Long.MIN_VALUE, 0, Long.MAX_VALUE, 0);
+  }
+
+  /**
+   * Read the observations made from start to end, inclusive. Only the blocks that overlap the
+   * range are read from the file.
+   *
+   * @param start the time of the start of the range.
+   * @param end   the time of the end of the range.
+   *
+   * @return a series of the observations made from start to end.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public TimeSeries read(@NonNull final Time start, @NonNull final Time end) throws IOException {
+    final long startSecond = start.epochSecond();
+    final long endSecond = end.epochSecond();
+    // The first block that ends at or after the start.
+    int low = 0;
+    int high = blockCounts.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (compare(lastSeconds[mid], lastNanos[mid], startSecond, start.nano()) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    final int firstBlock = low;
+    // The last block that begins at or before the end.
+    low = firstBlock;
+    high = blockCounts.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (compare(firstSeconds[mid], firstNanos[mid], endSecond, end.nano()) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return decode(firstBlock, low - 1, startSecond, start.nano(), endSecond, end.nano());
+  }
+
+  private TimeSeries decode(final int firstBlock, final int lastBlock, final long startSecond,
+                            final int startNano, final long endSecond, final int endNano)
+      throws IOException {
+    int count = 0;
+    for (int b = firstBlock; b <= lastBlock; b++) {
+      count += blockCounts[b];
+    }
+    long[] epochSeconds = new long[count];
+    int[] nanos = new int[count];
+    int[] offsets = new int[count];
+    double[] values = new double[count];
+    int at = 0;
+    int b = firstBlock;
+    while (b <= lastBlock) {
+      // Map as many consecutive blocks as fit in one mapping.
+      final long regionStart = blockPositions[b];
+      int last = b;
+      while (last < lastBlock
+          && blockPositions[last + 1] + blockLengths[last + 1] - regionStart <= MAX_MAPPING_BYTES) {
+        last++;
+      }
+      final MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                                                  blockPositions[last] + blockLengths[last]
+                                                      - regionStart);
+      for (int k = b; k <= last; k++) {
+        final BitReader reader = new BitReader(region, (int) (blockPositions[k] - regionStart));
+        GorillaCodec.decode(reader, blockCounts[k], uniformOffset, offset, epochSeconds, nanos,
+                            offsets, values, at);
+        at += blockCounts[k];
+      }
+      b = last + 1;
+    }
+    int from = 0;
+    while (from < count && compare(epochSeconds[from], nanos[from], startSecond, startNano) < 0) {
+      from++;
+    }
+    int to = count;
+    while (to > from && compare(epochSeconds[to - 1], nanos[to - 1], endSecond, endNano) > 0) {
+      to--;
+    }
+    if (from > 0 || to < count) {
+      epochSeconds = Arrays.copyOfRange(epochSeconds, from, to);
+      nanos = Arrays.copyOfRange(nanos, from, to);
+      offsets = Arrays.copyOfRange(offsets, from, to);
+      values = Arrays.copyOfRange(values, from, to);
+    }
+    return TimeSeries.from(timePeriod, new TimesView(epochSeconds, nanos, offsets), values);
+  }
+
+  /**
+   * The number of observations in the archive.
+   *
+   * @return the number of observations in the archive.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * The period of time between observations of the archived series.
+   *
+   * @return the period of time between observations of the archived series.
+   */
+  public TimePeriod timePeriod() {
+    return this.timePeriod;
+  }
+
+  /**
+   * The number of independently compressed blocks in the archive.
+   *
+   * @return the number of independently compressed blocks in the archive.
+   */
+  public int blockCount() {
+    return this.blockCounts.length;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
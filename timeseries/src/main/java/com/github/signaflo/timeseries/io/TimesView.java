@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import com.github.signaflo.timeseries.Time;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of observation times stored in primitive arrays. Each time is only created
+ * when it is retrieved.
+ *
+ * @author Jacob Rachiele
+ */
+final class TimesView extends AbstractList<Time> implements RandomAccess {
+
+  private final long[] epochSeconds;
+  private final int[] nanos;
+  private final int[] offsets;
+
+  TimesView(long[] epochSeconds, int[] nanos, int[] offsets) {
+    this.epochSeconds = epochSeconds;
+    this.nanos = nanos;
+    this.offsets = offsets;
+  }
+
+  @Override
+  public Time get(int index) {
+    return Time.fromEpochSecond(epochSeconds[index], nanos[index],
+                                ZoneOffset.ofTotalSeconds(offsets[index]));
+  }
+
+  @Override
+  public int size() {
+    return epochSeconds.length;
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+package com.github.signaflo.timeseries.io;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Parses timestamps directly from ASCII bytes into an epoch second, a nano-of-second, and a UTC
+ * offset. ISO-8601 dates and date-times of the forms {@code yyyy}, {@code yyyy-MM},
+ * {@code yyyy-MM-dd}, and {@code yyyy-MM-dd'T'HH:mm[:ss[.S]][offset]}, where a space may replace
+ * the 'T', are parsed without creating any objects. Anything else, or every timestamp when a
+ * formatter is given, is parsed with the {@link java.time} parsers.
+ *
+ * <p>Instances hold the result of the last parse and are not thread-safe.
+ *
+ * @author Jacob Rachiele
+ */
+final class TimestampParser {
+
+  private static final long SECONDS_PER_DAY = 86_400L;
+
+  private final DateTimeFormatter formatter;
+  private final int defaultOffsetSeconds;
+
+  long epochSecond;
+  int nano;
+  int offsetSeconds;
+
+  /**
+   * Create a new parser.
+   *
+   * @param formatter     the formatter to parse timestamps with, or null to parse ISO-8601.
+   * @param defaultOffset the offset to use for timestamps without one.
+   */
+  TimestampParser(final DateTimeFormatter formatter, final ZoneOffset defaultOffset) {
+    this.formatter = formatter;
+    this.defaultOffsetSeconds = defaultOffset.getTotalSeconds();
+  }
+
+  /**
+   * Parse the timestamp in the given range of bytes and store the result in this parser.
+   *
+   * @param bytes the bytes to parse.
+   * @param from  the index of the first byte of the timestamp.
+   * @param to    the index one past the last byte of the timestamp.
+   *
+   * @throws IllegalArgumentException if the bytes do not represent a timestamp.
+   */
+  void parse(final byte[] bytes, final int from, final int to) {
+    if (formatter != null || !parseIso(bytes, from, to)) {
+      parseSlowly(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+    }
+  }
+
+  private boolean parseIso(final byte[] bytes, final int from, final int to) {
+    int i = from;
+    final int year = digits(bytes, i, 4, to);
+    if (year < 0) {
+      return false;
+    }
+    i += 4;
+    int month = 1;
+    int day = 1;
+    if (i < to) {
+      if (bytes[i] != '-' || (month = digits(bytes, i + 1, 2, to)) < 1 || month > 12) {
+        return false;
+      }
+      i += 3;
+    }
+    if (i < to) {
+      if (bytes[i] != '-' || (day = digits(bytes, i + 1, 2, to)) < 1
+          || day > lengthOfMonth(year, month)) {
+        return false;
+      }
+      i += 3;
+    }
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int nanos = 0;
+    int offset = defaultOffsetSeconds;
+    if (i < to) {
+      if ((bytes[i] != 'T' && bytes[i] != ' ') || (hour = digits(bytes, i + 1, 2, to)) < 0
+          || hour > 23 || i + 3 >= to || bytes[i + 3] != ':'
+          || (minute = digits(bytes, i + 4, 2, to)) < 0 || minute > 59) {
+        return false;
+      }
+      i += 6;
+      if (i < to && bytes[i] == ':') {
+        if ((second = digits(bytes, i + 1, 2, to)) < 0 || second > 59) {
+          return false;
+        }
+        i += 3;
+        if (i < to && (bytes[i] == '.' || bytes[i] == ',')) {
+          i++;
+          int scale = 100_000_000;
+          final int fractionStart = i;
+          while (i < to && bytes[i] >= '0' && bytes[i] <= '9') {
+            if (scale == 0) {
+              return false;
+            }
+            nanos += (bytes[i] - '0') * scale;
+            scale /= 10;
+            i++;
+          }
+          if (i == fractionStart) {
+            return false;
+          }
+        }
+      }
+      if (i < to) {
+        if (bytes[i] == 'Z' && i + 1 == to) {
+          offset = 0;
+          i++;
+        } else if (bytes[i] == '+' || bytes[i] == '-') {
+          final int sign = (bytes[i] == '-') ? -1 : 1;
+          final int offsetHours = digits(bytes, i + 1, 2, to);
+          i += 3;
+          int offsetMinutes = 0;
+          if (i < to && bytes[i] == ':') {
+            i++;
+          }
+          if (i < to) {
+            offsetMinutes = digits(bytes, i, 2, to);
+            i += 2;
+          }
+          if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+            return false;
+          }
+          offset = sign * (offsetHours * 3600 + offsetMinutes * 60);
+        }
+      }
+    }
+    if (i != to) {
+      return false;
+    }
+    this.epochSecond = daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600
+        + minute * 60 + second - offset;
+    this.nano = nanos;
+    this.offsetSeconds = offset;
+    return true;
+  }
+
+  // The non-negative value of the given number of digits starting at from, or -1.
+  private static int digits(final byte[] bytes, final int from, final int count, final int to) {
+    if (from + count > to) {
+      return -1;
+    }
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      if (bytes[i] < '0' || bytes[i] > '9') {
+        return -1;
+      }
+      value = 10 * value + (bytes[i] - '0');
+    }
+    return value;
+  }
+
+  private static int lengthOfMonth(final int year, final int month) {
+    switch (month) {
+      case 2:
+        final boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+        return leap ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  /**
+   * The number of days from 1970-01-01 to the given date in the proleptic Gregorian calendar.
+   *
+   * @param year  the year.
+   * @param month the month of the year, from 1 to 12.
+   * @param day   the day of the month.
+   *
+   * @return the number of days from the epoch to the given date.
+   */
+  static long daysFromCivil(final int year, final int month, final int day) {
+    final long y = (month <= 2) ? year - 1 : year;
+    final long era = Math.floorDiv(y, 400);
+    final long yearOfEra = y - era * 400;
+    final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146_097 + dayOfEra - 719_468;
+  }
+
+  private void parseSlowly(final String text) {
+    try {
+      if (formatter != null) {
+        set(resolve(formatter.parse(text)));
+      } else {
+        set(parseIsoSlowly(text));
+      }
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Could not parse \"" + text + "\" as a time.", e);
+    }
+  }
+
+  private OffsetDateTime parseIsoSlowly(final String text) {
+    try {
+      return OffsetDateTime.parse(text);
+    } catch (DateTimeParseException e) {
+      try {
+        return LocalDateTime.parse(text).atOffset(defaultOffset());
+      } catch (DateTimeParseException e2) {
+        return LocalDate.parse(text).atStartOfDay().atOffset(defaultOffset());
+      }
+    }
+  }
+
+  private OffsetDateTime resolve(final TemporalAccessor parsed) {
+    if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+      return OffsetDateTime.from(parsed);
+    }
+    if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+      return LocalDateTime.from(parsed).atOffset(defaultOffset());
+    }
+    if (parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+      return LocalDate.from(parsed).atStartOfDay().atOffset(defaultOffset());
+    }
+    return YearMonth.from(parsed).atDay(1).atStartOfDay().atOffset(defaultOffset());
+  }
+
+  private ZoneOffset defaultOffset() {
+    return ZoneOffset.ofTotalSeconds(defaultOffsetSeconds);
+  }
+
+  private void set(final OffsetDateTime dateTime) {
+    this.epochSecond = dateTime.toEpochSecond();
+    this.nano = dateTime.getNano();
+    this.offsetSeconds = dateTime.getOffset().getTotalSeconds();
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Reading and writing time series data.
+ *
+ */
+package com.github.signaflo.timeseries.io;
@@ -24,6 +24,7 @@
 
 package com.github.signaflo.timeseries.model.arima;
 
+import com.github.signaflo.math.optim.OptimizationSummary;
 import com.github.signaflo.timeseries.TimePeriod;
 import com.github.signaflo.timeseries.TimeSeries;
 import com.github.signaflo.timeseries.forecast.Forecast;
@@ -108,6 +109,81 @@ public interface Arima extends Model {
     return new ArimaModel(observations, order, seasonalCycle, fittingStrategy);
   }
 
+  /**
+   * Create a new ARIMA model from the given observations, model order, seasonal cycle, and fitting
+   * strategy, optimizing the parameters from several starting points and keeping the best fit. The
+   * first start uses the usual starting values and runs first. The others use random stationary and
+   * invertible values and then run concurrently on the common fork-join pool. A random start is
+   * stopped early once it has used half the evaluations the first start needed without doing better
+   * than it, so on a multi-core machine the fit takes up to about twice as long as a single start.
+   * The random values are seeded and every start is compared with the first start only, so the
+   * fitted model is the same on every run, whatever the number of cores.
+   *
+   * @param observations    the time series of observations.
+   * @param order           the order of the ARIMA model.
+   * @param seasonalCycle   the amount of time it takes for the seasonal pattern to complete one
+   *                        cycle.
+   * @param fittingStrategy the strategy to use to fit the model to the data.
+   * @param starts          the number of starting points to optimize from.
+   *
+   * @return a new ARIMA model from the given observations, model order, seasonal cycle, and fitting
+   *         strategy, fitted from the best of the given number of starts.
+   *
+   * @throws IllegalArgumentException if starts is less than 1.
+   */
+  static Arima model(@NonNull TimeSeries observations, @NonNull ArimaOrder order,
+                     @NonNull TimePeriod seasonalCycle,
+                     @NonNull FittingStrategy fittingStrategy, int starts) {
+    return new ArimaModel(observations, order, seasonalCycle, fittingStrategy,
+                          Reparameterization.NONE, starts);
+  }
+
+  /**
+   * Create a new ARIMA model from the given observations, model order, seasonal cycle, fitting
+   * strategy, and reparameterization of the coefficients during optimization.
+   *
+   * @param observations       the time series of observations.
+   * @param order              the order of the ARIMA model.
+   * @param seasonalCycle      the amount of time it takes for the seasonal pattern to complete one
+   *                           cycle.
+   * @param fittingStrategy    the strategy to use to fit the model to the data.
+   * @param reparameterization the space the optimizer searches over.
+   *
+   * @return a new ARIMA model from the given observations, model order, seasonal cycle, fitting
+   *         strategy, and reparameterization.
+   */
+  static Arima model(@NonNull TimeSeries observations, @NonNull ArimaOrder order,
+                     @NonNull TimePeriod seasonalCycle, @NonNull FittingStrategy fittingStrategy,
+                     @NonNull Reparameterization reparameterization) {
+    return new ArimaModel(observations, order, seasonalCycle, fittingStrategy, reparameterization, 1);
+  }
+
+  /**
+   * Create a new ARIMA model from the given observations, model order, seasonal cycle, fitting
+   * strategy, and reparameterization, optimizing from the given number of starting points
+   * concurrently as described in
+   * {@link #model(TimeSeries, ArimaOrder, TimePeriod, FittingStrategy, int)}.
+   *
+   * @param observations       the time series of observations.
+   * @param order              the order of the ARIMA model.
+   * @param seasonalCycle      the amount of time it takes for the seasonal pattern to complete one
+   *                           cycle.
+   * @param fittingStrategy    the strategy to use to fit the model to the data.
+   * @param reparameterization the space the optimizer searches over.
+   * @param starts             the number of starting points to optimize from.
+   *
+   * @return a new ARIMA model from the given observations, model order, seasonal cycle, fitting
+   *         strategy, and reparameterization, fitted from the best of the given number of starts.
+   *
+   * @throws IllegalArgumentException if starts is less than 1.
+   */
+  static Arima model(@NonNull TimeSeries observations, @NonNull ArimaOrder order,
+                     @NonNull TimePeriod seasonalCycle, @NonNull FittingStrategy fittingStrategy,
+                     @NonNull Reparameterization reparameterization, int starts) {
+    return new ArimaModel(observations, order, seasonalCycle, fittingStrategy, reparameterization,
+                          starts);
+  }
+
   /**
    * Create a new ARIMA model from the given observations, model coefficients, and fitting strategy.
    * This constructor sets the seasonal cycle to one year.
@@ -200,6 +276,18 @@ public interface Arima extends Model {
    */
   double[] stdErrors();
 
+  /**
+   * Get a summary of the optimization that estimated the model coefficients, including the
+   * iterations, function evaluations and time it took. For the conditional sum-of-squares, then
+   * maximum likelihood strategy, the work of both optimizations is added together. For a fit from
+   * many starts, the summary is that of the start that gave the best fit. A model created from
+   * given coefficients was never optimized, so its summary is
+   * {@link OptimizationSummary#NOT_RUN}.
+   *
+   * @return a summary of the optimization that estimated the model coefficients.
+   */
+  OptimizationSummary optimizationSummary();
+
   /**
    * Get the coefficients of this ARIMA model.
    *
@@ -287,6 +375,25 @@ public interface Arima extends Model {
     }
   }
 
+  /**
+   * The space the optimizer searches over when fitting an ARIMA model.
+   */
+  enum Reparameterization {
+
+    /**
+     * Search over the autoregressive and moving average coefficients directly. The optimizer may
+     * evaluate models that are not stationary or not invertible.
+     */
+    NONE,
+
+    /**
+     * Search over unconstrained values that are mapped through tanh to partial autocorrelations, and
+     * from there to coefficients (Jones 1980, Monahan 1984). Every evaluated model is stationary and
+     * invertible, and the standard errors are mapped back to the coefficients with the delta method.
+     */
+    PARTIAL_AUTOCORRELATION
+  }
+
   /**
    * The strategy to be used for fitting an ARIMA model.
    *
@@ -28,6 +28,8 @@ import static com.github.signaflo.math.operations.DoubleFunctions.append;
 import static com.github.signaflo.math.operations.DoubleFunctions.combine;
 import static com.github.signaflo.math.stats.Statistics.sumOf;
 
+import com.github.signaflo.math.stats.DurbinLevinson;
+
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Arrays;
@@ -137,6 +139,39 @@ public class ArimaCoefficients {
     return maSmaCoeffs;
   }
 
+  // The autoregressive polynomial 1 - ar[0]B - ... - ar[p-1]B^p has all of its roots outside the
+  // unit circle if and only if every reflection coefficient (partial autocorrelation) obtained by
+  // running the Durbin-Levinson recursion backwards has modulus strictly less than one. This is the
+  // Schur-Cohn test, and requires O(p^2) operations instead of an eigen-decomposition of the
+  // p by p companion matrix.
+  static boolean isStationary(final double[] ar) {
+    int p = ar.length;
+    while (p > 0 && ar[p - 1] == 0.0) {
+      p--;
+    }
+    if (p == 0) {
+      return true;
+    }
+    final double[] partialAutoCorrelations =
+        DurbinLevinson.partialAutoCorrelationsOf(Arrays.copyOf(ar, p));
+    for (int k = p; k > 0; k--) {
+      if (!(Math.abs(partialAutoCorrelations[k - 1]) < 1.0)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // The moving average polynomial 1 + ma[0]B + ... + ma[q-1]B^q is the autoregressive polynomial
+  // with coefficients -ma, so invertibility is checked with the same recursion.
+  static boolean isInvertible(final double[] ma) {
+    final double[] negated = new double[ma.length];
+    for (int i = 0; i < ma.length; i++) {
+      negated[i] = -ma[i];
+    }
+    return isStationary(negated);
+  }
+
   private static double meanToIntercept(double[] autoRegressiveCoefficients, double mean) {
     return mean * (1 - sumOf(autoRegressiveCoefficients));
   }
@@ -140,9 +140,9 @@ class ArimaForecaster implements Forecaster {
     Vector regressionEffects = regressionMatrix.times(regressionParameters);
 
     TimeSeries armaSeries = this.observations.minus(regressionEffects.elements());
-    TimeSeries differencedSeries = armaSeries.difference(1, this.order.d()).difference(
-        seasonalFrequency, this.order.D());
-    System.arraycopy(differencedSeries.asArray(), 0, diffedFcst, 0, n);
+    double[] differencedSeries = armaSeries.lazy().difference(1, this.order.d()).difference(
+        seasonalFrequency, this.order.D()).asArray();
+    System.arraycopy(differencedSeries, 0, diffedFcst, 0, n);
     System.arraycopy(armaSeries.asArray(), 0, fcst, 0, m);
 
     LagPolynomial diffPolynomial = LagPolynomial.differences(d);
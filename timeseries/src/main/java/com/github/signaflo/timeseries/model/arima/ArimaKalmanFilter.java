@@ -24,12 +24,13 @@
 
 package com.github.signaflo.timeseries.model.arima;
 
-import org.ejml.data.DenseMatrix64F;
-import org.ejml.data.RowD1Matrix64F;
+import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.MutableMatrix;
+import com.github.signaflo.math.linear.doubles.MutableVector;
+import com.github.signaflo.math.linear.doubles.SymmetricMatrix;
 
 import static java.lang.Math.PI;
 import static java.lang.Math.log;
-import static org.ejml.ops.CommonOps.*;
 
 class ArimaKalmanFilter {
 
@@ -37,20 +38,18 @@ class ArimaKalmanFilter {
     private final int r; // r = max(p, q + 1);
     private final int d;
     private final int rd;
-    private final DenseMatrix64F transitionMatrix;
-    private final RowD1Matrix64F stateDisturbance;
-    private final RowD1Matrix64F predictedState;
-    private final RowD1Matrix64F filteredState;
-    private final DenseMatrix64F predictedStateCovariance;
-    private final RowD1Matrix64F filteredStateCovariance;
+    private final MutableMatrix transitionMatrix;
+    private final SymmetricMatrix stateDisturbance;
+    private final MutableVector predictedState;
+    private final MutableVector filteredState;
+    private final SymmetricMatrix predictedStateCovariance;
+    private final SymmetricMatrix filteredStateCovariance;
     private final double[] predictionErrorVariance;
     private final double[] predictionError;
 
-    private final DenseMatrix64F Z;
-    private final DenseMatrix64F Zt;
-    private final DenseMatrix64F ZP;
-    private DenseMatrix64F PZtf;
-    private final DenseMatrix64F PZtfZ;
+    private final MutableVector Z;
+    // The product of the predicted covariance and the transpose of Z.
+    private final MutableVector PZt;
     private final KalmanOutput kalmanOutput;
 
     ArimaKalmanFilter(final ArimaStateSpace ss) {
@@ -59,21 +58,17 @@ class ArimaKalmanFilter {
         this.d = ss.d();
         this.rd = r + d;
 
-        this.transitionMatrix = new DenseMatrix64F(ss.transitionMatrix());
-        final RowD1Matrix64F R = new DenseMatrix64F(rd, 1, true, ss.movingAverageVector());
-        this.stateDisturbance = new DenseMatrix64F(rd, rd);
-        multOuter(R, stateDisturbance);
-        this.predictedState = new DenseMatrix64F(rd, 1, true, new double[rd]);
-        this.filteredState = new DenseMatrix64F(rd, 1, true, new double[rd]);
+        this.transitionMatrix = MutableMatrix.copyOf(Matrix.create(ss.transitionMatrix()));
+        final MutableVector R = MutableVector.from(ss.movingAverageVector());
+        this.stateDisturbance = SymmetricMatrix.zeros(rd).rankOneUpdate(1.0, R);
+        this.predictedState = MutableVector.zeros(rd);
+        this.filteredState = MutableVector.zeros(rd);
         this.predictedStateCovariance = initializePredictedCovariance(ss);
-        this.filteredStateCovariance = new DenseMatrix64F(rd, rd);
+        this.filteredStateCovariance = SymmetricMatrix.zeros(rd);
         this.predictionErrorVariance = new double[y.length];
         this.predictionError = new double[y.length];
-        this.Z = new DenseMatrix64F(1, rd, true, ss.stateEffectsVector());
-        this.Zt = new DenseMatrix64F(rd, 1, true, new double[rd]);
-        this.ZP = new DenseMatrix64F(1, rd, true, new double[rd]);
-        this.PZtf = new DenseMatrix64F(rd, 1, true, new double[rd]);
-        this.PZtfZ = new DenseMatrix64F(rd, rd, true, new double[rd * rd]);
+        this.Z = MutableVector.from(ss.stateEffectsVector());
+        this.PZt = MutableVector.zeros(rd);
         this.kalmanOutput = filter();
     }
 
@@ -82,12 +77,10 @@ class ArimaKalmanFilter {
         int n = 0;
         double f;
         predictionError[0] = y[0];
-        // f[t] is always the first element of the first column of the predicted covariance matrix,
-        // because f[t] = Z * M, where Z is a row vector with a 1 in the first (index 0) position and zeros elsewhere,
-        // and M is the first column of the predicted covariance matrix.
-        mult(Z, predictedStateCovariance, ZP);
-        transpose(Z, Zt);
-        predictionErrorVariance[0] = dot(ZP, Zt);
+        // Since the predicted covariance P is symmetric, Z * P is the transpose of P * Z', so the prediction error
+        // variance Z * P * Z' and the adjustment to the covariance P * Z' * Z * P / f both follow from P * Z'.
+        predictedStateCovariance.timesInto(Z, PZt);
+        predictionErrorVariance[0] = PZt.dotProduct(Z);
         f = predictionErrorVariance[0];
 
         double ssq = 0.0;
@@ -99,41 +92,25 @@ class ArimaKalmanFilter {
 
         }
         // Initialize filteredState.
-        DenseMatrix64F newInfo = new DenseMatrix64F(rd, 1, true, new double[rd]);
-        transpose(ZP, newInfo);
-        divide(newInfo, f);
-        PZtf = newInfo.copy();
-        scale(predictionError[0], newInfo);
-        add(predictedState, newInfo, filteredState);
+        filteredState.setTo(predictedState).axpy(predictionError[0] / f, PZt);
 
         // Initialize filteredCovariance.
-        final RowD1Matrix64F adjustedPredictionCovariance = new DenseMatrix64F(rd, rd);
-        mult(PZtf, Z, PZtfZ);
-        mult(PZtfZ, predictedStateCovariance, adjustedPredictionCovariance);
-        //multOuter(predictedCovarianceFirstColumn, adjustedPredictionCovariance);
-        //divide(adjustedPredictionCovariance, predictionErrorVariance[0]);
-        subtract(predictedStateCovariance, adjustedPredictionCovariance, filteredStateCovariance);
-
-        final RowD1Matrix64F filteredCovarianceTransition = new DenseMatrix64F(rd, rd);
-        final RowD1Matrix64F stateCovarianceTransition = new DenseMatrix64F(rd, rd);
-        final DenseMatrix64F transitionTranspose = transitionMatrix.copy();
-        transpose(transitionTranspose);
+        filteredStateCovariance.setTo(predictedStateCovariance).rankOneUpdate(-1.0 / f, PZt);
 
         predictionError[0] /= Math.sqrt(f);
 
         for (int t = 1; t < y.length; t++) {
 
             // Update predicted mean of the state vector.
-            mult(transitionMatrix, filteredState, predictedState);
+            transitionMatrix.timesInto(filteredState, predictedState);
 
             // Update predicted covariance of the state vector.
-            mult(transitionMatrix, filteredStateCovariance, filteredCovarianceTransition);
-            mult(filteredCovarianceTransition, transitionTranspose, stateCovarianceTransition);
-            add(stateCovarianceTransition, stateDisturbance, predictedStateCovariance);
+            filteredStateCovariance.congruenceInto(transitionMatrix, predictedStateCovariance);
+            predictedStateCovariance.add(stateDisturbance);
 
-            predictionError[t] = y[t] - dot(Z, predictedState);
-            mult(Z, predictedStateCovariance, ZP);
-            predictionErrorVariance[t] = dot(ZP, Zt);
+            predictionError[t] = y[t] - Z.dotProduct(predictedState);
+            predictedStateCovariance.timesInto(Z, PZt);
+            predictionErrorVariance[t] = PZt.dotProduct(Z);
             f = predictionErrorVariance[t];
             if (f < 1E4) {
                 n++;
@@ -142,36 +119,28 @@ class ArimaKalmanFilter {
             }
 
             // Update filteredState.
-            transpose(ZP, newInfo);
-            //mult(predictedStateCovariance, Zt, newInfo);
-            divide(newInfo, f);
-            PZtf = newInfo.copy();
-            scale(predictionError[t], newInfo);
-            add(predictedState, newInfo, filteredState);
+            filteredState.setTo(predictedState).axpy(predictionError[t] / f, PZt);
 
             // Update filteredCovariance.
-            mult(PZtf, Z, PZtfZ);
-            mult(PZtfZ, predictedStateCovariance, adjustedPredictionCovariance);
-            //multOuter(predictedCovarianceFirstColumn, adjustedPredictionCovariance);
-            //divide(adjustedPredictionCovariance, predictionErrorVariance[0]);
-            subtract(predictedStateCovariance, adjustedPredictionCovariance, filteredStateCovariance);
+            filteredStateCovariance.setTo(predictedStateCovariance).rankOneUpdate(-1.0 / f, PZt);
 
             predictionError[t] /= Math.sqrt(f);
         }
         return new KalmanOutput(n, ssq, sumlog, predictionError);
     }
 
-    private DenseMatrix64F initializePredictedCovariance(final ArimaStateSpace ss) {
-        DenseMatrix64F P0 = new DenseMatrix64F(rd, rd);
+    private SymmetricMatrix initializePredictedCovariance(final ArimaStateSpace ss) {
+        SymmetricMatrix P0 = SymmetricMatrix.zeros(rd);
         double[] P = getInitialStateCovariance(ss.arParams(), ss.maParams());
-        DenseMatrix64F arMatrix = new DenseMatrix64F(r, r, true, unpack(P));
-        double[] kappa = new double[d * d];
+        double[] arMatrix = unpack(P);
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j <= i; j++) {
+                P0.set(i, j, arMatrix[i * r + j]);
+            }
+        }
         for (int i = 0; i < d; i++) {
-            kappa[i * d + i] = initialNonStationaryVariance();
+            P0.set(r + i, r + i, initialNonStationaryVariance());
         }
-        DenseMatrix64F kappaMatrix = new DenseMatrix64F(d, d, true, kappa);
-        insert(arMatrix, P0, 0, 0);
-        insert(kappaMatrix, P0, r, r);
         return P0;
     }
 
@@ -27,6 +27,9 @@ import com.github.signaflo.data.Range;
 import com.github.signaflo.data.regression.LinearRegression;
 import com.github.signaflo.math.linear.doubles.Matrix;
 import com.github.signaflo.math.linear.doubles.MatrixBuilder;
+import com.github.signaflo.math.linear.doubles.MutableMatrix;
+import com.github.signaflo.math.linear.doubles.MutableVector;
+import com.github.signaflo.math.linear.doubles.SymmetricEigenDecomposition;
 import com.github.signaflo.timeseries.forecast.Forecast;
 import com.github.signaflo.timeseries.forecast.Forecaster;
 import com.github.signaflo.timeseries.model.arima.ArimaKalmanFilter.KalmanOutput;
@@ -34,20 +37,33 @@ import com.github.signaflo.timeseries.model.arima.ArimaKalmanFilter.KalmanOutput
 import com.github.signaflo.math.operations.DoubleFunctions;
 import com.github.signaflo.math.linear.doubles.Vector;
 import com.github.signaflo.math.function.AbstractMultivariateFunction;
+import com.github.signaflo.math.function.NumericalDerivatives;
 import com.github.signaflo.math.optim.BFGS;
+import com.github.signaflo.math.optim.LBFGS;
+import com.github.signaflo.math.optim.LineSearch;
+import com.github.signaflo.math.optim.OptimizationListener;
+import com.github.signaflo.math.optim.OptimizationSummary;
+import com.github.signaflo.math.stats.DurbinLevinson;
 import com.github.signaflo.timeseries.TimePeriod;
 import com.github.signaflo.timeseries.TimeSeries;
 import com.github.signaflo.timeseries.model.regression.TimeSeriesLinearRegression;
 import com.github.signaflo.timeseries.model.regression.TimeSeriesLinearRegressionBuilder;
 import com.github.signaflo.timeseries.operators.LagPolynomial;
-import org.ejml.data.Complex64F;
-import org.ejml.data.DenseMatrix64F;
-import org.ejml.factory.DecompositionFactory;
-import org.ejml.interfaces.decomposition.EigenDecomposition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static com.github.signaflo.math.operations.DoubleFunctions.combine;
 import static com.github.signaflo.math.operations.DoubleFunctions.fill;
@@ -64,8 +80,21 @@ import static com.github.signaflo.math.stats.Statistics.sumOfSquared;
  */
 final class ArimaModel implements Arima {
 
+    private static final Logger logger = LoggerFactory.getLogger(ArimaModel.class);
     private static final double EPSILON = Math.ulp(1.0);
     private static final double DEFAULT_TOLERANCE = Math.sqrt(EPSILON);
+    // The numerical gradient dominates the cost of each iteration, so the limited-memory algorithm is only chosen once
+    // the dense inverse Hessian update of BFGS becomes significant.
+    private static final int LIMITED_MEMORY_MIN_PARAMETERS = 100;
+    // The perturbation of the central difference Hessian used for standard errors after a limited-memory fit.
+    private static final double HESSIAN_STEP = 1E-3;
+    // The smallest ratio of the smallest to the largest eigenvalue of that Hessian for which it is inverted.
+    private static final double HESSIAN_MIN_RECIPROCAL_CONDITION = 1E-8;
+    // A conditional sum-of-squares evaluation is cheap compared to a Kalman filter pass, so its gradient is only computed
+    // concurrently for long series, where each evaluation outweighs the cost of scheduling the perturbations.
+    private static final int PARALLEL_CSS_GRADIENT_MIN_OBSERVATIONS = 1000;
+    // The partial autocorrelations of random starting points are drawn uniformly from (-bound, bound).
+    private static final double RANDOM_START_PACF_BOUND = 0.8;
 
     private final TimeSeries observations;
     private final TimeSeries differencedSeries;
@@ -75,33 +104,48 @@ final class ArimaModel implements Arima {
     private final ModelInformation modelInfo;
     private final ArimaCoefficients coefficients;
     private final FittingStrategy fittingStrategy;
+    private final Reparameterization reparameterization;
 
     private final int seasonalFrequency;
     private final double[] arSarCoeffs;
     private final double[] maSmaCoeffs;
     private final double[] stdErrors;
+    private final OptimizationSummary optimizationSummary;
 
     ArimaModel(TimeSeries observations, ArimaOrder order, TimePeriod seasonalCycle,
                FittingStrategy fittingStrategy) {
-        this(observations, order, seasonalCycle, fittingStrategy, null);
+        this(observations, order, seasonalCycle, fittingStrategy, null, Reparameterization.NONE, 1);
+    }
+
+    ArimaModel(TimeSeries observations, ArimaOrder order, TimePeriod seasonalCycle,
+               FittingStrategy fittingStrategy, Reparameterization reparameterization, int starts) {
+        this(observations, order, seasonalCycle, fittingStrategy, null, reparameterization, starts);
     }
 
     private ArimaModel(final TimeSeries observations, final ArimaOrder order, final TimePeriod seasonalCycle,
-                       final FittingStrategy fittingStrategy, LinearRegression regression) {
+                       final FittingStrategy fittingStrategy, LinearRegression regression,
+                       final Reparameterization reparameterization, final int starts) {
+        if (starts < 1) {
+            throw new IllegalArgumentException("The number of starts must be positive, but was " + starts);
+        }
         this.observations = observations;
         this.order = order;
         this.fittingStrategy = fittingStrategy;
+        this.reparameterization = reparameterization;
         this.seasonalFrequency = (int) (observations.timePeriod().frequencyPer(seasonalCycle));
         validateFreq(order, seasonalFrequency);
-        this.differencedSeries = observations.difference(1, order.d()).difference(seasonalFrequency, order.D());
+        this.differencedSeries = observations.lazy().difference(1, order.d()).difference(seasonalFrequency, order.D())
+                                               .toTimeSeries();
 
         final Vector initParams;
         final Matrix initHessian;
-        ArimaParameters parameters = ArimaParameters.initializePars(order.p(), order.q(), order.P(), order.Q());
+        OptimizationSummary firstSummary = OptimizationSummary.NOT_RUN;
         Matrix regressionMatrix = getRegressionMatrix(observations.size(), order);
         if (regression == null) {
             regression = getLinearRegression(differencedSeries, regressionMatrix);
         }
+        ArimaParameters parameters = ArimaParameters.initialEstimates(regression.residuals(), order,
+                                                                      seasonalFrequency);
         if (order.constant().include()) {
             parameters.setMean(regression.beta()[0]);
             parameters.setMeanParScale(10 * regression.standardErrors()[0]);
@@ -112,7 +156,8 @@ final class ArimaModel implements Arima {
         }
         if (fittingStrategy == FittingStrategy.CSSML) {
             final FittingStrategy subStrategy = FittingStrategy.CSS;
-            final ArimaModel firstModel = new ArimaModel(observations, order, seasonalCycle, subStrategy, regression);
+            final ArimaModel firstModel = new ArimaModel(observations, order, seasonalCycle, subStrategy, regression,
+                                                         reparameterization, 1);
             double meanParScale = parameters.getMeanParScale();
             double driftParScale = parameters.getDriftParScale();
             parameters = ArimaParameters.fromCoefficients(firstModel.coefficients());
@@ -122,17 +167,28 @@ final class ArimaModel implements Arima {
             //parameters.setDrift(firstModel.coefficients().drift());
             initParams = Vector.from(parameters.getAllScaled(order));
             initHessian = getInitialHessian(firstModel);
+            firstSummary = firstModel.optimizationSummary;
         } else {
             initParams = Vector.from(parameters.getAllScaled(order));
             initHessian = getInitialHessian(initParams.size());
         }
 
-        final AbstractMultivariateFunction function = new OptimFunction(observations, order, parameters,
-                                                                        fittingStrategy, regressionMatrix,
-                                                                        seasonalFrequency);
-        final BFGS optimizer = new BFGS(function, initParams, DEFAULT_TOLERANCE, DEFAULT_TOLERANCE, initHessian);
-        final Vector optimizedParams = optimizer.parameters();
-        final Matrix inverseHessian = optimizer.inverseHessian();
+        final Optimum optimum;
+        if (starts > 1 && order.sumARMA() > 0) {
+            optimum = optimizeFromManyStarts(parameters, initParams, initHessian, regressionMatrix, starts);
+        } else {
+            final AbstractMultivariateFunction function = new OptimFunction(observations, order, parameters,
+                                                                            fittingStrategy, regressionMatrix,
+                                                                            seasonalFrequency, reparameterization);
+            function.setParallelGradient(useParallelGradient());
+            optimum = optimize(function, initParams, initHessian);
+        }
+        this.optimizationSummary = (fittingStrategy == FittingStrategy.CSSML)
+                                   ? firstSummary.followedBy(optimum.summary) : optimum.summary;
+        final Vector optimizedParams = optimum.parameters;
+        final Matrix inverseHessian = (optimizedParams.size() >= LIMITED_MEMORY_MIN_PARAMETERS)
+                                      ? numericalInverseHessian(parameters, regressionMatrix, optimum)
+                                      : optimum.inverseHessian;
 
         this.stdErrors = DoubleFunctions.sqrt(scale(inverseHessian.diagonal(), 1.0 / differencedSeries.size()));
         if (order.constant().include()) {
@@ -161,7 +217,8 @@ final class ArimaModel implements Arima {
         Vector regressionParameters = Vector.from(parameters.getRegressors(order));
         Vector regressionEffects = regressionMatrix.times(regressionParameters);
         TimeSeries armaSeries = this.observations.minus(regressionEffects.elements());
-        TimeSeries differencedSeries = armaSeries.difference(1, order.d()).difference(seasonalFrequency, order.D());
+        final double[] differencedSeries = armaSeries.lazy().difference(1, order.d())
+                                                     .difference(seasonalFrequency, order.D()).asArray();
         if (fittingStrategy == FittingStrategy.CSS) {
             this.modelInfo = fitCSS(differencedSeries, arSarCoeffs, maSmaCoeffs, order.npar());
             final double[] residuals = combine(
@@ -177,6 +234,206 @@ final class ArimaModel implements Arima {
         }
     }
 
+    /*
+     * Whether to compute the numerical gradient concurrently. Each start of a fit from many starts already runs
+     * concurrently, so this is only used for a fit from a single start.
+     */
+    private boolean useParallelGradient() {
+        if (ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return false;
+        }
+        return fittingStrategy != FittingStrategy.CSS
+               || differencedSeries.size() >= PARALLEL_CSS_GRADIENT_MIN_OBSERVATIONS;
+    }
+
+    /*
+     * Minimize the function from the given starting point. If the parameters are reparameterized, the function is
+     * minimized over the unconstrained values, starting from a scaled identity Hessian since the given one is in terms
+     * of the parameters, and the optimum is mapped back to the parameters.
+     */
+    private Optimum optimize(final AbstractMultivariateFunction function, final Vector initParams,
+                             final Matrix initHessian) {
+        if (reparameterization == Reparameterization.NONE) {
+            return minimize(function, initParams, initHessian);
+        }
+        final Vector startingPoint = Vector.from(ArimaParameters.unconstrain(initParams.elements(), order));
+        final Optimum optimum = minimize(function, startingPoint, getInitialHessian(startingPoint.size()));
+        final double[] unconstrained = optimum.parameters.elements();
+        final Matrix jacobian = constraintJacobian(unconstrained);
+        final Matrix inverseHessian = jacobian.times(optimum.inverseHessian).times(jacobian.transpose());
+        return new Optimum(Vector.from(ArimaParameters.constrain(unconstrained, order)), inverseHessian,
+                           optimum.functionValue, optimum.summary);
+    }
+
+    // The Jacobian of the map from unconstrained values to parameters, by central differences.
+    private Matrix constraintJacobian(final double[] unconstrained) {
+        final int n = unconstrained.length;
+        final double h = 1E-6;
+        final double[] jacobian = new double[n * n];
+        final double[] point = unconstrained.clone();
+        for (int j = 0; j < n; j++) {
+            point[j] = unconstrained[j] + h;
+            final double[] upper = ArimaParameters.constrain(point, order);
+            point[j] = unconstrained[j] - h;
+            final double[] lower = ArimaParameters.constrain(point, order);
+            point[j] = unconstrained[j];
+            for (int i = 0; i < n; i++) {
+                jacobian[i * n + j] = (upper[i] - lower[i]) / (2 * h);
+            }
+        }
+        return Matrix.create(n, n, jacobian);
+    }
+
+    private static Optimum minimize(final AbstractMultivariateFunction function, final Vector initParams,
+                                    final Matrix initHessian) {
+        if (initParams.size() >= LIMITED_MEMORY_MIN_PARAMETERS) {
+            final LBFGS optimizer = new LBFGS(function, initParams, DEFAULT_TOLERANCE, DEFAULT_TOLERANCE,
+                                              LBFGS.DEFAULT_HISTORY_SIZE, LineSearch.BACKTRACKING,
+                                              OptimizationListener.NONE, Vector.from(initHessian.diagonal()));
+            return new Optimum(optimizer.parameters(), optimizer.inverseHessian(), optimizer.functionValue(),
+                               optimizer.summary());
+        }
+        final BFGS optimizer = new BFGS(function, initParams, DEFAULT_TOLERANCE, DEFAULT_TOLERANCE, initHessian);
+        return new Optimum(optimizer.parameters(), optimizer.inverseHessian(), optimizer.functionValue(),
+                           optimizer.summary());
+    }
+
+    /*
+     * The inverse of the Hessian of the objective at the optimum, by central differences over the parameters. The
+     * L-BFGS approximation is built from the last few steps only, which is too crude for standard errors, so it is only
+     * used if the numerical Hessian is not positive definite or too ill-conditioned to invert. The inverse is formed
+     * from the eigen decomposition, which also gives the condition number. A Cholesky factorization would succeed on a
+     * nearly singular Hessian, such as one with a flat direction from overparameterization, and give meaningless
+     * standard errors.
+     */
+    private Matrix numericalInverseHessian(final ArimaParameters parameters, final Matrix regressionMatrix,
+                                           final Optimum optimum) {
+        final OptimFunction function = new OptimFunction(observations, order, parameters, fittingStrategy,
+                                                         regressionMatrix, seasonalFrequency,
+                                                         Reparameterization.NONE);
+        final Matrix hessian = (ForkJoinPool.getCommonPoolParallelism() > 1)
+                               ? NumericalDerivatives.parallelCentralDifferenceHessian(function, optimum.parameters,
+                                                                                       HESSIAN_STEP)
+                               : NumericalDerivatives.centralDifferenceHessian(function, optimum.parameters,
+                                                                               HESSIAN_STEP);
+        final int n = hessian.nrow();
+        final SymmetricEigenDecomposition eigen = new SymmetricEigenDecomposition(n);
+        try {
+            eigen.decompose(hessian.data());
+        } catch (IllegalStateException e) {
+            logger.warn("The eigen decomposition of the numerical Hessian at the optimum failed, so the standard " +
+                        "errors are based on the L-BFGS approximation to the inverse Hessian.");
+            return optimum.inverseHessian;
+        }
+        final double[] eigenvalues = new double[n];
+        eigen.eigenvaluesInto(eigenvalues);
+        if (!(eigenvalues[0] > HESSIAN_MIN_RECIPROCAL_CONDITION * eigenvalues[n - 1])) {
+            logger.warn("The numerical Hessian at the optimum is not positive definite or is nearly singular, so the " +
+                        "standard errors are based on the L-BFGS approximation to the inverse Hessian.");
+            return optimum.inverseHessian;
+        }
+        final double[] eigenvectors = new double[n * n];
+        eigen.eigenvectorsInto(eigenvectors);
+        // The inverse is V * D^-1 * V', with the eigenvectors as the columns of V.
+        final double[] inverse = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < n; k++) {
+                    sum += eigenvectors[i * n + k] * eigenvectors[j * n + k] / eigenvalues[k];
+                }
+                inverse[i * n + j] = sum;
+                inverse[j * n + i] = sum;
+            }
+        }
+        return Matrix.create(n, n, inverse);
+    }
+
+    /*
+     * Optimize from the given starting point, and then from starts - 1 random stationary and invertible starting points
+     * concurrently on the common fork-join pool, and return the optimum with the smallest objective value. A random
+     * start is abandoned once it has used more than half the objective evaluations the first start took without
+     * reaching a smaller objective value than the first start. Every start is compared with the first start only, and
+     * ties go to the earlier start, so the result does not depend on how the starts are scheduled.
+     */
+    private Optimum optimizeFromManyStarts(final ArimaParameters parameters, final Vector initParams,
+                                           final Matrix initHessian, final Matrix regressionMatrix,
+                                           final int starts) {
+        final OptimFunction firstObjective = new OptimFunction(observations, order, parameters, fittingStrategy,
+                                                               regressionMatrix, seasonalFrequency,
+                                                               reparameterization);
+        firstObjective.setParallelGradient(useParallelGradient());
+        final Optimum first = optimize(firstObjective, initParams, initHessian);
+        final double incumbentValue = first.functionValue;
+        final int incumbentEvaluations = firstObjective.functionEvaluations();
+        final List<Callable<Optimum>> tasks = new ArrayList<>(starts - 1);
+        for (int start = 1; start < starts; start++) {
+            final Vector startingPoint = randomStartingPoint(initParams, new Random(start));
+            final Matrix startingHessian = getInitialHessian(initParams.size());
+            final OptimFunction objective = new OptimFunction(observations, order, parameters, fittingStrategy,
+                                                              regressionMatrix, seasonalFrequency, reparameterization);
+            final AbstractMultivariateFunction function = new AbandonableFunction(objective, incumbentValue,
+                                                                                  incumbentEvaluations);
+            tasks.add(() -> {
+                try {
+                    return optimize(function, startingPoint, startingHessian);
+                } catch (AbandonedStartException e) {
+                    return null;
+                }
+            });
+        }
+        Optimum best = first;
+        for (Future<Optimum> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            final Optimum optimum = getResult(future);
+            if (optimum != null && optimum.functionValue < best.functionValue) {
+                best = optimum;
+            }
+        }
+        return best;
+    }
+
+    private static Optimum getResult(final Future<Optimum> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fitting the ARIMA model.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /*
+     * Replace the autoregressive and moving average parameters of the given starting point with random stationary
+     * and invertible values, drawn through uniformly distributed partial autocorrelations.
+     */
+    private Vector randomStartingPoint(final Vector initParams, final Random random) {
+        final double[] startingPoint = initParams.elements();
+        int offset = 0;
+        offset = fillRandom(startingPoint, offset, order.p(), 1.0, random);
+        offset = fillRandom(startingPoint, offset, order.q(), -1.0, random);
+        offset = fillRandom(startingPoint, offset, order.P(), 1.0, random);
+        fillRandom(startingPoint, offset, order.Q(), -1.0, random);
+        return Vector.from(startingPoint);
+    }
+
+    // A moving average polynomial is invertible if its negated coefficients are stationary, hence the sign.
+    private static int fillRandom(final double[] target, final int offset, final int length, final double sign,
+                                  final Random random) {
+        final double[] partialAutoCorrelations = new double[length];
+        for (int i = 0; i < length; i++) {
+            partialAutoCorrelations[i] = RANDOM_START_PACF_BOUND * (2 * random.nextDouble() - 1);
+        }
+        final double[] coefficients = DurbinLevinson.coefficients(partialAutoCorrelations);
+        for (int i = 0; i < length; i++) {
+            target[offset + i] = sign * coefficients[i];
+        }
+        return offset + length;
+    }
+
     private void validateFreq(ArimaOrder order, int seasonalFrequency) {
         if (seasonalFrequency < 1) {
             String errorMessage = "The number of observations per seasonal cycle should be an integer" +
@@ -198,10 +455,13 @@ final class ArimaModel implements Arima {
         this.observations = observations;
         this.coefficients = coeffs;
         this.fittingStrategy = fittingStrategy;
+        this.reparameterization = Reparameterization.NONE;
+        this.optimizationSummary = OptimizationSummary.NOT_RUN;
         this.order = coeffs.extractModelOrder();
         this.seasonalFrequency = (int) (observations.timePeriod().frequencyPer(seasonalCycle));
         validateFreq(order, seasonalFrequency);
-        this.differencedSeries = observations.difference(1, order.d()).difference(seasonalFrequency, order.D());
+        this.differencedSeries = observations.lazy().difference(1, order.d()).difference(seasonalFrequency, order.D())
+                                               .toTimeSeries();
         this.arSarCoeffs = ArimaCoefficients.expandArCoefficients(coeffs.arCoeffs(), coeffs.seasonalARCoeffs(),
                                                                   seasonalFrequency);
         this.maSmaCoeffs = ArimaCoefficients.expandMaCoefficients(coeffs.maCoeffs(), coeffs.seasonalMACoeffs(),
@@ -213,7 +473,8 @@ final class ArimaModel implements Arima {
         Vector regressionParameters = Vector.from(parameters.getRegressors(order));
         Vector regressionEffects = regressionMatrix.times(regressionParameters);
         TimeSeries armaSeries = this.observations.minus(regressionEffects.elements());
-        TimeSeries differencedSeries = armaSeries.difference(1, order.d()).difference(seasonalFrequency, order.D());
+        final double[] differencedSeries = armaSeries.lazy().difference(1, order.d())
+                                                     .difference(seasonalFrequency, order.D()).asArray();
         if (fittingStrategy == FittingStrategy.CSS) {
             this.modelInfo = fitCSS(differencedSeries, arSarCoeffs, maSmaCoeffs, order.npar());
             final double[] residuals = combine(new double[arSarCoeffs.length], modelInfo.residuals);
@@ -259,16 +520,16 @@ final class ArimaModel implements Arima {
     /**
      * Fit an ARIMA model using conditional sum-of-squares.
      *
-     * @param differencedSeries the time series of observations to model.
+     * @param differencedSeries the differenced observations to model.
      * @param arCoeffs          the autoregressive coefficients of the model.
      * @param maCoeffs          the moving-average coefficients of the model.
      * @param npar              the order of the model to be fit.
      * @return information about the fitted model.
      */
-    private static ModelInformation fitCSS(final TimeSeries differencedSeries, final double[] arCoeffs,
+    private static ModelInformation fitCSS(final double[] differencedSeries, final double[] arCoeffs,
                                            final double[] maCoeffs, final int npar) {
         final int offset = arCoeffs.length;
-        final int n = differencedSeries.size();
+        final int n = differencedSeries.length;
 
         final double[] fitted = new double[n];
         final double[] residuals = new double[n];
@@ -277,7 +538,7 @@ final class ArimaModel implements Arima {
             //fitted[t] = mean;
             for (int i = 0; i < arCoeffs.length; i++) {
                 if (abs(arCoeffs[i]) > 0.0) {
-                    fitted[t] += arCoeffs[i] * differencedSeries.at(t - i - 1);
+                    fitted[t] += arCoeffs[i] * differencedSeries[t - i - 1];
                 }
             }
             for (int j = 0; j < Math.min(t, maCoeffs.length); j++) {
@@ -285,9 +546,9 @@ final class ArimaModel implements Arima {
                     fitted[t] += maCoeffs[j] * residuals[t - j - 1];
                 }
             }
-            residuals[t] = differencedSeries.at(t) - fitted[t];
+            residuals[t] = differencedSeries[t] - fitted[t];
         }
-        final int m = differencedSeries.size() - arCoeffs.length;
+        final int m = differencedSeries.length - arCoeffs.length;
         final double sigma2 = sumOfSquared(residuals) / m;
         final double logLikelihood = (-n / 2.0) * (log(2 * PI * sigma2) + 1);
         return new ModelInformation(npar, sigma2, logLikelihood, residuals, fitted);
@@ -323,81 +584,12 @@ final class ArimaModel implements Arima {
 
     @Override
     public boolean isInvertible() {
-        return isInvertible(this.maSmaCoeffs);
+        return ArimaCoefficients.isInvertible(this.maSmaCoeffs);
     }
 
     @Override
     public boolean isStationary() {
-        return isStationary(this.arSarCoeffs);
-    }
-
-    private static boolean isInvertible(double[] ma) {
-        if (ma.length > 0) {
-            double[] maCoeffs = new double[ma.length + 1];
-            maCoeffs[0] = 1.0;
-            System.arraycopy(ma, 0, maCoeffs, 1, ma.length);
-            final double[] roots = roots(maCoeffs);
-            for (double root : roots) {
-                if (root <= 1.0) return false;
-            }
-            return true;
-        }
-        return true;
-    }
-
-    private static boolean isStationary(double[] ar) {
-        if (ar.length > 0) {
-            double[] arCoeffs = new double[ar.length + 1];
-            arCoeffs[0] = 1.0;
-            for (int i = 0; i < ar.length; i++) {
-                arCoeffs[i + 1] = -ar[i];
-            }
-            final double[] roots = roots(arCoeffs);
-            for (double root : roots) {
-                if (root <= 1.0) return false;
-            }
-            return true;
-        }
-        // If ar.length == 0 then it is stationary.
-        return true;
-    }
-
-    private static double[] roots(double[] coefficients) {
-        final Complex64F[] complexRoots = findRoots(coefficients);
-        final double[] absoluteRoots = new double[complexRoots.length];
-        for (int i = 0; i < complexRoots.length; i++) {
-            absoluteRoots[i] = complexRoots[i].getMagnitude();
-        }
-        return absoluteRoots;
-    }
-
-    // Source: https://stackoverflow.com/questions/13805644/finding-roots-of-polynomial-in-java
-    private static Complex64F[] findRoots(double... coefficients) {
-        int N = coefficients.length - 1;
-
-        // Construct the companion matrix. This is a square N x N matrix.
-        final DenseMatrix64F c = new DenseMatrix64F(N, N);
-
-        double a = coefficients[N];
-        for (int i = 0; i < N; i++) {
-            c.set(i, N - 1, -coefficients[i] / a);
-        }
-        for (int i = 1; i < N; i++) {
-            c.set(i, i - 1, 1);
-        }
-
-        // Use generalized eigenvalue decomposition to find the roots.
-        EigenDecomposition<DenseMatrix64F> evd = DecompositionFactory.eig(N, false);
-
-        evd.decompose(c);
-
-        final Complex64F[] roots = new Complex64F[N];
-
-        for (int i = 0; i < N; i++) {
-            roots[i] = evd.getEigenvalue(i);
-        }
-
-        return roots;
+        return ArimaCoefficients.isStationary(this.arSarCoeffs);
     }
 
     @Override
@@ -544,6 +736,11 @@ final class ArimaModel implements Arima {
         return this.stdErrors.clone();
     }
 
+    @Override
+    public OptimizationSummary optimizationSummary() {
+        return this.optimizationSummary;
+    }
+
     @Override
     public ArimaCoefficients coefficients() {
         return this.coefficients;
@@ -667,6 +864,60 @@ final class ArimaModel implements Arima {
         }
     }
 
+    private static final class Optimum {
+
+        private final Vector parameters;
+        private final Matrix inverseHessian;
+        private final double functionValue;
+        private final OptimizationSummary summary;
+
+        private Optimum(Vector parameters, Matrix inverseHessian, double functionValue, OptimizationSummary summary) {
+            this.parameters = parameters;
+            this.inverseHessian = inverseHessian;
+            this.functionValue = functionValue;
+            this.summary = summary;
+        }
+    }
+
+    // Thrown to stop a random start of a multi-start fit that has fallen behind the first start.
+    private static final class AbandonedStartException extends RuntimeException {
+
+        private AbandonedStartException() {
+            super("The start was abandoned.", null, false, false);
+        }
+    }
+
+    private static final class AbandonableFunction extends AbstractMultivariateFunction {
+
+        private final OptimFunction objective;
+        private final double incumbentValue;
+        private final int incumbentEvaluations;
+        private double smallestValue = Double.POSITIVE_INFINITY;
+
+        private AbandonableFunction(OptimFunction objective, double incumbentValue, int incumbentEvaluations) {
+            this.objective = objective;
+            this.incumbentValue = incumbentValue;
+            this.incumbentEvaluations = incumbentEvaluations;
+        }
+
+        @Override
+        public double at(final Vector point) {
+            functionEvaluations++;
+            final double value = objective.at(point);
+            if (value < smallestValue) {
+                smallestValue = value;
+            }
+            if (2L * functionEvaluations > incumbentEvaluations && smallestValue > incumbentValue) {
+                throw new AbandonedStartException();
+            }
+            return value;
+        }
+    }
+
+    /*
+     * The objective function. It may be evaluated from several threads at once, since each evaluation takes its own
+     * workspace of parameters and scratch space from a pool, and returns it when done.
+     */
     private static class OptimFunction extends AbstractMultivariateFunction {
 
         private final TimeSeries observations;
@@ -674,23 +925,40 @@ final class ArimaModel implements Arima {
         private final ArimaParameters parameters;
         private final FittingStrategy fittingStrategy;
         private final int seasonalFrequency;
+        private final Reparameterization reparameterization;
         private final Matrix externalRegressors;
+        private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
 
         private OptimFunction(TimeSeries observations, ArimaOrder order, ArimaParameters parameters,
-                              FittingStrategy fittingStrategy, Matrix externalRegressors, int seasonalFrequency) {
+                              FittingStrategy fittingStrategy, Matrix externalRegressors, int seasonalFrequency,
+                              Reparameterization reparameterization) {
             this.observations = observations;
             this.order = order;
             this.parameters = parameters;
             this.fittingStrategy = fittingStrategy;
             this.externalRegressors = externalRegressors;
             this.seasonalFrequency = seasonalFrequency;
+            this.reparameterization = reparameterization;
         }
 
         @Override
         public final double at(final Vector point) {
             functionEvaluations++;
+            Workspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new Workspace(parameters.copy(), externalRegressors);
+            }
+            try {
+                return at(point, workspace);
+            } finally {
+                workspaces.offer(workspace);
+            }
+        }
 
-            final double[] params = point.elements();
+        private double at(final Vector point, final Workspace workspace) {
+            final ArimaParameters parameters = workspace.parameters;
+            final double[] params = (reparameterization == Reparameterization.NONE)
+                                    ? point.elements() : ArimaParameters.constrain(point.elements(), order);
             parameters.setAutoRegressivePars(slice(params, 0, order.p()));
             parameters.setMovingAveragePars(slice(params, order.p(), order.p() + order.q()));
             parameters.setSeasonalAutoRegressivePars(slice(params, order.p() + order.q(), order.p() + order.q() + order.P()));
@@ -710,9 +978,10 @@ final class ArimaModel implements Arima {
                                                                              parameters.getSeasonalMovingAveragePars(),
                                                                              seasonalFrequency);
 
-            Vector regressionParameters = Vector.from(parameters.getRegressors(order));
-            Vector regressionEffects = externalRegressors.times(regressionParameters);
-            TimeSeries armaSeries = this.observations.minus(regressionEffects.elements());
+            workspace.regressionParameters.setTo(parameters.getRegressors(order));
+            workspace.regressors.timesInto(workspace.regressionParameters, workspace.regressionEffects);
+            workspace.regressionEffects.copyInto(workspace.regressionEffectsArray);
+            TimeSeries armaSeries = this.observations.minus(workspace.regressionEffectsArray);
 
             if (fittingStrategy == FittingStrategy.ML || fittingStrategy == FittingStrategy.CSSML) {
                 double[] delta = getDelta(this.order, this.seasonalFrequency);
@@ -720,8 +989,8 @@ final class ArimaModel implements Arima {
                 return 0.5 * (log(output.sigma2()) + output.sumLog() / output.n());
             }
 
-            TimeSeries differencedSeries = armaSeries.difference(1, order.d()).difference(seasonalFrequency,
-                                                                                          order.D());
+            final double[] differencedSeries = armaSeries.lazy().difference(1, order.d())
+                                                         .difference(seasonalFrequency, order.D()).asArray();
             final ModelInformation info = ArimaModel.fitCSS(differencedSeries, arCoeffs, maCoeffs, order.npar());
             return 0.5 * log(info.sigma2);
         }
@@ -759,4 +1028,22 @@ final class ArimaModel implements Arima {
         }
     }
 
+    // The parameters being evaluated and scratch space for the regression effects, reused across evaluations.
+    private static class Workspace {
+
+        private final ArimaParameters parameters;
+        private final MutableMatrix regressors;
+        private final MutableVector regressionParameters;
+        private final MutableVector regressionEffects;
+        private final double[] regressionEffectsArray;
+
+        private Workspace(ArimaParameters parameters, Matrix externalRegressors) {
+            this.parameters = parameters;
+            this.regressors = MutableMatrix.copyOf(externalRegressors);
+            this.regressionParameters = MutableVector.zeros(externalRegressors.ncol());
+            this.regressionEffects = MutableVector.zeros(externalRegressors.nrow());
+            this.regressionEffectsArray = new double[externalRegressors.nrow()];
+        }
+    }
+
 }
@@ -24,9 +24,15 @@
 
 package com.github.signaflo.timeseries.model.arima;
 
+import com.github.signaflo.math.fft.Convolution;
+import com.github.signaflo.math.linear.doubles.QRDecomposition;
+import com.github.signaflo.math.stats.DurbinLevinson;
+import com.github.signaflo.math.stats.Statistics;
 import lombok.Data;
 import lombok.NonNull;
 
+import java.util.Arrays;
+
 /**
  * The parameters of an ARIMA model. The main difference between this class and {@link ArimaCoefficients} is that
  * the coefficients represent fixed, unchanging quantities that are either known or have been estimated,
@@ -38,6 +44,8 @@ import lombok.NonNull;
 final class ArimaParameters {
 
     private static final double EPSILON = Math.ulp(1.0);
+    // The Hannan-Rissanen regression is only used if there are at least this many observations per parameter.
+    private static final int MIN_OBSERVATIONS_PER_PARAMETER = 3;
 
     private @NonNull double[] autoRegressivePars;
     private @NonNull double[] movingAveragePars;
@@ -126,6 +134,19 @@ final class ArimaParameters {
         return pars;
     }
 
+    ArimaParameters copy() {
+        ArimaParameters copy = new ArimaParameters(autoRegressivePars.clone(), movingAveragePars.clone(),
+                                                   seasonalAutoRegressivePars.clone(),
+                                                   seasonalMovingAveragePars.clone());
+        copy.mean = this.mean;
+        copy.intercept = this.intercept;
+        copy.drift = this.drift;
+        copy.meanParScale = this.meanParScale;
+        copy.interceptParScale = this.interceptParScale;
+        copy.driftParScale = this.driftParScale;
+        return copy;
+    }
+
     static ArimaParameters fromCoefficients(ArimaCoefficients coefficients) {
         ArimaParameters parameters = new ArimaParameters(coefficients.arCoeffs(),
                                                          coefficients.maCoeffs(),
@@ -150,6 +171,193 @@ final class ArimaParameters {
                                    seasonalMovingAveragePars);
     }
 
+    /**
+     * Estimate starting values for the autoregressive and moving average parameters from the given series, which
+     * should already be differenced and have any mean or drift removed. A pure non-seasonal autoregressive model is
+     * estimated with the Yule-Walker equations. Any other model is estimated with the Hannan-Rissanen procedure: a
+     * long autoregression gives estimates of the innovations, and the series is then regressed on its own lags and
+     * the lagged innovations. Any group of parameters whose estimate is not stationary or invertible, and every group
+     * if the series is too short, is started at zero instead.
+     *
+     * @param series            the differenced series with regression effects removed.
+     * @param order             the order of the model.
+     * @param seasonalFrequency the number of observations per seasonal cycle.
+     * @return the initial parameters of the model.
+     */
+    static ArimaParameters initialEstimates(final double[] series, final ArimaOrder order,
+                                            final int seasonalFrequency) {
+        final ArimaParameters parameters = initializePars(order.p(), order.q(), order.P(), order.Q());
+        final int[] arLags = lags(order.p(), order.P(), seasonalFrequency);
+        final int[] maLags = lags(order.q(), order.Q(), seasonalFrequency);
+        final int n = series.length;
+        if (arLags.length + maLags.length == 0 || n == 0) {
+            return parameters;
+        }
+        final double[] w = series.clone();
+        final double mean = Statistics.meanOf(w);
+        for (int t = 0; t < n; t++) {
+            w[t] -= mean;
+        }
+        final int maxArLag = (arLags.length > 0) ? arLags[arLags.length - 1] : 0;
+        final int maxMaLag = (maLags.length > 0) ? maLags[maLags.length - 1] : 0;
+        if (maLags.length == 0 && order.P() == 0) {
+            if (n > 2 * maxArLag) {
+                final double[] autoCovariance = Convolution.autoCorrelate(w, maxArLag);
+                setIfStationary(parameters.autoRegressivePars, DurbinLevinson.yuleWalker(autoCovariance, maxArLag));
+            }
+            return parameters;
+        }
+
+        // The innovations are estimated from a long autoregression, which is only needed if there are moving average
+        // terms.
+        final int longOrder = (maLags.length == 0) ? 0
+                : Math.max((int) Math.ceil(10 * Math.log10(n)), maxArLag + maxMaLag);
+        final int start = longOrder + Math.max(maxArLag, maxMaLag);
+        final int rows = n - start;
+        final int cols = arLags.length + maLags.length;
+        if (rows < MIN_OBSERVATIONS_PER_PARAMETER * cols || longOrder >= n / 2) {
+            return parameters;
+        }
+        final double[] innovations = new double[n];
+        if (longOrder > 0) {
+            final double[] autoCovariance = Convolution.autoCorrelate(w, longOrder);
+            final double[] phi = DurbinLevinson.yuleWalker(autoCovariance, longOrder);
+            for (int t = longOrder; t < n; t++) {
+                double innovation = w[t];
+                for (int j = 0; j < longOrder; j++) {
+                    innovation -= phi[j] * w[t - j - 1];
+                }
+                innovations[t] = innovation;
+            }
+        }
+        final double[] design = new double[rows * cols];
+        final double[] response = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            final int t = start + i;
+            response[i] = w[t];
+            for (int j = 0; j < arLags.length; j++) {
+                design[j * rows + i] = w[t - arLags[j]];
+            }
+            for (int j = 0; j < maLags.length; j++) {
+                design[(arLags.length + j) * rows + i] = innovations[t - maLags[j]];
+            }
+        }
+        final QRDecomposition qr = new QRDecomposition(rows, cols);
+        qr.decompose(design);
+        if (!qr.isFullRank()) {
+            return parameters;
+        }
+        final double[] estimates = new double[cols];
+        qr.solve(response, estimates);
+        final int p = order.p();
+        final int ps = arLags.length;
+        final int q = order.q();
+        setIfStationary(parameters.autoRegressivePars, Arrays.copyOfRange(estimates, 0, p));
+        setIfStationary(parameters.seasonalAutoRegressivePars, Arrays.copyOfRange(estimates, p, ps));
+        setIfInvertible(parameters.movingAveragePars, Arrays.copyOfRange(estimates, ps, ps + q));
+        setIfInvertible(parameters.seasonalMovingAveragePars, Arrays.copyOfRange(estimates, ps + q, cols));
+        return parameters;
+    }
+
+    // The lags 1, ..., nonSeasonal followed by the lags s, 2s, ..., seasonal * s.
+    private static int[] lags(final int nonSeasonal, final int seasonal, final int seasonalFrequency) {
+        final int[] lags = new int[nonSeasonal + seasonal];
+        for (int i = 0; i < nonSeasonal; i++) {
+            lags[i] = i + 1;
+        }
+        for (int i = 0; i < seasonal; i++) {
+            lags[nonSeasonal + i] = (i + 1) * seasonalFrequency;
+        }
+        return lags;
+    }
+
+    private static void setIfStationary(final double[] target, final double[] estimates) {
+        if (isFinite(estimates) && ArimaCoefficients.isStationary(estimates)) {
+            System.arraycopy(estimates, 0, target, 0, target.length);
+        }
+    }
+
+    private static void setIfInvertible(final double[] target, final double[] estimates) {
+        if (isFinite(estimates) && ArimaCoefficients.isInvertible(estimates)) {
+            System.arraycopy(estimates, 0, target, 0, target.length);
+        }
+    }
+
+    /**
+     * Map unconstrained values to parameters whose autoregressive groups are stationary and whose moving average
+     * groups are invertible (Jones 1980, Monahan 1984). Each group of values is mapped through tanh to partial
+     * autocorrelations in (-1, 1), which the Durbin-Levinson recursion maps to coefficients. Any mean and drift
+     * parameters are copied unchanged.
+     *
+     * @param unconstrained the unconstrained values, ordered as in {@link #getAllScaled(ArimaOrder)}.
+     * @param order         the order of the model.
+     * @return the constrained parameters.
+     */
+    static double[] constrain(final double[] unconstrained, final ArimaOrder order) {
+        final double[] parameters = unconstrained.clone();
+        int offset = constrain(parameters, 0, order.p(), 1.0);
+        offset = constrain(parameters, offset, order.q(), -1.0);
+        offset = constrain(parameters, offset, order.P(), 1.0);
+        constrain(parameters, offset, order.Q(), -1.0);
+        return parameters;
+    }
+
+    /**
+     * The inverse of {@link #constrain(double[], ArimaOrder)}. A group that is not stationary or invertible has no
+     * unconstrained values, so it is mapped to zero, which corresponds to all of its coefficients being zero.
+     *
+     * @param parameters the parameters, ordered as in {@link #getAllScaled(ArimaOrder)}.
+     * @param order      the order of the model.
+     * @return the unconstrained values.
+     */
+    static double[] unconstrain(final double[] parameters, final ArimaOrder order) {
+        final double[] unconstrained = parameters.clone();
+        int offset = unconstrain(unconstrained, 0, order.p(), 1.0);
+        offset = unconstrain(unconstrained, offset, order.q(), -1.0);
+        offset = unconstrain(unconstrained, offset, order.P(), 1.0);
+        unconstrain(unconstrained, offset, order.Q(), -1.0);
+        return unconstrained;
+    }
+
+    // A moving average polynomial is invertible if its negated coefficients are stationary, hence the sign.
+    private static int constrain(final double[] values, final int offset, final int length, final double sign) {
+        final double[] partialAutoCorrelations = new double[length];
+        for (int i = 0; i < length; i++) {
+            partialAutoCorrelations[i] = Math.tanh(values[offset + i]);
+        }
+        final double[] coefficients = DurbinLevinson.coefficients(partialAutoCorrelations);
+        for (int i = 0; i < length; i++) {
+            values[offset + i] = sign * coefficients[i];
+        }
+        return offset + length;
+    }
+
+    private static int unconstrain(final double[] values, final int offset, final int length, final double sign) {
+        final double[] coefficients = new double[length];
+        for (int i = 0; i < length; i++) {
+            coefficients[i] = sign * values[offset + i];
+        }
+        final double[] partialAutoCorrelations = DurbinLevinson.partialAutoCorrelationsOf(coefficients);
+        boolean admissible = true;
+        for (double partialAutoCorrelation : partialAutoCorrelations) {
+            admissible &= Math.abs(partialAutoCorrelation) < 1.0;
+        }
+        for (int i = 0; i < length; i++) {
+            final double kappa = partialAutoCorrelations[i];
+            values[offset + i] = admissible ? 0.5 * Math.log((1 + kappa) / (1 - kappa)) : 0.0;
+        }
+        return offset + length;
+    }
+
+    private static boolean isFinite(final double[] values) {
+        for (double value : values) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 //    private ArimaParameters(ArimaParameters parameters) {
 //        this.autoRegressivePars = parameters.autoRegressivePars.clone();
 //        this.movingAveragePars = parameters.movingAveragePars.clone();
@@ -24,12 +24,13 @@
 
 package com.github.signaflo.timeseries.model.arima;
 
-import org.ejml.data.DenseMatrix64F;
-import org.ejml.data.RowD1Matrix64F;
+import com.github.signaflo.math.linear.doubles.Matrix;
+import com.github.signaflo.math.linear.doubles.MutableMatrix;
+import com.github.signaflo.math.linear.doubles.MutableVector;
+import com.github.signaflo.math.linear.doubles.SymmetricMatrix;
 
 import static java.lang.Math.PI;
 import static java.lang.Math.log;
-import static org.ejml.ops.CommonOps.*;
 
 /**
  * An implementation of the <a target="_blank"
@@ -43,16 +44,16 @@ final class ArmaKalmanFilter {
 
     private final double[] y;
     private final int r; // r = max(p, q + 1);
-    private final DenseMatrix64F transitionFunction;
-    private final RowD1Matrix64F stateDisturbance;
-    private final RowD1Matrix64F predictedState;
-    private final RowD1Matrix64F filteredState;
-    private final DenseMatrix64F predictedStateCovariance;
-    private final RowD1Matrix64F filteredStateCovariance;
+    private final MutableMatrix transitionFunction;
+    private final SymmetricMatrix stateDisturbance;
+    private final MutableVector predictedState;
+    private final MutableVector filteredState;
+    private final SymmetricMatrix predictedStateCovariance;
+    private final SymmetricMatrix filteredStateCovariance;
     private final double[] predictionErrorVariance;
     private final double[] predictionError;
     // the following is the first column of the predictedCovariance matrix.
-    private final DenseMatrix64F predictedCovarianceFirstColumn;
+    private final MutableVector predictedCovarianceFirstColumn;
     // We don't include Z. It is a row vector with a 1 in the first position and zeros
     // elsewhere. Any of its transformations are done manually as documented in the filter method.
 
@@ -62,18 +63,17 @@ final class ArmaKalmanFilter {
         this.y = ss.differencedSeries();
         this.r = ss.r();
 
-        this.transitionFunction = new DenseMatrix64F(ss.transitionMatrix());
-        final RowD1Matrix64F R = new DenseMatrix64F(r, 1, true, ss.movingAverageVector());
-        this.stateDisturbance = new DenseMatrix64F(r, r);
-        multOuter(R, stateDisturbance);
-        this.predictedState = new DenseMatrix64F(r, 1, true, new double[r]);
-        this.filteredState = new DenseMatrix64F(r, 1, true, new double[r]);
+        this.transitionFunction = MutableMatrix.copyOf(Matrix.create(ss.transitionMatrix()));
+        final MutableVector R = MutableVector.from(ss.movingAverageVector());
+        this.stateDisturbance = SymmetricMatrix.zeros(r).rankOneUpdate(1.0, R);
+        this.predictedState = MutableVector.zeros(r);
+        this.filteredState = MutableVector.zeros(r);
         this.predictedStateCovariance = initializePredictedCovariance(ss);
-        this.filteredStateCovariance = new DenseMatrix64F(r, r);
+        this.filteredStateCovariance = SymmetricMatrix.zeros(r);
         this.predictionErrorVariance = new double[y.length];
         this.predictionError = new double[y.length];
-        this.predictedCovarianceFirstColumn = new DenseMatrix64F(r, 1);
-        extractColumn(predictedStateCovariance, 0, predictedCovarianceFirstColumn);
+        this.predictedCovarianceFirstColumn = MutableVector.zeros(r);
+        predictedStateCovariance.columnInto(0, predictedCovarianceFirstColumn);
         this.kalmanOutput = filter();
     }
 
@@ -315,26 +315,15 @@ final class ArmaKalmanFilter {
         // f[t] is always the first element of the first column of the predicted covariance matrix,
         // because f[t] = Z * M, where Z is a row vector with a 1 in the first (index 0) position and zeros elsewhere,
         // and M is the first column of the predicted covariance matrix.
-        f = predictionErrorVariance[0] = predictedCovarianceFirstColumn.get(0);
+        f = predictionErrorVariance[0] = predictedCovarianceFirstColumn.at(0);
 
         double ssq = ((predictionError[0] * predictionError[0]) / f);
         double sumlog = log(f);
         // Initialize filteredState.
-        RowD1Matrix64F newInfo = this.predictedCovarianceFirstColumn.copy();
-        scale(predictionError[0], newInfo);
-        divide(newInfo, predictionErrorVariance[0]);
-        add(predictedState, newInfo, filteredState);
+        filteredState.setTo(predictedState).axpy(predictionError[0] / f, predictedCovarianceFirstColumn);
 
         // Initialize filteredCovariance.
-        final RowD1Matrix64F adjustedPredictionCovariance = new DenseMatrix64F(r, r);
-        multOuter(predictedCovarianceFirstColumn, adjustedPredictionCovariance);
-        divide(adjustedPredictionCovariance, predictionErrorVariance[0]);
-        subtract(predictedStateCovariance, adjustedPredictionCovariance, filteredStateCovariance);
-
-        final RowD1Matrix64F filteredCovarianceTransition = new DenseMatrix64F(r, r);
-        final RowD1Matrix64F stateCovarianceTransition = new DenseMatrix64F(r, r);
-        final DenseMatrix64F transitionTranspose = transitionFunction.copy();
-        transpose(transitionTranspose);
+        filteredStateCovariance.setTo(predictedStateCovariance).rankOneUpdate(-1.0 / f, predictedCovarianceFirstColumn);
 
         predictionError[0] /= Math.sqrt(f);
 
@@ -342,38 +331,33 @@ final class ArmaKalmanFilter {
         for (int t = 1; t < y.length; t++) {
 
             // Update predicted mean of the state vector.
-            mult(transitionFunction, filteredState, predictedState);
+            transitionFunction.timesInto(filteredState, predictedState);
 
             // Update predicted covariance of the state vector.
-            mult(transitionFunction, filteredStateCovariance, filteredCovarianceTransition);
-            mult(filteredCovarianceTransition, transitionTranspose, stateCovarianceTransition);
-            add(stateCovarianceTransition, stateDisturbance, predictedStateCovariance);
+            filteredStateCovariance.congruenceInto(transitionFunction, predictedStateCovariance);
+            predictedStateCovariance.add(stateDisturbance);
 
-            predictionError[t] = y[t] - predictedState.get(0);
-            extractColumn(predictedStateCovariance, 0, predictedCovarianceFirstColumn);
-            f = predictionErrorVariance[t] = predictedCovarianceFirstColumn.get(0);
+            predictionError[t] = y[t] - predictedState.at(0);
+            predictedStateCovariance.columnInto(0, predictedCovarianceFirstColumn);
+            f = predictionErrorVariance[t] = predictedCovarianceFirstColumn.at(0);
             ssq += ((predictionError[t] * predictionError[t]) / f);
             sumlog += log(f);
 
             // Update filteredState.
-            newInfo = this.predictedCovarianceFirstColumn.copy();
-            scale(predictionError[t], newInfo);
-            divide(newInfo, f);
-            add(predictedState, newInfo, filteredState);
+            filteredState.setTo(predictedState).axpy(predictionError[t] / f, predictedCovarianceFirstColumn);
 
             // Update filteredCovariance.
-            multOuter(predictedCovarianceFirstColumn, adjustedPredictionCovariance);
-            divide(adjustedPredictionCovariance, f);
-            subtract(predictedStateCovariance, adjustedPredictionCovariance, filteredStateCovariance);
+            filteredStateCovariance.setTo(predictedStateCovariance)
+                                   .rankOneUpdate(-1.0 / f, predictedCovarianceFirstColumn);
 
             predictionError[t] /= Math.sqrt(f);
         }
         return new KalmanOutput(this.y.length, ssq, sumlog, predictionError);
     }
 
-    private DenseMatrix64F initializePredictedCovariance(final ArmaStateSpace ss) {
+    private SymmetricMatrix initializePredictedCovariance(final ArmaStateSpace ss) {
         double[] P = getInitialStateCovariance(ss.arParams(), ss.maParams());
-        return new DenseMatrix64F(ss.r(), ss.r(), true, unpack(P));
+        return SymmetricMatrix.copyOf(Matrix.create(ss.r(), ss.r(), unpack(P)));
     }
 
     static class KalmanOutput {
@@ -57,7 +57,7 @@ public final class LagOperator {
      * @return the value of the series at lag 1 from the given time.
      */
     public static double apply(final TimeSeries series, final Time time) {
-        return series.at(series.timeIndex().get(time) - 1);
+        return series.at(series.indexAt(time) - 1);
     }
 
     /**
@@ -81,7 +81,7 @@ public final class LagOperator {
      * @return the value of the series at the given number of lags from the given time.
      */
     public static double apply(final TimeSeries series, final Time time, final int times) {
-        return series.at(series.timeIndex().get(time) - times);
+        return series.at(series.indexAt(time) - times);
     }
 
     /**
@@ -24,6 +24,7 @@
 
 package com.github.signaflo.timeseries.operators;
 
+import com.github.signaflo.math.fft.Convolution;
 import com.github.signaflo.math.operations.DoubleFunctions;
 import com.github.signaflo.timeseries.Time;
 import com.github.signaflo.timeseries.TimeSeries;
@@ -168,12 +169,7 @@ public class LagPolynomial {
    * @return the product of this polynomial with the given polynomial.
    */
   public final LagPolynomial times(final LagPolynomial other) {
-    final double[] newParams = new double[this.degree + other.degree + 1];
-    for (int i = 0; i < coefficients.length; i++) {
-      for (int j = 0; j < other.coefficients.length; j++) {
-        newParams[i + j] += coefficients[i] * other.coefficients[j];
-      }
-    }
+    final double[] newParams = Convolution.convolve(this.coefficients, other.coefficients);
     return new LagPolynomial(DoubleFunctions.slice(newParams, 1, newParams.length));
   }
 
@@ -0,0 +1,76 @@
+package com.github.signaflo.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+import com.google.common.testing.EqualsTester;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FloatDataSetSpec {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private final double[] data = {3.0, 7.5, 10.25, 1.5, 4.0};
+  private final FloatDataSet floats = FloatDataSet.narrowing(data);
+  private final DoubleDataSet doubles = new DoubleDataSet(data);
+
+  @Test
+  public void whenStatisticsComputedThenSameAsDoubleDataSet() {
+    assertThat(floats.sum(), is(doubles.sum()));
+    assertThat(floats.sumOfSquares(), is(doubles.sumOfSquares()));
+    assertThat(floats.mean(), is(doubles.mean()));
+    assertThat(floats.median(), is(doubles.median()));
+    assertThat(floats.variance(), is(closeTo(doubles.variance(), 1E-12)));
+    assertThat(floats.stdDeviation(), is(closeTo(doubles.stdDeviation(), 1E-12)));
+  }
+
+  @Test
+  public void whenEvenSizeThenMedianAveragedInDoublePrecision() {
+    FloatDataSet evenSize = new FloatDataSet(1.0f, 2.0f, 4.0f, 3.0f);
+    assertThat(evenSize.median(), is(2.5));
+  }
+
+  @Test
+  public void whenCovarianceWithEitherDataSetThenResultCorrect() {
+    double[] other = {2.0, 1.0, 0.5, 4.0, 3.0};
+    double expected = new DoubleDataSet(data).covariance(new DoubleDataSet(other));
+    assertThat(floats.covariance(new DoubleDataSet(other)), is(closeTo(expected, 1E-12)));
+    assertThat(floats.covariance(FloatDataSet.narrowing(other)), is(closeTo(expected, 1E-12)));
+    assertThat(floats.correlation(floats), is(closeTo(1.0, 1E-12)));
+  }
+
+  @Test
+  public void whenCombinedThenFloatDataSetReturned() {
+    DataSet product = floats.times(doubles);
+    assertThat(product, is(instanceOf(FloatDataSet.class)));
+    assertArrayEquals(new double[] {9.0, 56.25, 105.0625, 2.25, 16.0}, product.asArray(), 0.0);
+    assertArrayEquals(new double[] {6.0, 15.0, 20.5, 3.0, 8.0}, floats.plus(floats).asArray(), 0.0);
+  }
+
+  @Test
+  public void whenSizesDifferThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    floats.plus(new DoubleDataSet(1.0, 2.0));
+  }
+
+  @Test
+  public void whenNarrowedThenValuesRoundedToFloat() {
+    FloatDataSet narrowed = FloatDataSet.narrowing(0.1, 1.0 / 3.0);
+    assertArrayEquals(new float[] {0.1f, 1.0f / 3.0f}, narrowed.asFloatArray(), 0.0f);
+    assertThat(narrowed.at(0), is((double) 0.1f));
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    new EqualsTester()
+        .addEqualityGroup(floats, FloatDataSet.narrowing(data))
+        .addEqualityGroup(new FloatDataSet(1.0f))
+        .testEquals();
+  }
+}
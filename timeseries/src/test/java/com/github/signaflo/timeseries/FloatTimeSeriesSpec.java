@@ -0,0 +1,105 @@
+package com.github.signaflo.timeseries;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FloatTimeSeriesSpec {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private final TimeSeries series = TestData.ausbeer;
+  private final FloatTimeSeries floatSeries = FloatTimeSeries.from(series);
+
+  @Test
+  public void whenCreatedFromTimeSeriesThenTimesAndPeriodKept() {
+    assertThat(floatSeries.size(), is(series.size()));
+    assertThat(floatSeries.timePeriod(), is(series.timePeriod()));
+    assertThat(floatSeries.observationTimes(), is(series.observationTimes()));
+    assertThat(floatSeries.at(series.observationTimes().get(10)), is(series.at(10)));
+  }
+
+  @Test
+  public void whenAutoCorrelationComputedThenCloseToDoubleSeries() {
+    assertArrayEquals(series.autoCorrelationUpToLag(12), floatSeries.autoCorrelationUpToLag(12),
+                      1E-6);
+    assertThat(floatSeries.autoCovarianceAtLag(4), is(closeTo(series.autoCovarianceAtLag(4), 1E-3)));
+  }
+
+  @Test
+  public void whenStatisticsComputedThenCloseToDoubleSeries() {
+    assertThat(floatSeries.mean(), is(closeTo(series.mean(), 1E-4)));
+    assertThat(floatSeries.stdDeviation(), is(closeTo(series.stdDeviation(), 1E-4)));
+    assertThat(floatSeries.correlation(series), is(closeTo(1.0, 1E-9)));
+  }
+
+  @Test
+  public void whenWidenedThenTimeSeriesHasSameObservations() {
+    TimeSeries widened = floatSeries.toTimeSeries();
+    assertArrayEquals(floatSeries.asArray(), widened.asArray(), 0.0);
+    assertThat(widened.observationTimes(), is(series.observationTimes()));
+  }
+
+  @Test
+  public void whenSlicedThenTimesAndValuesMatch() {
+    FloatTimeSeries sliced = floatSeries.slice(4, 7);
+    assertThat(sliced.size(), is(4));
+    assertThat(sliced.startTime(), is(series.observationTimes().get(4)));
+    assertArrayEquals(new float[] {(float) series.at(4), (float) series.at(5), (float) series.at(6),
+        (float) series.at(7)}, sliced.asFloatArray(), 0.0f);
+  }
+
+  @Test
+  public void whenRegularThenTimesComputedFromStartAndPeriod() {
+    FloatTimeSeries monthly = FloatTimeSeries.from(TimePeriod.oneMonth(),
+                                                   Time.fromYearMonth(2017, 1), new float[30]);
+    List<Time> expected = new ArrayList<>();
+    for (Time time = Time.fromYearMonth(2017, 1); expected.size() < 30;
+         time = time.plus(TimePeriod.oneMonth())) {
+      expected.add(time);
+    }
+    assertThat(monthly.observationTimes(), is(expected));
+    assertThat(monthly.indexAt(Time.fromYearMonth(2018, 7)), is(18));
+    FloatTimeSeries tenths = FloatTimeSeries.from(new TimePeriod(ChronoUnit.MILLIS, 100),
+                                                  Time.fromEpochSecond(0L, 950_000_000L),
+                                                  new float[12]);
+    assertThat(tenths.observationTimes().get(11), is(Time.fromEpochSecond(2L, 50_000_000L)));
+    assertThat(tenths.observationTimes().subList(3, 6).get(2),
+               is(Time.fromEpochSecond(1L, 450_000_000L)));
+  }
+
+  @Test
+  public void whenMonthlyFromEndOfMonthThenDayClampedAsByRepeatedAddition() {
+    FloatTimeSeries monthly = FloatTimeSeries.from(TimePeriod.oneMonth(),
+                                                   Time.fromYearMonthDay(2017, 1, 31),
+                                                   new float[3]);
+    assertThat(monthly.observationTimes().get(2), is(Time.fromYearMonthDay(2017, 3, 28)));
+  }
+
+  @Test
+  public void whenAddedThenFloatTimeSeriesReturned() {
+    FloatTimeSeries doubled = floatSeries.plus(floatSeries);
+    assertThat(doubled.at(0), is(2 * floatSeries.at(0)));
+    assertThat(doubled.observationTimes(), is(floatSeries.observationTimes()));
+  }
+
+  @Test
+  public void whenTimesAndObservationsDifferInSizeThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    FloatTimeSeries.from(series.timePeriod(), series.observationTimes(), 1.0f, 2.0f);
+  }
+
+  @Test
+  public void whenAtIndexOutOfRangeThenIndexOutOfBounds() {
+    exception.expect(IndexOutOfBoundsException.class);
+    floatSeries.at(floatSeries.size());
+  }
+}
@@ -0,0 +1,139 @@
+package com.github.signaflo.timeseries;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertArrayEquals;
+
+import com.google.common.testing.EqualsTester;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class IrregularTimeSeriesSpec {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  // Observations at 0s, 1s, 1.5s, 4s and 7.25s.
+  private final long[] times = {0L, SECOND, 3 * SECOND / 2, 4 * SECOND, 29 * SECOND / 4};
+  private final double[] values = {1.0, 2.0, 4.0, 3.0, 5.0};
+  private final IrregularTimeSeries series = IrregularTimeSeries.from(times, values);
+
+  @Test
+  public void whenTimesNotSortedThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    IrregularTimeSeries.from(new long[]{2L, 1L}, 1.0, 2.0);
+  }
+
+  @Test
+  public void whenSizesDifferThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    IrregularTimeSeries.from(new long[]{1L, 2L}, 1.0);
+  }
+
+  @Test
+  public void whenCreatedFromTimesThenEpochNanosMatch() {
+    List<Time> obsTimes = Arrays.asList(Time.fromYear(2017), Time.fromYearMonth(2017, 3));
+    IrregularTimeSeries fromTimes = IrregularTimeSeries.from(obsTimes, 1.0, 2.0);
+    long expected = Instant.parse("2017-03-01T00:00:00Z").getEpochSecond() * SECOND;
+    assertThat(fromTimes.epochNanoAt(1), is(expected));
+    assertThat(fromTimes.timeAt(1), is(Time.fromYearMonth(2017, 3)));
+  }
+
+  @Test
+  public void whenIndexOfThenBinarySearchResultCorrect() {
+    assertThat(series.indexOf(Time.fromEpochSecond(4L, 0L)), is(3));
+    assertThat(series.indexOf(Time.fromEpochSecond(4L, 1L)), is(-1));
+  }
+
+  @Test
+  public void whenSlicedThenEndpointsIncluded() {
+    IrregularTimeSeries sliced = series.slice(Time.fromEpochSecond(1L, 0L),
+                                              Time.fromEpochSecond(4L, 0L));
+    assertArrayEquals(new double[]{2.0, 4.0, 3.0}, sliced.asArray(), 0.0);
+    assertThat(series.slice(Time.fromEpochSecond(5L, 0L), Time.fromEpochSecond(6L, 0L)).size(),
+               is(0));
+  }
+
+  @Test
+  public void whenInnerJoinedThenOnlyCommonTimesKept() {
+    IrregularTimeSeries other = IrregularTimeSeries.from(new long[]{SECOND, 2 * SECOND, 4 * SECOND},
+                                                         10.0, 20.0, 30.0);
+    IrregularTimeSeries joined = series.innerJoin(other, (x, y) -> x + y);
+    assertArrayEquals(new long[]{SECOND, 4 * SECOND}, joined.epochNanos());
+    assertArrayEquals(new double[]{12.0, 33.0}, joined.asArray(), 0.0);
+  }
+
+  @Test
+  public void whenResampledThenEachMethodCorrect() {
+    TimePeriod twoSeconds = new TimePeriod(ChronoUnit.SECONDS, 2);
+    // Buckets: [0, 2) -> {1, 2, 4}, [2, 4) -> {}, [4, 6) -> {3}, [6, 8) -> {5}.
+    assertArrayEquals(new double[]{4.0, 4.0, 3.0, 5.0},
+                      series.resample(twoSeconds, IrregularTimeSeries.Resampling.LAST).asArray(),
+                      1E-12);
+    assertArrayEquals(new double[]{7.0 / 3, 7.0 / 3, 3.0, 5.0},
+                      series.resample(twoSeconds, IrregularTimeSeries.Resampling.MEAN).asArray(),
+                      1E-12);
+    assertArrayEquals(new double[]{7.0, 0.0, 3.0, 5.0},
+                      series.resample(twoSeconds, IrregularTimeSeries.Resampling.SUM).asArray(),
+                      1E-12);
+    assertArrayEquals(new double[]{1.0, 4.0 - 1.0 / 5, 3.0, 3.0 + 2.0 * (2.0 / 3.25)},
+                      series.resample(twoSeconds, IrregularTimeSeries.Resampling.LINEAR).asArray(),
+                      1E-12);
+  }
+
+  @Test
+  public void whenResampledFromEarlierStartThenLeadingEmptyIntervalsNotBackfilled() {
+    TimeSeries resampled = series.resample(TimePeriod.oneSecond(), Time.fromEpochSecond(-2L, 0L),
+                                           IrregularTimeSeries.Resampling.LAST);
+    assertThat(resampled.at(0), is(Double.NaN));
+    assertThat(resampled.at(1), is(Double.NaN));
+    assertThat(resampled.at(2), is(1.0));
+    TimeSeries interpolated = series.resample(TimePeriod.oneSecond(), Time.fromEpochSecond(-2L, 0L),
+                                              IrregularTimeSeries.Resampling.LINEAR);
+    assertArrayEquals(new double[]{1.0, 1.0, 1.0, 2.0, 3.8, 3.4, 3.0},
+                      Arrays.copyOf(interpolated.asArray(), 7), 1E-12);
+  }
+
+  @Test
+  public void whenResampledThenRegularSeriesTimesCorrect() {
+    TimeSeries resampled = series.resample(TimePeriod.oneSecond(),
+                                           IrregularTimeSeries.Resampling.LAST);
+    assertThat(resampled.size(), is(8));
+    assertThat(resampled.timePeriod(), is(TimePeriod.oneSecond()));
+    assertThat(resampled.startTime(), is(Time.fromEpochSecond(0L, 0L)));
+    assertThat(resampled.observationTimes().get(7), is(Time.fromEpochSecond(7L, 0L)));
+  }
+
+  @Test
+  public void whenResampledToMonthsThenCalendarPeriodsUsed() {
+    OffsetDateTime jan = OffsetDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    long[] obsTimes = {toNanos(jan), toNanos(jan.plusDays(40)), toNanos(jan.plusDays(45)),
+        toNanos(jan.plusDays(70))};
+    IrregularTimeSeries daily = IrregularTimeSeries.from(obsTimes, 1.0, 2.0, 3.0, 4.0);
+    TimeSeries monthly = daily.resample(TimePeriod.oneMonth(), IrregularTimeSeries.Resampling.SUM);
+    assertArrayEquals(new double[]{1.0, 5.0, 4.0}, monthly.asArray(), 0.0);
+    assertThat(monthly.observationTimes().get(2), is(Time.fromYearMonth(2017, 3)));
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    new EqualsTester()
+        .addEqualityGroup(series, IrregularTimeSeries.from(times, values))
+        .addEqualityGroup(IrregularTimeSeries.from(ZoneOffset.ofHours(1), times, values))
+        .addEqualityGroup(IrregularTimeSeries.from(new long[]{1L}, 1.0))
+        .testEquals();
+  }
+
+  private static long toNanos(OffsetDateTime dateTime) {
+    return dateTime.toEpochSecond() * SECOND + dateTime.getNano();
+  }
+}
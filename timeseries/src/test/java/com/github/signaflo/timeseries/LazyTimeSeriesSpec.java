@@ -0,0 +1,62 @@
+package com.github.signaflo.timeseries;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class LazyTimeSeriesSpec {
+
+  private final TimeSeries series = TestData.ausbeer;
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void whenNoOperationsThenSourceReturned() {
+    assertThat(series.lazy().toTimeSeries(), is(series));
+  }
+
+  @Test
+  public void whenPipelineEvaluatedThenSameAsEagerOperations() {
+    TimeSeries eager = series.transform(0.5).demean().difference(1).difference(4, 1);
+    TimeSeries lazy = series.lazy().transform(0.5).demean().difference(1).difference(4, 1)
+                            .toTimeSeries();
+    assertArrayEquals(eager.asArray(), lazy.asArray(), 1E-10);
+    assertThat(lazy.observationTimes(), is(eager.observationTimes()));
+    assertThat(lazy.size(), is(eager.size()));
+  }
+
+  @Test
+  public void whenDemeanedAfterDifferencingThenSameAsEagerOperations() {
+    TimeSeries eager = series.difference(4).demean().transform(0.0);
+    double[] lazy = series.lazy().difference(4).demean().transform(0.0).asArray();
+    assertArrayEquals(eager.asArray(), lazy, 1E-10);
+  }
+
+  @Test
+  public void whenBackTransformedThenOriginalSeriesRecovered() {
+    double[] recovered = series.lazy().transform(0.3).backTransform(0.3).asArray();
+    assertArrayEquals(series.asArray(), recovered, 1E-8);
+  }
+
+  @Test
+  public void whenDifferencedThenSizeKnownBeforeEvaluation() {
+    assertThat(series.lazy().difference(1, 2).difference(4).size(), is(series.size() - 6));
+  }
+
+  @Test
+  public void whenLagTooLargeThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    series.lazy().difference(series.size() - 2).difference(3);
+  }
+
+  @Test
+  public void whenBoxCoxParameterOutOfRangeThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    series.lazy().transform(2.5);
+  }
+}
@@ -32,6 +32,9 @@ import org.junit.rules.ExpectedException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -211,6 +214,104 @@ public class TimeSeriesSpec {
         assertArrayEquals(expected, result, 1E-2);
     }
 
+    @Test
+    public void whenManyLagsThenAutoCovarianceMatchesDirectComputation() {
+        double[] data = new double[20000];
+        Random random = new Random(17);
+        for (int t = 0; t < data.length; t++) {
+            data[t] = 10.0 + Math.sin(2 * Math.PI * t / 24.0) + random.nextGaussian();
+        }
+        TimeSeries series = TimeSeries.from(data);
+        int k = 1200;
+        double[] autoCovariance = series.autoCovarianceUpToLag(k);
+        double[] autoCorrelation = series.autoCorrelationUpToLag(k);
+        assertThat(autoCovariance.length, is(k + 1));
+        for (int i = 0; i <= k; i += 50) {
+            assertThat(autoCovariance[i], is(closeTo(series.autoCovarianceAtLag(i), 1E-12)));
+            assertThat(autoCorrelation[i], is(closeTo(series.autoCorrelationAtLag(i), 1E-12)));
+        }
+    }
+
+    @Test
+    public void whenLagBeyondSeriesThenAutoCovarianceTruncated() {
+        TimeSeries series = TimeSeries.from(1.0, 3.0, 2.0);
+        assertArrayEquals(new double[]{2.0 / 3, -1.0 / 3, 0.0}, series.autoCovarianceUpToLag(10), 1E-15);
+    }
+
+    @Test
+    public void whenPartialAutoCorrelationsComputedThenFirstTwoLagsMatchAutoCorrelations() {
+        TimeSeries series = TestData.elecSales;
+        double[] acf = series.autoCorrelationUpToLag(5);
+        double[] pacf = series.partialAutoCorrelationUpToLag(5);
+        assertThat(pacf.length, is(6));
+        assertThat(pacf[0], is(1.0));
+        assertThat(pacf[1], is(closeTo(acf[1], 1E-14)));
+        double lagTwo = (acf[2] - acf[1] * acf[1]) / (1 - acf[1] * acf[1]);
+        assertThat(pacf[2], is(closeTo(lagTwo, 1E-14)));
+    }
+
+    @Test
+    public void whenPeriodogramComputedThenSumsToSumOfSquaredDeviations() {
+        TimeSeries series = TestData.elecSales;
+        double[] periodogram = series.periodogram();
+        int n = series.size();
+        assertThat(periodogram.length, is(n / 2 + 1));
+        double total = periodogram[0];
+        for (int j = 1; j < periodogram.length; j++) {
+            total += (n % 2 == 0 && j == n / 2) ? periodogram[j] : 2 * periodogram[j];
+        }
+        assertThat(total, is(closeTo(n * series.autoCovarianceAtLag(0), 1E-6)));
+        assertThat(periodogram[0], is(closeTo(0.0, 1E-6)));
+    }
+
+    @Test
+    public void whenCosineThenPeriodogramPeaksAtItsFrequency() {
+        int n = 96;
+        double[] data = new double[n];
+        for (int t = 0; t < n; t++) {
+            data[t] = 2.0 * Math.cos(2 * Math.PI * 8 * t / n);
+        }
+        double[] periodogram = TimeSeries.from(data).periodogram();
+        assertThat(periodogram[8], is(closeTo(n, 1E-9)));
+        assertThat(periodogram[7], is(closeTo(0.0, 1E-9)));
+    }
+
+    @Test
+    public void whenSpectralDensityThenModifiedDaniellSmoothing() {
+        TimeSeries series = TestData.elecSales;
+        double[] periodogram = series.periodogram();
+        assertArrayEquals(periodogram, series.spectralDensity(1), 0.0);
+        double[] smoothed = series.spectralDensity(5);
+        double expected = (0.5 * periodogram[1] + periodogram[2] + periodogram[3] + periodogram[4]
+                + 0.5 * periodogram[5]) / 4;
+        assertThat(smoothed[3], is(closeTo(expected, 1E-9)));
+    }
+
+    @Test
+    public void whenMonthlySeasonalSeriesThenTwelveMonthPeriodDetected() {
+        Random random = new Random(5);
+        double[] data = new double[100];
+        for (int t = 0; t < data.length; t++) {
+            data[t] = 50 + 0.3 * t + 3 * Math.sin(2 * Math.PI * t / 12) + Math.cos(2 * Math.PI * t / 6)
+                    + random.nextGaussian();
+        }
+        TimeSeries series = TimeSeries.from(TimePeriod.oneMonth(), data);
+        List<TimePeriod> periods = series.dominantPeriods(3);
+        assertThat(periods.get(0), is(new TimePeriod(ChronoUnit.MONTHS, 12)));
+        assertThat(periods.contains(new TimePeriod(ChronoUnit.MONTHS, 6)), is(false));
+        assertThat(series.timePeriod().frequencyPer(periods.get(0)), is(12.0));
+    }
+
+    @Test
+    public void whenWhiteNoiseThenNoDominantPeriods() {
+        Random random = new Random(9);
+        double[] data = new double[500];
+        for (int t = 0; t < data.length; t++) {
+            data[t] = random.nextGaussian();
+        }
+        assertThat(TimeSeries.from(data).dominantPeriods(5).isEmpty(), is(true));
+    }
+
     @Test
     public void whenFivePeriodMovingAverageComputedResultCorrect() {
         TimeSeries series = TestData.elecSales;
@@ -229,6 +330,24 @@ public class TimeSeriesSpec {
         assertArrayEquals(expected, result, 1E-2);
     }
 
+    @Test
+    public void whenLongMovingAverageComputedThenMatchesDirectSum() {
+        double[] data = new double[5000];
+        for (int t = 0; t < data.length; t++) {
+            data[t] = Math.sin(t / 7.0) + (t % 13) / 13.0;
+        }
+        TimeSeries series = TimeSeries.from(data);
+        int m = 365;
+        double[] expected = new double[data.length - m + 1];
+        for (int t = 0; t < expected.length; t++) {
+            for (int j = 0; j < m; j++) {
+                expected[t] += data[t + j];
+            }
+            expected[t] /= m;
+        }
+        assertArrayEquals(expected, series.movingAverage(m).asArray(), 1E-12);
+    }
+
     @Test
     public void whenFourPeriodCenteredMovingAverageComputedResultCorrect() {
         TimeSeries series = TestData.elecSales;
@@ -293,4 +412,24 @@ public class TimeSeriesSpec {
         MatcherAssert.assertThat(series1, is(not(series2)));
         MatcherAssert.assertThat(series2, is(not(series3)));
     }
+
+    @Test
+    public void whenIndexAtTimeThenCorrectIndexReturned() {
+        TimeSeries series = Ts.newQuarterlySeries(1956, 1, TestData.ausbeerArray);
+        assertThat(series.indexAt(Time.fromYearMonth(1957, 4)), is(5));
+        assertThat(series.timeIndex().get(Time.fromYearMonth(1957, 4)), is(5));
+        exception.expect(IllegalArgumentException.class);
+        series.indexAt(Time.fromYearMonth(1957, 5));
+    }
+
+    @Test
+    public void whenHourlySeriesCreatedThenObservationTimesCorrect() {
+        OffsetDateTime start = OffsetDateTime.of(2017, 3, 12, 0, 0, 0, 0, ZoneOffset.ofHours(-5));
+        TimeSeries series = TimeSeries.from(TimePeriod.oneHour(), new Time(start), new double[48]);
+        for (int i = 0; i < series.size(); i++) {
+            assertThat(series.observationTimes().get(i), is(new Time(start.plusHours(i))));
+        }
+        TimeSeries sliced = series.slice(24, 47);
+        assertThat(sliced.startTime(), is(new Time(start.plusDays(1))));
+    }
 }
@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
@@ -58,4 +59,48 @@ public class TimeSpec {
         .addEqualityGroup(year2020April2nd);
     tester.testEquals();
   }
+
+  @Test
+  public void whenFixedLengthPeriodAddedThenSameAsOffsetDateTime() {
+    OffsetDateTime start = OffsetDateTime.of(2017, 12, 31, 23, 59, 59, 999_999_000,
+                                             ZoneOffset.ofHours(-6));
+    Time time = new Time(start);
+    TimePeriod[] periods = {TimePeriod.oneTenthSecond(), TimePeriod.halfHour(),
+        TimePeriod.oneDay(), TimePeriod.oneWeek(), TimePeriod.halfMonth()};
+    for (TimePeriod period : periods) {
+      OffsetDateTime expected = start.plus(period.length(), period.timeUnit());
+      assertThat(time.plus(period), is(new Time(expected)));
+      assertThat(time.plus(period).toOffsetDateTime(), is(expected));
+    }
+  }
+
+  @Test
+  public void whenCalendarPeriodAddedThenSameAsOffsetDateTime() {
+    OffsetDateTime start = OffsetDateTime.of(2016, 1, 31, 12, 0, 0, 0, ZoneOffset.ofHours(2));
+    Time time = new Time(start);
+    assertThat(time.plus(TimePeriod.oneMonth()), is(new Time(start.plusMonths(1))));
+    assertThat(time.plus(TimePeriod.oneYear()), is(new Time(start.plusYears(1))));
+  }
+
+  @Test
+  public void whenComparedThenOrderingMatchesOffsetDateTime() {
+    OffsetDateTime first = OffsetDateTime.of(LocalDateTime.of(2017, 6, 1, 12, 0), ZoneOffset.UTC);
+    OffsetDateTime sameInstant = first.withOffsetSameInstant(ZoneOffset.ofHours(3));
+    OffsetDateTime later = first.plusNanos(1);
+    assertThat(new Time(first).compareTo(new Time(sameInstant)),
+               is(Integer.signum(first.compareTo(sameInstant))));
+    assertThat(new Time(sameInstant).compareTo(new Time(first)),
+               is(Integer.signum(sameInstant.compareTo(first))));
+    assertThat(new Time(first).compareTo(new Time(later)), is(lessThan(0)));
+    assertThat(new Time(later).compareTo(new Time(first)), is(greaterThan(0)));
+    assertThat(new Time(first).compareTo(new Time(first)), is(0));
+  }
+
+  @Test
+  public void whenFromEpochSecondThenNanosNormalized() {
+    Time time = Time.fromEpochSecond(10L, -1L);
+    assertThat(time.epochSecond(), is(9L));
+    assertThat(time.nano(), is(999_999_999));
+    assertThat(time.toInstant(), is(Instant.ofEpochSecond(10L, -1L)));
+  }
 }
@@ -0,0 +1,108 @@
+package com.github.signaflo.timeseries.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.TimePeriod;
+import com.github.signaflo.timeseries.TimeSeries;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CsvReaderSpec {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private final String monthly = "date,sales,\"returns\",region\r\n"
+      + "2017-01-01,10.5,1,north\r\n"
+      + "2017-02-01,11.25,2,south\r\n"
+      + "\r\n"
+      + "2017-03-01,NA,,east\r\n";
+
+  @Test
+  public void whenPanelReadThenEachColumnIsASeriesWithSharedTimes() throws IOException {
+    CsvReader reader = CsvReader.builder().setTimeColumn("date").setValueColumns("sales", "returns")
+                                .build();
+    Map<String, TimeSeries> panel = reader.readPanel(channel(monthly));
+    assertThat(panel.keySet(), contains("sales", "returns"));
+    TimeSeries sales = panel.get("sales");
+    assertArrayEquals(new double[] {10.5, 11.25, Double.NaN}, sales.asArray(), 0.0);
+    assertArrayEquals(new double[] {1.0, 2.0, Double.NaN}, panel.get("returns").asArray(), 0.0);
+    assertThat(sales.timePeriod(), is(TimePeriod.oneMonth()));
+    assertThat(sales.observationTimes().get(2), is(Time.fromYearMonth(2017, 3)));
+    assertThat(panel.get("returns").observationTimes(), is(sales.observationTimes()));
+  }
+
+  @Test
+  public void whenNoTimeColumnThenStartTimeAndPeriodUsed() throws IOException {
+    CsvReader reader = CsvReader.builder().setHeader(false).setDelimiter(';')
+                                .setTimePeriod(TimePeriod.oneQuarter())
+                                .setStartTime(Time.fromYear(2000)).build();
+    Map<String, TimeSeries> panel = reader.readPanel(channel("1;2\n3;4\n5;6"));
+    assertThat(panel.keySet(), contains("V1", "V2"));
+    assertArrayEquals(new double[] {2.0, 4.0, 6.0}, panel.get("V2").asArray(), 0.0);
+    assertThat(panel.get("V1").observationTimes().get(1), is(Time.fromYearMonth(2000, 4)));
+  }
+
+  @Test
+  public void whenChunksAreSmallThenSameResultAsOneChunk() throws IOException {
+    StringBuilder csv = new StringBuilder("time,x,y\n");
+    for (int i = 0; i < 5000; i++) {
+      csv.append("2017-01-01T00:00:").append(String.format("%02d", i % 60)).append('+')
+         .append(String.format("%02d", i / 60 % 24)).append(":00,").append(i * 0.5).append(',')
+         .append(-i).append('\n');
+    }
+    CsvReader timeless = CsvReader.builder().setValueColumns(1, 2).setChunkSize(64).build();
+    CsvReader serial = CsvReader.builder().setValueColumns(1, 2).setParallel(false).build();
+    Map<String, TimeSeries> parallelPanel = timeless.readPanel(channel(csv.toString()));
+    Map<String, TimeSeries> serialPanel = serial.readPanel(channel(csv.toString()));
+    assertThat(parallelPanel, is(serialPanel));
+    assertThat(parallelPanel.get("x").at(4999), is(2499.5));
+  }
+
+  @Test
+  public void whenHourlyTimesThenPeriodInferred() throws IOException {
+    String csv = "t,v\n2017-01-01T00:00,1\n2017-01-01T06:00,2\n2017-01-01T12:00,3\n";
+    TimeSeries series = CsvReader.builder().setTimeColumn(0).build().read(channel(csv));
+    assertThat(series.timePeriod(), is(new TimePeriod(ChronoUnit.HOURS, 6)));
+  }
+
+  @Test
+  public void whenIrregularTimesAndNoPeriodThenIllegalArgument() throws IOException {
+    exception.expect(IllegalArgumentException.class);
+    String csv = "t,v\n2017-01-01,1\n2017-01-02,2\n2017-01-04,3\n";
+    CsvReader.builder().setTimeColumn(0).build().read(channel(csv));
+  }
+
+  @Test
+  public void whenLineHasTooFewColumnsThenIllegalArgument() throws IOException {
+    exception.expect(IllegalArgumentException.class);
+    CsvReader.builder().setTimeColumn(0).build().readPanel(channel("t,v,w\n2017-01-01,1,2\n2017-02-01,1\n"));
+  }
+
+  @Test
+  public void whenColumnNameMissingThenIllegalArgument() throws IOException {
+    exception.expect(IllegalArgumentException.class);
+    CsvReader.builder().setValueColumns("missing").build().readPanel(channel(monthly));
+  }
+
+  @Test
+  public void whenInputEmptyThenEmptyPanel() throws IOException {
+    assertThat(CsvReader.builder().build().readPanel(channel("")).isEmpty(), is(true));
+  }
+
+  private static ReadableByteChannel channel(String text) {
+    return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+  }
+}
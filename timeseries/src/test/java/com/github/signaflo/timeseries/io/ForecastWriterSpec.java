@@ -0,0 +1,173 @@
+package com.github.signaflo.timeseries.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+import com.github.signaflo.timeseries.TestData;
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.forecast.Forecast;
+import com.github.signaflo.timeseries.model.MeanModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class ForecastWriterSpec {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private final Forecast forecast = new MeanModel(TestData.ausbeer).forecast(4);
+
+  @Test
+  public void whenCsvWrittenThenOneLinePerStep() throws IOException {
+    Path path = folder.newFile().toPath();
+    try (ForecastWriter writer = ForecastWriter.open(path, ForecastWriter.Format.CSV)) {
+      writer.write("beer", forecast);
+    }
+    List<String> lines = Files.readAllLines(path);
+    assertThat(lines.size(), is(5));
+    assertThat(lines.get(0), is("id,time,point,lower,upper"));
+    Time secondTime = forecast.pointEstimates().observationTimes().get(1);
+    assertThat(lines.get(2), is("beer," + secondTime + "," + forecast.pointEstimates().at(1) + ","
+                                + forecast.lowerPredictionInterval().at(1) + ","
+                                + forecast.upperPredictionInterval().at(1)));
+  }
+
+  @Test
+  public void whenBinaryWrittenThenRecordsHoldColumns() throws IOException {
+    Path path = folder.newFile().toPath();
+    try (ForecastWriter writer = ForecastWriter.open(path, ForecastWriter.Format.BINARY)) {
+      writer.write("a", forecast);
+      writer.write("b", forecast);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    assertThat(buffer.getInt(), is(ForecastWriter.MAGIC));
+    assertThat(buffer.getInt(), is(ForecastWriter.VERSION));
+    for (String id : new String[] {"a", "b"}) {
+      byte[] idBytes = new byte[buffer.getInt()];
+      buffer.get(idBytes);
+      assertThat(new String(idBytes, StandardCharsets.UTF_8), is(id));
+      Time start = forecast.pointEstimates().startTime();
+      assertThat(buffer.getLong(), is(start.epochSecond()));
+      assertThat(buffer.getInt(), is(start.nano()));
+      assertThat(buffer.getInt(), is(start.offset().getTotalSeconds()));
+      byte[] unit = new byte[buffer.getShort()];
+      buffer.get(unit);
+      assertThat(new String(unit, StandardCharsets.US_ASCII), is("MONTHS"));
+      assertThat(buffer.getLong(), is(3L));
+      int steps = buffer.getInt();
+      assertThat(steps, is(4));
+      double[] columns = new double[3 * steps];
+      buffer.asDoubleBuffer().get(columns);
+      buffer.position(buffer.position() + 8 * columns.length);
+      double[] expected = new double[3 * steps];
+      System.arraycopy(forecast.pointEstimates().asArray(), 0, expected, 0, steps);
+      System.arraycopy(forecast.lowerPredictionInterval().asArray(), 0, expected, steps, steps);
+      System.arraycopy(forecast.upperPredictionInterval().asArray(), 0, expected, 2 * steps, steps);
+      assertArrayEquals(expected, columns, 0.0);
+    }
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test
+  public void whenManyThreadsWriteThenEveryLineWritten() throws Exception {
+    Path path = folder.newFile().toPath();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (ForecastWriter writer = ForecastWriter.open(path, ForecastWriter.Format.CSV)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 20_000; i++) {
+        String id = "series" + i;
+        futures.add(executor.submit(() -> {
+          writer.write(id, forecast);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(Files.readAllLines(path).size(), is(1 + 4 * 20_000));
+  }
+
+  @Test
+  public void whenInterruptedThenEveryLineWrittenAndInterruptRestored() throws IOException {
+    Path path = folder.newFile().toPath();
+    Thread.currentThread().interrupt();
+    try {
+      try (ForecastWriter writer = ForecastWriter.open(path, ForecastWriter.Format.CSV)) {
+        for (int i = 0; i < 50_000; i++) {
+          writer.write("series" + i, forecast);
+        }
+      }
+      assertThat(Thread.currentThread().isInterrupted(), is(true));
+    } finally {
+      Thread.interrupted();
+    }
+    List<String> lines = Files.readAllLines(path);
+    assertThat(lines.size(), is(1 + 4 * 50_000));
+    assertThat(lines.get(4 * 49_999 + 1).startsWith("series49999,"), is(true));
+  }
+
+  @Test
+  public void whenWriteAfterCloseThenIllegalState() throws IOException {
+    ForecastWriter writer = ForecastWriter.open(folder.newFile().toPath(), ForecastWriter.Format.CSV);
+    writer.close();
+    exception.expect(IllegalStateException.class);
+    writer.write("late", forecast);
+  }
+
+  @Test(timeout = 10_000)
+  public void whenChannelThrowsUncheckedThenWriteFailsWithoutBlocking() throws IOException {
+    WritableByteChannel channel = new WritableByteChannel() {
+      private boolean open = true;
+
+      @Override
+      public int write(ByteBuffer src) {
+        throw new IllegalStateException("The channel broke.");
+      }
+
+      @Override
+      public boolean isOpen() {
+        return open;
+      }
+
+      @Override
+      public void close() {
+        open = false;
+      }
+    };
+    ForecastWriter writer = ForecastWriter.open(channel, ForecastWriter.Format.BINARY);
+    exception.expect(IOException.class);
+    try {
+      // Enough records to fill every batch several times over.
+      for (int i = 0; i < 100_000; i++) {
+        writer.write("series" + i, forecast);
+      }
+    } finally {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        assertThat(e.getCause() instanceof IllegalStateException, is(true));
+      }
+      assertThat(channel.isOpen(), is(false));
+    }
+  }
+}
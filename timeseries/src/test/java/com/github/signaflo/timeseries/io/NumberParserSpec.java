@@ -0,0 +1,53 @@
+package com.github.signaflo.timeseries.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class NumberParserSpec {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void whenParsedThenSameAsParseDouble() {
+    String[] numbers = {"0", "-0", "1", "-17", "3.25", "+4.5", ".5", "5.", "0.1", "123456.789",
+        "1e10", "1.5E-7", "-2.5e+3", "0.000001234", "12345678901234567890", "1e300", "4.9e-324",
+        "9007199254740993", "Infinity", "-Infinity", "0.30000000000000004"};
+    for (String number : numbers) {
+      assertThat(number, parse(number), is(Double.parseDouble(number)));
+    }
+  }
+
+  @Test
+  public void whenRandomNumbersParsedThenSameAsParseDouble() {
+    Random random = new Random(7);
+    for (int i = 0; i < 10_000; i++) {
+      String number = Double.toString((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20));
+      assertThat(number, parse(number), is(Double.parseDouble(number)));
+    }
+  }
+
+  @Test
+  public void whenMissingThenNaN() {
+    assertThat(parse(""), is(Double.NaN));
+    assertThat(parse("NA"), is(Double.NaN));
+    assertThat(parse("NaN"), is(Double.NaN));
+  }
+
+  @Test
+  public void whenNotANumberThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    parse("1.2.3");
+  }
+
+  private static double parse(String number) {
+    byte[] bytes = ("x" + number + "x").getBytes(StandardCharsets.US_ASCII);
+    return NumberParser.parse(bytes, 1, bytes.length - 1);
+  }
+}
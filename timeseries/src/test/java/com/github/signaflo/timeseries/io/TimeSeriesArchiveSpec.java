@@ -0,0 +1,123 @@
+package com.github.signaflo.timeseries.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertArrayEquals;
+
+import com.github.signaflo.timeseries.TestData;
+import com.github.signaflo.timeseries.Time;
+import com.github.signaflo.timeseries.TimePeriod;
+import com.github.signaflo.timeseries.TimeSeries;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class TimeSeriesArchiveSpec {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  @Test
+  public void whenWrittenAndReadThenSeriesUnchanged() throws IOException {
+    Path path = folder.newFile().toPath();
+    TimeSeries series = TestData.ausbeer;
+    TimeSeriesArchive.write(series, path, 16);
+    try (TimeSeriesArchive archive = TimeSeriesArchive.open(path)) {
+      assertThat(archive.size(), is(series.size()));
+      assertThat(archive.blockCount(), is((series.size() + 15) / 16));
+      assertThat(archive.read(), is(series));
+    }
+  }
+
+  @Test
+  public void whenRangeReadThenSameAsSlice() throws IOException {
+    Path path = folder.newFile().toPath();
+    TimeSeries series = TestData.ausbeer;
+    TimeSeriesArchive.write(series, path, 10);
+    try (TimeSeriesArchive archive = TimeSeriesArchive.open(path)) {
+      Time start = series.observationTimes().get(25);
+      Time end = series.observationTimes().get(61);
+      assertThat(archive.read(start, end), is(series.slice(25, 61)));
+      Time beforeStart = Time.fromYear(1900);
+      assertThat(archive.read(beforeStart, series.observationTimes().get(3)),
+                 is(series.slice(0, 3)));
+      assertThat(archive.read(Time.fromYear(2500), Time.fromYear(2600)).size(), is(0));
+    }
+  }
+
+  @Test
+  public void whenSlowlyVaryingMetricWrittenThenCompressedManyTimes() throws IOException {
+    Path path = folder.newFile().toPath();
+    Random random = new Random(11);
+    double[] values = new double[100_000];
+    double level = 50.0;
+    for (int i = 0; i < values.length; i++) {
+      if (random.nextInt(20) == 0) {
+        level += (random.nextBoolean() ? 0.5 : -0.5);
+      }
+      values[i] = level;
+    }
+    TimeSeries series = TimeSeries.from(TimePeriod.oneSecond(),
+                                        Time.fromEpochSecond(1_500_000_000L, 0L), values);
+    TimeSeriesArchive.write(series, path);
+    long rawBytes = 16L * values.length;
+    assertThat(Files.size(path) * 8, is(lessThan(rawBytes)));
+    try (TimeSeriesArchive archive = TimeSeriesArchive.open(path)) {
+      assertArrayEquals(values, archive.read().asArray(), 0.0);
+    }
+  }
+
+  @Test
+  public void whenTimesHaveNanosAndMixedOffsetsThenPreserved() throws IOException {
+    Path path = folder.newFile().toPath();
+    Random random = new Random(3);
+    List<Time> times = new ArrayList<>();
+    double[] values = new double[300];
+    OffsetDateTime time = OffsetDateTime.of(1850, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    for (int i = 0; i < values.length; i++) {
+      time = time.plusNanos(1 + random.nextInt(2_000_000_000)).withOffsetSameInstant(
+          ZoneOffset.ofHours(random.nextInt(3)));
+      times.add(Time.fromEpochSecond(time.toEpochSecond(), time.getNano(), time.getOffset()));
+      values[i] = random.nextGaussian();
+    }
+    values[7] = Double.NaN;
+    TimeSeries series = TimeSeries.from(TimePeriod.oneSecond(), times, values);
+    TimeSeriesArchive.write(series, path, 64);
+    try (TimeSeriesArchive archive = TimeSeriesArchive.open(path)) {
+      TimeSeries read = archive.read();
+      assertThat(read.observationTimes(), is(series.observationTimes()));
+      assertArrayEquals(values, read.asArray(), 0.0);
+    }
+  }
+
+  @Test
+  public void whenTimesNotIncreasingThenIllegalArgument() throws IOException {
+    Path path = folder.newFile().toPath();
+    List<Time> times = new ArrayList<>();
+    times.add(Time.fromYear(2001));
+    times.add(Time.fromYear(2000));
+    exception.expect(IllegalArgumentException.class);
+    TimeSeriesArchive.write(TimeSeries.from(TimePeriod.oneYear(), times, 1.0, 2.0), path);
+  }
+
+  @Test
+  public void whenFileIsNotAnArchiveThenIOException() throws IOException {
+    Path path = folder.newFile().toPath();
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+    exception.expect(IOException.class);
+    TimeSeriesArchive.open(path);
+  }
+}
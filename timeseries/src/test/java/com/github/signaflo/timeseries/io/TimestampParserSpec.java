@@ -0,0 +1,71 @@
+package com.github.signaflo.timeseries.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TimestampParserSpec {
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private final TimestampParser parser = new TimestampParser(null, ZoneOffset.ofHours(2));
+
+  @Test
+  public void whenIsoDateTimeParsedThenSameAsOffsetDateTime() {
+    String[] times = {"2017-03-15T10:15:30Z", "2017-03-15T10:15:30.25+05:30",
+        "1969-12-31T23:59:59.999999999-08:00", "2000-02-29 01:02:03+0100", "2017-01-01T00:00Z"};
+    for (String time : times) {
+      OffsetDateTime expected = OffsetDateTime.parse(time.replace(' ', 'T').replace("+0100", "+01:00"));
+      parse(time);
+      assertThat(time, parser.epochSecond, is(expected.toEpochSecond()));
+      assertThat(time, parser.nano, is(expected.getNano()));
+      assertThat(time, parser.offsetSeconds, is(expected.getOffset().getTotalSeconds()));
+    }
+  }
+
+  @Test
+  public void whenDateOrYearMonthParsedThenDefaultOffsetUsed() {
+    parse("2016-02-29");
+    long expected = OffsetDateTime.of(2016, 2, 29, 0, 0, 0, 0, ZoneOffset.ofHours(2)).toEpochSecond();
+    assertThat(parser.epochSecond, is(expected));
+    assertThat(parser.offsetSeconds, is(7200));
+    parse("2016-02");
+    assertThat(parser.epochSecond, is(expected - 28 * 86_400L));
+  }
+
+  @Test
+  public void whenDaysFromCivilComputedThenSameAsEpochDay() {
+    for (LocalDate date = LocalDate.of(1599, 12, 25); date.getYear() < 2405; date = date.plusDays(17)) {
+      assertThat(TimestampParser.daysFromCivil(date.getYear(), date.getMonthValue(), date.getDayOfMonth()),
+                 is(date.toEpochDay()));
+    }
+  }
+
+  @Test
+  public void whenFormatterGivenThenUsed() {
+    TimestampParser formatted = new TimestampParser(DateTimeFormatter.ofPattern("dd/MM/yyyy"), ZoneOffset.UTC);
+    byte[] bytes = "05/11/2017".getBytes(StandardCharsets.US_ASCII);
+    formatted.parse(bytes, 0, bytes.length);
+    assertThat(formatted.epochSecond, is(LocalDate.of(2017, 11, 5).toEpochDay() * 86_400L));
+  }
+
+  @Test
+  public void whenInvalidDateThenIllegalArgument() {
+    exception.expect(IllegalArgumentException.class);
+    parse("2017-02-30");
+  }
+
+  private void parse(String time) {
+    byte[] bytes = time.getBytes(StandardCharsets.US_ASCII);
+    parser.parse(bytes, 0, bytes.length);
+  }
+}
@@ -37,4 +37,48 @@ public class ArimaCoefficientsSpec {
         assertThat(coeffs1, is(not(new Object())));
         assertThat(coeffs1.equals(null), is(false));
     }
+
+    @Test
+    public void whenAutoRegressiveRootsOutsideUnitCircleThenStationary() {
+        assertThat(ArimaCoefficients.isStationary(new double[] {}), is(true));
+        assertThat(ArimaCoefficients.isStationary(new double[] {0.5}), is(true));
+        assertThat(ArimaCoefficients.isStationary(new double[] {0.5, 0.3}), is(true));
+        assertThat(ArimaCoefficients.isStationary(new double[] {1.8, -0.9}), is(true));
+        assertThat(ArimaCoefficients.isStationary(new double[] {0.5, 0.0, 0.0}), is(true));
+    }
+
+    @Test
+    public void whenAutoRegressiveRootOnOrInsideUnitCircleThenNotStationary() {
+        assertThat(ArimaCoefficients.isStationary(new double[] {1.0}), is(false));
+        assertThat(ArimaCoefficients.isStationary(new double[] {-1.2}), is(false));
+        assertThat(ArimaCoefficients.isStationary(new double[] {0.5, 0.6}), is(false));
+        assertThat(ArimaCoefficients.isStationary(new double[] {0.2, 0.0, 1.1}), is(false));
+    }
+
+    @Test
+    public void whenExpandedSeasonalAutoRegressiveThenStationarityCorrect() {
+        double[] stationary = ArimaCoefficients.expandArCoefficients(new double[] {0.5, -0.2},
+                                                                     new double[] {0.5, 0.4}, 12);
+        double[] nonStationary = ArimaCoefficients.expandArCoefficients(new double[] {0.5, -0.2},
+                                                                        new double[] {0.5, 0.6}, 12);
+        double[] unitRoot = ArimaCoefficients.expandArCoefficients(new double[] {0.3},
+                                                                   new double[] {1.0}, 52);
+        assertThat(ArimaCoefficients.isStationary(stationary), is(true));
+        assertThat(ArimaCoefficients.isStationary(nonStationary), is(false));
+        assertThat(ArimaCoefficients.isStationary(unitRoot), is(false));
+    }
+
+    @Test
+    public void whenMovingAverageRootsOutsideUnitCircleThenInvertible() {
+        assertThat(ArimaCoefficients.isInvertible(new double[] {}), is(true));
+        assertThat(ArimaCoefficients.isInvertible(new double[] {-0.5}), is(true));
+        assertThat(ArimaCoefficients.isInvertible(new double[] {1.2}), is(false));
+        assertThat(ArimaCoefficients.isInvertible(new double[] {-1.0}), is(false));
+        double[] invertible = ArimaCoefficients.expandMaCoefficients(new double[] {0.4},
+                                                                     new double[] {-0.9}, 12);
+        double[] nonInvertible = ArimaCoefficients.expandMaCoefficients(new double[] {0.4},
+                                                                        new double[] {-1.0}, 12);
+        assertThat(ArimaCoefficients.isInvertible(invertible), is(true));
+        assertThat(ArimaCoefficients.isInvertible(nonInvertible), is(false));
+    }
 }
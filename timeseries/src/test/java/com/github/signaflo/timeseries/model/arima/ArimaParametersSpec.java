@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Jacob Rachiele
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software
+ * and associated documentation files (the "Software"), to deal in the Software without restriction
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to
+ * do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Contributors:
+ *
+ * Jacob Rachiele
+ */
+
+package com.github.signaflo.timeseries.model.arima;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class ArimaParametersSpec {
+
+    @Test
+    public void whenPureAutoRegressiveThenYuleWalkerEstimatesNearTrueValues() {
+        double[] series = simulate(new double[]{0.5, 0.3}, new double[0], 5000, 1);
+        ArimaParameters parameters = ArimaParameters.initialEstimates(series, ArimaOrder.order(2, 0, 0), 1);
+        assertArrayEquals(new double[]{0.5, 0.3}, parameters.getAutoRegressivePars(), 0.05);
+    }
+
+    @Test
+    public void whenMixedModelThenHannanRissanenEstimatesNearTrueValues() {
+        double[] series = simulate(new double[]{0.6}, new double[]{0.4}, 5000, 2);
+        ArimaParameters parameters = ArimaParameters.initialEstimates(series, ArimaOrder.order(1, 0, 1), 1);
+        assertThat(parameters.getAutoRegressivePars()[0], is(closeTo(0.6, 0.05)));
+        assertThat(parameters.getMovingAveragePars()[0], is(closeTo(0.4, 0.05)));
+    }
+
+    @Test
+    public void whenSeasonalMovingAverageThenEstimateAtSeasonalLag() {
+        double[] ma = new double[12];
+        ma[11] = -0.6;
+        double[] series = simulate(new double[0], ma, 6000, 3);
+        ArimaParameters parameters = ArimaParameters.initialEstimates(series, ArimaOrder.order(0, 0, 0, 0, 0, 1), 12);
+        assertThat(parameters.getSeasonalMovingAveragePars()[0], is(closeTo(-0.6, 0.05)));
+    }
+
+    @Test
+    public void whenSeriesTooShortThenZeros() {
+        double[] series = {1.0, 2.0, 0.5, 1.5};
+        ArimaParameters parameters = ArimaParameters.initialEstimates(series, ArimaOrder.order(1, 0, 1), 1);
+        assertThat(parameters.getAutoRegressivePars()[0], is(0.0));
+        assertThat(parameters.getMovingAveragePars()[0], is(0.0));
+    }
+
+    @Test
+    public void whenConstrainedThenStationaryAndInvertible() {
+        ArimaOrder order = ArimaOrder.order(2, 0, 2, 1, 0, 1, Arima.Constant.INCLUDE);
+        double[] unconstrained = {3.0, -2.5, 4.0, 1.5, -5.0, 2.0, 7.0};
+        double[] constrained = ArimaParameters.constrain(unconstrained, order);
+        assertThat(ArimaCoefficients.isStationary(new double[]{constrained[0], constrained[1]}), is(true));
+        assertThat(ArimaCoefficients.isInvertible(new double[]{constrained[2], constrained[3]}), is(true));
+        assertThat(ArimaCoefficients.isStationary(new double[]{constrained[4]}), is(true));
+        assertThat(ArimaCoefficients.isInvertible(new double[]{constrained[5]}), is(true));
+        assertThat(constrained[6], is(7.0));
+    }
+
+    @Test
+    public void whenUnconstrainedThenConstrainRecoversParameters() {
+        ArimaOrder order = ArimaOrder.order(2, 0, 1, 0, 0, 1);
+        double[] parameters = {0.5, 0.3, -0.4, 0.6};
+        double[] unconstrained = ArimaParameters.unconstrain(parameters, order);
+        assertArrayEquals(parameters, ArimaParameters.constrain(unconstrained, order), 1E-12);
+    }
+
+    private static double[] simulate(double[] ar, double[] ma, int n, long seed) {
+        Random random = new Random(seed);
+        int burnIn = 500;
+        double[] x = new double[n + burnIn];
+        double[] e = new double[n + burnIn];
+        for (int t = 0; t < x.length; t++) {
+            e[t] = random.nextGaussian();
+            double value = e[t];
+            for (int i = 0; i < ar.length && i < t; i++) {
+                value += ar[i] * x[t - i - 1];
+            }
+            for (int j = 0; j < ma.length && j < t; j++) {
+                value += ma[j] * e[t - j - 1];
+            }
+            x[t] = value;
+        }
+        double[] series = new double[n];
+        System.arraycopy(x, burnIn, series, 0, n);
+        return series;
+    }
+}
@@ -25,6 +25,7 @@
 package com.github.signaflo.timeseries.model.arima;
 
 import com.github.signaflo.math.operations.DoubleFunctions;
+import com.github.signaflo.math.optim.OptimizationSummary;
 import com.github.signaflo.timeseries.TestData;
 import org.junit.Rule;
 import org.junit.Test;
@@ -59,6 +60,58 @@ public class ArimaSpec {
         Arima.model(series, ArimaOrder.order(0, 0, 0, 0, 0, 0));
     }
 
+    @Test
+    public void whenStartsLessThanOneThenIllegalArgument() {
+        exception.expect(IllegalArgumentException.class);
+        Arima.model(TestData.livestock, ArimaOrder.order(1, 1, 1), TimePeriod.oneYear(),
+                    Arima.FittingStrategy.CSSML, 0);
+    }
+
+    @Test
+    public void whenFitFromManyStartsThenNoWorseThanSingleStart() {
+        ArimaOrder order = ArimaOrder.order(3, 0, 0, Constant.INCLUDE);
+        Arima single = Arima.model(TestData.elecSales, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML);
+        Arima multiStart = Arima.model(TestData.elecSales, order, TimePeriod.oneYear(),
+                                       Arima.FittingStrategy.CSSML, 4);
+        assertThat(multiStart.logLikelihood(), is(greaterThanOrEqualTo(single.logLikelihood())));
+        assertThat(ArimaCoefficients.isStationary(multiStart.coefficients().arCoeffs()), is(true));
+    }
+
+    @Test
+    public void whenFitFromManyStartsTwiceThenSameModel() {
+        ArimaOrder order = ArimaOrder.order(2, 1, 1);
+        Arima first = Arima.model(TestData.ukcars, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML, 6);
+        Arima second = Arima.model(TestData.ukcars, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML, 6);
+        assertArrayEquals(first.coefficients().arCoeffs(), second.coefficients().arCoeffs(), 0.0);
+        assertArrayEquals(first.coefficients().maCoeffs(), second.coefficients().maCoeffs(), 0.0);
+        assertThat(second.logLikelihood(), is(first.logLikelihood()));
+    }
+
+    @Test
+    public void whenFitWithPartialAutoCorrelationsThenInvertibleWithSameLikelihood() {
+        ArimaOrder order = ArimaOrder.order(2, 1, 2, 0, 1, 1);
+        Arima unconstrained = Arima.model(TestData.ukcars, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML);
+        Arima constrained = Arima.model(TestData.ukcars, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML,
+                                        Arima.Reparameterization.PARTIAL_AUTOCORRELATION);
+        assertThat(constrained.isStationary(), is(true));
+        assertThat(constrained.isInvertible(), is(true));
+        assertThat(constrained.logLikelihood(), is(closeTo(unconstrained.logLikelihood(), 1E-3)));
+    }
+
+    @Test
+    public void whenFitThenOptimizationSummaryIncludesBothStages() {
+        ArimaOrder order = ArimaOrder.order(1, 1, 1);
+        Arima css = Arima.model(TestData.livestock, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSS);
+        Arima cssml = Arima.model(TestData.livestock, order, TimePeriod.oneYear(), Arima.FittingStrategy.CSSML);
+        OptimizationSummary summary = cssml.optimizationSummary();
+        assertThat(summary.iterations(), is(greaterThan(css.optimizationSummary().iterations())));
+        assertThat(summary.functionEvaluations(), is(greaterThan(css.optimizationSummary().functionEvaluations())));
+        assertThat(summary.elapsedNanos(), is(greaterThan(0L)));
+        Arima fromCoefficients = Arima.model(TestData.livestock, cssml.coefficients(), TimePeriod.oneYear(),
+                                             Arima.FittingStrategy.CSSML);
+        assertThat(fromCoefficients.optimizationSummary(), is(OptimizationSummary.NOT_RUN));
+    }
+
     @Test
     public void testArimaInvertible() {
         Arima.model(TestData.ukcars, ArimaOrder.order(0, 2, 0, Arima.Drift.INCLUDE));